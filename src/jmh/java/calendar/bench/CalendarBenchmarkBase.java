@@ -0,0 +1,51 @@
+package calendar.bench;
+
+import calendar.Calendar;
+import calendar.CalendarImpl;
+import java.time.ZoneId;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Shared parameters: calendar size and series shape. Subclasses are JMH states that build
+ * their fixture from these in a setup method.
+ */
+@State(Scope.Benchmark)
+public abstract class CalendarBenchmarkBase {
+
+  static final ZoneId ZONE = ZoneId.of("America/New_York");
+
+  /**
+   * Total number of events in the populated calendar.
+   */
+  @Param({"1000", "100000", "1000000", "10000000"})
+  public int size;
+
+  /**
+   * Occurrences per series in the populated calendar; 1 means single events only.
+   */
+  @Param({"1", "10", "100"})
+  public int seriesLength;
+
+  /**
+   * Creates a calendar filled according to the current parameters.
+   *
+   * @param name calendar name
+   * @return populated calendar
+   */
+  Calendar populatedCalendar(String name) {
+    Calendar cal = new CalendarImpl(name, ZONE);
+    CalendarFixtures.populate(cal, size, seriesLength);
+    return cal;
+  }
+
+  /**
+   * Number of days the populated calendar spans.
+   *
+   * @return days
+   */
+  long days() {
+    return CalendarFixtures.days(size, seriesLength);
+  }
+}
@@ -0,0 +1,76 @@
+package calendar.bench;
+
+import calendar.Calendar;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The three edit scopes against a series in the middle of a populated calendar. Edits
+ * toggle the location so the calendar's shape stays constant across invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarEditBenchmark extends CalendarBenchmarkBase {
+
+  private Calendar cal;
+  private String subject;
+  private LocalDateTime first;
+  private LocalDateTime middle;
+  private boolean flip;
+
+  /**
+   * Builds the calendar once per trial and picks the target series.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    cal = populatedCalendar("bench");
+    int target = size / seriesLength / 2;
+    subject = CalendarFixtures.subject(target);
+    first = CalendarFixtures.slotStart(target, seriesLength);
+    middle = first.plusDays(seriesLength / 2);
+  }
+
+  /**
+   * Edits one occurrence.
+   */
+  @Benchmark
+  public void editEvent() {
+    cal.editEvent(subject, first, "location", nextLocation());
+  }
+
+  /**
+   * Edits the second half of the series.
+   */
+  @Benchmark
+  public void editEventsFromDate() {
+    cal.editEventsFromDate(subject, middle, "location", nextLocation());
+  }
+
+  /**
+   * Edits the whole series.
+   */
+  @Benchmark
+  public void editSeries() {
+    cal.editSeries(subject, first, "location", nextLocation());
+  }
+
+  private String nextLocation() {
+    flip = !flip;
+    return flip ? "Room A" : "Room B";
+  }
+}
@@ -0,0 +1,79 @@
+package calendar.bench;
+
+import calendar.Calendar;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Deterministic calendar contents for benchmarks. Events occupy 30-minute slots, 48 per
+ * day, from {@link #FIRST_DAY}, and last {@link #EVENT_MINUTES} so that even the last slot
+ * ends on its own day; a series of length {@code k} fills one slot on {@code k} consecutive
+ * days, so every shape yields exactly {@code size} non-overlapping events.
+ */
+final class CalendarFixtures {
+
+  static final LocalDate FIRST_DAY = LocalDate.of(2000, 1, 3);
+  static final int SLOTS_PER_DAY = 48;
+  static final int EVENT_MINUTES = 25;
+  static final Set<DayOfWeek> EVERY_DAY = EnumSet.allOf(DayOfWeek.class);
+
+  private CalendarFixtures() {
+  }
+
+  /**
+   * Fills {@code cal} with {@code size} events grouped into series of {@code seriesLength}.
+   *
+   * @param cal          calendar to fill
+   * @param size         total number of events
+   * @param seriesLength occurrences per series; 1 creates single events
+   */
+  static void populate(Calendar cal, int size, int seriesLength) {
+    int series = size / seriesLength;
+    for (int j = 0; j < series; j++) {
+      LocalDateTime start = slotStart(j, seriesLength);
+      if (seriesLength == 1) {
+        cal.createEvent(subject(j), start, start.plusMinutes(EVENT_MINUTES));
+      } else {
+        cal.createEventSeries(subject(j), start, start.plusMinutes(EVENT_MINUTES), EVERY_DAY,
+            seriesLength);
+      }
+    }
+  }
+
+  /**
+   * Start of the first occurrence of series {@code j}.
+   *
+   * @param j            series number
+   * @param seriesLength occurrences per series
+   * @return start date-time
+   */
+  static LocalDateTime slotStart(int j, int seriesLength) {
+    long day = (long) (j / SLOTS_PER_DAY) * seriesLength;
+    return FIRST_DAY.plusDays(day).atStartOfDay().plusMinutes(30L * (j % SLOTS_PER_DAY));
+  }
+
+  /**
+   * Number of days covered by a populated calendar.
+   *
+   * @param size         total number of events
+   * @param seriesLength occurrences per series
+   * @return covered days, at least one
+   */
+  static long days(int size, int seriesLength) {
+    long series = size / seriesLength;
+    return Math.max(1, (series + SLOTS_PER_DAY - 1) / SLOTS_PER_DAY * seriesLength);
+  }
+
+  /**
+   * Subject of series {@code j}; a thousand distinct subjects repeat across the calendar.
+   *
+   * @param j series number
+   * @return subject
+   */
+  static String subject(int j) {
+    return "Event " + (j % 1000);
+  }
+}
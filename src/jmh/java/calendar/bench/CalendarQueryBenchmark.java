@@ -0,0 +1,99 @@
+package calendar.bench;
+
+import calendar.Calendar;
+import calendar.DaySummary;
+import calendar.Event;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read-path cost: range listing, busy checks and month views at random points of a populated
+ * calendar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarQueryBenchmark extends CalendarBenchmarkBase {
+
+  private Calendar cal;
+  private SplittableRandom random;
+  private long days;
+
+  /**
+   * Builds the calendar once per trial; queries do not modify it.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    cal = populatedCalendar("bench");
+    random = new SplittableRandom(42);
+    days = days();
+  }
+
+  /**
+   * Events of one random day.
+   *
+   * @return events in range
+   */
+  @Benchmark
+  public List<Event> getEventsInRange() {
+    LocalDateTime from = randomDay();
+    return cal.getEventsInRange(from, from.plusDays(1).minusMinutes(1));
+  }
+
+  /**
+   * Busy check at a random minute.
+   *
+   * @return busy status
+   */
+  @Benchmark
+  public boolean isBusyAt() {
+    return cal.isBusyAt(randomDay().plusMinutes(random.nextInt(24 * 60)));
+  }
+
+  /**
+   * Month view built from 30 day listings.
+   *
+   * @return events listed
+   */
+  @Benchmark
+  public int monthByDayListings() {
+    LocalDate first = randomDay().toLocalDate();
+    int n = 0;
+    for (int d = 0; d < 30; d++) {
+      n += cal.getEventsOnDate(first.plusDays(d)).size();
+    }
+    return n;
+  }
+
+  /**
+   * Month view built from maintained day summaries.
+   *
+   * @return day summaries
+   */
+  @Benchmark
+  public List<DaySummary> monthByDaySummaries() {
+    LocalDate first = randomDay().toLocalDate();
+    return cal.getDaySummaries(first, first.plusDays(29));
+  }
+
+  private LocalDateTime randomDay() {
+    return CalendarFixtures.FIRST_DAY.plusDays(random.nextLong(days)).atStartOfDay();
+  }
+}
@@ -0,0 +1,75 @@
+package calendar.bench;
+
+import calendar.Calendar;
+import calendar.Event;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Event creation cost against a calendar of a given size. The calendar is rebuilt every
+ * iteration so that growth from earlier iterations does not skew larger-size results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarWriteBenchmark extends CalendarBenchmarkBase {
+
+  private Calendar cal;
+  private LocalDateTime appendFrom;
+  private int firstNewSeries;
+  private int created;
+
+  /**
+   * Rebuilds the calendar and resets the append position past its last event.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    cal = populatedCalendar("bench");
+    appendFrom = CalendarFixtures.FIRST_DAY.plusDays(days()).atStartOfDay();
+    firstNewSeries = size / seriesLength;
+    created = 0;
+  }
+
+  /**
+   * Single timed event in the next free slot.
+   *
+   * @return created event
+   */
+  @Benchmark
+  public Event createEvent() {
+    int n = created++;
+    LocalDateTime start = appendFrom.plusMinutes(30L * n);
+    // Slots on either side of a spring-forward gap are the same instant; vary the subject so
+    // they are still distinct events.
+    return cal.createEvent(CalendarFixtures.subject(n), start,
+        start.plusMinutes(CalendarFixtures.EVENT_MINUTES));
+  }
+
+  /**
+   * Daily series with the parameterized number of occurrences in the next free slot.
+   *
+   * @return created occurrences
+   */
+  @Benchmark
+  public List<Event> createEventSeries() {
+    LocalDateTime start = CalendarFixtures.slotStart(firstNewSeries + created++, seriesLength);
+    return cal.createEventSeries("New series", start,
+        start.plusMinutes(CalendarFixtures.EVENT_MINUTES), CalendarFixtures.EVERY_DAY,
+        seriesLength);
+  }
+}
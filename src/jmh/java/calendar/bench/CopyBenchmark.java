@@ -0,0 +1,96 @@
+package calendar.bench;
+
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.SeriesCopyMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link CalendarBook#copyEventsBetween} and {@link CalendarBook#copyEventsBulk} of a random
+ * week into another zone. Each invocation pastes into a fresh week of the target so copies
+ * never collide, and each iteration starts with an empty target.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CopyBenchmark extends CalendarBenchmarkBase {
+
+  private static final LocalDate PASTE_FROM = LocalDate.of(3000, 1, 1);
+
+  private CalendarBook book;
+  private SplittableRandom random;
+  private String target;
+  private int iteration;
+  private int pasted;
+
+  /**
+   * Populates the source calendar once per trial.
+   */
+  @Setup(Level.Trial)
+  public void setUpTrial() {
+    book = new CalendarBookImpl();
+    book.createCalendar("src", ZONE);
+    CalendarFixtures.populate(book.getCalendar("src"), size, seriesLength);
+    random = new SplittableRandom(42);
+  }
+
+  /**
+   * Creates an empty target calendar for the iteration.
+   */
+  @Setup(Level.Iteration)
+  public void setUpIteration() {
+    target = "dst" + iteration++;
+    book.createCalendar(target, ZoneId.of("Europe/London"));
+    pasted = 0;
+  }
+
+  /**
+   * Copies one week.
+   */
+  @Benchmark
+  public void copyEventsBetween() {
+    LocalDate from = CalendarFixtures.FIRST_DAY.plusDays(
+        random.nextLong(Math.max(1, days() - 6)));
+    book.copyEventsBetween("src", target, from, from.plusDays(6),
+        PASTE_FROM.plusWeeks(pasted++));
+  }
+
+  /**
+   * Copies one week through the bulk path, with duplicate and same-day checks.
+   */
+  @Benchmark
+  public void copyEventsBulk() {
+    LocalDate from = CalendarFixtures.FIRST_DAY.plusDays(
+        random.nextLong(Math.max(1, days() - 6)));
+    book.copyEventsBulk("src", target, from, from.plusDays(6),
+        PASTE_FROM.plusWeeks(pasted++), true);
+  }
+
+  /**
+   * Copies one week, re-creating each source series under a fresh id.
+   */
+  @Benchmark
+  public void copySeriesWithNewIds() {
+    LocalDate from = CalendarFixtures.FIRST_DAY.plusDays(
+        random.nextLong(Math.max(1, days() - 6)));
+    book.copyEventsBetween("src", target, from, from.plusDays(6),
+        PASTE_FROM.plusWeeks(pasted++), SeriesCopyMode.NEW_ID);
+  }
+}
@@ -0,0 +1,81 @@
+package calendar.bench;
+
+import calendar.Calendar;
+import calendar.util.CsvExport;
+import calendar.util.IcalExport;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Whole-calendar export to CSV and iCalendar files in a temporary directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExportBenchmark extends CalendarBenchmarkBase {
+
+  private Calendar cal;
+  private Path dir;
+
+  /**
+   * Builds the calendar and the output directory once per trial.
+   *
+   * @throws IOException if the directory cannot be created
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    cal = populatedCalendar("bench");
+    dir = Files.createTempDirectory("calendar-jmh");
+  }
+
+  /**
+   * Removes exported files.
+   *
+   * @throws IOException if a file cannot be deleted
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(dir.resolve("bench.csv"));
+    Files.deleteIfExists(dir.resolve("bench.ics"));
+    Files.deleteIfExists(dir);
+  }
+
+  /**
+   * CSV export.
+   *
+   * @return written path
+   * @throws IOException on write failure
+   */
+  @Benchmark
+  public String csvExport() throws IOException {
+    return CsvExport.exportToCsv(cal, dir.resolve("bench.csv").toString());
+  }
+
+  /**
+   * iCalendar export.
+   *
+   * @return written path
+   * @throws IOException on write failure
+   */
+  @Benchmark
+  public String icalExport() throws IOException {
+    return IcalExport.exportToIcs(cal, dir.resolve("bench.ics").toString());
+  }
+}
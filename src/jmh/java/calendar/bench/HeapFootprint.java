@@ -0,0 +1,66 @@
+package calendar.bench;
+
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.controller.HeadlessController;
+import calendar.view.TextCalendarView;
+import calendar.workload.WorkloadGenerator;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import javax.management.ObjectName;
+
+/**
+ * Heap footprint of a calendar book loaded from a generated headless script, the path where
+ * every parsed command carries its own strings. Prints retained bytes per event and the top
+ * rows of a live-object class histogram, so changes to event storage can be compared before
+ * and after.
+ *
+ * <p>Usage: {@code HeapFootprint [events] [rows]}; defaults are 200000 events and 15 rows.
+ * Run with a fixed heap (for example {@code -Xms2g -Xmx2g}) for stable numbers.</p>
+ */
+public final class HeapFootprint {
+
+  private HeapFootprint() {
+  }
+
+  /**
+   * Entry point.
+   *
+   * @param args optional event count and histogram row count
+   * @throws Exception if the diagnostic command is unavailable
+   */
+  public static void main(String[] args) throws Exception {
+    long events = args.length > 0 ? Long.parseLong(args[0]) : 200_000;
+    int rows = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+    WorkloadGenerator gen = new WorkloadGenerator(WorkloadGenerator.Spec.builder()
+        .events(events).build());
+
+    long before = usedAfterGc();
+    CalendarBook book = new CalendarBookImpl();
+    new HeadlessController(book, new TextCalendarView(
+        new PrintStream(OutputStream.nullOutputStream())), gen.scriptReader()).run();
+    long after = usedAfterGc();
+
+    System.out.printf(Locale.ROOT, "%d events: %.1f MB retained, %.0f bytes/event%n",
+        events, (after - before) / 1e6, (after - before) / (double) events);
+    String histogram = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+        new ObjectName("com.sun.management:type=DiagnosticCommand"), "gcClassHistogram",
+        new Object[] {null}, new String[] {String[].class.getName()});
+    String[] lines = histogram.split("\n");
+    for (int i = 0; i < Math.min(lines.length, rows + 2); i++) {
+      System.out.println(lines[i]);
+    }
+    // Keep the book reachable until the histogram has been taken.
+    System.out.println(book.listCalendarNames().size() + " calendars");
+  }
+
+  private static long usedAfterGc() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    Runtime rt = Runtime.getRuntime();
+    return rt.totalMemory() - rt.freeMemory();
+  }
+}
@@ -0,0 +1,89 @@
+package calendar.bench;
+
+import calendar.Calendar;
+import calendar.TimeIndex;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Whole-calendar {@link Calendar#getEventsInRange} and {@link Calendar#countEventsInRange}
+ * run inside a fork-join pool of {@code parallelism} workers, which the segmented scan
+ * inherits. Parallelism 0 forces the serial path as the baseline. Scaling only shows up to
+ * the number of cores of the machine running the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelRangeBenchmark extends CalendarBenchmarkBase {
+
+  /**
+   * Fork-join workers for the scan; 0 runs the serial path.
+   */
+  @Param({"0", "1", "2", "4", "8", "16", "32"})
+  public int parallelism;
+
+  private Calendar cal;
+  private ForkJoinPool pool;
+  private LocalDateTime from;
+  private LocalDateTime to;
+
+  /**
+   * Builds the calendar once per trial with the threshold that selects the path.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    System.setProperty(TimeIndex.PARALLEL_PROPERTY,
+        String.valueOf(parallelism == 0 ? Integer.MAX_VALUE : 1));
+    cal = populatedCalendar("bench");
+    pool = new ForkJoinPool(Math.max(1, parallelism));
+    from = CalendarFixtures.FIRST_DAY.atStartOfDay();
+    to = CalendarFixtures.FIRST_DAY.plusDays(days()).atStartOfDay();
+  }
+
+  /**
+   * Shuts the pool down.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdown();
+    System.clearProperty(TimeIndex.PARALLEL_PROPERTY);
+  }
+
+  /**
+   * Lists every event.
+   *
+   * @return events, so the result is not dead code
+   */
+  @Benchmark
+  public List<?> getEventsInRange() {
+    return pool.submit(() -> cal.getEventsInRange(from, to)).join();
+  }
+
+  /**
+   * Counts every event.
+   *
+   * @return count
+   */
+  @Benchmark
+  public int countEventsInRange() {
+    return pool.submit(() -> cal.countEventsInRange(from, to)).join();
+  }
+}
@@ -0,0 +1,191 @@
+package calendar.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares a JMH CSV result file against a recorded baseline and fails when any benchmark
+ * got slower than the tolerance allows.
+ *
+ * <p>Usage: {@code RegressionGate <results.csv> <baseline.csv> [--tolerance 0.10] [--update]}.
+ * A result regresses when it is worse than the baseline by more than
+ * {@code tolerance * baseline} plus its own reported error, so noisy runs do not trip the
+ * gate. Benchmarks are matched by name, mode and parameter values. {@code --update}
+ * replaces the baseline with the current results instead of comparing.</p>
+ */
+public final class RegressionGate {
+
+  private RegressionGate() {
+  }
+
+  /**
+   * Entry point; exits with status 1 when a regression is found.
+   *
+   * @param args command-line arguments
+   * @throws IOException if a file cannot be read or written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: RegressionGate <results.csv> <baseline.csv>"
+          + " [--tolerance <fraction>] [--update]");
+      System.exit(2);
+    }
+    Path results = Paths.get(args[0]);
+    Path baseline = Paths.get(args[1]);
+    double tolerance = 0.10;
+    boolean update = false;
+    for (int i = 2; i < args.length; i++) {
+      if ("--update".equals(args[i])) {
+        update = true;
+      } else if ("--tolerance".equals(args[i]) && i + 1 < args.length) {
+        tolerance = Double.parseDouble(args[++i]);
+      } else {
+        throw new IllegalArgumentException("Unknown option: " + args[i]);
+      }
+    }
+
+    if (update) {
+      if (baseline.getParent() != null) {
+        Files.createDirectories(baseline.getParent());
+      }
+      Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+      System.out.println("Baseline updated: " + baseline);
+      return;
+    }
+    if (!Files.exists(baseline)) {
+      System.out.println("No baseline at " + baseline + "; record one with --update.");
+      return;
+    }
+    List<String> failures = compare(read(baseline), read(results), tolerance);
+    if (!failures.isEmpty()) {
+      failures.forEach(System.out::println);
+      System.out.println(failures.size() + " benchmark(s) regressed beyond "
+          + Math.round(tolerance * 100) + "%");
+      System.exit(1);
+    }
+    System.out.println("No regressions beyond " + Math.round(tolerance * 100) + "%");
+  }
+
+  /**
+   * Regression messages for results that are worse than their baseline.
+   *
+   * @param baseline  recorded results by key
+   * @param current   new results by key
+   * @param tolerance allowed relative slowdown
+   * @return one message per regression, empty if none
+   */
+  static List<String> compare(Map<String, Result> baseline, Map<String, Result> current,
+                              double tolerance) {
+    List<String> failures = new ArrayList<>();
+    for (Map.Entry<String, Result> e : current.entrySet()) {
+      Result base = baseline.get(e.getKey());
+      Result now = e.getValue();
+      if (base == null) {
+        System.out.println("new  " + e.getKey() + " = " + now.score + " " + now.unit);
+        continue;
+      }
+      if (!base.unit.equals(now.unit)) {
+        failures.add("unit " + e.getKey() + ": " + base.unit + " -> " + now.unit);
+        continue;
+      }
+      // Throughput improves upward; every other JMH mode measures time per operation.
+      double worse = "thrpt".equals(now.mode) ? base.score - now.score : now.score - base.score;
+      double change = base.score == 0 ? 0 : worse / base.score;
+      String line = String.format(Locale.ROOT, "%s: %.3f -> %.3f %s (%+.1f%%)",
+          e.getKey(), base.score, now.score, now.unit, change * 100);
+      if (worse > tolerance * base.score + now.error) {
+        failures.add("FAIL " + line);
+      } else {
+        System.out.println("ok   " + line);
+      }
+    }
+    return failures;
+  }
+
+  /**
+   * Parses a JMH CSV result file.
+   *
+   * @param file CSV produced with {@code -rf csv}
+   * @return results keyed by benchmark, mode and parameters
+   * @throws IOException if the file cannot be read
+   */
+  static Map<String, Result> read(Path file) throws IOException {
+    List<String> lines = Files.readAllLines(file);
+    Map<String, Result> out = new LinkedHashMap<>();
+    if (lines.isEmpty()) {
+      return out;
+    }
+    List<String> header = splitCsv(lines.get(0));
+    int name = header.indexOf("Benchmark");
+    int mode = header.indexOf("Mode");
+    int score = header.indexOf("Score");
+    int error = header.indexOf("Score Error (99.9%)");
+    int unit = header.indexOf("Unit");
+    for (String line : lines.subList(1, lines.size())) {
+      if (line.isBlank()) {
+        continue;
+      }
+      List<String> cols = splitCsv(line);
+      StringBuilder key = new StringBuilder(cols.get(name));
+      for (int i = 0; i < header.size(); i++) {
+        if (header.get(i).startsWith("Param: ")) {
+          key.append(' ').append(header.get(i).substring(7)).append('=').append(cols.get(i));
+        }
+      }
+      out.put(key.toString(), new Result(cols.get(mode), parse(cols.get(score)),
+          error < 0 ? 0 : parse(cols.get(error)), cols.get(unit)));
+    }
+    return out;
+  }
+
+  private static double parse(String value) {
+    if (value.isEmpty() || "NaN".equals(value)) {
+      return 0;
+    }
+    return Double.parseDouble(value.replace(',', '.'));
+  }
+
+  private static List<String> splitCsv(String line) {
+    List<String> out = new ArrayList<>();
+    StringBuilder cur = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (c == ',' && !quoted) {
+        out.add(cur.toString());
+        cur.setLength(0);
+      } else {
+        cur.append(c);
+      }
+    }
+    out.add(cur.toString());
+    return out;
+  }
+
+  /**
+   * One benchmark score.
+   */
+  static final class Result {
+    final String mode;
+    final double score;
+    final double error;
+    final String unit;
+
+    Result(String mode, double score, double error, String unit) {
+      this.mode = mode;
+      this.score = score;
+      this.error = error;
+      this.unit = unit;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package calendar.bench;
+
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.controller.HeadlessController;
+import calendar.view.TextCalendarView;
+import calendar.workload.WorkloadGenerator;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end load of a {@link WorkloadGenerator} dataset: once through the model API and
+ * once as a headless script, so the difference is the cost of parsing and dispatch. Each
+ * invocation builds a fresh book from the same seed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WorkloadBenchmark {
+
+  /**
+   * Events generated per invocation, counting series occurrences.
+   */
+  @Param({"10000", "100000"})
+  public long events;
+
+  private WorkloadGenerator generator;
+  private PrintStream sink;
+
+  /**
+   * Fixes the workload for the trial.
+   */
+  @Setup
+  public void setUp() {
+    generator = new WorkloadGenerator(WorkloadGenerator.Spec.builder()
+        .events(events).build());
+    sink = new PrintStream(OutputStream.nullOutputStream());
+  }
+
+  /**
+   * Creates every calendar and event through the model API.
+   *
+   * @return populated book
+   */
+  @Benchmark
+  public CalendarBook populate() {
+    return generator.buildBook();
+  }
+
+  /**
+   * Runs the generated script through a headless controller.
+   *
+   * @return populated book
+   */
+  @Benchmark
+  public CalendarBook replayScript() {
+    CalendarBook book = new CalendarBookImpl();
+    new HeadlessController(book, new TextCalendarView(sink), generator.scriptReader()).run();
+    return book;
+  }
+}
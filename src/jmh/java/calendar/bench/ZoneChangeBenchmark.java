@@ -0,0 +1,51 @@
+package calendar.bench;
+
+import calendar.Calendar;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Calendar#setZoneId} on a populated calendar. Invocations alternate between two
+ * zones so every call converts the whole calendar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZoneChangeBenchmark extends CalendarBenchmarkBase {
+
+  private static final ZoneId OTHER = ZoneId.of("Europe/London");
+
+  private Calendar cal;
+  private boolean flip;
+
+  /**
+   * Builds the calendar once per trial.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    cal = populatedCalendar("bench");
+  }
+
+  /**
+   * Moves the calendar to the other zone.
+   */
+  @Benchmark
+  public void setZoneId() {
+    flip = !flip;
+    cal.setZoneId(flip ? OTHER : ZONE);
+  }
+}
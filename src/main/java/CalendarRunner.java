@@ -3,6 +3,7 @@ import calendar.CalendarBookImpl;
 import calendar.controller.CalendarController;
 import calendar.controller.HeadlessController;
 import calendar.controller.InteractiveController;
+import calendar.controller.http.CalendarHttpServer;
 import calendar.view.CalendarView;
 import calendar.view.TextCalendarView;
 import java.io.FileReader;
@@ -28,7 +29,7 @@ public class CalendarRunner {
         return;
       }
       if (!"--mode".equalsIgnoreCase(args[0]) || args.length < 2) {
-        printUsageAndExit("Error: use --mode <interactive|headless> [commandsFile]");
+        printUsageAndExit("Error: use --mode <interactive|headless|server> [commandsFile|port]");
         return;
       }
       AppMode mode = AppMode.from(args[1]);
@@ -46,6 +47,7 @@ public class CalendarRunner {
     System.err.println("Usage:");
     System.err.println("  java -jar app.jar --mode interactive");
     System.err.println("  java -jar app.jar --mode headless <commandsFile>");
+    System.err.println("  java -jar app.jar --mode server [port]");
     System.exit(1);
   }
 
@@ -72,8 +74,18 @@ public class CalendarRunner {
           c.run();
         }
       }
+    },
+    SERVER {
+      @Override
+      void run(CalendarBook model, CalendarView view, String file) throws Exception {
+        int port = file == null ? DEFAULT_PORT : Integer.parseInt(file.trim());
+        CalendarController c = new CalendarHttpServer(model, view, port);
+        c.run();
+      }
     };
 
+    private static final int DEFAULT_PORT = 8080;
+
     abstract void run(CalendarBook model, CalendarView view, String file) throws Exception;
 
     static AppMode from(String token) {
@@ -87,9 +99,12 @@ public class CalendarRunner {
       if ("headless".equals(t)) {
         return HEADLESS;
       }
+      if ("server".equals(t)) {
+        return SERVER;
+      }
       throw new IllegalArgumentException("Invalid mode '" + token + "'. Use 'interactive' or"
           +
-          " 'headless'.");
+          " 'headless' (or 'server').");
     }
   }
 }
@@ -0,0 +1,104 @@
+package calendar;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Behaviour shared by the stored {@link Event} implementations: optional-text accessors,
+ * series identity, all-day detection, and value equality on subject, start and end.
+ * Subclasses only decide where each field lives.
+ */
+abstract class AbstractEvent implements Event {
+
+  /**
+   * Description text, empty when absent.
+   *
+   * @return raw description
+   */
+  abstract String description();
+
+  /**
+   * Location text, empty when absent.
+   *
+   * @return raw location
+   */
+  abstract String location();
+
+  /**
+   * Compact form of the series id.
+   *
+   * @return series key, {@link SeriesIds#NONE} if not in a series
+   */
+  abstract int seriesKey();
+
+  /**
+   * Series id held by the event itself, for ids not in the generated form.
+   *
+   * @return the id when {@link #seriesKey()} is {@link SeriesIds#FOREIGN}, else null
+   */
+  abstract String foreignSeries();
+
+  @Override
+  public Optional<String> getDescription() {
+    return description().isEmpty() ? Optional.empty() : Optional.of(description());
+  }
+
+  @Override
+  public Optional<String> getLocation() {
+    return location().isEmpty() ? Optional.empty() : Optional.of(location());
+  }
+
+  @Override
+  public boolean isAllDayEvent() {
+    LocalDateTime start = getStartDateTime();
+    LocalDateTime end = getEndDateTime();
+    return start.toLocalTime().equals(WorkingHours.START)
+        && end.toLocalTime().equals(WorkingHours.END)
+        && start.toLocalDate().equals(end.toLocalDate());
+  }
+
+  @Override
+  public boolean isSeriesPart() {
+    return seriesKey() != SeriesIds.NONE;
+  }
+
+  @Override
+  public Optional<String> getSeriesId() {
+    return Optional.ofNullable(SeriesIds.external(seriesKey(), foreignSeries()));
+  }
+
+  @Override
+  public String toString() {
+    LocalDateTime start = getStartDateTime();
+    LocalDateTime end = getEndDateTime();
+    return String.format("%s starting on %s at %s, ending on %s at %s%s",
+        getSubject(),
+        start.toLocalDate(),
+        start.toLocalTime(),
+        end.toLocalDate(),
+        end.toLocalTime(),
+        location().isEmpty() ? "" : " at " + location());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Event)) {
+      return false;
+    }
+    Event that = (Event) o;
+    return getSubject().equals(that.getSubject())
+        && getStartDateTime().equals(that.getStartDateTime())
+        && getEndDateTime().equals(that.getEndDateTime());
+  }
+
+  @Override
+  public int hashCode() {
+    int r = getSubject().hashCode();
+    r = 31 * r + getStartDateTime().hashCode();
+    r = 31 * r + getEndDateTime().hashCode();
+    return r;
+  }
+}
@@ -1,11 +1,13 @@
 package calendar;
 
 import java.time.DayOfWeek;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Calendar operations for creating, finding, editing, querying, and exporting events.
@@ -36,7 +38,8 @@ public interface Calendar {
   ZoneId getZoneId();
 
   /**
-   * Set the time zone of this calendar.
+   * Set the time zone of this calendar. Events returned before the change keep the local
+   * times they were returned with; look them up again to see them in the new zone.
    *
    * @param zone zone id
    */
@@ -170,6 +173,38 @@ public interface Calendar {
    */
   void editSeries(String subject, LocalDateTime start, String property, String newValue);
 
+  /**
+   * Deletes the single event with the given subject and start.
+   *
+   * @param subject subject
+   * @param start   exact start
+   * @return number of events deleted, always 1
+   * @throws IllegalArgumentException if no event or more than one event matches
+   */
+  int deleteEvent(String subject, LocalDateTime start);
+
+  /**
+   * Deletes the event with the given subject and start and, if it belongs to a series, the
+   * later occurrences of that series.
+   *
+   * @param subject subject
+   * @param start   pivot start (inclusive)
+   * @return number of events deleted
+   * @throws IllegalArgumentException if no event matches
+   */
+  int deleteEventsFromDate(String subject, LocalDateTime start);
+
+  /**
+   * Deletes every occurrence of the series containing the given event, or just the event if
+   * it is not part of a series.
+   *
+   * @param subject subject
+   * @param start   start of any occurrence in the series
+   * @return number of events deleted
+   * @throws IllegalArgumentException if no event matches
+   */
+  int deleteSeries(String subject, LocalDateTime start);
+
   /**
    * Events scheduled on the given date in this calendar's zone.
    *
@@ -187,6 +222,39 @@ public interface Calendar {
    */
   List<Event> getEventsInRange(LocalDateTime start, LocalDateTime end);
 
+  /**
+   * Number of events {@link #getEventsInRange(LocalDateTime, LocalDateTime)} would return,
+   * counted without building the list.
+   *
+   * @param start range start
+   * @param end   range end
+   * @return overlapping event count
+   */
+  int countEventsInRange(LocalDateTime start, LocalDateTime end);
+
+  /**
+   * Per-day totals for the days in {@code [from, to]} that have at least one event. The
+   * totals are maintained as events change, so this is a lookup per day rather than a scan.
+   *
+   * @param from first day (inclusive)
+   * @param to   last day (inclusive)
+   * @return summaries in date order
+   * @throws IllegalArgumentException if a bound is null or {@code to} is before {@code from}
+   */
+  List<DaySummary> getDaySummaries(LocalDate from, LocalDate to);
+
+  /**
+   * Aggregates the events overlapping the range [start, end] in one pass: busy time per day
+   * or week, counts by subject and location, and the public/private split.
+   *
+   * @param start  range start
+   * @param end    range end
+   * @param period bucket size for busy time
+   * @return the report
+   * @throws IllegalArgumentException if an argument is null or end is before start
+   */
+  EventReport report(LocalDateTime start, LocalDateTime end, ReportPeriod period);
+
   /**
    * Whether any event covers the given moment in this calendar's zone.
    *
@@ -195,6 +263,40 @@ public interface Calendar {
    */
   boolean isBusyAt(LocalDateTime dateTime);
 
+  /**
+   * Overlapping clusters among events that overlap the range [start, end] in this
+   * calendar's zone, ordered by start.
+   *
+   * @param start range start
+   * @param end   range end
+   * @return conflicts, possibly empty
+   * @throws IllegalArgumentException if end is before start
+   */
+  List<Conflict> findConflicts(LocalDateTime start, LocalDateTime end);
+
+  /**
+   * Streaming form of {@link #findConflicts(LocalDateTime, LocalDateTime)}: each conflict
+   * is passed to {@code sink} as soon as the sweep closes it, so callers auditing large
+   * calendars need not hold the whole report.
+   *
+   * @param start range start
+   * @param end   range end
+   * @param sink  receiver of conflicts, in start order
+   * @throws IllegalArgumentException if end is before start
+   */
+  void findConflicts(LocalDateTime start, LocalDateTime end, Consumer<Conflict> sink);
+
+  /**
+   * Full-text search over subject, location and description. Every query term must match;
+   * a term ending in {@code *} matches by prefix. Results are ranked by relevance, with
+   * subject matches weighing most, then by start.
+   *
+   * @param query whitespace-separated terms, case-insensitive
+   * @param limit maximum number of results; non-positive means unlimited
+   * @return matching events, best first
+   */
+  List<Event> searchEvents(String query, int limit);
+
   /**
    * Snapshot of all events.
    *
@@ -213,4 +315,62 @@ public interface Calendar {
    * @return the created event
    */
   Event copyFrom(Event template, LocalDateTime newStart, LocalDateTime newEnd);
+
+  /**
+   * Bulk form of {@link #copyFrom(Event, LocalDateTime, LocalDateTime)}: each event is
+   * copied at its own start and end, read in this calendar's zone, keeping any series
+   * membership. Nothing is added if any copy would duplicate an existing event or another
+   * copy in the batch.
+   *
+   * @param placed events already moved to their target times
+   * @return the created events, in input order
+   * @throws IllegalArgumentException if a copy would be a duplicate
+   */
+  List<Event> copyAll(List<Event> placed);
+
+  /**
+   * Counters of the cache behind {@link #getEventsOnDate(LocalDate)} and
+   * {@link #getEventsInRange(LocalDateTime, LocalDateTime)}: hits, misses, entries dropped
+   * for the memory cap or because a change touched them, and how much of the cap is used.
+   *
+   * @return a snapshot
+   */
+  QueryCacheStats getQueryCacheStats();
+
+  /**
+   * Ordered stream of this calendar's changes: events created, replaced and removed, zone
+   * changes and renames. Subscribers read at their own pace; a subscriber a full buffer
+   * behind holds mutations back until it catches up.
+   *
+   * @return this calendar's change stream
+   */
+  ChangeStream changes();
+
+  /**
+   * Sequence number of this calendar's latest change. Every creation, edit, deletion, zone
+   * change and rename takes the next number.
+   *
+   * @return current change sequence, 0 before any change
+   */
+  long getChangeSequence();
+
+  /**
+   * Events created, edited or gone since the given change sequence. The cost is proportional
+   * to the number of changes, except that a sequence from before the latest zone change or
+   * rename, or older than the tombstones still kept, yields a full delta of every event.
+   *
+   * @param sequence last sequence already seen; 0 for everything
+   * @return the delta through the current sequence
+   * @throws IllegalArgumentException if the sequence is negative or in the future
+   */
+  EventDelta getChangesSince(long sequence);
+
+  /**
+   * Events created, edited or gone after the given time.
+   *
+   * @param time wall-clock time of the last sync
+   * @return the delta through the current sequence
+   * @throws IllegalArgumentException if time is null
+   */
+  EventDelta getChangesSince(Instant time);
 }
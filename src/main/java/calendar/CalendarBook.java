@@ -1,9 +1,15 @@
 package calendar;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Period;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Registry of named calendars. Ensures unique names and manages their time zones.
@@ -101,4 +107,177 @@ public interface CalendarBook {
   void copyEventsBetween(String sourceCalendar, String targetCalendar,
                          LocalDate startInclusive, LocalDate endInclusive,
                          LocalDate targetStart);
+
+  /**
+   * Copies a date range like
+   * {@link #copyEventsBetween(String, String, LocalDate, LocalDate, LocalDate)}, with the
+   * given treatment of series. Either way the copies are inserted as one batch, so a
+   * duplicate leaves the target unchanged.
+   *
+   * @param sourceCalendar source calendar name
+   * @param targetCalendar target calendar name
+   * @param startInclusive inclusive start date
+   * @param endInclusive   inclusive end date
+   * @param targetStart    start date for the pasted range in the target calendar
+   * @param mode           whether copied series keep their ids or get fresh ones
+   * @throws IllegalArgumentException if a calendar is missing or a copy would be a duplicate
+   */
+  void copyEventsBetween(String sourceCalendar, String targetCalendar,
+                         LocalDate startInclusive, LocalDate endInclusive,
+                         LocalDate targetStart, SeriesCopyMode mode);
+
+  /**
+   * Copies a date range like
+   * {@link #copyEventsBetween(String, String, LocalDate, LocalDate, LocalDate)}, but skips
+   * duplicates instead of failing and inserts the survivors in one batch. A copy is skipped
+   * when the target already has an event with the same subject, start and end, or, when
+   * {@code skipSameDaySubject} is set, any event with the same subject on the copy's start
+   * day. The target's keys are collected once up front, so the cost is linear in the number
+   * of source and target events in the window rather than a lookup per copy.
+   *
+   * @param sourceCalendar     source calendar name
+   * @param targetCalendar     target calendar name
+   * @param startInclusive     inclusive start date
+   * @param endInclusive       inclusive end date
+   * @param targetStart        start date for the pasted range in the target calendar
+   * @param skipSameDaySubject also skip copies whose subject already occurs that day
+   * @return counts and throughput of the copy
+   * @throws IllegalArgumentException if a calendar is missing
+   */
+  CopyResult copyEventsBulk(String sourceCalendar, String targetCalendar,
+                            LocalDate startInclusive, LocalDate endInclusive,
+                            LocalDate targetStart, boolean skipSameDaySubject);
+
+  /**
+   * Copies a date range like
+   * {@link #copyEventsBulk(String, String, LocalDate, LocalDate, LocalDate, boolean)}, with
+   * the given treatment of series.
+   *
+   * @param sourceCalendar     source calendar name
+   * @param targetCalendar     target calendar name
+   * @param startInclusive     inclusive start date
+   * @param endInclusive       inclusive end date
+   * @param targetStart        start date for the pasted range in the target calendar
+   * @param skipSameDaySubject also skip copies whose subject already occurs that day
+   * @param mode               whether copied series keep their ids or get fresh ones
+   * @return counts and throughput of the copy
+   * @throws IllegalArgumentException if a calendar is missing
+   */
+  CopyResult copyEventsBulk(String sourceCalendar, String targetCalendar,
+                            LocalDate startInclusive, LocalDate endInclusive,
+                            LocalDate targetStart, boolean skipSameDaySubject,
+                            SeriesCopyMode mode);
+
+  /**
+   * Merged busy intervals across the named calendars within a window. Each calendar's
+   * events are normalized from its own zone onto the instant timeline, clipped to the
+   * window, and merged so overlapping or touching intervals collapse into one.
+   * With a positive {@code granularity}, each busy interval is first widened to whole
+   * slots of that length aligned to {@code from}.
+   *
+   * @param calendarNames calendars to aggregate
+   * @param from          window start (inclusive)
+   * @param to            window end (exclusive)
+   * @param granularity   slot length in whole seconds, or {@code null}/zero for exact
+   *                      intervals
+   * @return disjoint busy intervals in ascending order
+   * @throws IllegalArgumentException if a calendar is missing, the window is empty, or the
+   *                                  granularity is negative or not a whole number of seconds
+   */
+  List<TimeInterval> getFreeBusy(Collection<String> calendarNames,
+                                 ZonedDateTime from, ZonedDateTime to,
+                                 Duration granularity);
+
+  /**
+   * Finds the earliest slot of the given length in which every named calendar is free.
+   * Busy time from all calendars is merged on the instant timeline and swept once for the
+   * first sufficiently long gap. When {@code workingHoursOnly} is set, time outside
+   * {@link WorkingHours#START}–{@link WorkingHours#END} in any calendar's own zone is
+   * treated as busy.
+   *
+   * @param calendarNames    calendars that must all be free
+   * @param duration         required slot length
+   * @param from             window start (inclusive)
+   * @param to               window end (exclusive)
+   * @param workingHoursOnly restrict to working hours in every calendar's zone
+   * @return the earliest slot, or empty if none fits in the window
+   * @throws IllegalArgumentException if a calendar is missing, the duration is not positive,
+   *                                  or the window is empty
+   */
+  Optional<TimeInterval> findFreeSlot(Collection<String> calendarNames, Duration duration,
+                                      ZonedDateTime from, ZonedDateTime to,
+                                      boolean workingHoursOnly);
+
+  /**
+   * Overlapping clusters across the named calendars, compared on the instant timeline so
+   * that calendars in different zones are checked against each other. Only events that
+   * overlap the window take part.
+   *
+   * @param calendarNames calendars to check together
+   * @param from          window start
+   * @param to            window end
+   * @return conflicts ordered by start, possibly empty
+   * @throws IllegalArgumentException if a calendar is missing or {@code to} is before
+   *                                  {@code from}
+   */
+  List<Conflict> findConflicts(Collection<String> calendarNames,
+                               ZonedDateTime from, ZonedDateTime to);
+
+  /**
+   * Streaming form of {@link #findConflicts(Collection, ZonedDateTime, ZonedDateTime)}.
+   *
+   * @param calendarNames calendars to check together
+   * @param from          window start
+   * @param to            window end
+   * @param sink          receiver of conflicts, in start order
+   * @throws IllegalArgumentException if a calendar is missing or {@code to} is before
+   *                                  {@code from}
+   */
+  void findConflicts(Collection<String> calendarNames, ZonedDateTime from, ZonedDateTime to,
+                     Consumer<Conflict> sink);
+
+  /**
+   * Ordered stream of changes to every calendar created by this book, as published by each
+   * calendar's own {@link Calendar#changes()} stream.
+   *
+   * @return the book-wide change stream
+   */
+  ChangeStream changes();
+
+  /**
+   * Sets how long a calendar keeps past events in memory. Each {@link #applyRetention()}
+   * moves the calendar's events that ended before the start of the day {@code keep} ago,
+   * in its own zone, to an archive file. Lookups by time, duplicate checks and the full
+   * event list still include archived events.
+   *
+   * @param name calendar name
+   * @param keep how far back events stay in memory, or null for no retention
+   * @throws IllegalArgumentException if the calendar is missing or {@code keep} is negative
+   */
+  void setRetention(String name, Period keep);
+
+  /**
+   * Archives every calendar's events that fall outside its retention period.
+   *
+   * @return number of events archived
+   * @throws java.io.UncheckedIOException if an archive file cannot be created
+   */
+  int applyRetention();
+
+  /**
+   * Spills least recently used calendars to disk until the ones left in memory fit the
+   * book's heap budget. A spilled calendar reads itself back in on its next use. Must not
+   * run concurrently with other calls on the book.
+   *
+   * @return number of calendars spilled
+   * @throws java.io.UncheckedIOException if a spill file cannot be written
+   */
+  int trimResidency();
+
+  /**
+   * Residency counters: hits, misses, spills and the estimated heap in use.
+   *
+   * @return a snapshot
+   */
+  ResidencyStats getResidencyStats();
 }
@@ -1,23 +1,85 @@
 package calendar;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Period;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
- * In-memory implementation of CalendarBook.
+ * In-memory implementation of CalendarBook. Events a calendar's retention policy moves out
+ * of memory go to one archive file per calendar in the book's archive directory, and so do
+ * the spill files of calendars trimmed to keep the book within its heap budget.
  */
 public class CalendarBookImpl implements CalendarBook {
 
+  /**
+   * System property naming the default archive directory.
+   */
+  public static final String ARCHIVE_DIR_PROPERTY = "calendar.archive.dir";
+
+  /**
+   * System property setting the default heap budget for resident calendars, in bytes.
+   */
+  public static final String HEAP_BUDGET_PROPERTY = "calendar.heap.budget";
+
   private final Map<String, Calendar> calendars = new ConcurrentHashMap<>();
+  private final ChangeStream changes = new ChangeStream();
+  private final Map<Calendar, Period> retention = new ConcurrentHashMap<>();
+  private final Path archiveDir;
+  private final CalendarResidency residency;
+
+  /**
+   * Creates an empty book archiving to the directory named by {@value #ARCHIVE_DIR_PROPERTY},
+   * or to {@code calendar-archive} under the system temporary directory, with the heap
+   * budget set by {@value #HEAP_BUDGET_PROPERTY}, or a quarter of the maximum heap.
+   */
+  public CalendarBookImpl() {
+    this(Paths.get(System.getProperty(ARCHIVE_DIR_PROPERTY,
+        Paths.get(System.getProperty("java.io.tmpdir"), "calendar-archive").toString())));
+  }
+
+  /**
+   * Creates an empty book archiving to {@code archiveDir}, which is created when first
+   * needed, with the default heap budget.
+   *
+   * @param archiveDir directory for archive and spill files
+   */
+  public CalendarBookImpl(Path archiveDir) {
+    this(archiveDir, Long.getLong(HEAP_BUDGET_PROPERTY, Runtime.getRuntime().maxMemory() / 4));
+  }
+
+  /**
+   * Creates an empty book archiving and spilling to {@code archiveDir} that trims resident
+   * calendars to {@code heapBudgetBytes}.
+   *
+   * @param archiveDir      directory for archive and spill files
+   * @param heapBudgetBytes estimated heap resident calendars' events may hold
+   * @throws IllegalArgumentException if the budget is negative
+   */
+  public CalendarBookImpl(Path archiveDir, long heapBudgetBytes) {
+    this.archiveDir = Objects.requireNonNull(archiveDir, "archiveDir");
+    this.residency = new CalendarResidency(archiveDir, heapBudgetBytes);
+  }
 
   @Override
   public Calendar createCalendar(String name, ZoneId zone) {
@@ -26,11 +88,56 @@ public class CalendarBookImpl implements CalendarBook {
     if (calendars.containsKey(name)) {
       throw new IllegalArgumentException("Calendar already exists: " + name);
     }
-    Calendar cal = new CalendarImpl(name, zone);
+    CalendarImpl cal = new CalendarImpl(name, zone);
+    cal.forwardChangesTo(changes);
     calendars.put(name, cal);
+    residency.touch(cal);
     return cal;
   }
 
+  @Override
+  public ChangeStream changes() {
+    return changes;
+  }
+
+  @Override
+  public void setRetention(String name, Period keep) {
+    Calendar cal = getCalendar(name);
+    if (keep == null) {
+      retention.remove(cal);
+      return;
+    }
+    if (keep.isNegative()) {
+      throw new IllegalArgumentException("Retention cannot be negative: " + keep);
+    }
+    retention.put(cal, keep);
+  }
+
+  @Override
+  public int applyRetention() {
+    int moved = 0;
+    for (Map.Entry<Calendar, Period> policy : retention.entrySet()) {
+      CalendarImpl cal = (CalendarImpl) policy.getKey();
+      if (cal.isSpilled()) {
+        // Applied once the calendar is back in memory rather than paging it in for this.
+        continue;
+      }
+      LocalDate today = LocalDate.now(cal.getZoneId());
+      moved += cal.archiveEndingBy(today.minus(policy.getValue()).atStartOfDay(), archiveDir);
+    }
+    return moved;
+  }
+
+  @Override
+  public int trimResidency() {
+    return residency.trim();
+  }
+
+  @Override
+  public ResidencyStats getResidencyStats() {
+    return residency.stats();
+  }
+
   @Override
   public void renameCalendar(String oldName, String newName) {
     Objects.requireNonNull(oldName, "oldName");
@@ -65,6 +172,7 @@ public class CalendarBookImpl implements CalendarBook {
     if (cal == null) {
       throw new IllegalArgumentException("No such calendar: " + name);
     }
+    residency.touch((CalendarImpl) cal);
     return cal;
   }
 
@@ -82,6 +190,8 @@ public class CalendarBookImpl implements CalendarBook {
   @Override
   public void copyEvent(String sourceCalendar, String targetCalendar,
                         LocalDateTime sourceStart, String subject, LocalDateTime targetStart) {
+    JfrEvents.Copy jfr = new JfrEvents.Copy();
+    jfr.begin();
     Calendar src = getCalendar(sourceCalendar);
     Calendar dst = getCalendar(targetCalendar);
 
@@ -97,6 +207,7 @@ public class CalendarBookImpl implements CalendarBook {
     LocalDateTime newStart = targetStart;
     LocalDateTime newEnd = newStart.plus(durationOf(e));
     dst.copyFrom(e, newStart, newEnd);
+    commitCopy(jfr, src, dst, "event", 1);
   }
 
   @Override
@@ -105,53 +216,363 @@ public class CalendarBookImpl implements CalendarBook {
     Calendar src = getCalendar(sourceCalendar);
     Calendar dst = getCalendar(targetCalendar);
 
+    JfrEvents.Copy jfr = new JfrEvents.Copy();
+    jfr.begin();
     List<Event> dayEvents = src.getEventsOnDate(sourceDate);
-    ZoneId srcZone = src.getZoneId();
-    ZoneId dstZone = dst.getZoneId();
+    ZoneConverter zones = ZoneConverter.of(src.getZoneId(), dst.getZoneId());
 
     for (Event e : dayEvents) {
-      LocalDateTime projectedStartLocal = projectInstantToZone(e.getStartDateTime(),
-          srcZone, dstZone);
+      LocalDateTime projectedStartLocal = StoredEvent.startIn(e, zones);
       LocalDateTime newStart = targetDate.atTime(projectedStartLocal.toLocalTime());
       LocalDateTime newEnd = newStart.plus(durationOf(e));
       dst.copyFrom(e, newStart, newEnd);
     }
+    commitCopy(jfr, src, dst, "day", dayEvents.size());
   }
 
   @Override
   public void copyEventsBetween(String sourceCalendar, String targetCalendar,
                                 LocalDate startInclusive, LocalDate endInclusive,
                                 LocalDate targetStart) {
+    copyEventsBetween(sourceCalendar, targetCalendar, startInclusive, endInclusive,
+        targetStart, SeriesCopyMode.SHARE_ID);
+  }
+
+  @Override
+  public void copyEventsBetween(String sourceCalendar, String targetCalendar,
+                                LocalDate startInclusive, LocalDate endInclusive,
+                                LocalDate targetStart, SeriesCopyMode mode) {
+    Objects.requireNonNull(mode, "mode");
     Calendar src = getCalendar(sourceCalendar);
     Calendar dst = getCalendar(targetCalendar);
 
-    LocalDateTime srcStart = startInclusive.atStartOfDay();
-    LocalDateTime srcEnd = endInclusive.plusDays(1).atStartOfDay().minusSeconds(1);
+    JfrEvents.Copy jfr = new JfrEvents.Copy();
+    jfr.begin();
+    List<Event> placed = project(src, dst, startInclusive, endInclusive, targetStart, mode);
+    dst.copyAll(placed);
+    commitCopy(jfr, src, dst, mode == SeriesCopyMode.NEW_ID ? "series" : "range",
+        placed.size());
+  }
 
-    List<Event> inRange = src.getEventsInRange(srcStart, srcEnd);
-    ZoneId srcZone = src.getZoneId();
-    ZoneId dstZone = dst.getZoneId();
+  @Override
+  public CopyResult copyEventsBulk(String sourceCalendar, String targetCalendar,
+                                   LocalDate startInclusive, LocalDate endInclusive,
+                                   LocalDate targetStart, boolean skipSameDaySubject) {
+    return copyEventsBulk(sourceCalendar, targetCalendar, startInclusive, endInclusive,
+        targetStart, skipSameDaySubject, SeriesCopyMode.SHARE_ID);
+  }
+
+  @Override
+  public CopyResult copyEventsBulk(String sourceCalendar, String targetCalendar,
+                                   LocalDate startInclusive, LocalDate endInclusive,
+                                   LocalDate targetStart, boolean skipSameDaySubject,
+                                   SeriesCopyMode mode) {
+    Objects.requireNonNull(mode, "mode");
+    Calendar src = getCalendar(sourceCalendar);
+    Calendar dst = getCalendar(targetCalendar);
+    final long started = System.nanoTime();
+    JfrEvents.Copy jfr = new JfrEvents.Copy();
+    jfr.begin();
 
+    List<Event> placed = project(src, dst, startInclusive, endInclusive, targetStart, mode);
+    List<Event> accepted = new ArrayList<>(placed.size());
+    if (!placed.isEmpty()) {
+      CopyKeys keys = new CopyKeys(skipSameDaySubject);
+      keys.addAll(existingNear(dst, placed));
+      for (Event p : placed) {
+        if (keys.admit(p)) {
+          accepted.add(p);
+        }
+      }
+      dst.copyAll(accepted);
+    }
+    commitCopy(jfr, src, dst, "bulk", accepted.size());
+    return new CopyResult(accepted.size(), placed.size() - accepted.size(),
+        System.nanoTime() - started);
+  }
+
+  /**
+   * Source events overlapping the inclusive date range, moved to the same day offset from
+   * {@code targetStart} at their start time in the target's zone. Under
+   * {@link SeriesCopyMode#NEW_ID} every source series is mapped to one fresh key.
+   */
+  private static List<Event> project(Calendar src, Calendar dst, LocalDate startInclusive,
+                                     LocalDate endInclusive, LocalDate targetStart,
+                                     SeriesCopyMode mode) {
+    List<Event> inRange = src.getEventsInRange(startInclusive.atStartOfDay(),
+        endInclusive.plusDays(1).atStartOfDay().minusSeconds(1));
+    ZoneConverter zones = ZoneConverter.of(src.getZoneId(), dst.getZoneId());
+    Map<String, Integer> freshKeys = new HashMap<>();
+    List<Event> placed = new ArrayList<>(inRange.size());
     for (Event e : inRange) {
-      long dayOffset = Duration.between(
-          startInclusive.atStartOfDay(), e.getStartDateTime().toLocalDate().atStartOfDay()
-      ).toDays();
-
-      LocalDateTime projectedStartLocal = projectInstantToZone(e.getStartDateTime(),
-          srcZone, dstZone);
-      LocalDate targetDay = targetStart.plusDays(dayOffset);
-      LocalDateTime newStart = targetDay.atTime(projectedStartLocal.toLocalTime());
-      LocalDateTime newEnd = newStart.plus(durationOf(e));
-      dst.copyFrom(e, newStart, newEnd);
+      long dayOffset = ChronoUnit.DAYS.between(startInclusive, e.getStartDateTime().toLocalDate());
+      LocalDateTime newStart = targetStart.plusDays(dayOffset)
+          .atTime(StoredEvent.startIn(e, zones).toLocalTime());
+      EventBuilder b = EventBuilder.from(e)
+          .startDateTime(newStart)
+          .endDateTime(newStart.plus(durationOf(e)));
+      if (mode == SeriesCopyMode.NEW_ID && e.isSeriesPart()) {
+        b.seriesKey(freshKeys.computeIfAbsent(e.getSeriesId().get(), id -> SeriesIds.next()));
+      }
+      placed.add(b.build());
     }
+    return placed;
   }
 
-  private static Duration durationOf(Event e) {
-    return Duration.between(e.getStartDateTime(), e.getEndDateTime());
+  /**
+   * Target events on any day a placed copy starts, which is every event a copy could
+   * collide with by exact key or by subject and day.
+   */
+  private static List<Event> existingNear(Calendar dst, List<Event> placed) {
+    LocalDate first = placed.get(0).getStartDateTime().toLocalDate();
+    LocalDate last = first;
+    for (Event p : placed) {
+      LocalDate d = p.getStartDateTime().toLocalDate();
+      first = d.isBefore(first) ? d : first;
+      last = d.isAfter(last) ? d : last;
+    }
+    return dst.getEventsInRange(first.atStartOfDay(),
+        last.plusDays(1).atStartOfDay().minusNanos(1));
+  }
+
+  private static void commitCopy(JfrEvents.Copy jfr, Calendar src, Calendar dst, String kind,
+                                 int copied) {
+    jfr.source = src.getName();
+    jfr.target = dst.getName();
+    jfr.kind = kind;
+    jfr.eventsCopied = copied;
+    jfr.commit();
   }
 
-  private static LocalDateTime projectInstantToZone(LocalDateTime dt, ZoneId from, ZoneId to) {
-    ZonedDateTime z = dt.atZone(from).withZoneSameInstant(to);
-    return z.toLocalDateTime();
+  @Override
+  public List<TimeInterval> getFreeBusy(Collection<String> calendarNames,
+                                        ZonedDateTime from, ZonedDateTime to,
+                                        Duration granularity) {
+    Objects.requireNonNull(calendarNames, "calendarNames");
+    Objects.requireNonNull(from, "from");
+    Objects.requireNonNull(to, "to");
+    if (!to.isAfter(from)) {
+      throw new IllegalArgumentException("Window end must be after start");
+    }
+    if (granularity != null && granularity.isNegative()) {
+      throw new IllegalArgumentException("Granularity cannot be negative");
+    }
+    if (granularity != null && granularity.getNano() != 0) {
+      throw new IllegalArgumentException("Granularity must be a whole number of seconds");
+    }
+    long winStart = from.toEpochSecond();
+    long winEnd = to.toEpochSecond() + (to.getNano() > 0 ? 1 : 0);
+    long slot = granularity == null ? 0 : granularity.getSeconds();
+
+    List<List<TimeInterval>> perCalendar = new ArrayList<>();
+    for (String name : new LinkedHashSet<>(calendarNames)) {
+      perCalendar.add(busyIntervals(getCalendar(name), winStart, winEnd, slot));
+    }
+    return mergeSorted(perCalendar);
+  }
+
+  @Override
+  public Optional<TimeInterval> findFreeSlot(Collection<String> calendarNames,
+                                             Duration duration,
+                                             ZonedDateTime from, ZonedDateTime to,
+                                             boolean workingHoursOnly) {
+    Objects.requireNonNull(calendarNames, "calendarNames");
+    Objects.requireNonNull(duration, "duration");
+    Objects.requireNonNull(from, "from");
+    Objects.requireNonNull(to, "to");
+    if (duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("Duration must be positive");
+    }
+    if (!to.isAfter(from)) {
+      throw new IllegalArgumentException("Window end must be after start");
+    }
+    long winStart = from.toEpochSecond() + (from.getNano() > 0 ? 1 : 0);
+    long winEnd = to.toEpochSecond();
+    long needed = duration.getSeconds() + (duration.getNano() > 0 ? 1 : 0);
+
+    List<List<TimeInterval>> blocked = new ArrayList<>();
+    Set<ZoneId> zones = new LinkedHashSet<>();
+    for (String name : new LinkedHashSet<>(calendarNames)) {
+      Calendar cal = getCalendar(name);
+      blocked.add(busyIntervals(cal, winStart, winEnd, 0));
+      zones.add(cal.getZoneId());
+    }
+    if (workingHoursOnly) {
+      for (ZoneId zone : zones) {
+        blocked.add(offHours(zone, winStart, winEnd));
+      }
+    }
+
+    // Sweep: the merged blocked intervals are disjoint and ascending, so the first gap
+    // of sufficient length between them is the earliest common free slot.
+    long cursor = winStart;
+    for (TimeInterval b : mergeSorted(blocked)) {
+      long bs = b.getStart().getEpochSecond();
+      if (bs - cursor >= needed) {
+        break;
+      }
+      cursor = Math.max(cursor, b.getEnd().getEpochSecond());
+    }
+    if (winEnd - cursor < needed) {
+      return Optional.empty();
+    }
+    Instant slotStart = Instant.ofEpochSecond(cursor);
+    return Optional.of(new TimeInterval(slotStart, slotStart.plus(duration)));
+  }
+
+  @Override
+  public List<Conflict> findConflicts(Collection<String> calendarNames,
+                                      ZonedDateTime from, ZonedDateTime to) {
+    List<Conflict> out = new ArrayList<>();
+    findConflicts(calendarNames, from, to, out::add);
+    return out;
+  }
+
+  @Override
+  public void findConflicts(Collection<String> calendarNames, ZonedDateTime from,
+                            ZonedDateTime to, Consumer<Conflict> sink) {
+    Objects.requireNonNull(calendarNames, "calendarNames");
+    Objects.requireNonNull(from, "from");
+    Objects.requireNonNull(to, "to");
+    Objects.requireNonNull(sink, "sink");
+    if (to.isBefore(from)) {
+      throw new IllegalArgumentException("Window end before start");
+    }
+    ConflictSweep sweep = new ConflictSweep();
+    for (String name : new LinkedHashSet<>(calendarNames)) {
+      Calendar cal = getCalendar(name);
+      ZoneId zone = cal.getZoneId();
+      sweep.add(cal, cal.getEventsInRange(from.withZoneSameInstant(zone).toLocalDateTime(),
+          to.withZoneSameInstant(zone).toLocalDateTime()));
+    }
+    sweep.run(sink);
+  }
+
+  /**
+   * Time outside {@link WorkingHours} in the given zone, clipped to the window, ascending.
+   */
+  private static List<TimeInterval> offHours(ZoneId zone, long winStart, long winEnd) {
+    ZoneConverter local = ZoneConverter.of(zone, zone);
+    LocalDate first = local.toLocal(winStart, 0).toLocalDate().minusDays(1);
+    LocalDate last = local.toLocal(winEnd, 0).toLocalDate();
+    List<TimeInterval> out = new ArrayList<>();
+    for (LocalDate d = first; !d.isAfter(last); d = d.plusDays(1)) {
+      long s = Math.max(winStart, local.toEpochSecond(d.atTime(WorkingHours.END)));
+      long t = Math.min(winEnd, local.toEpochSecond(d.plusDays(1).atTime(WorkingHours.START)));
+      if (s < t) {
+        out.add(new TimeInterval(Instant.ofEpochSecond(s), Instant.ofEpochSecond(t)));
+      }
+    }
+    return out;
+  }
+
+  /**
+   * K-way merge of individually sorted, disjoint interval lists into one disjoint list.
+   */
+  private static List<TimeInterval> mergeSorted(List<List<TimeInterval>> lists) {
+    PriorityQueue<BusyCursor> heap = new PriorityQueue<>();
+    for (List<TimeInterval> l : lists) {
+      if (!l.isEmpty()) {
+        heap.add(new BusyCursor(l));
+      }
+    }
+    List<TimeInterval> merged = new ArrayList<>();
+    while (!heap.isEmpty()) {
+      BusyCursor c = heap.poll();
+      appendMerged(merged, c.current());
+      if (c.advance()) {
+        heap.add(c);
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * One calendar's busy intervals within the window as epoch seconds, sorted and merged.
+   * Works on primitives so that only the merged result allocates. Local order and instant
+   * order only disagree around DST gaps, so an insertion sort is near-linear here.
+   */
+  private static List<TimeInterval> busyIntervals(Calendar cal, long winStart, long winEnd,
+                                                  long slot) {
+    ZoneConverter local = ZoneConverter.of(cal.getZoneId(), cal.getZoneId());
+    List<Event> events = cal.getEventsInRange(local.toLocal(winStart, 0),
+        local.toLocal(winEnd, 0));
+    long[] starts = new long[events.size()];
+    long[] ends = new long[events.size()];
+    int n = 0;
+    for (Event e : events) {
+      long s = StoredEvent.startEpoch(e, local);
+      long t = StoredEvent.endEpochCeil(e, local);
+      if (slot > 0) {
+        s = winStart + Math.floorDiv(s - winStart, slot) * slot;
+        t = winStart - Math.floorDiv(winStart - t, slot) * slot;
+      }
+      s = Math.max(s, winStart);
+      t = Math.min(t, winEnd);
+      if (s >= t) {
+        continue;
+      }
+      int i = n++;
+      while (i > 0 && starts[i - 1] > s) {
+        starts[i] = starts[i - 1];
+        ends[i] = ends[i - 1];
+        i--;
+      }
+      starts[i] = s;
+      ends[i] = t;
+    }
+    List<TimeInterval> merged = new ArrayList<>();
+    int i = 0;
+    while (i < n) {
+      long s = starts[i];
+      long t = ends[i++];
+      while (i < n && starts[i] <= t) {
+        t = Math.max(t, ends[i++]);
+      }
+      merged.add(new TimeInterval(Instant.ofEpochSecond(s), Instant.ofEpochSecond(t)));
+    }
+    return merged;
+  }
+
+  private static void appendMerged(List<TimeInterval> out, TimeInterval next) {
+    if (!out.isEmpty()) {
+      TimeInterval last = out.get(out.size() - 1);
+      if (!next.getStart().isAfter(last.getEnd())) {
+        if (next.getEnd().isAfter(last.getEnd())) {
+          out.set(out.size() - 1, new TimeInterval(last.getStart(), next.getEnd()));
+        }
+        return;
+      }
+    }
+    out.add(next);
+  }
+
+  /**
+   * Head of one calendar's sorted busy list in the k-way merge.
+   */
+  private static final class BusyCursor implements Comparable<BusyCursor> {
+    private final List<TimeInterval> intervals;
+    private int pos;
+
+    BusyCursor(List<TimeInterval> intervals) {
+      this.intervals = intervals;
+    }
+
+    TimeInterval current() {
+      return intervals.get(pos);
+    }
+
+    boolean advance() {
+      return ++pos < intervals.size();
+    }
+
+    @Override
+    public int compareTo(BusyCursor o) {
+      return current().getStart().compareTo(o.current().getStart());
+    }
+  }
+
+  private static Duration durationOf(Event e) {
+    return Duration.between(e.getStartDateTime(), e.getEndDateTime());
   }
 }
@@ -1,32 +1,77 @@
 package calendar;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.DayOfWeek;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Default implementation of a {@link Calendar}.
  * Stores events in memory and supports single events and series with simple edits.
- * All LocalDateTime values are interpreted in this calendar's ZoneId.
+ * All LocalDateTime values are interpreted in this calendar's ZoneId. Events are stored as
+ * instants and presented in the current zone on access, so changing the zone is a constant
+ * time metadata update.
+ *
+ * <p>Past events can be moved to an {@link EventArchive} on disk. Lookups by time, counts,
+ * busy and duplicate checks and {@link #getAllEvents()} still see them; search, day
+ * summaries, reports, conflicts, edits and deletions cover only the events kept in
+ * memory.</p>
+ *
+ * <p>Day and range lookups go through a {@link QueryCache}; every change to an event drops
+ * just the cached lookups its old and new times overlap.</p>
+ *
+ * <p>A book short of memory can also spill a whole calendar to disk; the calendar then
+ * reads its events back on the next call that needs them, so references to it stay
+ * valid.</p>
+ *
+ * <p>Events handed out are snapshots pinned to the zone at the time of the call: they keep
+ * their local times, equality and hash when the zone later changes.</p>
  */
 public class CalendarImpl implements Calendar {
 
-  private final List<Event> events;
-  private final SeriesIndex seriesIndex;
+  private EventStore events;
+  private SeriesIndex seriesIndex;
+  private TimeIndex timeIndex;
+  private SearchIndex searchIndex;
+  private DaySummaryIndex daySummaries;
+  private Interner strings;
+  private final ZoneView view;
+  // Never switched: a new one replaces it on each zone change.
+  private ZoneView pinned;
+  private final ChangeStream changes = new ChangeStream();
+  private final ChangeLog changeLog = new ChangeLog();
+  private QueryCache queryCache = new QueryCache();
+  // The cache's counters while it is dropped by a spill.
+  private QueryCacheStats spilledCacheStats;
 
   private String name;
-  private ZoneId zoneId;
+  private ChangeStream forward;
+  private EventArchive archive;
+  // Every archived event ends at or before this instant.
+  private long archivedBefore = Long.MIN_VALUE;
+  private Path spillFile;
+  // Set while the events are on disk rather than in the fields above.
+  private volatile boolean spilled;
+  private long pageIns;
 
   /**
    * Creates an empty calendar named "default" in America/New_York time zone.
@@ -46,9 +91,31 @@ public class CalendarImpl implements Calendar {
       throw new IllegalArgumentException("Name and ZoneId are required");
     }
     this.name = name;
-    this.zoneId = zoneId;
-    this.events = new ArrayList<>();
-    this.seriesIndex = new SeriesIndex();
+    this.view = new ZoneView(zoneId);
+    this.pinned = new ZoneView(zoneId);
+    resetIndexes();
+  }
+
+  private void resetIndexes() {
+    events = new EventStore();
+    strings = new Interner();
+    seriesIndex = new SeriesIndex(view);
+    timeIndex = new TimeIndex(view);
+    searchIndex = new SearchIndex();
+    daySummaries = new DaySummaryIndex(view, timeIndex, events);
+  }
+
+  /**
+   * Releases the events, indexes and interner while spilled; {@link #pageIn()} rebuilds
+   * them.
+   */
+  private void dropIndexes() {
+    events = null;
+    strings = null;
+    seriesIndex = null;
+    timeIndex = null;
+    searchIndex = null;
+    daySummaries = null;
   }
 
   @Override
@@ -61,40 +128,59 @@ public class CalendarImpl implements Calendar {
     if (newName == null || newName.isBlank()) {
       throw new IllegalArgumentException("Name cannot be blank");
     }
+    String oldName = this.name;
     this.name = newName;
+    if (!oldName.equals(newName)) {
+      emit(ChangeType.RENAMED, changeLog.reset(), null, null, oldName, newName);
+    }
   }
 
   @Override
   public ZoneId getZoneId() {
-    return this.zoneId;
+    return view.get();
   }
 
   @Override
   public void setZoneId(ZoneId zone) {
+    hot();
     if (zone == null) {
       throw new IllegalArgumentException("ZoneId cannot be null");
     }
-    if (!zone.equals(this.zoneId)) {
-      convertAllEventsToZone(this.zoneId, zone);
-      this.zoneId = zone;
-      seriesIndex.rebuild(events);
+    if (!zone.equals(view.get())) {
+      JfrEvents.ZoneConversion jfr = new JfrEvents.ZoneConversion();
+      jfr.begin();
+      jfr.fromZone = view.get().getId();
+      view.set(zone);
+      pinned = new ZoneView(zone);
+      daySummaries.zoneChanged();
+      emit(ChangeType.ZONE_CHANGED, changeLog.reset(), null, null, jfr.fromZone,
+          zone.getId());
+      jfr.calendar = name;
+      jfr.toZone = zone.getId();
+      jfr.eventsConverted = events.size();
+      jfr.commit();
     }
   }
 
   @Override
   public Event createEvent(String subject, LocalDateTime start, LocalDateTime end) {
+    hot();
+    JfrEvents.Create jfr = new JfrEvents.Create();
+    jfr.begin();
     if (eventExists(subject, start, end)) {
       throw new IllegalArgumentException(
           "Event with same subject, start, and end already exists");
     }
-    Event event = new EventBuilder()
+    Event event = newBuilder()
         .subject(subject)
         .startDateTime(start)
         .endDateTime(end)
         .build();
-    events.add(event);
-    event.getSeriesId().ifPresent(id -> seriesIndex.add(id, event.getStartDateTime()));
-    return event;
+    addEvent(event);
+    event.getSeriesId().ifPresent(id -> seriesIndex.add(id, seriesStart(event)));
+    jfr.calendar = name;
+    jfr.commit();
+    return publish(event);
   }
 
   @Override
@@ -103,19 +189,24 @@ public class CalendarImpl implements Calendar {
                                        LocalDateTime end,
                                        Set<DayOfWeek> weekdays,
                                        int occurrences) {
+    hot();
     if (occurrences <= 0) {
       throw new IllegalArgumentException("Occurrences must be positive");
     }
     validateSeriesInstanceShape(start, end, weekdays);
 
-    String seriesId = generateSeriesId();
+    JfrEvents.SeriesExpansion jfr = new JfrEvents.SeriesExpansion();
+    jfr.begin();
+    int seriesKey = SeriesIds.next();
+    String seriesId = SeriesIds.external(seriesKey);
     List<Event> created = createSeries(
-        subject, start, end, weekdays, seriesId, occurrences, null
+        subject, start, end, weekdays, seriesKey, occurrences, null
     );
     for (Event e : created) {
-      seriesIndex.add(seriesId, e.getStartDateTime());
+      seriesIndex.add(seriesId, seriesStart(e));
     }
-    return created;
+    commitSeries(jfr, created.size(), false);
+    return publish(created);
   }
 
   @Override
@@ -124,36 +215,52 @@ public class CalendarImpl implements Calendar {
                                             LocalDateTime end,
                                             Set<DayOfWeek> weekdays,
                                             LocalDate endDate) {
+    hot();
     validateSeriesInstanceShape(start, end, weekdays);
 
-    String seriesId = generateSeriesId();
+    JfrEvents.SeriesExpansion jfr = new JfrEvents.SeriesExpansion();
+    jfr.begin();
+    int seriesKey = SeriesIds.next();
+    String seriesId = SeriesIds.external(seriesKey);
     List<Event> created = createSeries(
-        subject, start, end, weekdays, seriesId, Integer.MAX_VALUE, endDate
+        subject, start, end, weekdays, seriesKey, Integer.MAX_VALUE, endDate
     );
     for (Event e : created) {
-      seriesIndex.add(seriesId, e.getStartDateTime());
+      seriesIndex.add(seriesId, seriesStart(e));
     }
-    return created;
+    commitSeries(jfr, created.size(), true);
+    return publish(created);
   }
 
   @Override
   public List<Event> findEvents(String subject, LocalDateTime start, LocalDateTime end) {
-    return events.stream()
-        .filter(e -> e.getSubject().equals(subject))
-        .filter(e -> e.getStartDateTime().equals(start))
-        .filter(e -> end == null || e.getEndDateTime().equals(end))
-        .collect(Collectors.toList());
+    hot();
+    return publish(matching(subject, start, end));
   }
 
   @Override
   public List<Event> findEvents(String subject, LocalDateTime start) {
+    hot();
     return findEvents(subject, start, null);
   }
 
+  /**
+   * Stored events with the given subject and start, and end if given.
+   */
+  private List<Event> matching(String subject, LocalDateTime start, LocalDateTime end) {
+    return timeIndex.startingAt(start).stream()
+        .filter(e -> e.getSubject().equals(subject))
+        .filter(e -> end == null || e.getEndDateTime().equals(end))
+        .collect(Collectors.toList());
+  }
+
   @Override
   public void editEvent(String subject, LocalDateTime start,
                         String property, String newValue) {
-    List<Event> matches = findEvents(subject, start, null);
+    hot();
+    JfrEvents.Edit jfr = new JfrEvents.Edit();
+    jfr.begin();
+    List<Event> matches = matching(subject, start, null);
     if (matches.isEmpty()) {
       throw new IllegalArgumentException("No event found with given criteria");
     }
@@ -165,6 +272,7 @@ public class CalendarImpl implements Calendar {
     Event updated = applyProperty(target, prop, newValue);
     enforceNoDuplicateOnReplace(target, updated);
     replaceEvent(target, updated);
+    commitEdit(jfr, "event", property, 1);
   }
 
   /**
@@ -189,6 +297,7 @@ public class CalendarImpl implements Calendar {
                         EventProperty property,
                         LocalDateTime newDateTime,
                         String newText) {
+    hot();
     String val = coerceValue(property, newDateTime, newText);
     editEvent(subject, start, property.name().toLowerCase(), val);
   }
@@ -196,7 +305,44 @@ public class CalendarImpl implements Calendar {
   @Override
   public void editEventsFromDate(String subject, LocalDateTime start,
                                  String property, String newValue) {
-    List<Event> matches = findEvents(subject, start, null);
+    hot();
+    JfrEvents.Edit jfr = new JfrEvents.Edit();
+    jfr.begin();
+    int touched = applyEventsFromDate(subject, start, property, newValue);
+    commitEdit(jfr, "events", property, touched);
+  }
+
+  /**
+   * Edits events from (and including) {@code start} going forward for the given {@code subject}.
+   *
+   * <p>If the matched event is not part of a series, only that one event is edited.
+   * If it is part of a series, the change is applied to that occurrence and all future
+   * occurrences in the same series. For time fields (START/END) use {@code newDateTime};
+   * for other fields use {@code newText}.</p>
+   *
+   * @param subject     subject used to locate the series or single event
+   * @param start       pivot start timestamp (inclusive) from which edits apply
+   * @param property    which event field to change
+   * @param newDateTime new timestamp when {@code property} is START or END; otherwise ignored
+   * @param newText     new textual value when {@code property} is not a time field;
+   *                    otherwise ignored
+   * @throws IllegalArgumentException if no matching event is found, a value is missing/invalid,
+   *                                  or the change would create a duplicate event.
+   */
+
+  public void editEventsFromDate(String subject,
+                                 LocalDateTime start,
+                                 EventProperty property,
+                                 LocalDateTime newDateTime,
+                                 String newText) {
+    hot();
+    String val = coerceValue(property, newDateTime, newText);
+    editEventsFromDate(subject, start, property.name().toLowerCase(), val);
+  }
+
+  private int applyEventsFromDate(String subject, LocalDateTime start,
+                                  String property, String newValue) {
+    List<Event> matches = matching(subject, start, null);
     if (matches.isEmpty()) {
       throw new IllegalArgumentException("No event found");
     }
@@ -207,19 +353,20 @@ public class CalendarImpl implements Calendar {
       Event updated = applyProperty(pivot, p, newValue);
       enforceNoDuplicateOnReplace(pivot, updated);
       replaceEvent(pivot, updated);
-      return;
+      return 1;
     }
 
-    String originalSeriesId = pivot.getSeriesId().orElse(null);
-    List<Event> seriesToEdit = events.stream()
-        .filter(e -> e.getSeriesId().map(originalSeriesId::equals).orElse(false))
-        .filter(e -> !e.getStartDateTime().isBefore(start))
-        .collect(Collectors.toList());
+    List<Event> seriesToEdit = new ArrayList<>();
+    for (Event e : getEventsBySeriesId(pivot.getSeriesId().get())) {
+      if (!e.getStartDateTime().isBefore(start)) {
+        seriesToEdit.add(e);
+      }
+    }
 
     EventProperty prop = parseProperty(property);
 
     if (prop == EventProperty.START) {
-      String newSeriesId = generateSeriesId();
+      int newSeriesKey = SeriesIds.next();
       for (Event e : seriesToEdit) {
         LocalDateTime templ = LocalDateTime.parse(newValue);
         Duration duration = Duration.between(
@@ -230,16 +377,16 @@ public class CalendarImpl implements Calendar {
             .atTime(templ.toLocalTime());
         LocalDateTime adjustedEnd = adjustedStart.plus(duration);
 
-        Event modified = EventBuilder.from(e)
+        Event modified = builderFrom(e)
             .startDateTime(adjustedStart)
             .endDateTime(adjustedEnd)
-            .seriesId(newSeriesId)
+            .seriesKey(newSeriesKey)
             .build();
 
         enforceNoDuplicateOnReplace(e, modified);
         replaceEvent(e, modified);
       }
-      return;
+      return seriesToEdit.size();
     }
 
     for (Event e : seriesToEdit) {
@@ -247,39 +394,51 @@ public class CalendarImpl implements Calendar {
       enforceNoDuplicateOnReplace(e, modified);
       replaceEvent(e, modified);
     }
+    return seriesToEdit.size();
+  }
+
+  @Override
+  public void editSeries(String subject, LocalDateTime start,
+                         String property, String newValue) {
+    hot();
+    JfrEvents.Edit jfr = new JfrEvents.Edit();
+    jfr.begin();
+    int touched = applySeries(subject, start, property, newValue);
+    commitEdit(jfr, "series", property, touched);
   }
 
   /**
-   * Edits events from (and including) {@code start} going forward for the given {@code subject}.
+   * Edits an entire series (or the single event if it is not in a series) identified by
+   * {@code subject} and the occurrence {@code start}.
    *
-   * <p>If the matched event is not part of a series, only that one event is edited.
-   * If it is part of a series, the change is applied to that occurrence and all future
-   * occurrences in the same series. For time fields (START/END) use {@code newDateTime};
-   * for other fields use {@code newText}.</p>
+   * <p>For time fields ({@link EventProperty#START} or {@link EventProperty#END})
+   * supply {@code newDateTime}. For all other fields, supply {@code newText}.
+   * The non-applicable parameter is ignored.</p>
    *
-   * @param subject     subject used to locate the series or single event
-   * @param start       pivot start timestamp (inclusive) from which edits apply
+   * @param subject     subject used to locate the series
+   * @param start       start timestamp of a known occurrence (identifies the series)
    * @param property    which event field to change
-   * @param newDateTime new timestamp when {@code property} is START or END; otherwise ignored
+   * @param newDateTime new timestamp when {@code property} is START or END;
+   *                    otherwise ignored
    * @param newText     new textual value when {@code property} is not a time field;
    *                    otherwise ignored
-   * @throws IllegalArgumentException if no matching event is found, a value is missing/invalid,
-   *                                  or the change would create a duplicate event.
+   * @throws IllegalArgumentException if no matching event is found, the new value is
+   *                                  missing/invalid, or the change would create a duplicate event.
    */
 
-  public void editEventsFromDate(String subject,
-                                 LocalDateTime start,
-                                 EventProperty property,
-                                 LocalDateTime newDateTime,
-                                 String newText) {
+  public void editSeries(String subject,
+                         LocalDateTime start,
+                         EventProperty property,
+                         LocalDateTime newDateTime,
+                         String newText) {
+    hot();
     String val = coerceValue(property, newDateTime, newText);
-    editEventsFromDate(subject, start, property.name().toLowerCase(), val);
+    editSeries(subject, start, property.name().toLowerCase(), val);
   }
 
-  @Override
-  public void editSeries(String subject, LocalDateTime start,
-                         String property, String newValue) {
-    List<Event> matches = findEvents(subject, start, null);
+  private int applySeries(String subject, LocalDateTime start,
+                          String property, String newValue) {
+    List<Event> matches = matching(subject, start, null);
     if (matches.isEmpty()) {
       throw new IllegalArgumentException("No event found");
     }
@@ -292,103 +451,410 @@ public class CalendarImpl implements Calendar {
       Event updated = applyProperty(target, p, newValue);
       enforceNoDuplicateOnReplace(target, updated);
       replaceEvent(target, updated);
-      return;
+      return 1;
     }
 
     EventProperty prop = parseProperty(property);
+    List<Event> members = getEventsBySeriesId(seriesId);
 
     if (prop == EventProperty.START) {
       LocalDateTime templ = LocalDateTime.parse(newValue);
-      for (Event e : getEventsBySeriesId(seriesId)) {
+      for (Event e : members) {
         java.time.Duration dur = java.time.Duration.between(
             e.getStartDateTime(), e.getEndDateTime());
         LocalDateTime newStart = e.getStartDateTime()
             .toLocalDate()
             .atTime(templ.toLocalTime());
         LocalDateTime newEnd = newStart.plus(dur);
-        Event updated = EventBuilder.from(e)
+        Event updated = builderFrom(e)
             .startDateTime(newStart)
             .endDateTime(newEnd)
             .build();
         enforceNoDuplicateOnReplace(e, updated);
         replaceEvent(e, updated);
       }
-      return;
+      return members.size();
     }
 
-    for (Event e : getEventsBySeriesId(seriesId)) {
+    for (Event e : members) {
       Event updated = applyProperty(e, prop, newValue);
       enforceNoDuplicateOnReplace(e, updated);
       replaceEvent(e, updated);
     }
+    return members.size();
   }
 
-  /**
-   * Edits an entire series (or the single event if it is not in a series) identified by
-   * {@code subject} and the occurrence {@code start}.
-   *
-   * <p>For time fields ({@link EventProperty#START} or {@link EventProperty#END})
-   * supply {@code newDateTime}. For all other fields, supply {@code newText}.
-   * The non-applicable parameter is ignored.</p>
-   *
-   * @param subject     subject used to locate the series
-   * @param start       start timestamp of a known occurrence (identifies the series)
-   * @param property    which event field to change
-   * @param newDateTime new timestamp when {@code property} is START or END;
-   *                    otherwise ignored
-   * @param newText     new textual value when {@code property} is not a time field;
-   *                    otherwise ignored
-   * @throws IllegalArgumentException if no matching event is found, the new value is
-   *                                  missing/invalid, or the change would create a duplicate event.
-   */
+  @Override
+  public int deleteEvent(String subject, LocalDateTime start) {
+    hot();
+    JfrEvents.Delete jfr = new JfrEvents.Delete();
+    jfr.begin();
+    List<Event> matches = matching(subject, start, null);
+    if (matches.isEmpty()) {
+      throw new IllegalArgumentException("No event found with given criteria");
+    }
+    if (matches.size() > 1) {
+      throw new IllegalArgumentException("Multiple events match criteria");
+    }
+    removeEvent(matches.get(0));
+    commitDelete(jfr, "event", 1);
+    return 1;
+  }
 
-  public void editSeries(String subject,
-                         LocalDateTime start,
-                         EventProperty property,
-                         LocalDateTime newDateTime,
-                         String newText) {
-    String val = coerceValue(property, newDateTime, newText);
-    editSeries(subject, start, property.name().toLowerCase(), val);
+  @Override
+  public int deleteEventsFromDate(String subject, LocalDateTime start) {
+    hot();
+    JfrEvents.Delete jfr = new JfrEvents.Delete();
+    jfr.begin();
+    Event pivot = firstMatch(subject, start);
+    List<Event> doomed = new ArrayList<>();
+    if (pivot.isSeriesPart()) {
+      for (Event e : getEventsBySeriesId(pivot.getSeriesId().get())) {
+        if (!e.getStartDateTime().isBefore(start)) {
+          doomed.add(e);
+        }
+      }
+    } else {
+      doomed.add(pivot);
+    }
+    doomed.forEach(this::removeEvent);
+    commitDelete(jfr, "events", doomed.size());
+    return doomed.size();
+  }
+
+  @Override
+  public int deleteSeries(String subject, LocalDateTime start) {
+    hot();
+    JfrEvents.Delete jfr = new JfrEvents.Delete();
+    jfr.begin();
+    Event target = firstMatch(subject, start);
+    List<Event> doomed = target.isSeriesPart()
+        ? getEventsBySeriesId(target.getSeriesId().get())
+        : List.of(target);
+    doomed.forEach(this::removeEvent);
+    commitDelete(jfr, "series", doomed.size());
+    return doomed.size();
+  }
+
+  private Event firstMatch(String subject, LocalDateTime start) {
+    List<Event> matches = matching(subject, start, null);
+    if (matches.isEmpty()) {
+      throw new IllegalArgumentException("No event found");
+    }
+    return matches.get(0);
   }
 
   @Override
   public List<Event> getEventsOnDate(LocalDate date) {
+    hot();
     LocalDateTime startOfDay = date.atStartOfDay();
     LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
-
-    return events.stream()
-        .filter(e -> !e.getEndDateTime().isBefore(startOfDay)
-            && e.getStartDateTime().isBefore(endOfDay))
-        .sorted(Comparator.comparing(Event::getStartDateTime))
-        .collect(Collectors.toList());
+    JfrEvents.RangeQuery jfr = new JfrEvents.RangeQuery();
+    jfr.begin();
+    List<Event> found = queryCache.get(view.toEpochSecond(startOfDay), 0,
+        view.toEpochSecond(endOfDay), 0, true,
+        () -> withArchived(timeIndex.overlappingHalfOpen(startOfDay, endOfDay),
+            startOfDay, endOfDay, cold -> cold.overlappingHalfOpen(startOfDay, endOfDay)));
+    commitQuery(jfr, "day", found.size());
+    return publish(found);
   }
 
   @Override
   public List<Event> getEventsInRange(LocalDateTime start, LocalDateTime end) {
-    return events.stream()
-        .filter(e -> !e.getEndDateTime().isBefore(start)
-            && !e.getStartDateTime().isAfter(end))
-        .sorted(Comparator.comparing(Event::getStartDateTime))
-        .collect(Collectors.toList());
+    hot();
+    JfrEvents.RangeQuery jfr = new JfrEvents.RangeQuery();
+    jfr.begin();
+    List<Event> found = queryCache.get(view.toEpochSecond(start), start.getNano(),
+        view.toEpochSecond(end), end.getNano(), false,
+        () -> withArchived(timeIndex.overlapping(start, end), start, end,
+            cold -> cold.overlapping(start, end)));
+    commitQuery(jfr, "range", found.size());
+    return publish(found);
+  }
+
+  @Override
+  public int countEventsInRange(LocalDateTime start, LocalDateTime end) {
+    hot();
+    JfrEvents.RangeQuery jfr = new JfrEvents.RangeQuery();
+    jfr.begin();
+    int found = timeIndex.countOverlapping(start, end);
+    if (reachesArchive(start)) {
+      found += archived(start, end).countOverlapping(start, end);
+    }
+    commitQuery(jfr, "count", found);
+    return found;
+  }
+
+  @Override
+  public List<DaySummary> getDaySummaries(LocalDate from, LocalDate to) {
+    hot();
+    if (from == null || to == null) {
+      throw new IllegalArgumentException("Summary range is required");
+    }
+    if (to.isBefore(from)) {
+      throw new IllegalArgumentException("Summary end before start");
+    }
+    return daySummaries.summaries(from, to);
+  }
+
+  @Override
+  public EventReport report(LocalDateTime start, LocalDateTime end, ReportPeriod period) {
+    hot();
+    if (start == null || end == null || period == null) {
+      throw new IllegalArgumentException("Report range and period are required");
+    }
+    if (end.isBefore(start)) {
+      throw new IllegalArgumentException("Report end before start");
+    }
+    JfrEvents.RangeQuery jfr = new JfrEvents.RangeQuery();
+    jfr.begin();
+    ReportAccumulator acc = new ReportAccumulator(start, end, period, view.converter());
+    timeIndex.overlapping(start, end, acc);
+    EventReport report = acc.finish();
+    commitQuery(jfr, "report", report.getEventCount());
+    return report;
   }
 
   @Override
   public boolean isBusyAt(LocalDateTime dateTime) {
-    return events.stream().anyMatch(e ->
-        !dateTime.isBefore(e.getStartDateTime())
-            && dateTime.isBefore(e.getEndDateTime()));
+    hot();
+    return timeIndex.covers(dateTime)
+        || reachesArchive(dateTime) && archived(dateTime, dateTime).covers(dateTime);
+  }
+
+  @Override
+  public List<Conflict> findConflicts(LocalDateTime start, LocalDateTime end) {
+    hot();
+    List<Conflict> out = new ArrayList<>();
+    findConflicts(start, end, out::add);
+    return out;
+  }
+
+  @Override
+  public void findConflicts(LocalDateTime start, LocalDateTime end, Consumer<Conflict> sink) {
+    hot();
+    Objects.requireNonNull(start, "start");
+    Objects.requireNonNull(end, "end");
+    Objects.requireNonNull(sink, "sink");
+    if (end.isBefore(start)) {
+      throw new IllegalArgumentException("Range end before start");
+    }
+    ConflictSweep sweep = new ConflictSweep();
+    sweep.add(this, publish(timeIndex.overlapping(start, end)));
+    sweep.run(sink);
+  }
+
+  @Override
+  public List<Event> searchEvents(String query, int limit) {
+    hot();
+    return publish(searchIndex.search(query, limit));
   }
 
   @Override
   public List<Event> getAllEvents() {
-    return new ArrayList<>(events);
+    hot();
+    return publish(allStored());
+  }
+
+  private List<Event> allStored() {
+    if (archive == null) {
+      return events.snapshot();
+    }
+    List<Event> all = new ArrayList<>();
+    archive.read(Long.MIN_VALUE, Long.MAX_VALUE, view, all::add);
+    all.addAll(events.snapshot());
+    return all;
+  }
+
+  /**
+   * Moves events ending at or before {@code cutoff} to this calendar's archive, creating it
+   * in {@code dir} on first use. The moved events leave every in-memory index without a
+   * change being recorded, since they did not change; deltas from before they were last
+   * changed come back full. Archived occurrences no longer follow edits to their series.
+   *
+   * @param cutoff local time in this calendar's zone
+   * @param dir    directory for the archive file
+   * @return number of events moved
+   * @throws UncheckedIOException if the archive file cannot be created
+   */
+  int archiveEndingBy(LocalDateTime cutoff, Path dir) {
+    hot();
+    long cutoffSecond = view.toEpochSecond(cutoff);
+    List<Event> old = timeIndex.endingBy(cutoffSecond);
+    if (old.isEmpty()) {
+      return 0;
+    }
+    if (archive == null) {
+      try {
+        Files.createDirectories(dir);
+        archive = new EventArchive(Files.createTempFile(dir, "calendar-", ".archive"));
+      } catch (IOException e) {
+        throw new UncheckedIOException("Cannot create archive in " + dir, e);
+      }
+    }
+    for (Event e : old) {
+      events.discard(e);
+      timeIndex.remove(e);
+      daySummaries.remove(e);
+      searchIndex.remove(e);
+      e.getSeriesId().ifPresent(id -> seriesIndex.remove(id, seriesStart(e)));
+      changeLog.archived(e);
+      // Lookups still find it, but cached ones would keep it in memory.
+      invalidate(e);
+    }
+    archive.append(old, view.converter());
+    archivedBefore = Math.max(archivedBefore, cutoffSecond);
+    return old.size();
+  }
+
+  /**
+   * Whether the events are on disk until next needed.
+   *
+   * @return true while spilled
+   */
+  boolean isSpilled() {
+    return spilled;
+  }
+
+  /**
+   * Number of events held in memory, which is 0 while spilled.
+   *
+   * @return resident event count
+   */
+  int residentEvents() {
+    return spilled ? 0 : events.size();
+  }
+
+  /**
+   * Number of times spilled events were read back in.
+   *
+   * @return page-in count
+   */
+  synchronized long pageIns() {
+    return pageIns;
+  }
+
+  /**
+   * Writes the events held in memory to a spill file in {@code dir} and drops them, their
+   * indexes, the interner and the query cache, until the next call that needs them reads
+   * them back. The change log's
+   * entries go to the same file, so deltas across the spill still list only what changed.
+   * Callers must hold the calendar exclusively.
+   *
+   * @param dir directory for the spill file
+   * @return number of events spilled
+   * @throws UncheckedIOException if the file cannot be written; the calendar is unchanged
+   */
+  synchronized int spill(Path dir) {
+    if (spilled) {
+      return 0;
+    }
+    List<Event> all = events.snapshot();
+    ZoneConverter local = view.converter();
+    try {
+      if (spillFile == null) {
+        Files.createDirectories(dir);
+        spillFile = Files.createTempFile(dir, "calendar-", ".spill");
+        spillFile.toFile().deleteOnExit();
+      }
+      try (DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(spillFile)))) {
+        out.writeInt(all.size());
+        for (Event e : all) {
+          EventArchive.writeEvent(out, e, local);
+        }
+        changeLog.write(out, all, local);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot spill calendar " + name, e);
+    }
+    dropIndexes();
+    changeLog.unload();
+    spilledCacheStats = queryCache.dropped();
+    queryCache = null;
+    spilled = true;
+    return all.size();
+  }
+
+  /**
+   * Reads spilled events back in before any use of the indexes. Safe to reach from
+   * concurrent readers: the first one pages in and the rest wait for it.
+   */
+  private void hot() {
+    if (spilled) {
+      pageIn();
+    }
+  }
+
+  private synchronized void pageIn() {
+    if (!spilled) {
+      return;
+    }
+    resetIndexes();
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(spillFile)))) {
+      int n = in.readInt();
+      List<Event> read = new ArrayList<>(n);
+      for (int i = 0; i < n; i++) {
+        Event e = EventArchive.readEvent(in, view, strings);
+        read.add(e);
+        events.add(e);
+        timeIndex.add(e);
+        daySummaries.add(e);
+        searchIndex.add(e);
+        e.getSeriesId().ifPresent(id -> seriesIndex.add(id, seriesStart(e)));
+      }
+      changeLog.read(in, read, view, strings);
+    } catch (IOException e) {
+      dropIndexes();
+      throw new UncheckedIOException("Cannot page in calendar " + name, e);
+    }
+    queryCache = new QueryCache(spilledCacheStats);
+    spilledCacheStats = null;
+    spilled = false;
+    pageIns++;
+  }
+
+  private boolean reachesArchive(LocalDateTime from) {
+    return archive != null && view.toEpochSecond(from) <= archivedBefore;
+  }
+
+  /**
+   * Archived events that might overlap {@code [from, to]}, indexed so callers can apply the
+   * same overlap rule as for events in memory.
+   */
+  private TimeIndex archived(LocalDateTime from, LocalDateTime to) {
+    TimeIndex cold = new TimeIndex(view);
+    archive.read(view.toEpochSecond(from), view.toEpochSecond(to), view, cold::add);
+    return cold;
+  }
+
+  /**
+   * Adds the archived matches of a lookup to the in-memory ones, keeping start order.
+   */
+  private List<Event> withArchived(List<Event> hot, LocalDateTime from, LocalDateTime to,
+                                   Function<TimeIndex, List<Event>> lookup) {
+    if (!reachesArchive(from)) {
+      return hot;
+    }
+    List<Event> cold = lookup.apply(archived(from, to));
+    if (cold.isEmpty()) {
+      return hot;
+    }
+    List<Event> merged = new ArrayList<>(cold.size() + hot.size());
+    merged.addAll(cold);
+    merged.addAll(hot);
+    ZoneConverter local = view.converter();
+    merged.sort(Comparator.<Event>comparingLong(e -> StoredEvent.startEpoch(e, local))
+        .thenComparingInt(e -> e.getStartDateTime().getNano()));
+    return merged;
   }
 
   private List<Event> createSeries(String subject,
                                    LocalDateTime start,
                                    LocalDateTime end,
                                    Set<DayOfWeek> repeatDays,
-                                   String seriesId,
+                                   int seriesKey,
                                    int maxOccurrences,
                                    LocalDate untilDate) {
     List<Event> created = new ArrayList<>();
@@ -404,13 +870,13 @@ public class CalendarImpl implements Calendar {
       }
       if (days.contains(currentStart.getDayOfWeek())) {
         if (!eventExists(subject, currentStart, currentEnd)) {
-          Event event = new EventBuilder()
+          Event event = newBuilder()
               .subject(subject)
               .startDateTime(currentStart)
               .endDateTime(currentEnd)
-              .seriesId(seriesId)
+              .seriesKey(seriesKey)
               .build();
-          events.add(event);
+          addEvent(event);
           created.add(event);
           count++;
           if (count >= maxOccurrences) {
@@ -432,14 +898,110 @@ public class CalendarImpl implements Calendar {
     LocalDateTime actualEnd =
         (end == null) ? start.toLocalDate().atTime(WorkingHours.END) : end;
 
-    return events.stream().anyMatch(e ->
-        e.getSubject().equals(subject)
-            && e.getStartDateTime().equals(actualStart)
-            && e.getEndDateTime().equals(actualEnd));
+    return sameEvent(timeIndex, subject, actualStart, actualEnd)
+        || reachesArchive(actualStart)
+        && sameEvent(archived(actualStart, actualStart), subject, actualStart, actualEnd);
+  }
+
+  private static boolean sameEvent(TimeIndex index, String subject, LocalDateTime start,
+                                   LocalDateTime end) {
+    for (Event e : index.startingAt(start)) {
+      if (e.getSubject().equals(subject) && e.getEndDateTime().equals(end)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void addEvent(Event event) {
+    events.add(event);
+    timeIndex.add(event);
+    daySummaries.add(event);
+    searchIndex.add(event);
+    invalidate(event);
+    emit(ChangeType.CREATED, changeLog.created(event), null, event, null, null);
+  }
+
+  @Override
+  public synchronized QueryCacheStats getQueryCacheStats() {
+    return spilled ? spilledCacheStats : queryCache.stats();
+  }
+
+  private void invalidate(Event e) {
+    ZoneConverter local = view.converter();
+    queryCache.invalidate(StoredEvent.startEpoch(e, local), StoredEvent.endEpochCeil(e, local));
+  }
+
+  @Override
+  public ChangeStream changes() {
+    return changes;
+  }
+
+  @Override
+  public long getChangeSequence() {
+    return changeLog.current();
   }
 
-  private String generateSeriesId() {
-    return "SERIES_" + UUID.randomUUID();
+  @Override
+  public EventDelta getChangesSince(long sequence) {
+    hot();
+    EventDelta delta = changeLog.since(sequence, this::allStored);
+    return new EventDelta(delta.getFromSequence(), delta.getToSequence(), delta.isFull(),
+        publish(delta.getChanged()), publish(delta.getRemoved()));
+  }
+
+  @Override
+  public EventDelta getChangesSince(Instant time) {
+    if (time == null) {
+      throw new IllegalArgumentException("Time cannot be null");
+    }
+    hot();
+    return getChangesSince(changeLog.sequenceAt(time));
+  }
+
+  /**
+   * Also publishes this calendar's changes to {@code stream}, which is how a book sees the
+   * changes of every calendar it holds.
+   *
+   * @param stream additional stream to publish to
+   */
+  void forwardChangesTo(ChangeStream stream) {
+    this.forward = stream;
+  }
+
+  private void emit(ChangeType type, long sequence, Event before, Event after,
+                    String oldValue, String newValue) {
+    boolean own = changes.hasSubscribers();
+    boolean book = forward != null && forward.hasSubscribers();
+    if (!own && !book) {
+      return;
+    }
+    // Subscribers may poll after a zone change; they must see the times as they were.
+    ChangeEvent change = new ChangeEvent(type, sequence, name,
+        before == null ? null : StoredEvent.detach(before),
+        after == null ? null : StoredEvent.detach(after), oldValue, newValue);
+    if (own) {
+      changes.publish(change);
+    }
+    if (book) {
+      forward.publish(change);
+    }
+  }
+
+  /**
+   * Takes a stored event out of storage and every index, each in logarithmic time or better.
+   * Days it touched are recomputed from the time index after it has left it.
+   */
+  private void removeEvent(Event event) {
+    if (!events.discard(event)) {
+      return;
+    }
+    timeIndex.remove(event);
+    daySummaries.remove(event);
+    searchIndex.remove(event);
+    event.getSeriesId().ifPresent(id -> seriesIndex.remove(id, seriesStart(event)));
+    invalidate(event);
+    emit(ChangeType.REMOVED, changeLog.removed(event), event, null, null, null);
   }
 
   private void enforceNoDuplicateOnReplace(Event oldEvent, Event newEvent) {
@@ -452,31 +1014,38 @@ public class CalendarImpl implements Calendar {
   }
 
   private void replaceEvent(Event oldEvent, Event newEvent) {
-    int index = events.indexOf(oldEvent);
-    if (index >= 0) {
-      events.set(index, newEvent);
+    if (events.replace(oldEvent, newEvent)) {
+      timeIndex.remove(oldEvent);
+      daySummaries.remove(oldEvent);
+      timeIndex.add(newEvent);
+      daySummaries.add(newEvent);
+      searchIndex.remove(oldEvent);
+      searchIndex.add(newEvent);
+      invalidate(oldEvent);
+      invalidate(newEvent);
+      emit(ChangeType.REPLACED, changeLog.replaced(oldEvent, newEvent), oldEvent, newEvent,
+          null, null);
 
       String oldSid = oldEvent.getSeriesId().orElse(null);
       String newSid = newEvent.getSeriesId().orElse(null);
 
       if (Objects.equals(oldSid, newSid)) {
         if (oldSid != null) {
-          seriesIndex.replaceStart(oldSid, oldEvent.getStartDateTime(),
-              newEvent.getStartDateTime());
+          seriesIndex.replaceStart(oldSid, seriesStart(oldEvent), seriesStart(newEvent));
         }
       } else {
         if (oldSid != null) {
-          seriesIndex.remove(oldSid, oldEvent.getStartDateTime());
+          seriesIndex.remove(oldSid, seriesStart(oldEvent));
         }
         if (newSid != null) {
-          seriesIndex.add(newSid, newEvent.getStartDateTime());
+          seriesIndex.add(newSid, seriesStart(newEvent));
         }
       }
     }
   }
 
   private Event applyProperty(Event source, EventProperty property, String newValue) {
-    EventBuilder b = EventBuilder.from(source);
+    EventBuilder b = builderFrom(source);
     property.apply(b, newValue);
     return b.build();
   }
@@ -486,47 +1055,116 @@ public class CalendarImpl implements Calendar {
   }
 
   private List<Event> getEventsBySeriesId(String seriesId) {
-    List<LocalDateTime> starts = seriesIndex.starts(seriesId);
+    List<Instant> starts = seriesIndex.instants(seriesId);
     List<Event> result = new ArrayList<>();
-    for (LocalDateTime s : starts) {
-      for (Event e : events) {
-        if (e.getSeriesId().map(seriesId::equals).orElse(false)
-            && e.getStartDateTime().equals(s)) {
+    for (Instant s : starts) {
+      for (Event e : timeIndex.startingAt(s.getEpochSecond(), s.getNano())) {
+        if (e.getSeriesId().map(seriesId::equals).orElse(false)) {
           result.add(e);
           break;
         }
       }
     }
+    QueryTrace.record(QueryTrace.SERIES, events.size(), starts.size(), result.size());
     return result;
   }
 
-  private void convertAllEventsToZone(ZoneId from, ZoneId to) {
-    for (int i = 0; i < events.size(); i++) {
-      Event e = events.get(i);
-      ZonedDateTime s = e.getStartDateTime().atZone(from);
-      ZonedDateTime t = e.getEndDateTime().atZone(from);
-      LocalDateTime newStart = s.withZoneSameInstant(to).toLocalDateTime();
-      LocalDateTime newEnd = t.withZoneSameInstant(to).toLocalDateTime();
-      Event converted = EventBuilder.from(e)
-          .startDateTime(newStart)
-          .endDateTime(newEnd)
-          .build();
-      events.set(i, converted);
-    }
-  }
-
   @Override
   public Event copyFrom(Event template, LocalDateTime newStart, LocalDateTime newEnd) {
+    hot();
     if (eventExists(template.getSubject(), newStart, newEnd)) {
       throw new IllegalArgumentException("Duplicate event in destination calendar");
     }
-    Event copied = EventBuilder.from(template)
+    Event copied = builderFrom(template)
         .startDateTime(newStart)
         .endDateTime(newEnd)
         .build();
-    events.add(copied);
-    copied.getSeriesId().ifPresent(id -> seriesIndex.add(id, copied.getStartDateTime()));
-    return copied;
+    addEvent(copied);
+    copied.getSeriesId().ifPresent(id -> seriesIndex.add(id, seriesStart(copied)));
+    return publish(copied);
+  }
+
+  @Override
+  public List<Event> copyAll(List<Event> placed) {
+    hot();
+    List<Event> copies = new ArrayList<>(placed.size());
+    Set<Event> batch = new HashSet<>();
+    for (Event p : placed) {
+      if (eventExists(p.getSubject(), p.getStartDateTime(), p.getEndDateTime())) {
+        throw new IllegalArgumentException("Duplicate event in destination calendar");
+      }
+      Event copy = builderFrom(p).build();
+      if (!batch.add(copy)) {
+        throw new IllegalArgumentException("Duplicate event in copied batch");
+      }
+      copies.add(copy);
+    }
+    for (Event copy : copies) {
+      addEvent(copy);
+      copy.getSeriesId().ifPresent(id -> seriesIndex.add(id, seriesStart(copy)));
+    }
+    return publish(copies);
+  }
+
+  /**
+   * Snapshot of a stored event for callers, so a later zone change cannot move it.
+   */
+  private Event publish(Event e) {
+    return e instanceof StoredEvent ? ((StoredEvent) e).pin(pinned) : e;
+  }
+
+  private List<Event> publish(List<Event> stored) {
+    List<Event> out = new ArrayList<>(stored.size());
+    for (Event e : stored) {
+      out.add(publish(e));
+    }
+    return out;
+  }
+
+  private EventBuilder newBuilder() {
+    return new EventBuilder().pool(strings).zone(view);
+  }
+
+  private EventBuilder builderFrom(Event e) {
+    return EventBuilder.from(e).pool(strings).zone(view);
+  }
+
+  /**
+   * Exact start instant of an event for the series index; going through the local time
+   * would lose which of two repeated wall-clock hours the event is in.
+   */
+  private Instant seriesStart(Event e) {
+    return Instant.ofEpochSecond(StoredEvent.startEpoch(e, view.converter()),
+        e.getStartDateTime().getNano());
+  }
+
+  private void commitSeries(JfrEvents.SeriesExpansion jfr, int created, boolean untilDate) {
+    jfr.calendar = name;
+    jfr.eventsCreated = created;
+    jfr.untilDate = untilDate;
+    jfr.commit();
+  }
+
+  private void commitEdit(JfrEvents.Edit jfr, String scope, String property, int touched) {
+    jfr.calendar = name;
+    jfr.scope = scope;
+    jfr.property = property;
+    jfr.eventsTouched = touched;
+    jfr.commit();
+  }
+
+  private void commitDelete(JfrEvents.Delete jfr, String scope, int removed) {
+    jfr.calendar = name;
+    jfr.scope = scope;
+    jfr.eventsRemoved = removed;
+    jfr.commit();
+  }
+
+  private void commitQuery(JfrEvents.RangeQuery jfr, String kind, int returned) {
+    jfr.calendar = name;
+    jfr.kind = kind;
+    jfr.eventsReturned = returned;
+    jfr.commit();
   }
 
   private void validateSeriesInstanceShape(LocalDateTime start,
@@ -0,0 +1,119 @@
+package calendar;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Least-recently-used residency for a book's calendars. Each lookup marks a calendar used;
+ * {@link #trim()} spills the least recently used calendars to disk until the estimated heap
+ * held by resident calendars fits the budget. The calendar used last always stays, even
+ * alone over budget. A spilled calendar reads itself back in on its next use, so trimming
+ * never invalidates a reference. The estimate counts a fixed cost per resident calendar for
+ * its empty indexes, interner and query cache, which dominates in books of many small
+ * calendars, plus a fixed cost per event across storage and indexes; it is meant to rank and
+ * bound calendars, not to measure the heap. A spilled calendar releases both and keeps only
+ * its name, zone and change-log bookkeeping.
+ */
+final class CalendarResidency {
+
+  /**
+   * Estimated heap per resident event, across the event itself and every index entry.
+   */
+  static final long EVENT_HEAP_BYTES = 512;
+
+  /**
+   * Estimated heap per resident calendar before any events, released by a spill.
+   */
+  static final long CALENDAR_HEAP_BYTES = 2048;
+
+  private final Path dir;
+  private final long budgetBytes;
+  // Access-ordered: eldest first.
+  private final Map<CalendarImpl, Boolean> order = new LinkedHashMap<>(16, 0.75f, true);
+  private final LongAdder hits = new LongAdder();
+  private long spills;
+
+  /**
+   * Creates a residency manager.
+   *
+   * @param dir         directory for spill files
+   * @param budgetBytes heap budget for resident calendars' events
+   */
+  CalendarResidency(Path dir, long budgetBytes) {
+    if (budgetBytes < 0) {
+      throw new IllegalArgumentException("Heap budget cannot be negative");
+    }
+    this.dir = dir;
+    this.budgetBytes = budgetBytes;
+  }
+
+  /**
+   * Marks a calendar as just used, adding it if new.
+   *
+   * @param cal calendar looked up
+   */
+  void touch(CalendarImpl cal) {
+    if (!cal.isSpilled()) {
+      hits.increment();
+    }
+    synchronized (this) {
+      order.put(cal, Boolean.TRUE);
+    }
+  }
+
+  /**
+   * Spills least recently used calendars until the rest fit the budget. Callers must hold
+   * the book exclusively, since a spill drops a calendar's indexes.
+   *
+   * @return number of calendars spilled
+   */
+  synchronized int trim() {
+    long total = 0;
+    CalendarImpl newest = null;
+    for (CalendarImpl cal : order.keySet()) {
+      total += bytes(cal);
+      newest = cal;
+    }
+    int spilled = 0;
+    Iterator<CalendarImpl> it = order.keySet().iterator();
+    while (total > budgetBytes && it.hasNext()) {
+      CalendarImpl cal = it.next();
+      if (cal == newest) {
+        break;
+      }
+      long held = bytes(cal);
+      if (held > 0) {
+        cal.spill(dir);
+        total -= held;
+        spilled++;
+        spills++;
+      }
+    }
+    return spilled;
+  }
+
+  /**
+   * Current counters and estimates.
+   *
+   * @return a snapshot
+   */
+  synchronized ResidencyStats stats() {
+    long misses = 0;
+    long resident = 0;
+    int residentCalendars = 0;
+    for (CalendarImpl cal : order.keySet()) {
+      misses += cal.pageIns();
+      resident += bytes(cal);
+      residentCalendars += cal.isSpilled() ? 0 : 1;
+    }
+    return new ResidencyStats(hits.sum(), misses, spills, residentCalendars,
+        order.size() - residentCalendars, resident, budgetBytes);
+  }
+
+  private static long bytes(CalendarImpl cal) {
+    return cal.isSpilled() ? 0 : CALENDAR_HEAP_BYTES + cal.residentEvents() * EVENT_HEAP_BYTES;
+  }
+}
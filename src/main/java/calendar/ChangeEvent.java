@@ -0,0 +1,102 @@
+package calendar;
+
+import java.util.Optional;
+
+/**
+ * One model change. Event changes carry the event before and after the change, whichever
+ * apply; zone changes and renames carry the old and new zone id or name. Events are the
+ * calendar's stored events, so their local times read in the calendar's current zone.
+ */
+public final class ChangeEvent {
+
+  private final ChangeType type;
+  private final long sequence;
+  private final String calendarName;
+  private final Event before;
+  private final Event after;
+  private final String oldValue;
+  private final String newValue;
+
+  ChangeEvent(ChangeType type, long sequence, String calendarName, Event before, Event after,
+              String oldValue, String newValue) {
+    this.type = type;
+    this.sequence = sequence;
+    this.calendarName = calendarName;
+    this.before = before;
+    this.after = after;
+    this.oldValue = oldValue;
+    this.newValue = newValue;
+  }
+
+  /**
+   * What changed.
+   *
+   * @return change type
+   */
+  public ChangeType getType() {
+    return type;
+  }
+
+  /**
+   * Position of the change in its calendar's change sequence.
+   *
+   * @return sequence number, increasing per calendar
+   * @see Calendar#getChangeSequence()
+   */
+  public long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Name of the calendar when the change happened; the new name for a rename.
+   *
+   * @return calendar name
+   */
+  public String getCalendarName() {
+    return calendarName;
+  }
+
+  /**
+   * The event as it was, for replacements and removals.
+   *
+   * @return previous event, if any
+   */
+  public Optional<Event> getBefore() {
+    return Optional.ofNullable(before);
+  }
+
+  /**
+   * The event as it is now, for creations and replacements.
+   *
+   * @return current event, if any
+   */
+  public Optional<Event> getAfter() {
+    return Optional.ofNullable(after);
+  }
+
+  /**
+   * Old zone id or calendar name, for zone changes and renames.
+   *
+   * @return old value, if any
+   */
+  public Optional<String> getOldValue() {
+    return Optional.ofNullable(oldValue);
+  }
+
+  /**
+   * New zone id or calendar name, for zone changes and renames.
+   *
+   * @return new value, if any
+   */
+  public Optional<String> getNewValue() {
+    return Optional.ofNullable(newValue);
+  }
+
+  @Override
+  public String toString() {
+    return "#" + sequence + " " + type + " " + calendarName + ": "
+        + (before != null || after != null
+        ? before + " -> " + after
+        : oldValue + " -> " + newValue);
+  }
+}
@@ -0,0 +1,283 @@
+package calendar;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Per-calendar change sequence. Every mutation takes the next sequence number, and the log
+ * keeps only the latest change of each event, ordered by sequence, plus a tombstone for each
+ * event that went away, so the changes since a sequence are a tail of that order and cost
+ * what changed rather than what is stored. A zone change or rename moves every event's
+ * exported identity at once; instead of touching every event it starts a new epoch, and
+ * asking for changes from before that epoch gets the whole calendar. Tombstones would
+ * otherwise keep deleted events alive forever, so only the latest {@value #MAX_TOMBSTONES}
+ * are kept; dropping older ones raises the floor below which a delta is full as well.
+ * A calendar spilled to disk writes its entries alongside its events and reads them back
+ * with them, keeping only the counters in memory meanwhile.
+ */
+final class ChangeLog {
+
+  static final int MAX_TOMBSTONES = 1 << 16;
+
+  private long sequence;
+  private long epoch;
+  private long floor;
+  private Instant epochAt = Instant.MIN;
+  private Instant lastAt = Instant.MIN;
+  // Keyed by event equality, which reads local times; the zone only changes at a new epoch,
+  // when both maps are replaced.
+  private NavigableMap<Long, Entry> bySequence = new TreeMap<>();
+  private Map<Event, Long> latest = new HashMap<>();
+  private NavigableSet<Long> tombstones = new TreeSet<>();
+  // Set while the entries are on disk; a new epoch in the meantime makes them stale.
+  private boolean unloaded;
+
+  /**
+   * Sequence number of the latest change, 0 before the first.
+   *
+   * @return current sequence
+   */
+  long current() {
+    return sequence;
+  }
+
+  /**
+   * Records a new event.
+   *
+   * @param e created event
+   * @return its sequence number
+   */
+  long created(Event e) {
+    forget(e);
+    long seq = next();
+    put(e, seq, false);
+    return seq;
+  }
+
+  /**
+   * Records an edit. An edit that changes subject, start or end changes the event's identity,
+   * so the old identity is kept as a tombstone under a sequence number of its own.
+   *
+   * @param before event as it was
+   * @param after  event as it is now
+   * @return the edit's sequence number
+   */
+  long replaced(Event before, Event after) {
+    forget(before);
+    if (!before.equals(after)) {
+      forget(after);
+      put(before, next(), true);
+    }
+    long seq = next();
+    put(after, seq, false);
+    return seq;
+  }
+
+  /**
+   * Records a deletion as a tombstone.
+   *
+   * @param e deleted event
+   * @return the deletion's sequence number
+   */
+  long removed(Event e) {
+    forget(e);
+    long seq = next();
+    put(e, seq, true);
+    return seq;
+  }
+
+  /**
+   * Forgets an event moved out of the calendar without changing. A delta from before its
+   * latest change would no longer list it, so such deltas become full.
+   *
+   * @param e archived event
+   */
+  void archived(Event e) {
+    Long key = latest.remove(e);
+    if (key != null) {
+      bySequence.remove(key);
+      tombstones.remove(key);
+      floor = Math.max(floor, key);
+    }
+  }
+
+  /**
+   * Writes every kept entry, for a calendar whose events are leaving memory. Entries for
+   * stored events refer to them by position in {@code stored}, which is written alongside;
+   * tombstones are written whole. The entries are then dropped until {@link #read}.
+   *
+   * @param out    destination
+   * @param stored every stored event, in the order they are written
+   * @param local  converter for the calendar's zone
+   * @throws IOException if writing fails; the entries are kept
+   */
+  void write(DataOutput out, List<Event> stored, ZoneConverter local) throws IOException {
+    Map<Event, Integer> position = new IdentityHashMap<>(stored.size());
+    for (int i = 0; i < stored.size(); i++) {
+      position.put(stored.get(i), i);
+    }
+    out.writeInt(bySequence.size());
+    for (Entry e : bySequence.values()) {
+      out.writeLong(e.sequence);
+      out.writeLong(e.at.getEpochSecond());
+      out.writeInt(e.at.getNano());
+      out.writeBoolean(e.removed);
+      Integer at = e.removed ? null : position.get(e.event);
+      out.writeInt(at == null ? -1 : at);
+      if (at == null) {
+        EventArchive.writeEvent(out, e.event, local);
+      }
+    }
+  }
+
+  /**
+   * Drops every entry after {@link #write} but keeps counting.
+   */
+  void unload() {
+    bySequence = new TreeMap<>();
+    latest = new HashMap<>();
+    tombstones = new TreeSet<>();
+    unloaded = true;
+  }
+
+  /**
+   * Restores the entries written by {@link #write}, unless a new epoch started since.
+   *
+   * @param in     source, positioned after the stored events
+   * @param stored the stored events as read back, in the order they were written
+   * @param zone   zone view of the calendar
+   * @param pool   interner for tombstones' parts
+   * @throws IOException if reading fails
+   */
+  void read(DataInput in, List<Event> stored, ZoneView zone, Interner pool)
+      throws IOException {
+    if (!unloaded) {
+      return;
+    }
+    int n = in.readInt();
+    for (int i = 0; i < n; i++) {
+      long seq = in.readLong();
+      Instant at = Instant.ofEpochSecond(in.readLong(), in.readInt());
+      boolean removed = in.readBoolean();
+      int index = in.readInt();
+      Event e = index < 0 ? EventArchive.readEvent(in, zone, pool) : stored.get(index);
+      bySequence.put(seq, new Entry(seq, at, e, removed));
+      latest.put(e, seq);
+      if (removed) {
+        tombstones.add(seq);
+      }
+    }
+    unloaded = false;
+  }
+
+  /**
+   * Starts a new epoch after a change to every event's identity.
+   *
+   * @return the change's sequence number
+   */
+  long reset() {
+    long seq = next();
+    epoch = seq;
+    epochAt = lastAt;
+    bySequence = new TreeMap<>();
+    latest = new HashMap<>();
+    tombstones = new TreeSet<>();
+    unloaded = false;
+    return seq;
+  }
+
+  /**
+   * Latest sequence number whose change happened at or before {@code time}; changes after it
+   * all happened after {@code time}.
+   *
+   * @param time wall-clock time
+   * @return sequence to pass to {@link #since(long, Supplier)}
+   */
+  long sequenceAt(Instant time) {
+    for (Entry e : bySequence.descendingMap().values()) {
+      if (!e.at.isAfter(time)) {
+        return e.sequence;
+      }
+    }
+    return epochAt.isAfter(time) ? epoch - 1 : epoch;
+  }
+
+  /**
+   * Changes after {@code from}.
+   *
+   * @param from last sequence the caller has seen
+   * @param all  every stored event, used when {@code from} is before the current epoch or
+   *             the oldest kept tombstone
+   * @return the delta up to the current sequence
+   * @throws IllegalArgumentException if {@code from} is negative or after the current sequence
+   */
+  EventDelta since(long from, Supplier<List<Event>> all) {
+    if (from < 0 || from > sequence) {
+      throw new IllegalArgumentException("Unknown change sequence: " + from
+          + " (current is " + sequence + ")");
+    }
+    if (from < Math.max(epoch, floor)) {
+      return new EventDelta(from, sequence, true, all.get(), List.of());
+    }
+    List<Event> changed = new ArrayList<>();
+    List<Event> removed = new ArrayList<>();
+    for (Entry e : bySequence.tailMap(from, false).values()) {
+      if (e.removed) {
+        removed.add(e.event);
+      } else {
+        changed.add(e.event);
+      }
+    }
+    return new EventDelta(from, sequence, false, changed, removed);
+  }
+
+  private long next() {
+    Instant now = Instant.now();
+    lastAt = now.isAfter(lastAt) ? now : lastAt;
+    return ++sequence;
+  }
+
+  private void put(Event e, long seq, boolean removed) {
+    bySequence.put(seq, new Entry(seq, lastAt, e, removed));
+    latest.put(e, seq);
+    if (removed && tombstones.add(seq) && tombstones.size() > MAX_TOMBSTONES) {
+      long oldest = tombstones.pollFirst();
+      latest.remove(bySequence.remove(oldest).event);
+      floor = oldest;
+    }
+  }
+
+  private void forget(Event e) {
+    Long key = latest.remove(e);
+    if (key != null) {
+      bySequence.remove(key);
+      tombstones.remove(key);
+    }
+  }
+
+  private static final class Entry {
+    private final long sequence;
+    private final Instant at;
+    private final Event event;
+    private final boolean removed;
+
+    Entry(long sequence, Instant at, Event event, boolean removed) {
+      this.sequence = sequence;
+      this.at = at;
+      this.event = event;
+      this.removed = removed;
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package calendar;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ordered stream of model changes over a fixed-size ring buffer. Publishers claim a sequence
+ * number with one atomic increment, write the slot and then mark it published with that
+ * number; subscribers each keep their own cursor and read a slot once its mark matches, so
+ * neither side takes a lock. A publisher that would overwrite a slot some subscriber has not
+ * read yet waits for it, which is the backpressure: a slow subscriber slows mutations down
+ * rather than losing changes. With no subscribers, {@link #hasSubscribers()} is a single
+ * volatile read and callers skip building the change at all; the ring itself is allocated on
+ * the first {@link #subscribe()}, so a stream nobody reads holds no slots.
+ */
+public final class ChangeStream {
+
+  /**
+   * Slots in a stream created with the no-argument constructor.
+   */
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final int capacity;
+  // Null until the first subscription; written before that subscription is listed.
+  private volatile Ring ring;
+  private final AtomicLong claimed = new AtomicLong();
+  private final List<Subscription> subscribers = new CopyOnWriteArrayList<>();
+
+  /**
+   * Creates a stream with {@link #DEFAULT_CAPACITY} slots.
+   */
+  public ChangeStream() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a stream.
+   *
+   * @param capacity number of slots; a power of two
+   * @throws IllegalArgumentException if the capacity is not a positive power of two
+   */
+  public ChangeStream(int capacity) {
+    if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Capacity must be a positive power of two");
+    }
+    this.capacity = capacity;
+  }
+
+  /**
+   * Whether anyone is listening; publishers check this before building a change.
+   *
+   * @return true if there is at least one open subscription
+   */
+  public boolean hasSubscribers() {
+    return !subscribers.isEmpty();
+  }
+
+  /**
+   * Starts receiving changes published from now on.
+   *
+   * @return an open subscription; close it when done so it stops holding publishers back
+   */
+  public Subscription subscribe() {
+    Subscription s = new Subscription(ring());
+    subscribers.add(s);
+    s.cursor = claimed.get();
+    return s;
+  }
+
+  /**
+   * Appends a change, waiting while the slowest subscriber is a full buffer behind.
+   *
+   * @param change change to publish
+   */
+  void publish(ChangeEvent change) {
+    if (subscribers.isEmpty()) {
+      return;
+    }
+    Ring r = ring;
+    long seq = claimed.getAndIncrement();
+    long wrap = seq - capacity;
+    while (wrap >= slowestCursor(seq)) {
+      LockSupport.parkNanos(IDLE_PARK_NANOS);
+    }
+    int i = (int) seq & r.mask;
+    r.slots.set(i, change);
+    r.published.set(i, seq);
+  }
+
+  private Ring ring() {
+    Ring r = ring;
+    if (r == null) {
+      synchronized (this) {
+        r = ring;
+        if (r == null) {
+          r = new Ring(capacity);
+          ring = r;
+        }
+      }
+    }
+    return r;
+  }
+
+  private long slowestCursor(long fallback) {
+    long min = fallback;
+    for (Subscription s : subscribers) {
+      min = Math.min(min, s.cursor);
+    }
+    return min;
+  }
+
+  /**
+   * The slots and their published marks.
+   */
+  private static final class Ring {
+    private final int mask;
+    private final AtomicReferenceArray<ChangeEvent> slots;
+    private final AtomicLongArray published;
+
+    Ring(int capacity) {
+      mask = capacity - 1;
+      slots = new AtomicReferenceArray<>(capacity);
+      published = new AtomicLongArray(capacity);
+      for (int i = 0; i < capacity; i++) {
+        published.set(i, -1L);
+      }
+    }
+  }
+
+  /**
+   * One consumer's position in the stream. A subscription is meant to be drained by a single
+   * thread.
+   */
+  public final class Subscription implements AutoCloseable {
+
+    private final Ring ring;
+    private volatile long cursor;
+
+    private Subscription(Ring ring) {
+      this.ring = ring;
+    }
+
+    /**
+     * Takes the next change if one is ready.
+     *
+     * @return the next change, or null if none has been published yet
+     */
+    public ChangeEvent poll() {
+      long c = cursor;
+      int i = (int) c & ring.mask;
+      if (ring.published.get(i) != c) {
+        return null;
+      }
+      ChangeEvent change = ring.slots.get(i);
+      cursor = c + 1;
+      return change;
+    }
+
+    /**
+     * Waits up to {@code timeout} for the next change.
+     *
+     * @param timeout longest wait
+     * @param unit    unit of {@code timeout}
+     * @return the next change, or null if none arrived in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public ChangeEvent poll(long timeout, TimeUnit unit) throws InterruptedException {
+      long deadline = System.nanoTime() + unit.toNanos(timeout);
+      ChangeEvent change = poll();
+      while (change == null && System.nanoTime() < deadline) {
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+        LockSupport.parkNanos(IDLE_PARK_NANOS);
+        change = poll();
+      }
+      return change;
+    }
+
+    /**
+     * Number of published changes not yet taken.
+     *
+     * @return backlog
+     */
+    public long lag() {
+      return Math.max(0, claimed.get() - cursor);
+    }
+
+    /**
+     * Stops the subscription; publishers no longer wait for it.
+     */
+    @Override
+    public void close() {
+      subscribers.remove(this);
+    }
+  }
+}
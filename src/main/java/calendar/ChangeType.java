@@ -0,0 +1,31 @@
+package calendar;
+
+/**
+ * Kinds of model change published on a {@link ChangeStream}.
+ */
+public enum ChangeType {
+  /**
+   * An event was added.
+   */
+  CREATED,
+
+  /**
+   * An event was replaced by an edited version.
+   */
+  REPLACED,
+
+  /**
+   * An event was deleted.
+   */
+  REMOVED,
+
+  /**
+   * A calendar moved to another time zone.
+   */
+  ZONE_CHANGED,
+
+  /**
+   * A calendar was renamed.
+   */
+  RENAMED
+}
@@ -0,0 +1,108 @@
+package calendar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A maximal cluster of events whose half-open intervals overlap, directly or through a
+ * chain of other members. Two events form the smallest possible conflict; events that
+ * merely touch ({@code a.end == b.start}) do not conflict.
+ */
+public final class Conflict {
+
+  private final List<Entry> entries;
+  private final TimeInterval span;
+
+  Conflict(List<Entry> entries, TimeInterval span) {
+    this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+    this.span = span;
+  }
+
+  /**
+   * Members of the cluster ordered by start instant.
+   *
+   * @return entries
+   */
+  public List<Entry> getEntries() {
+    return entries;
+  }
+
+  /**
+   * Events of the cluster ordered by start instant.
+   *
+   * @return events
+   */
+  public List<Event> getEvents() {
+    List<Event> out = new ArrayList<>(entries.size());
+    for (Entry e : entries) {
+      out.add(e.getEvent());
+    }
+    return out;
+  }
+
+  /**
+   * Names of the calendars involved, in order of first appearance.
+   *
+   * @return calendar names
+   */
+  public Set<String> getCalendarNames() {
+    Set<String> out = new LinkedHashSet<>();
+    for (Entry e : entries) {
+      out.add(e.getCalendarName());
+    }
+    return out;
+  }
+
+  /**
+   * From the earliest start to the latest end among the members.
+   *
+   * @return covered interval
+   */
+  public TimeInterval getSpan() {
+    return span;
+  }
+
+  @Override
+  public String toString() {
+    return "Conflict" + span + entries;
+  }
+
+  /**
+   * One event in a conflict together with the calendar it belongs to.
+   */
+  public static final class Entry {
+    private final String calendarName;
+    private final Event event;
+
+    Entry(String calendarName, Event event) {
+      this.calendarName = calendarName;
+      this.event = event;
+    }
+
+    /**
+     * Owning calendar.
+     *
+     * @return calendar name
+     */
+    public String getCalendarName() {
+      return calendarName;
+    }
+
+    /**
+     * The conflicting event.
+     *
+     * @return event
+     */
+    public Event getEvent() {
+      return event;
+    }
+
+    @Override
+    public String toString() {
+      return calendarName + ":" + event.getSubject();
+    }
+  }
+}
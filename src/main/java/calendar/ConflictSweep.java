@@ -0,0 +1,83 @@
+package calendar;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Sweep-line conflict detection. Events are placed on the instant timeline, sorted by start
+ * once, and scanned while tracking the furthest end of the current cluster; an event that
+ * starts before that end joins the cluster, anything else closes it. Total cost is
+ * O(n log n) for the sort plus a single linear pass, and each cluster is handed to the
+ * sink as soon as it closes.
+ */
+final class ConflictSweep {
+
+  private final List<Item> items = new ArrayList<>();
+
+  /**
+   * Queues events of one calendar, converting their local times with the calendar's zone.
+   *
+   * @param cal    owning calendar
+   * @param events events of {@code cal}
+   */
+  void add(Calendar cal, List<Event> events) {
+    ZoneConverter local = ZoneConverter.of(cal.getZoneId(), cal.getZoneId());
+    String name = cal.getName();
+    for (Event e : events) {
+      items.add(new Item(name, e, StoredEvent.startEpoch(e, local),
+          StoredEvent.endEpochCeil(e, local)));
+    }
+  }
+
+  /**
+   * Sorts the queued events and reports every conflict to {@code sink} in start order.
+   *
+   * @param sink receiver of conflicts
+   */
+  void run(Consumer<Conflict> sink) {
+    // Input usually arrives start-ordered per calendar, which TimSort merges in near-linear time.
+    items.sort((a, b) -> a.start != b.start
+        ? Long.compare(a.start, b.start)
+        : Long.compare(a.end, b.end));
+    List<Conflict.Entry> cluster = new ArrayList<>();
+    long clusterStart = 0;
+    long clusterEnd = 0;
+    for (Item it : items) {
+      if (!cluster.isEmpty() && it.start < clusterEnd) {
+        cluster.add(new Conflict.Entry(it.calendarName, it.event));
+        clusterEnd = Math.max(clusterEnd, it.end);
+        continue;
+      }
+      emit(cluster, clusterStart, clusterEnd, sink);
+      cluster.clear();
+      cluster.add(new Conflict.Entry(it.calendarName, it.event));
+      clusterStart = it.start;
+      clusterEnd = it.end;
+    }
+    emit(cluster, clusterStart, clusterEnd, sink);
+  }
+
+  private static void emit(List<Conflict.Entry> cluster, long start, long end,
+                           Consumer<Conflict> sink) {
+    if (cluster.size() > 1) {
+      sink.accept(new Conflict(cluster,
+          new TimeInterval(Instant.ofEpochSecond(start), Instant.ofEpochSecond(end))));
+    }
+  }
+
+  private static final class Item {
+    private final String calendarName;
+    private final Event event;
+    private final long start;
+    private final long end;
+
+    Item(String calendarName, Event event, long start, long end) {
+      this.calendarName = calendarName;
+      this.event = event;
+      this.start = start;
+      this.end = end;
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package calendar;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Duplicate filter for bulk copies. Holds the {@code (subject, start, end)} keys and,
+ * optionally, the {@code (subject, day)} keys of a target's events in hash sets, so each
+ * candidate copy is checked with two set lookups instead of a calendar query. Admitted
+ * copies are added as they pass, which also keeps duplicates within one batch out.
+ */
+final class CopyKeys {
+
+  private final boolean bySubjectAndDay;
+  private final Set<Key> exact = new HashSet<>();
+  private final Set<Key> days = new HashSet<>();
+
+  /**
+   * Creates an empty filter.
+   *
+   * @param bySubjectAndDay also reject copies whose subject already occurs on their start day
+   */
+  CopyKeys(boolean bySubjectAndDay) {
+    this.bySubjectAndDay = bySubjectAndDay;
+  }
+
+  /**
+   * Records events already present in the target.
+   *
+   * @param existing target events
+   */
+  void addAll(Iterable<Event> existing) {
+    for (Event e : existing) {
+      add(e);
+    }
+  }
+
+  /**
+   * Checks a candidate copy and records it when it is admitted.
+   *
+   * @param candidate copy at its target times
+   * @return true if the copy duplicates nothing recorded so far
+   */
+  boolean admit(Event candidate) {
+    if (exact.contains(exactKey(candidate))) {
+      return false;
+    }
+    if (bySubjectAndDay && days.contains(
+        new Key(candidate.getSubject(), candidate.getStartDateTime().toLocalDate(), null))) {
+      return false;
+    }
+    add(candidate);
+    return true;
+  }
+
+  private void add(Event e) {
+    exact.add(exactKey(e));
+    if (bySubjectAndDay) {
+      // An event belongs to every day it touches, including one it ends on at midnight,
+      // matching how day listings find it.
+      LocalDate last = e.getEndDateTime().toLocalDate();
+      for (LocalDate d = e.getStartDateTime().toLocalDate(); !d.isAfter(last);
+           d = d.plusDays(1)) {
+        days.add(new Key(e.getSubject(), d, null));
+      }
+    }
+  }
+
+  private static Key exactKey(Event e) {
+    return new Key(e.getSubject(), e.getStartDateTime(), e.getEndDateTime());
+  }
+
+  private static final class Key {
+    private final String subject;
+    private final Object when;
+    private final LocalDateTime end;
+
+    Key(String subject, Object when, LocalDateTime end) {
+      this.subject = subject;
+      this.when = when;
+      this.end = end;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key k = (Key) o;
+      return subject.equals(k.subject) && when.equals(k.when) && Objects.equals(end, k.end);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(subject, when, end);
+    }
+  }
+}
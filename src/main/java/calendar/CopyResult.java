@@ -0,0 +1,75 @@
+package calendar;
+
+/**
+ * Outcome of a bulk copy: how many events were pasted, how many were skipped as duplicates
+ * of events already in the target, and how long the whole operation took.
+ */
+public final class CopyResult {
+
+  private final int copied;
+  private final int skipped;
+  private final long elapsedNanos;
+
+  /**
+   * Creates a result.
+   *
+   * @param copied       events added to the target
+   * @param skipped      source events left out as duplicates
+   * @param elapsedNanos wall time of the copy
+   * @throws IllegalArgumentException if any count is negative
+   */
+  public CopyResult(int copied, int skipped, long elapsedNanos) {
+    if (copied < 0 || skipped < 0 || elapsedNanos < 0) {
+      throw new IllegalArgumentException("Copy counts cannot be negative");
+    }
+    this.copied = copied;
+    this.skipped = skipped;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Events added to the target.
+   *
+   * @return copied count
+   */
+  public int getCopied() {
+    return copied;
+  }
+
+  /**
+   * Source events left out because the target already had them.
+   *
+   * @return skipped count
+   */
+  public int getSkipped() {
+    return skipped;
+  }
+
+  /**
+   * Wall time of the copy.
+   *
+   * @return elapsed nanoseconds
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Source events processed per second, copied or skipped.
+   *
+   * @return throughput, or 0 when nothing was processed
+   */
+  public double eventsPerSecond() {
+    int processed = copied + skipped;
+    if (processed == 0) {
+      return 0;
+    }
+    return processed * 1e9 / Math.max(1L, elapsedNanos);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("copied=%d skipped=%d (%.0f events/s)",
+        copied, skipped, eventsPerSecond());
+  }
+}
@@ -0,0 +1,79 @@
+package calendar;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Totals for one local day of a calendar: how many events touch the day, how many minutes
+ * they are scheduled for within it, and the earliest and latest moment any of them occupies.
+ * Events spanning midnight count toward every day they touch, clipped to that day; overlapping
+ * events each contribute their own minutes.
+ */
+public final class DaySummary {
+
+  private final LocalDate date;
+  private final int eventCount;
+  private final long busyMinutes;
+  private final LocalDateTime earliestStart;
+  private final LocalDateTime latestEnd;
+
+  DaySummary(LocalDate date, int eventCount, long busyMinutes,
+             LocalDateTime earliestStart, LocalDateTime latestEnd) {
+    this.date = date;
+    this.eventCount = eventCount;
+    this.busyMinutes = busyMinutes;
+    this.earliestStart = earliestStart;
+    this.latestEnd = latestEnd;
+  }
+
+  /**
+   * The day summarized.
+   *
+   * @return local date
+   */
+  public LocalDate getDate() {
+    return date;
+  }
+
+  /**
+   * Number of events {@link Calendar#getEventsOnDate(LocalDate)} returns for the day.
+   *
+   * @return event count
+   */
+  public int getEventCount() {
+    return eventCount;
+  }
+
+  /**
+   * Minutes within the day covered by at least one event; overlapping events count once.
+   *
+   * @return busy minutes
+   */
+  public long getBusyMinutes() {
+    return busyMinutes;
+  }
+
+  /**
+   * Earliest start within the day, clipped to midnight for events from the day before.
+   *
+   * @return earliest start
+   */
+  public LocalDateTime getEarliestStart() {
+    return earliestStart;
+  }
+
+  /**
+   * Latest end within the day, clipped to the next midnight for events that run past it.
+   *
+   * @return latest end
+   */
+  public LocalDateTime getLatestEnd() {
+    return latestEnd;
+  }
+
+  @Override
+  public String toString() {
+    return date + ": " + eventCount + " event(s), " + busyMinutes + " min, "
+        + earliestStart.toLocalTime() + "-" + latestEnd.toLocalTime();
+  }
+}
@@ -0,0 +1,164 @@
+package calendar;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Per-day totals of a calendar, keyed by local date in the calendar's zone and kept current
+ * on every mutation. Adding an event folds it into each day it touches; removing one
+ * recomputes just those days from the time index, since a minimum or maximum cannot be
+ * taken back. Busy time is the union of the day's events, so overlapping events count once.
+ * Local dates move when the zone changes, so a zone change only marks the index
+ * stale and the next read rebuilds it, keeping the change itself constant time. Methods are
+ * synchronized because that rebuild can run under a shared read lock.
+ */
+final class DaySummaryIndex {
+
+  private final ZoneView zone;
+  private final TimeIndex timeIndex;
+  private final EventStore events;
+  private final NavigableMap<LocalDate, Day> days = new TreeMap<>();
+  // Built on first read, so calendars nobody summarizes pay nothing on writes.
+  private boolean stale = true;
+
+  /**
+   * Creates an index over a calendar's events.
+   *
+   * @param zone      the calendar's zone view
+   * @param timeIndex the calendar's time index, used to recompute days
+   * @param events    the calendar's events, used to rebuild after a zone change
+   */
+  DaySummaryIndex(ZoneView zone, TimeIndex timeIndex, EventStore events) {
+    this.zone = zone;
+    this.timeIndex = timeIndex;
+    this.events = events;
+  }
+
+  /**
+   * Folds a newly stored event into the days it touches.
+   *
+   * @param e added event
+   */
+  synchronized void add(Event e) {
+    if (stale) {
+      return;
+    }
+    LocalDateTime start = e.getStartDateTime();
+    LocalDateTime end = e.getEndDateTime();
+    for (LocalDate d = start.toLocalDate(); !d.isAfter(end.toLocalDate()); d = d.plusDays(1)) {
+      days.computeIfAbsent(d, Day::new).add(start, end);
+    }
+  }
+
+  /**
+   * Recomputes the days an event touched. Call after the event has left the time index and
+   * before any replacement has been added to this index.
+   *
+   * @param e removed event
+   */
+  synchronized void remove(Event e) {
+    if (stale) {
+      return;
+    }
+    LocalDate last = e.getEndDateTime().toLocalDate();
+    for (LocalDate d = e.getStartDateTime().toLocalDate(); !d.isAfter(last);
+         d = d.plusDays(1)) {
+      days.remove(d);
+      for (Event other : timeIndex.overlappingHalfOpen(d.atStartOfDay(),
+          d.plusDays(1).atStartOfDay())) {
+        days.computeIfAbsent(d, Day::new).add(other.getStartDateTime(),
+            other.getEndDateTime());
+      }
+    }
+  }
+
+  /**
+   * Marks every day stale after the calendar's zone changed.
+   */
+  synchronized void zoneChanged() {
+    stale = true;
+    days.clear();
+  }
+
+  /**
+   * Summaries of the days in {@code [from, to]} that have at least one event.
+   *
+   * @param from first day
+   * @param to   last day
+   * @return ascending summaries
+   */
+  synchronized List<DaySummary> summaries(LocalDate from, LocalDate to) {
+    if (stale) {
+      stale = false;
+      events.forEach(this::add);
+    }
+    List<DaySummary> out = new ArrayList<>();
+    for (Day d : days.subMap(from, true, to, true).values()) {
+      out.add(d.snapshot());
+    }
+    return out;
+  }
+
+  /**
+   * Running totals for one day.
+   */
+  private final class Day {
+    private final LocalDate date;
+    private final LocalDateTime dayStart;
+    private final LocalDateTime dayEnd;
+    // Disjoint busy intervals, epoch-second start to end.
+    private final NavigableMap<Long, Long> spans = new TreeMap<>();
+    private int count;
+    private long busySeconds;
+    private LocalDateTime earliest;
+    private LocalDateTime latest;
+
+    Day(LocalDate date) {
+      this.date = date;
+      this.dayStart = date.atStartOfDay();
+      this.dayEnd = date.plusDays(1).atStartOfDay();
+    }
+
+    void add(LocalDateTime start, LocalDateTime end) {
+      LocalDateTime from = start.isBefore(dayStart) ? dayStart : start;
+      LocalDateTime to = end.isAfter(dayEnd) ? dayEnd : end;
+      count++;
+      cover(zone.toEpochSecond(from), zone.toEpochSecond(to));
+      earliest = earliest == null || from.isBefore(earliest) ? from : earliest;
+      latest = latest == null || to.isAfter(latest) ? to : latest;
+    }
+
+    /**
+     * Adds {@code [from, to)} to the busy intervals, merging any it overlaps or touches.
+     */
+    private void cover(long from, long to) {
+      if (to <= from) {
+        return;
+      }
+      long lo = from;
+      long hi = to;
+      Map.Entry<Long, Long> before = spans.floorEntry(lo);
+      if (before != null && before.getValue() >= lo) {
+        lo = before.getKey();
+      }
+      Map.Entry<Long, Long> next = spans.ceilingEntry(lo);
+      while (next != null && next.getKey() <= hi) {
+        hi = Math.max(hi, next.getValue());
+        busySeconds -= next.getValue() - next.getKey();
+        spans.remove(next.getKey());
+        next = spans.ceilingEntry(lo);
+      }
+      spans.put(lo, hi);
+      busySeconds += hi - lo;
+    }
+
+    DaySummary snapshot() {
+      return new DaySummary(date, count, busySeconds / 60, earliest, latest);
+    }
+  }
+}
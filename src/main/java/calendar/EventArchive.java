@@ -0,0 +1,260 @@
+package calendar;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Cold storage for one calendar's past events: an append-only file of segments, one per
+ * archiving pass. Only each segment's position and time bounds stay in memory, so a lookup
+ * reads just the segments whose span overlaps it. Segments are written by a background
+ * thread; until a segment's write completes, lookups read its events from memory, and if
+ * the write fails they simply stay there. Records hold instants rather than local times, so
+ * the archive stays valid when the calendar's zone changes. Safe for concurrent readers and
+ * one archiving writer.
+ */
+final class EventArchive {
+
+  private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+    Thread t = new Thread(r, "calendar-archiver");
+    t.setDaemon(true);
+    return t;
+  });
+
+  private final Path file;
+  private final List<Segment> segments = new ArrayList<>();
+  private int size;
+
+  /**
+   * Creates an archive that appends to {@code file}. The file is removed when the JVM exits,
+   * since the calendars it belongs to live in memory.
+   *
+   * @param file archive file; created on first write
+   */
+  EventArchive(Path file) {
+    this.file = file;
+    file.toFile().deleteOnExit();
+  }
+
+  /**
+   * Archive file.
+   *
+   * @return path
+   */
+  Path file() {
+    return file;
+  }
+
+  /**
+   * Number of archived events.
+   *
+   * @return event count
+   */
+  synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Adds events as a new segment and queues its write.
+   *
+   * @param events events leaving the calendar
+   * @param local  converter for the calendar's zone, for events not stored as instants
+   */
+  void append(List<Event> events, ZoneConverter local) {
+    if (events.isEmpty()) {
+      return;
+    }
+    Segment s = new Segment(events, local);
+    synchronized (this) {
+      segments.add(s);
+      size += s.count;
+    }
+    WRITER.execute(() -> s.write(local));
+  }
+
+  /**
+   * Streams archived events that might overlap {@code [fromSecond, toSecond]}; callers apply
+   * their exact overlap rule.
+   *
+   * @param fromSecond range start, epoch seconds
+   * @param toSecond   range end, epoch seconds
+   * @param zone       the calendar's zone view, for the restored events
+   * @param sink       receiver of candidates
+   */
+  void read(long fromSecond, long toSecond, ZoneView zone, Consumer<Event> sink) {
+    List<Segment> hits = new ArrayList<>();
+    synchronized (this) {
+      for (Segment s : segments) {
+        if (s.minStart <= toSecond && s.maxEnd >= fromSecond) {
+          hits.add(s);
+        }
+      }
+    }
+    for (Segment s : hits) {
+      s.events(zone).forEach(sink);
+    }
+  }
+
+  /**
+   * Writes one event's fields and instants.
+   *
+   * @param out   destination
+   * @param e     event
+   * @param local converter for the zone {@code e}'s local times are in
+   * @throws IOException if writing fails
+   */
+  static void writeEvent(DataOutput out, Event e, ZoneConverter local) throws IOException {
+    AbstractEvent a = (AbstractEvent) e;
+    writeString(out, e.getSubject());
+    writeString(out, a.description());
+    writeString(out, a.location());
+    out.writeBoolean(e.isPublic());
+    out.writeInt(a.seriesKey());
+    writeString(out, a.foreignSeries());
+    if (e instanceof StoredEvent) {
+      StoredEvent s = (StoredEvent) e;
+      out.writeLong(s.start());
+      out.writeInt(s.startNano());
+      out.writeLong(s.end());
+      out.writeInt(s.endNano());
+    } else {
+      out.writeLong(local.toEpochSecond(e.getStartDateTime()));
+      out.writeInt(e.getStartDateTime().getNano());
+      out.writeLong(local.toEpochSecond(e.getEndDateTime()));
+      out.writeInt(e.getEndDateTime().getNano());
+    }
+  }
+
+  /**
+   * Reads an event written by {@link #writeEvent}, presented in {@code zone}.
+   *
+   * @param in   source
+   * @param zone zone view of the calendar the event belongs to
+   * @param pool interner for the event's parts, or null for events that are only passing
+   *             through
+   * @return the restored event
+   * @throws IOException if reading fails
+   */
+  static StoredEvent readEvent(DataInput in, ZoneView zone, Interner pool) throws IOException {
+    String subject = readString(in);
+    String description = readString(in);
+    String location = readString(in);
+    boolean isPublic = in.readBoolean();
+    int seriesKey = in.readInt();
+    EventTemplate template = new EventTemplate(intern(pool, subject),
+        intern(pool, description), intern(pool, location), isPublic, seriesKey,
+        intern(pool, readString(in)));
+    return new StoredEvent(intern(pool, template), zone, in.readLong(), in.readInt(),
+        in.readLong(), in.readInt());
+  }
+
+  private static <T> T intern(Interner pool, T value) {
+    return pool == null ? value : pool.intern(value);
+  }
+
+  private static void writeString(DataOutput out, String s) throws IOException {
+    if (s == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInput in) throws IOException {
+    int n = in.readInt();
+    if (n < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[n];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * One archiving pass: its time bounds, and either its events or where the file holds them.
+   */
+  private final class Segment {
+    private final int count;
+    private final long minStart;
+    private final long maxEnd;
+    private long offset;
+    private int length;
+    // Cleared once the segment is on disk; offset and length are set before.
+    private volatile List<Event> pending;
+
+    Segment(List<Event> events, ZoneConverter local) {
+      long lo = Long.MAX_VALUE;
+      long hi = Long.MIN_VALUE;
+      for (Event e : events) {
+        lo = Math.min(lo, StoredEvent.startEpoch(e, local));
+        hi = Math.max(hi, StoredEvent.endEpochCeil(e, local));
+      }
+      this.count = events.size();
+      this.minStart = lo;
+      this.maxEnd = hi;
+      this.pending = List.copyOf(events);
+    }
+
+    void write(ZoneConverter local) {
+      try {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Event e : pending) {
+          writeEvent(out, e, local);
+        }
+        out.flush();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+          long at = ch.size();
+          ByteBuffer buf = ByteBuffer.wrap(bytes.toByteArray());
+          while (buf.hasRemaining()) {
+            ch.write(buf);
+          }
+          offset = at;
+          length = bytes.size();
+        }
+        pending = null;
+      } catch (IOException e) {
+        // The events stay in memory and remain readable.
+      }
+    }
+
+    List<Event> events(ZoneView zone) {
+      List<Event> inMemory = pending;
+      if (inMemory != null) {
+        return inMemory;
+      }
+      List<Event> out = new ArrayList<>(count);
+      try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+        ByteBuffer buf = ByteBuffer.allocate(length);
+        while (buf.hasRemaining() && ch.read(buf, offset + buf.position()) >= 0) {
+          // keep reading until the segment is complete
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buf.array()));
+        for (int i = 0; i < count; i++) {
+          out.add(readEvent(in, zone, null));
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Cannot read archive " + file, e);
+      }
+      return out;
+    }
+  }
+}
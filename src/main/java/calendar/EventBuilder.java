@@ -14,7 +14,10 @@ public class EventBuilder {
   private String description = "";
   private String location = "";
   private boolean isPublic = true;
-  private String seriesId;
+  private int seriesKey = SeriesIds.NONE;
+  private String foreignSeries;
+  private Interner pool;
+  private ZoneView zone;
 
   /**
    * Sets the event subject.
@@ -89,7 +92,38 @@ public class EventBuilder {
    * @return this builder
    */
   public EventBuilder seriesId(String id) {
-    this.seriesId = id;
+    this.seriesKey = SeriesIds.internal(id);
+    this.foreignSeries = SeriesIds.foreign(seriesKey, id);
+    return this;
+  }
+
+  EventBuilder seriesKey(int key) {
+    this.seriesKey = key;
+    this.foreignSeries = null;
+    return this;
+  }
+
+  /**
+   * Canonicalizes the event's parts through a calendar's interner when built. Stored events
+   * built this way share one {@link EventTemplate} per distinct set of non-time fields.
+   *
+   * @param parts interner owned by the calendar that will store the event
+   * @return this builder
+   */
+  EventBuilder pool(Interner parts) {
+    this.pool = parts;
+    return this;
+  }
+
+  /**
+   * Builds a {@link StoredEvent} whose times are kept as instants and presented in
+   * {@code view}. The start and end given to this builder are local times in that view.
+   *
+   * @param view zone view of the calendar that will store the event
+   * @return this builder
+   */
+  EventBuilder zone(ZoneView view) {
+    this.zone = view;
     return this;
   }
 
@@ -129,7 +163,13 @@ public class EventBuilder {
       throw new IllegalArgumentException("End date/time before start");
     }
 
-    return new SingleEvent(subject, start, finalEnd, description, location, isPublic, seriesId);
+    if (zone == null) {
+      return new SingleEvent(intern(subject), start, finalEnd, intern(description),
+          intern(location), isPublic, seriesKey, foreignSeries);
+    }
+    EventTemplate template = intern(new EventTemplate(intern(subject), intern(description),
+        intern(location), isPublic, seriesKey, intern(foreignSeries)));
+    return new StoredEvent(template, zone, start, finalEnd);
   }
 
   /**
@@ -146,7 +186,16 @@ public class EventBuilder {
         .isPublic(e.isPublic());
     b.description(e.getDescription().orElse(""));
     b.location(e.getLocation().orElse(""));
-    e.getSeriesId().ifPresent(b::seriesId);
+    if (e instanceof AbstractEvent) {
+      b.seriesKey(((AbstractEvent) e).seriesKey());
+      b.foreignSeries = ((AbstractEvent) e).foreignSeries();
+    } else {
+      e.getSeriesId().ifPresent(b::seriesId);
+    }
     return b;
   }
+
+  private <T> T intern(T value) {
+    return pool == null ? value : pool.intern(value);
+  }
 }
@@ -0,0 +1,74 @@
+package calendar;
+
+import java.util.List;
+
+/**
+ * Events of one calendar that changed between two points of its change sequence. Changed
+ * events are listed as they are now; removed events are tombstones listed as they were, so a
+ * mirror can find its copy by subject, start and end. A full delta is the whole calendar and
+ * means the mirror should replace its copy; it is returned when the starting point is from
+ * before a zone change or rename, which moves every event at once, or older than the
+ * tombstones the calendar still keeps.
+ */
+public final class EventDelta {
+
+  private final long fromSequence;
+  private final long toSequence;
+  private final boolean full;
+  private final List<Event> changed;
+  private final List<Event> removed;
+
+  EventDelta(long fromSequence, long toSequence, boolean full, List<Event> changed,
+             List<Event> removed) {
+    this.fromSequence = fromSequence;
+    this.toSequence = toSequence;
+    this.full = full;
+    this.changed = List.copyOf(changed);
+    this.removed = List.copyOf(removed);
+  }
+
+  /**
+   * Sequence the delta starts after.
+   *
+   * @return starting sequence, exclusive
+   */
+  public long getFromSequence() {
+    return fromSequence;
+  }
+
+  /**
+   * Sequence the delta runs through; pass it as the start of the next delta.
+   *
+   * @return ending sequence, inclusive
+   */
+  public long getToSequence() {
+    return toSequence;
+  }
+
+  /**
+   * Whether this is the whole calendar rather than a difference.
+   *
+   * @return true if the mirror should replace its copy
+   */
+  public boolean isFull() {
+    return full;
+  }
+
+  /**
+   * Events created or edited in the delta, in the order of their latest change.
+   *
+   * @return unmodifiable list
+   */
+  public List<Event> getChanged() {
+    return changed;
+  }
+
+  /**
+   * Tombstones of events that went away in the delta, as they last were.
+   *
+   * @return unmodifiable list
+   */
+  public List<Event> getRemoved() {
+    return removed;
+  }
+}
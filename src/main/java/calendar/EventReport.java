@@ -0,0 +1,135 @@
+package calendar;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Aggregates over the events of one calendar that overlap a window: busy time per day or
+ * week, event counts by subject and by location, and the public/private split. Busy time is
+ * the union of event intervals clipped to the window, so overlapping events are not counted
+ * twice, and it is measured on the instant timeline, so a day with a DST change can hold 23
+ * or 25 hours.
+ */
+public final class EventReport {
+
+  private final LocalDateTime from;
+  private final LocalDateTime to;
+  private final ReportPeriod period;
+  private final SortedMap<LocalDate, Duration> busy;
+  private final SortedMap<String, Integer> bySubject;
+  private final SortedMap<String, Integer> byLocation;
+  private final int publicCount;
+  private final int privateCount;
+
+  EventReport(LocalDateTime from, LocalDateTime to, ReportPeriod period,
+              TreeMap<LocalDate, Duration> busy, TreeMap<String, Integer> bySubject,
+              TreeMap<String, Integer> byLocation, int publicCount, int privateCount) {
+    this.from = from;
+    this.to = to;
+    this.period = period;
+    this.busy = Collections.unmodifiableSortedMap(busy);
+    this.bySubject = Collections.unmodifiableSortedMap(bySubject);
+    this.byLocation = Collections.unmodifiableSortedMap(byLocation);
+    this.publicCount = publicCount;
+    this.privateCount = privateCount;
+  }
+
+  /**
+   * Window start, in the calendar's zone.
+   *
+   * @return start
+   */
+  public LocalDateTime getFrom() {
+    return from;
+  }
+
+  /**
+   * Window end, in the calendar's zone.
+   *
+   * @return end
+   */
+  public LocalDateTime getTo() {
+    return to;
+  }
+
+  /**
+   * Bucket size of {@link #getBusy()}.
+   *
+   * @return period
+   */
+  public ReportPeriod getPeriod() {
+    return period;
+  }
+
+  /**
+   * Busy time per bucket, keyed by the bucket's first day; buckets without any busy time
+   * are left out.
+   *
+   * @return ascending, unmodifiable map
+   */
+  public SortedMap<LocalDate, Duration> getBusy() {
+    return busy;
+  }
+
+  /**
+   * Total busy time across all buckets.
+   *
+   * @return busy time in the window
+   */
+  public Duration getTotalBusy() {
+    Duration total = Duration.ZERO;
+    for (Duration d : busy.values()) {
+      total = total.plus(d);
+    }
+    return total;
+  }
+
+  /**
+   * Number of events per subject.
+   *
+   * @return unmodifiable map sorted by subject
+   */
+  public SortedMap<String, Integer> getCountsBySubject() {
+    return bySubject;
+  }
+
+  /**
+   * Number of events per location; events without a location are not counted here.
+   *
+   * @return unmodifiable map sorted by location
+   */
+  public SortedMap<String, Integer> getCountsByLocation() {
+    return byLocation;
+  }
+
+  /**
+   * Number of public events.
+   *
+   * @return public count
+   */
+  public int getPublicCount() {
+    return publicCount;
+  }
+
+  /**
+   * Number of private events.
+   *
+   * @return private count
+   */
+  public int getPrivateCount() {
+    return privateCount;
+  }
+
+  /**
+   * Number of events in the window.
+   *
+   * @return total count
+   */
+  public int getEventCount() {
+    return publicCount + privateCount;
+  }
+}
@@ -0,0 +1,181 @@
+package calendar;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * A calendar's authoritative events in insertion order. Each stored instance knows its slot,
+ * so replacing or removing an event is constant time; a removal leaves an empty slot rather
+ * than shifting the rest. Once at least half of the slots are empty, a background thread
+ * compacts them a batch at a time, sliding live events down in order and updating their
+ * slots, so a bulk deletion neither pays for the compaction itself nor blocks other access
+ * for longer than one batch. Methods are synchronized because the compactor runs outside
+ * whatever lock the calendar's callers hold.
+ *
+ * <p>As a {@link List} the store reads as its live events in order; positional access has to
+ * step over empty slots, so callers should iterate or take a {@link #snapshot()}.</p>
+ */
+final class EventStore extends AbstractList<Event> {
+
+  // Fewer empty slots than this are not worth a compaction pass.
+  private static final int MIN_COMPACT_HOLES = 1024;
+  // Slots moved per lock hold while compacting.
+  private static final int COMPACT_BATCH = 4096;
+
+  private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(r -> {
+    Thread t = new Thread(r, "calendar-compactor");
+    t.setDaemon(true);
+    return t;
+  });
+
+  private final ArrayList<Event> slots = new ArrayList<>();
+  private final Map<Event, Integer> positions = new IdentityHashMap<>();
+  private int live;
+  private boolean compacting;
+  // While compacting, slots below compactWrite are dense and slots from compactRead on are
+  // untouched; the gap between them is empty.
+  private int compactRead;
+  private int compactWrite;
+
+  @Override
+  public synchronized int size() {
+    return live;
+  }
+
+  @Override
+  public synchronized Event get(int index) {
+    if (index < 0 || index >= live) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of " + live);
+    }
+    if (slots.size() == live) {
+      return slots.get(index);
+    }
+    int seen = 0;
+    for (Event e : slots) {
+      if (e != null && seen++ == index) {
+        return e;
+      }
+    }
+    throw new IllegalStateException("Store size is out of step with its slots");
+  }
+
+  /**
+   * Appends an event.
+   *
+   * @param e event to store
+   * @return true
+   */
+  @Override
+  public synchronized boolean add(Event e) {
+    positions.put(e, slots.size());
+    slots.add(e);
+    live++;
+    return true;
+  }
+
+  @Override
+  public Iterator<Event> iterator() {
+    return snapshot().iterator();
+  }
+
+  /**
+   * Puts {@code now} in the slot of {@code before}, keeping its position in the order.
+   *
+   * @param before stored instance
+   * @param now    replacement
+   * @return false if {@code before} is not stored
+   */
+  synchronized boolean replace(Event before, Event now) {
+    Integer slot = positions.remove(before);
+    if (slot == null) {
+      return false;
+    }
+    slots.set(slot, now);
+    positions.put(now, slot);
+    return true;
+  }
+
+  /**
+   * Removes a stored event, scheduling a compaction if enough slots are empty.
+   *
+   * @param e stored instance
+   * @return false if {@code e} is not stored
+   */
+  synchronized boolean discard(Event e) {
+    Integer slot = positions.remove(e);
+    if (slot == null) {
+      return false;
+    }
+    slots.set(slot, null);
+    live--;
+    int holes = slots.size() - live;
+    if (!compacting && holes >= MIN_COMPACT_HOLES && holes >= live) {
+      compacting = true;
+      compactRead = 0;
+      compactWrite = 0;
+      COMPACTOR.execute(this::compact);
+    }
+    return true;
+  }
+
+  /**
+   * Stored events in insertion order.
+   *
+   * @return a new list
+   */
+  synchronized List<Event> snapshot() {
+    List<Event> out = new ArrayList<>(live);
+    forEach(out::add);
+    return out;
+  }
+
+  /**
+   * Visits stored events in insertion order while holding the store's lock.
+   *
+   * @param action visitor, which must not call back into this store
+   */
+  @Override
+  public synchronized void forEach(Consumer<? super Event> action) {
+    for (Event e : slots) {
+      if (e != null) {
+        action.accept(e);
+      }
+    }
+  }
+
+  private void compact() {
+    while (compactBatch()) {
+      Thread.yield();
+    }
+  }
+
+  private synchronized boolean compactBatch() {
+    int end = Math.min(slots.size(), compactRead + COMPACT_BATCH);
+    for (; compactRead < end; compactRead++) {
+      Event e = slots.get(compactRead);
+      if (e == null) {
+        continue;
+      }
+      if (compactWrite != compactRead) {
+        slots.set(compactWrite, e);
+        slots.set(compactRead, null);
+        positions.put(e, compactWrite);
+      }
+      compactWrite++;
+    }
+    if (compactRead < slots.size()) {
+      return true;
+    }
+    slots.subList(compactWrite, slots.size()).clear();
+    slots.trimToSize();
+    compacting = false;
+    return false;
+  }
+}
@@ -0,0 +1,51 @@
+package calendar;
+
+import java.util.Objects;
+
+/**
+ * The fields of a stored event other than its times. Templates are immutable values; a
+ * calendar interns them so that events with identical text, such as the occurrences of a
+ * series, share one instance, and editing one event simply points it at a different
+ * template.
+ */
+final class EventTemplate {
+
+  final String subject;
+  final String description;
+  final String location;
+  final boolean isPublic;
+  final int seriesKey;
+  final String foreignSeries;
+
+  EventTemplate(String subject, String description, String location, boolean isPublic,
+                int seriesKey, String foreignSeries) {
+    this.subject = subject;
+    this.description = description;
+    this.location = location;
+    this.isPublic = isPublic;
+    this.seriesKey = seriesKey;
+    this.foreignSeries = foreignSeries;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof EventTemplate)) {
+      return false;
+    }
+    EventTemplate that = (EventTemplate) o;
+    return seriesKey == that.seriesKey
+        && isPublic == that.isPublic
+        && subject.equals(that.subject)
+        && description.equals(that.description)
+        && location.equals(that.location)
+        && Objects.equals(foreignSeries, that.foreignSeries);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(subject, description, location, isPublic, seriesKey, foreignSeries);
+  }
+}
@@ -0,0 +1,65 @@
+package calendar;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Per-calendar canonicalizing pool for immutable event parts: subjects, locations,
+ * descriptions and series templates. These repeat heavily (every occurrence of a series,
+ * every parsed command for the same meeting), so events built through an interner share
+ * one instance per distinct value instead of one per event. Entries are weakly held and
+ * disappear once no event uses the value; the pool stops admitting new values at its
+ * capacity, so it never grows beyond a fixed size.
+ */
+final class Interner {
+
+  static final int DEFAULT_CAPACITY = 1 << 16;
+
+  private final int capacity;
+  private final Map<Object, WeakReference<Object>> pool = new WeakHashMap<>();
+
+  Interner() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  Interner(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Pool capacity must be positive");
+    }
+    this.capacity = capacity;
+  }
+
+  /**
+   * The pooled instance equal to {@code value}, admitting {@code value} if it is new and
+   * there is room.
+   *
+   * @param value immutable value to canonicalize; may be null
+   * @param <T>   value type
+   * @return canonical instance, or {@code value} itself
+   */
+  @SuppressWarnings("unchecked")
+  synchronized <T> T intern(T value) {
+    if (value == null || "".equals(value)) {
+      return value;
+    }
+    WeakReference<Object> ref = pool.get(value);
+    Object hit = ref == null ? null : ref.get();
+    if (hit != null) {
+      return (T) hit;
+    }
+    if (pool.size() < capacity) {
+      pool.put(value, new WeakReference<>(value));
+    }
+    return value;
+  }
+
+  /**
+   * Number of live pooled values.
+   *
+   * @return size
+   */
+  synchronized int size() {
+    return pool.size();
+  }
+}
@@ -0,0 +1,153 @@
+package calendar;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event types for model operations. Each is timed between
+ * {@code begin()} and {@code commit()} around the operation and carries the calendar and
+ * the number of events touched, so a recording shows model-level cost next to the usual
+ * CPU and allocation samples. Without an active recording, {@code commit()} is a no-op.
+ */
+final class JfrEvents {
+
+  private JfrEvents() {
+  }
+
+  /**
+   * A single event created.
+   */
+  @Name("calendar.Create")
+  @Label("Create Event")
+  @Category({"Calendar", "Model"})
+  @StackTrace(false)
+  static final class Create extends jdk.jfr.Event {
+    @Label("Calendar")
+    String calendar;
+  }
+
+  /**
+   * A series expanded into occurrences.
+   */
+  @Name("calendar.SeriesExpansion")
+  @Label("Series Expansion")
+  @Category({"Calendar", "Model"})
+  @StackTrace(false)
+  static final class SeriesExpansion extends jdk.jfr.Event {
+    @Label("Calendar")
+    String calendar;
+
+    @Label("Occurrences Created")
+    int eventsCreated;
+
+    @Label("Until Date")
+    @Description("Whether the series was bounded by a date rather than a count")
+    boolean untilDate;
+  }
+
+  /**
+   * An edit in one of the three scopes.
+   */
+  @Name("calendar.Edit")
+  @Label("Edit Events")
+  @Category({"Calendar", "Model"})
+  @StackTrace(false)
+  static final class Edit extends jdk.jfr.Event {
+    @Label("Calendar")
+    String calendar;
+
+    @Label("Scope")
+    @Description("event, events or series")
+    String scope;
+
+    @Label("Property")
+    String property;
+
+    @Label("Events Touched")
+    int eventsTouched;
+  }
+
+  /**
+   * A deletion in one of the three scopes.
+   */
+  @Name("calendar.Delete")
+  @Label("Delete Events")
+  @Category({"Calendar", "Model"})
+  @StackTrace(false)
+  static final class Delete extends jdk.jfr.Event {
+    @Label("Calendar")
+    String calendar;
+
+    @Label("Scope")
+    @Description("event, events or series")
+    String scope;
+
+    @Label("Events Removed")
+    int eventsRemoved;
+  }
+
+  /**
+   * A date or range lookup.
+   */
+  @Name("calendar.RangeQuery")
+  @Label("Range Query")
+  @Category({"Calendar", "Model"})
+  @StackTrace(false)
+  static final class RangeQuery extends jdk.jfr.Event {
+    @Label("Calendar")
+    String calendar;
+
+    @Label("Kind")
+    @Description("day, range, count or report")
+    String kind;
+
+    @Label("Events Returned")
+    int eventsReturned;
+  }
+
+  /**
+   * All events of a calendar re-expressed in a new zone.
+   */
+  @Name("calendar.ZoneConversion")
+  @Label("Zone Conversion")
+  @Category({"Calendar", "Model"})
+  @StackTrace(false)
+  static final class ZoneConversion extends jdk.jfr.Event {
+    @Label("Calendar")
+    String calendar;
+
+    @Label("From Zone")
+    String fromZone;
+
+    @Label("To Zone")
+    String toZone;
+
+    @Label("Events Converted")
+    int eventsConverted;
+  }
+
+  /**
+   * Events copied between calendars.
+   */
+  @Name("calendar.Copy")
+  @Label("Copy Events")
+  @Category({"Calendar", "Model"})
+  @StackTrace(false)
+  static final class Copy extends jdk.jfr.Event {
+    @Label("Source Calendar")
+    String source;
+
+    @Label("Target Calendar")
+    String target;
+
+    @Label("Kind")
+    @Description("event, day, range, series or bulk")
+    String kind;
+
+    @Label("Events Copied")
+    int eventsCopied;
+  }
+}
@@ -0,0 +1,235 @@
+package calendar;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Least-recently-used cache of one calendar's range and day lookups. Entries are keyed by
+ * the lookup's bounds as instants and whether the upper bound is exclusive, so they stay
+ * valid when the calendar's zone changes. A mutation invalidates
+ * only the entries whose span overlaps the event it touched: entries are also ordered by
+ * start, and the widest cached span bounds how far before an event an overlapping entry
+ * can start, as in {@link TimeIndex}. The cache holds at most a fixed number of event
+ * references across all entries; the least recently used entries go first, and a result
+ * larger than the whole cap is not cached. Safe for concurrent readers; callers exclude
+ * lookups while mutating, as for the calendar itself.
+ */
+final class QueryCache {
+
+  /**
+   * System property setting how many event references each calendar's cache may hold;
+   * 0 disables caching.
+   */
+  static final String CAPACITY_PROPERTY = "calendar.query.cache.events";
+
+  /**
+   * Default number of event references each calendar's cache may hold.
+   */
+  static final int DEFAULT_CAPACITY = 1 << 16;
+
+  private final int capacity;
+  // Access-ordered: eldest first.
+  private final Map<Key, List<Event>> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final NavigableMap<Long, List<Key>> byFrom = new TreeMap<>();
+  private final NavigableMap<Long, Integer> spans = new TreeMap<>();
+  private int cachedEvents;
+  private long hits;
+  private long misses;
+  private long evictions;
+  private long invalidations;
+
+  /**
+   * Creates a cache sized by {@value #CAPACITY_PROPERTY}.
+   */
+  QueryCache() {
+    this(Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY));
+  }
+
+  /**
+   * Creates a cache.
+   *
+   * @param capacity event references the cache may hold; 0 disables it
+   */
+  QueryCache(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Cache capacity cannot be negative");
+    }
+    this.capacity = capacity;
+  }
+
+  /**
+   * Creates an empty cache that carries on the counters and capacity of a dropped one.
+   *
+   * @param previous the dropped cache's last stats
+   */
+  QueryCache(QueryCacheStats previous) {
+    this(previous.getCapacity());
+    hits = previous.getHits();
+    misses = previous.getMisses();
+    evictions = previous.getEvictions();
+    invalidations = previous.getInvalidations();
+  }
+
+  /**
+   * Cached result of a lookup, or the result of running it, cached if it fits.
+   *
+   * @param fromSec  lower bound, epoch second
+   * @param fromNano lower bound, nanosecond
+   * @param toSec    upper bound, epoch second
+   * @param toNano   upper bound, nanosecond
+   * @param halfOpen whether the upper bound is exclusive
+   * @param lookup   the uncached lookup
+   * @return a new list the caller may keep
+   */
+  List<Event> get(long fromSec, int fromNano, long toSec, int toNano, boolean halfOpen,
+                  Supplier<List<Event>> lookup) {
+    if (capacity == 0) {
+      return lookup.get();
+    }
+    Key key = new Key(fromSec, fromNano, toSec, toNano, halfOpen);
+    synchronized (this) {
+      List<Event> cached = entries.get(key);
+      if (cached != null) {
+        hits++;
+        QueryTrace.record(QueryTrace.QUERY_CACHE, entries.size(), cached.size(),
+            cached.size());
+        return new ArrayList<>(cached);
+      }
+      misses++;
+    }
+    List<Event> found = lookup.get();
+    if (found.size() <= capacity) {
+      put(key, List.copyOf(found));
+    }
+    return found;
+  }
+
+  /**
+   * Drops the entries whose span overlaps an event's, after that event was added, removed
+   * or replaced.
+   *
+   * @param startSec event start, epoch second
+   * @param endSec   event end, epoch second rounded up
+   */
+  synchronized void invalidate(long startSec, long endSec) {
+    if (entries.isEmpty()) {
+      return;
+    }
+    List<Key> stale = new ArrayList<>();
+    long lower = startSec - spans.lastKey();
+    for (List<Key> bucket : byFrom.subMap(lower, true, endSec, true).values()) {
+      for (Key k : bucket) {
+        if (k.toCeil() >= startSec) {
+          stale.add(k);
+        }
+      }
+    }
+    for (Key k : stale) {
+      remove(k);
+    }
+    invalidations += stale.size();
+  }
+
+  /**
+   * Current counters and size.
+   *
+   * @return a snapshot
+   */
+  synchronized QueryCacheStats stats() {
+    return new QueryCacheStats(hits, misses, evictions, invalidations, entries.size(),
+        cachedEvents, capacity);
+  }
+
+  /**
+   * Current counters with no entries, as they stand once the cache is dropped.
+   *
+   * @return a snapshot
+   */
+  synchronized QueryCacheStats dropped() {
+    return new QueryCacheStats(hits, misses, evictions, invalidations, 0, 0, capacity);
+  }
+
+  private synchronized void put(Key key, List<Event> result) {
+    if (entries.containsKey(key)) {
+      return;
+    }
+    Iterator<Map.Entry<Key, List<Event>>> eldest = entries.entrySet().iterator();
+    while (cachedEvents + result.size() > capacity && eldest.hasNext()) {
+      Map.Entry<Key, List<Event>> e = eldest.next();
+      eldest.remove();
+      cachedEvents -= e.getValue().size();
+      unindex(e.getKey());
+      evictions++;
+    }
+    entries.put(key, result);
+    cachedEvents += result.size();
+    byFrom.computeIfAbsent(key.fromSec, s -> new ArrayList<>(1)).add(key);
+    spans.merge(key.span(), 1, Integer::sum);
+  }
+
+  private void remove(Key k) {
+    cachedEvents -= entries.remove(k).size();
+    unindex(k);
+  }
+
+  /**
+   * Takes a key that has just left {@link #entries} out of the other structures.
+   */
+  private void unindex(Key k) {
+    List<Key> bucket = byFrom.get(k.fromSec);
+    bucket.remove(k);
+    if (bucket.isEmpty()) {
+      byFrom.remove(k.fromSec);
+    }
+    spans.computeIfPresent(k.span(), (s, n) -> n == 1 ? null : n - 1);
+  }
+
+  /**
+   * A lookup's bounds as instants, and whether the upper one is exclusive.
+   */
+  private static final class Key {
+    private final long fromSec;
+    private final int fromNano;
+    private final long toSec;
+    private final int toNano;
+    private final boolean halfOpen;
+
+    Key(long fromSec, int fromNano, long toSec, int toNano, boolean halfOpen) {
+      this.fromSec = fromSec;
+      this.fromNano = fromNano;
+      this.toSec = toSec;
+      this.toNano = toNano;
+      this.halfOpen = halfOpen;
+    }
+
+    long toCeil() {
+      return toSec + (toNano > 0 ? 1 : 0);
+    }
+
+    long span() {
+      return toCeil() - fromSec;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key k = (Key) o;
+      return fromSec == k.fromSec && fromNano == k.fromNano && toSec == k.toSec
+          && toNano == k.toNano && halfOpen == k.halfOpen;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(fromSec, fromNano, toSec, toNano, halfOpen);
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package calendar;
+
+/**
+ * Snapshot of a calendar's query cache: how often lookups were answered from it, how often
+ * entries were dropped to stay under the cap or because a change touched their span, and
+ * how much of the cap is in use.
+ */
+public final class QueryCacheStats {
+
+  private final long hits;
+  private final long misses;
+  private final long evictions;
+  private final long invalidations;
+  private final int entries;
+  private final int cachedEvents;
+  private final int capacity;
+
+  /**
+   * Creates a snapshot.
+   *
+   * @param hits          lookups answered from the cache
+   * @param misses        lookups that had to run
+   * @param evictions     entries dropped to stay under the cap
+   * @param invalidations entries dropped because a change touched their span
+   * @param entries       cached lookups
+   * @param cachedEvents  event references held across entries
+   * @param capacity      event references the cache may hold; 0 when disabled
+   * @throws IllegalArgumentException if any value is negative
+   */
+  public QueryCacheStats(long hits, long misses, long evictions, long invalidations,
+                         int entries, int cachedEvents, int capacity) {
+    if (hits < 0 || misses < 0 || evictions < 0 || invalidations < 0 || entries < 0
+        || cachedEvents < 0 || capacity < 0) {
+      throw new IllegalArgumentException("Cache counts cannot be negative");
+    }
+    this.hits = hits;
+    this.misses = misses;
+    this.evictions = evictions;
+    this.invalidations = invalidations;
+    this.entries = entries;
+    this.cachedEvents = cachedEvents;
+    this.capacity = capacity;
+  }
+
+  /**
+   * Lookups answered from the cache.
+   *
+   * @return hit count
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Lookups that had to run.
+   *
+   * @return miss count
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Entries dropped to stay under the cap.
+   *
+   * @return eviction count
+   */
+  public long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * Entries dropped because a change touched their span.
+   *
+   * @return invalidation count
+   */
+  public long getInvalidations() {
+    return invalidations;
+  }
+
+  /**
+   * Cached lookups.
+   *
+   * @return entry count
+   */
+  public int getEntries() {
+    return entries;
+  }
+
+  /**
+   * Event references held across entries.
+   *
+   * @return cached event count
+   */
+  public int getCachedEvents() {
+    return cachedEvents;
+  }
+
+  /**
+   * Event references the cache may hold.
+   *
+   * @return capacity, 0 when caching is disabled
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Share of lookups answered from the cache.
+   *
+   * @return hits over hits plus misses, or 0 before any lookup
+   */
+  public double hitRate() {
+    long total = hits + misses;
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("query cache: hits=%d misses=%d (%.1f%% hit) evictions=%d "
+            + "invalidations=%d entries=%d events=%d/%d",
+        hits, misses, 100 * hitRate(), evictions, invalidations, entries, cachedEvents,
+        capacity);
+  }
+}
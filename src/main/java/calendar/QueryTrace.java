@@ -0,0 +1,175 @@
+package calendar;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-thread record of how model lookups were served: which access path ran, how many
+ * events it examined and how many it kept. Lookups report into the trace started on their
+ * thread, if any; with no trace active anywhere, reporting is a single volatile read.
+ *
+ * <pre>
+ * try (QueryTrace trace = QueryTrace.start()) {
+ *   calendar.getEventsInRange(from, to);
+ *   log(trace.describe());
+ * }
+ * </pre>
+ */
+public final class QueryTrace implements AutoCloseable {
+
+  /**
+   * Exact-start lookup in the time index.
+   */
+  public static final String TIME_EXACT = "time-index.exact";
+  /**
+   * Overlap lookup in the time index.
+   */
+  public static final String TIME_RANGE = "time-index.range";
+  /**
+   * Point-in-time lookup in the time index.
+   */
+  public static final String TIME_POINT = "time-index.point";
+  /**
+   * Occurrence lookup through the series index.
+   */
+  public static final String SERIES = "series-index";
+  /**
+   * Term lookup in the search index.
+   */
+  public static final String SEARCH = "search-index";
+  /**
+   * Linear pass over every event of a calendar.
+   */
+  public static final String FULL_SCAN = "full-scan";
+  /**
+   * Lookup answered from a calendar's query cache.
+   */
+  public static final String QUERY_CACHE = "query-cache";
+
+  private static final ThreadLocal<QueryTrace> CURRENT = new ThreadLocal<>();
+  private static volatile int active;
+
+  private final QueryTrace outer;
+  private final Map<String, long[]> paths = new LinkedHashMap<>();
+  private long scanned;
+  private long returned;
+  private int calendarSize;
+
+  private QueryTrace(QueryTrace outer) {
+    this.outer = outer;
+  }
+
+  /**
+   * Starts collecting lookups made on the current thread until {@link #close()}.
+   *
+   * @return the new trace
+   */
+  public static QueryTrace start() {
+    QueryTrace trace = new QueryTrace(CURRENT.get());
+    CURRENT.set(trace);
+    synchronized (QueryTrace.class) {
+      active++;
+    }
+    return trace;
+  }
+
+  /**
+   * Reports one lookup to the current thread's trace, if any.
+   *
+   * @param path         access path, one of the constants above
+   * @param indexSize    number of events in the calendar that was searched
+   * @param scannedCount events examined
+   * @param kept         events returned
+   */
+  static void record(String path, int indexSize, long scannedCount, long kept) {
+    if (active == 0) {
+      return;
+    }
+    QueryTrace trace = CURRENT.get();
+    if (trace == null) {
+      return;
+    }
+    long[] stats = trace.paths.computeIfAbsent(path, p -> new long[3]);
+    stats[0]++;
+    stats[1] += scannedCount;
+    stats[2] += kept;
+    trace.scanned += scannedCount;
+    trace.returned += kept;
+    trace.calendarSize = Math.max(trace.calendarSize, indexSize);
+  }
+
+  /**
+   * Total events examined across all lookups.
+   *
+   * @return scanned count
+   */
+  public long getScanned() {
+    return scanned;
+  }
+
+  /**
+   * Total events returned across all lookups.
+   *
+   * @return returned count
+   */
+  public long getReturned() {
+    return returned;
+  }
+
+  /**
+   * Size of the largest calendar looked up.
+   *
+   * @return event count
+   */
+  public int getCalendarSize() {
+    return calendarSize;
+  }
+
+  /**
+   * Access paths used, in first-use order.
+   *
+   * @return path names
+   */
+  public Iterable<String> getPaths() {
+    return paths.keySet();
+  }
+
+  /**
+   * One-line summary such as {@code time-index.range x1 scanned=120 returned=8}.
+   *
+   * @return description, or {@code none} if no lookup was traced
+   */
+  public String describe() {
+    if (paths.isEmpty()) {
+      return "none";
+    }
+    StringBuilder sb = new StringBuilder();
+    for (Map.Entry<String, long[]> e : paths.entrySet()) {
+      if (sb.length() > 0) {
+        sb.append("; ");
+      }
+      long[] s = e.getValue();
+      sb.append(e.getKey()).append(" x").append(s[0])
+          .append(" scanned=").append(s[1]).append(" returned=").append(s[2]);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Stops collecting and restores any enclosing trace.
+   */
+  @Override
+  public void close() {
+    if (CURRENT.get() != this) {
+      return;
+    }
+    if (outer == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(outer);
+    }
+    synchronized (QueryTrace.class) {
+      active--;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package calendar;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Builds an {@link EventReport} in one pass over start-ordered events. Counts are tallied as
+ * events arrive; busy time is kept as the current union interval in epoch seconds, and each
+ * finished interval is split at local midnights into the buckets it touches.
+ */
+final class ReportAccumulator implements Consumer<Event> {
+
+  private final LocalDateTime from;
+  private final LocalDateTime to;
+  private final ReportPeriod period;
+  private final ZoneConverter local;
+  private final long windowStart;
+  private final long windowEnd;
+
+  private final TreeMap<LocalDate, Duration> busy = new TreeMap<>();
+  private final TreeMap<String, Integer> bySubject = new TreeMap<>();
+  private final TreeMap<String, Integer> byLocation = new TreeMap<>();
+  private int publicCount;
+  private int privateCount;
+  private long unionStart;
+  private long unionEnd;
+  private boolean open;
+
+  /**
+   * Creates an empty accumulator.
+   *
+   * @param from   window start in the calendar's zone
+   * @param to     window end in the calendar's zone
+   * @param period bucket size for busy time
+   * @param local  converter for the calendar's zone
+   */
+  ReportAccumulator(LocalDateTime from, LocalDateTime to, ReportPeriod period,
+                    ZoneConverter local) {
+    this.from = from;
+    this.to = to;
+    this.period = period;
+    this.local = local;
+    this.windowStart = local.toEpochSecond(from);
+    this.windowEnd = local.toEpochSecond(to);
+  }
+
+  @Override
+  public void accept(Event e) {
+    bySubject.merge(e.getSubject(), 1, Integer::sum);
+    e.getLocation().ifPresent(l -> byLocation.merge(l, 1, Integer::sum));
+    if (e.isPublic()) {
+      publicCount++;
+    } else {
+      privateCount++;
+    }
+    long start = Math.max(StoredEvent.startEpoch(e, local), windowStart);
+    long end = Math.min(StoredEvent.endEpochCeil(e, local), windowEnd);
+    if (end <= start) {
+      return;
+    }
+    if (open && start <= unionEnd) {
+      unionEnd = Math.max(unionEnd, end);
+      return;
+    }
+    flush();
+    unionStart = start;
+    unionEnd = end;
+    open = true;
+  }
+
+  /**
+   * Closes the last busy interval and returns the report.
+   *
+   * @return the finished report
+   */
+  EventReport finish() {
+    flush();
+    return new EventReport(from, to, period, busy, bySubject, byLocation,
+        publicCount, privateCount);
+  }
+
+  private void flush() {
+    if (!open) {
+      return;
+    }
+    open = false;
+    long s = unionStart;
+    while (s < unionEnd) {
+      LocalDate day = local.toLocal(s, 0).toLocalDate();
+      long nextDay = local.toEpochSecond(day.plusDays(1).atStartOfDay());
+      long e = Math.min(unionEnd, nextDay);
+      busy.merge(period.start(day), Duration.ofSeconds(e - s), Duration::plus);
+      s = e;
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket size for busy-time totals in an {@link EventReport}.
+ */
+public enum ReportPeriod {
+  /**
+   * One bucket per calendar day.
+   */
+  DAY,
+
+  /**
+   * One bucket per ISO week, starting on Monday.
+   */
+  WEEK;
+
+  /**
+   * First day of the bucket containing {@code date}.
+   *
+   * @param date any date
+   * @return the date itself for {@link #DAY}, the preceding or same Monday for {@link #WEEK}
+   */
+  public LocalDate start(LocalDate date) {
+    return this == WEEK ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : date;
+  }
+}
@@ -0,0 +1,125 @@
+package calendar;
+
+/**
+ * Snapshot of a book's calendar residency: how often a calendar was found in memory, how
+ * often one had to be read back from disk, and how much of the heap budget the resident
+ * calendars are estimated to use.
+ */
+public final class ResidencyStats {
+
+  private final long hits;
+  private final long misses;
+  private final long spills;
+  private final int residentCalendars;
+  private final int spilledCalendars;
+  private final long residentBytes;
+  private final long budgetBytes;
+
+  /**
+   * Creates a snapshot.
+   *
+   * @param hits              lookups that found the calendar in memory
+   * @param misses            times a spilled calendar was read back in
+   * @param spills            times a calendar was written out to disk
+   * @param residentCalendars calendars currently in memory
+   * @param spilledCalendars  calendars currently on disk
+   * @param residentBytes     estimated heap held by resident calendars' events
+   * @param budgetBytes       heap budget for resident calendars' events
+   * @throws IllegalArgumentException if any value is negative
+   */
+  public ResidencyStats(long hits, long misses, long spills, int residentCalendars,
+                        int spilledCalendars, long residentBytes, long budgetBytes) {
+    if (hits < 0 || misses < 0 || spills < 0 || residentCalendars < 0 || spilledCalendars < 0
+        || residentBytes < 0 || budgetBytes < 0) {
+      throw new IllegalArgumentException("Residency counts cannot be negative");
+    }
+    this.hits = hits;
+    this.misses = misses;
+    this.spills = spills;
+    this.residentCalendars = residentCalendars;
+    this.spilledCalendars = spilledCalendars;
+    this.residentBytes = residentBytes;
+    this.budgetBytes = budgetBytes;
+  }
+
+  /**
+   * Lookups that found the calendar in memory.
+   *
+   * @return hit count
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Times a spilled calendar was read back in.
+   *
+   * @return miss count
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Times a calendar was written out to disk.
+   *
+   * @return spill count
+   */
+  public long getSpills() {
+    return spills;
+  }
+
+  /**
+   * Calendars currently in memory.
+   *
+   * @return resident count
+   */
+  public int getResidentCalendars() {
+    return residentCalendars;
+  }
+
+  /**
+   * Calendars currently on disk.
+   *
+   * @return spilled count
+   */
+  public int getSpilledCalendars() {
+    return spilledCalendars;
+  }
+
+  /**
+   * Estimated heap held by the events of resident calendars.
+   *
+   * @return bytes
+   */
+  public long getResidentBytes() {
+    return residentBytes;
+  }
+
+  /**
+   * Heap budget the book trims resident calendars to.
+   *
+   * @return bytes
+   */
+  public long getBudgetBytes() {
+    return budgetBytes;
+  }
+
+  /**
+   * Share of accesses served from memory.
+   *
+   * @return hits over hits plus misses, or 1 before any access
+   */
+  public double hitRate() {
+    long total = hits + misses;
+    return total == 0 ? 1 : (double) hits / total;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("residency: hits=%d misses=%d (%.1f%% hit) spills=%d "
+            + "resident=%d spilled=%d ~%d of %d KiB",
+        hits, misses, 100 * hitRate(), spills, residentCalendars, spilledCalendars,
+        residentBytes / 1024, budgetBytes / 1024);
+  }
+}
@@ -0,0 +1,243 @@
+package calendar;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over event subject, location and description.
+ * Text is split into lower-case letter/digit tokens; each token maps to the events that
+ * contain it together with a field-weighted term count, so queries touch only the postings
+ * of their own terms instead of scanning the calendar. Terms are kept sorted, which makes
+ * a prefix query a contiguous range of the dictionary.
+ * Postings are keyed by identity: the index tracks the exact instances stored by the owning
+ * calendar. This index is rebuildable from the authoritative event list.
+ */
+public final class SearchIndex {
+
+  static final int SUBJECT_WEIGHT = 3;
+  static final int LOCATION_WEIGHT = 2;
+  static final int DESCRIPTION_WEIGHT = 1;
+
+  private static final Comparator<Map.Entry<Event, Integer>> RANK =
+      Comparator.<Map.Entry<Event, Integer>>comparingInt(Map.Entry::getValue).reversed()
+          .thenComparing(en -> en.getKey().getStartDateTime())
+          .thenComparing(en -> en.getKey().getSubject());
+
+  private final NavigableMap<String, Map<Event, Integer>> postings = new TreeMap<>();
+  private int documents;
+
+  /**
+   * Clears and rebuilds the index from a list of events.
+   *
+   * @param events source of truth
+   */
+  public void rebuild(Collection<Event> events) {
+    postings.clear();
+    documents = 0;
+    for (Event e : events) {
+      add(e);
+    }
+  }
+
+  /**
+   * Indexes an event's text fields.
+   *
+   * @param e event to index
+   */
+  public void add(Event e) {
+    documents++;
+    for (Map.Entry<String, Integer> t : terms(e).entrySet()) {
+      postings.computeIfAbsent(t.getKey(), k -> new IdentityHashMap<>()).put(e, t.getValue());
+    }
+  }
+
+  /**
+   * Removes a previously indexed event instance.
+   *
+   * @param e event to remove
+   */
+  public void remove(Event e) {
+    documents--;
+    for (String term : terms(e).keySet()) {
+      Map<Event, Integer> docs = postings.get(term);
+      if (docs != null) {
+        docs.remove(e);
+        if (docs.isEmpty()) {
+          postings.remove(term);
+        }
+      }
+    }
+  }
+
+  /**
+   * Events matching every term of the query, best first. A term ending in {@code *}
+   * matches any indexed token with that prefix. Matches are scored by the summed
+   * field-weighted counts of the matched tokens (subject counts more than location, which
+   * counts more than description); ties are broken by start time, then subject.
+   *
+   * @param query whitespace-separated terms
+   * @param limit maximum number of results; non-positive means unlimited
+   * @return ranked matches, possibly empty
+   */
+  public List<Event> search(String query, int limit) {
+    List<TermPostings> perTerm = new ArrayList<>();
+    for (String raw : query == null ? new String[0] : query.trim().split("\\s+")) {
+      boolean prefix = raw.endsWith("*");
+      List<String> tokens = tokenize(prefix ? raw.substring(0, raw.length() - 1) : raw);
+      for (int i = 0; i < tokens.size(); i++) {
+        perTerm.add(prefix && i == tokens.size() - 1
+            ? new TermPostings(postings.subMap(tokens.get(i), true,
+                tokens.get(i) + Character.MAX_VALUE, false).values())
+            : new TermPostings(List.of(
+                postings.getOrDefault(tokens.get(i), Collections.emptyMap()))));
+      }
+    }
+    if (perTerm.isEmpty()) {
+      QueryTrace.record(QueryTrace.SEARCH, documents, 0, 0);
+      return new ArrayList<>();
+    }
+    // Drive the intersection from the rarest term so the work is bounded by its postings.
+    perTerm.sort(Comparator.comparingInt(t -> t.size));
+    Map<Event, Integer> driver = perTerm.get(0).materialize();
+    for (int i = 1; i < perTerm.size(); i++) {
+      perTerm.get(i).prepareForProbes(driver.size());
+    }
+    PriorityQueue<Map.Entry<Event, Integer>> top = new PriorityQueue<>(RANK.reversed());
+    List<Map.Entry<Event, Integer>> all = new ArrayList<>();
+    outer:
+    for (Map.Entry<Event, Integer> cand : driver.entrySet()) {
+      int score = cand.getValue();
+      for (int i = 1; i < perTerm.size(); i++) {
+        int w = perTerm.get(i).weight(cand.getKey());
+        if (w == 0) {
+          continue outer;
+        }
+        score += w;
+      }
+      Map.Entry<Event, Integer> hit = Map.entry(cand.getKey(), score);
+      if (limit <= 0) {
+        all.add(hit);
+      } else if (top.size() < limit) {
+        top.add(hit);
+      } else if (RANK.compare(hit, top.peek()) < 0) {
+        top.poll();
+        top.add(hit);
+      }
+    }
+    if (limit > 0) {
+      all.addAll(top);
+    }
+    all.sort(RANK);
+    List<Event> out = new ArrayList<>(all.size());
+    for (Map.Entry<Event, Integer> hit : all) {
+      out.add(hit.getKey());
+    }
+    QueryTrace.record(QueryTrace.SEARCH, documents, driver.size(), out.size());
+    return out;
+  }
+
+  /**
+   * Number of distinct indexed tokens.
+   *
+   * @return dictionary size
+   */
+  public int termCount() {
+    return postings.size();
+  }
+
+  private static Map<String, Integer> terms(Event e) {
+    Map<String, Integer> out = new LinkedHashMap<>();
+    addTerms(out, e.getSubject(), SUBJECT_WEIGHT);
+    e.getLocation().ifPresent(s -> addTerms(out, s, LOCATION_WEIGHT));
+    e.getDescription().ifPresent(s -> addTerms(out, s, DESCRIPTION_WEIGHT));
+    return out;
+  }
+
+  private static void addTerms(Map<String, Integer> out, String text, int weight) {
+    for (String t : tokenize(text)) {
+      out.merge(t, weight, Integer::sum);
+    }
+  }
+
+  /**
+   * Splits text into lower-case runs of letters and digits.
+   */
+  static List<String> tokenize(String text) {
+    List<String> out = new ArrayList<>();
+    if (text == null) {
+      return out;
+    }
+    int start = -1;
+    for (int i = 0; i <= text.length(); i++) {
+      boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+      if (word && start < 0) {
+        start = i;
+      } else if (!word && start >= 0) {
+        out.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+        start = -1;
+      }
+    }
+    return out;
+  }
+
+  /**
+   * Postings of one query term: a single token, or the union of every token a prefix
+   * expands to. The union is kept lazy and only merged into one map when that is cheaper
+   * than probing each expansion for every candidate.
+   */
+  private static final class TermPostings {
+    private List<Map<Event, Integer>> sources;
+    private final int size;
+
+    TermPostings(Collection<Map<Event, Integer>> sources) {
+      this.sources = new ArrayList<>(sources);
+      int n = 0;
+      for (Map<Event, Integer> m : sources) {
+        n += m.size();
+      }
+      this.size = n;
+    }
+
+    Map<Event, Integer> materialize() {
+      if (sources.size() == 1) {
+        return sources.get(0);
+      }
+      // Sum across expansions so an event containing several matching tokens ranks higher.
+      Map<Event, Integer> merged = new IdentityHashMap<>();
+      for (Map<Event, Integer> docs : sources) {
+        for (Map.Entry<Event, Integer> d : docs.entrySet()) {
+          merged.merge(d.getKey(), d.getValue(), Integer::sum);
+        }
+      }
+      sources = List.of(merged);
+      return merged;
+    }
+
+    void prepareForProbes(int candidates) {
+      if ((long) candidates * sources.size() > size) {
+        materialize();
+      }
+    }
+
+    int weight(Event e) {
+      int w = 0;
+      for (Map<Event, Integer> docs : sources) {
+        Integer v = docs.get(e);
+        if (v != null) {
+          w += v;
+        }
+      }
+      return w;
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package calendar;
+
+/**
+ * How a range copy treats series membership of the copied events.
+ */
+public enum SeriesCopyMode {
+  /**
+   * Copies keep the source series id, so the source and target calendars share it.
+   */
+  SHARE_ID,
+
+  /**
+   * Each source series with occurrences in the range becomes one new series in the target,
+   * under a fresh id; the copied occurrences of a series share one stored template.
+   */
+  NEW_ID
+}
@@ -0,0 +1,107 @@
+package calendar;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compact series identifiers. Events store a series as an {@code int} key; the external
+ * string form, {@code SERIES_<n>}, is only produced when a caller asks for
+ * {@link Event#getSeriesId()}. Keys are unique within the process, so series stay distinct
+ * when copied between calendars. Strings in any other form (supplied by callers) have no
+ * key: such events are marked {@link #FOREIGN} and keep the string themselves, so nothing
+ * here grows with the ids callers make up.
+ */
+final class SeriesIds {
+
+  static final int NONE = 0;
+
+  /**
+   * Key of every series whose id is not in the generated form; the event holds the id.
+   */
+  static final int FOREIGN = -1;
+
+  private static final String PREFIX = "SERIES_";
+  private static final AtomicInteger NEXT = new AtomicInteger();
+
+  private SeriesIds() {
+  }
+
+  /**
+   * A key no existing series uses.
+   *
+   * @return new positive key
+   */
+  static int next() {
+    return NEXT.incrementAndGet();
+  }
+
+  /**
+   * External string for a key.
+   *
+   * @param key     series key
+   * @param foreign the event's own id when {@code key} is {@link #FOREIGN}
+   * @return id string, or null for {@link #NONE}
+   */
+  static String external(int key, String foreign) {
+    if (key == NONE) {
+      return null;
+    }
+    return key > 0 ? PREFIX + key : foreign;
+  }
+
+  /**
+   * External string for a generated key.
+   *
+   * @param key positive series key
+   * @return id string
+   */
+  static String external(int key) {
+    return external(key, null);
+  }
+
+  /**
+   * Key for an external string; {@code external(internal(id), id)} equals {@code id}.
+   *
+   * @param id series id string, or null
+   * @return key, {@link #NONE} for null and {@link #FOREIGN} for ids not in the generated
+   *         form
+   */
+  static int internal(String id) {
+    if (id == null) {
+      return NONE;
+    }
+    int key = parse(id);
+    if (key > 0) {
+      // Keep generated keys ahead of any canonical id supplied from outside.
+      NEXT.accumulateAndGet(key, Math::max);
+      return key;
+    }
+    return FOREIGN;
+  }
+
+  /**
+   * The part of an id an event must keep itself.
+   *
+   * @param key key returned by {@link #internal(String)} for {@code id}
+   * @param id  series id string, or null
+   * @return {@code id} if {@code key} is {@link #FOREIGN}, else null
+   */
+  static String foreign(int key, String id) {
+    return key == FOREIGN ? id : null;
+  }
+
+  private static int parse(String id) {
+    if (!id.startsWith(PREFIX) || id.length() == PREFIX.length()
+        || id.length() > PREFIX.length() + 9 || id.charAt(PREFIX.length()) == '0') {
+      return 0;
+    }
+    int n = 0;
+    for (int i = PREFIX.length(); i < id.length(); i++) {
+      char c = id.charAt(i);
+      if (c < '0' || c > '9') {
+        return 0;
+      }
+      n = n * 10 + (c - '0');
+    }
+    return n;
+  }
+}
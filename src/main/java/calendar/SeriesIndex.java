@@ -1,6 +1,8 @@
 package calendar;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NavigableSet;
@@ -11,13 +13,26 @@ import java.util.concurrent.ConcurrentMap;
 
 /**
  * Index of series occurrences for fast lookup and maintenance.
- * Keys are series identifiers; values are ordered start-times of occurrences.
+ * Keys are series identifiers; values are ordered start instants of occurrences, presented
+ * as local times in the index's zone view (the owning calendar's, or UTC for a standalone
+ * index), so the index stays valid when that zone changes.
  * This index is rebuildable from the authoritative event list.
  */
 public final class SeriesIndex {
 
-  private final ConcurrentMap<String, NavigableSet<LocalDateTime>> index =
-      new ConcurrentHashMap<>();
+  private final ZoneView zone;
+  private final ConcurrentMap<String, NavigableSet<Instant>> index = new ConcurrentHashMap<>();
+
+  /**
+   * Creates an empty index that reads local times as UTC.
+   */
+  public SeriesIndex() {
+    this(new ZoneView(ZoneOffset.UTC));
+  }
+
+  SeriesIndex(ZoneView zone) {
+    this.zone = zone;
+  }
 
   /**
    * Clears and rebuilds the index from a list of events.
@@ -38,6 +53,17 @@ public final class SeriesIndex {
    * @param start start of occurrence
    */
   public void add(String seriesId, LocalDateTime start) {
+    Objects.requireNonNull(start, "start");
+    add(seriesId, instant(start));
+  }
+
+  /**
+   * Records a new series occurrence by its start instant.
+   *
+   * @param seriesId series id
+   * @param start start instant of occurrence
+   */
+  void add(String seriesId, Instant start) {
     Objects.requireNonNull(seriesId, "seriesId");
     Objects.requireNonNull(start, "start");
     index.computeIfAbsent(seriesId, k -> new TreeSet<>()).add(start);
@@ -50,7 +76,17 @@ public final class SeriesIndex {
    * @param start start of occurrence
    */
   public void remove(String seriesId, LocalDateTime start) {
-    NavigableSet<LocalDateTime> set = index.get(seriesId);
+    remove(seriesId, instant(start));
+  }
+
+  /**
+   * Removes an existing series occurrence by its start instant.
+   *
+   * @param seriesId series id
+   * @param start start instant of occurrence
+   */
+  void remove(String seriesId, Instant start) {
+    NavigableSet<Instant> set = index.get(seriesId);
     if (set != null) {
       set.remove(start);
       if (set.isEmpty()) {
@@ -67,7 +103,18 @@ public final class SeriesIndex {
    * @param newStart new start
    */
   public void replaceStart(String seriesId, LocalDateTime oldStart, LocalDateTime newStart) {
-    NavigableSet<LocalDateTime> set = index.computeIfAbsent(seriesId, k -> new TreeSet<>());
+    replaceStart(seriesId, instant(oldStart), instant(newStart));
+  }
+
+  /**
+   * Replaces an occurrence start instant within a series.
+   *
+   * @param seriesId series id
+   * @param oldStart old start instant
+   * @param newStart new start instant
+   */
+  void replaceStart(String seriesId, Instant oldStart, Instant newStart) {
+    NavigableSet<Instant> set = index.computeIfAbsent(seriesId, k -> new TreeSet<>());
     set.remove(oldStart);
     set.add(newStart);
   }
@@ -79,10 +126,28 @@ public final class SeriesIndex {
    * @return ascending list of starts
    */
   public List<LocalDateTime> starts(String seriesId) {
-    NavigableSet<LocalDateTime> set = index.get(seriesId);
+    List<LocalDateTime> out = new ArrayList<>();
+    for (Instant i : instants(seriesId)) {
+      out.add(zone.toLocal(i.getEpochSecond(), i.getNano()));
+    }
+    return out;
+  }
+
+  /**
+   * Returns the recorded start instants for a series in ascending order.
+   *
+   * @param seriesId series id
+   * @return ascending list of start instants
+   */
+  List<Instant> instants(String seriesId) {
+    NavigableSet<Instant> set = index.get(seriesId);
     if (set == null) {
       return new ArrayList<>();
     }
     return new ArrayList<>(set);
   }
+
+  private Instant instant(LocalDateTime local) {
+    return Instant.ofEpochSecond(zone.toEpochSecond(local), local.getNano());
+  }
 }
@@ -2,14 +2,13 @@ package calendar;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Optional;
 
 /**
  * Immutable implementation of an {@link Event}.
  * If {@code end} is omitted, the event is treated as an all-day entry
  * using {@link WorkingHours#START} and {@link WorkingHours#END}.
  */
-public class SingleEvent implements Event {
+public class SingleEvent extends AbstractEvent {
 
   private final String subject;
   private final LocalDateTime startDateTime;
@@ -17,7 +16,8 @@ public class SingleEvent implements Event {
   private final String description;
   private final String location;
   private final boolean isPublic;
-  private final String seriesId;
+  private final int seriesKey;
+  private final String foreignSeries;
 
   /**
    * Creates an event with optional end; if {@code end} is {@code null},
@@ -48,6 +48,29 @@ public class SingleEvent implements Event {
    */
   public SingleEvent(String subject, LocalDateTime start, LocalDateTime end,
                      String description, String location, boolean isPublic, String seriesId) {
+    this(subject, start, end, description, location, isPublic, SeriesIds.internal(seriesId),
+        seriesId);
+  }
+
+  /**
+   * Copies another event's current values. The source was validated when it was built, and
+   * a stored event's local times in its current zone may end before they start across a
+   * repeated hour, so nothing is checked again.
+   */
+  SingleEvent(AbstractEvent source) {
+    this.subject = source.getSubject();
+    this.startDateTime = source.getStartDateTime();
+    this.endDateTime = source.getEndDateTime();
+    this.description = source.description();
+    this.location = source.location();
+    this.isPublic = source.isPublic();
+    this.seriesKey = source.seriesKey();
+    this.foreignSeries = source.foreignSeries();
+  }
+
+  SingleEvent(String subject, LocalDateTime start, LocalDateTime end,
+              String description, String location, boolean isPublic, int seriesKey,
+              String seriesId) {
     if (subject == null || subject.isEmpty()) {
       throw new IllegalArgumentException("Event subject cannot be null or empty");
     }
@@ -59,7 +82,8 @@ public class SingleEvent implements Event {
     this.description = description;
     this.location = location;
     this.isPublic = isPublic;
-    this.seriesId = seriesId;
+    this.seriesKey = seriesKey;
+    this.foreignSeries = SeriesIds.foreign(seriesKey, seriesId);
 
     if (end == null) {
       LocalDate d = start.toLocalDate();
@@ -89,68 +113,28 @@ public class SingleEvent implements Event {
     return endDateTime;
   }
 
-  @Override
-  public Optional<String> getDescription() {
-    return description.isEmpty() ? Optional.empty() : Optional.of(description);
-  }
-
-  @Override
-  public Optional<String> getLocation() {
-    return location.isEmpty() ? Optional.empty() : Optional.of(location);
-  }
-
   @Override
   public boolean isPublic() {
     return isPublic;
   }
 
   @Override
-  public boolean isAllDayEvent() {
-    return startDateTime.toLocalTime().equals(WorkingHours.START)
-        && endDateTime.toLocalTime().equals(WorkingHours.END)
-        && startDateTime.toLocalDate().equals(endDateTime.toLocalDate());
-  }
-
-  @Override
-  public boolean isSeriesPart() {
-    return seriesId != null;
+  String description() {
+    return description;
   }
 
   @Override
-  public Optional<String> getSeriesId() {
-    return Optional.ofNullable(seriesId);
+  String location() {
+    return location;
   }
 
   @Override
-  public String toString() {
-    return String.format("%s starting on %s at %s, ending on %s at %s%s",
-        subject,
-        startDateTime.toLocalDate(),
-        startDateTime.toLocalTime(),
-        endDateTime.toLocalDate(),
-        endDateTime.toLocalTime(),
-        location.isEmpty() ? "" : " at " + location);
-  }
-
-  @Override
-  public boolean equals(Object o) {
-    if (this == o) {
-      return true;
-    }
-    if (!(o instanceof Event)) {
-      return false;
-    }
-    Event that = (Event) o;
-    return subject.equals(that.getSubject())
-        && startDateTime.equals(that.getStartDateTime())
-        && endDateTime.equals(that.getEndDateTime());
+  int seriesKey() {
+    return seriesKey;
   }
 
   @Override
-  public int hashCode() {
-    int r = subject.hashCode();
-    r = 31 * r + startDateTime.hashCode();
-    r = 31 * r + endDateTime.hashCode();
-    return r;
+  String foreignSeries() {
+    return foreignSeries;
   }
 }
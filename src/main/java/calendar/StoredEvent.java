@@ -0,0 +1,176 @@
+package calendar;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * An event as a calendar stores it: a shared {@link EventTemplate} plus start and end as
+ * instants. Local times are derived on access from the owning calendar's {@link ZoneView},
+ * so changing the calendar's zone moves every stored event without rewriting any of them.
+ * Edits go through {@link EventBuilder#from(Event)}, which builds a replacement pointing at
+ * whichever template matches the new values.
+ */
+final class StoredEvent extends AbstractEvent {
+
+  private final EventTemplate template;
+  private final ZoneView zone;
+  private final long start;
+  private final long end;
+  private final int startNano;
+  private final int endNano;
+
+  StoredEvent(EventTemplate template, ZoneView zone, LocalDateTime start, LocalDateTime end) {
+    if (end.isBefore(start)) {
+      throw new IllegalArgumentException("End date/time before start");
+    }
+    this.template = template;
+    this.zone = zone;
+    this.start = zone.toEpochSecond(start);
+    this.startNano = start.getNano();
+    long endSecond = zone.toEpochSecond(end);
+    long wallSeconds = end.toEpochSecond(ZoneOffset.UTC) - start.toEpochSecond(ZoneOffset.UTC);
+    // A start inside a DST gap moves forward by the gap's length; the end moves with it, so
+    // the event keeps the length it was entered with.
+    if (endSecond - this.start != wallSeconds
+        && !zone.toLocal(this.start, startNano).equals(start)) {
+      endSecond = this.start + wallSeconds;
+    }
+    this.end = endSecond;
+    this.endNano = end.getNano();
+  }
+
+  /**
+   * Restores an event from its instants, as written by {@link EventArchive}.
+   */
+  StoredEvent(EventTemplate template, ZoneView zone, long start, int startNano, long end,
+              int endNano) {
+    this.template = template;
+    this.zone = zone;
+    this.start = start;
+    this.startNano = startNano;
+    this.end = end;
+    this.endNano = endNano;
+  }
+
+  /**
+   * Start instant of any event, read directly when stored and converted otherwise.
+   *
+   * @param e     event
+   * @param local converter for the zone {@code e}'s local times are in
+   * @return start epoch second
+   */
+  static long startEpoch(Event e, ZoneConverter local) {
+    return e instanceof StoredEvent
+        ? ((StoredEvent) e).start
+        : local.toEpochSecond(e.getStartDateTime());
+  }
+
+  /**
+   * End instant of any event, rounded up to the next whole second.
+   *
+   * @param e     event
+   * @param local converter for the zone {@code e}'s local times are in
+   * @return end epoch second, ceiling
+   */
+  static long endEpochCeil(Event e, ZoneConverter local) {
+    if (e instanceof StoredEvent) {
+      StoredEvent s = (StoredEvent) e;
+      return s.end + (s.endNano > 0 ? 1 : 0);
+    }
+    LocalDateTime t = e.getEndDateTime();
+    return local.toEpochSecond(t) + (t.getNano() > 0 ? 1 : 0);
+  }
+
+  /**
+   * Start of any event as a local time in another zone, without a round trip through the
+   * event's own zone when it is stored.
+   *
+   * @param e     event
+   * @param zones converter from {@code e}'s zone to the target zone
+   * @return local start in the target zone
+   */
+  static LocalDateTime startIn(Event e, ZoneConverter zones) {
+    if (e instanceof StoredEvent) {
+      StoredEvent s = (StoredEvent) e;
+      return zones.toLocal(s.start, s.startNano);
+    }
+    return zones.convert(e.getStartDateTime());
+  }
+
+  /**
+   * Immutable copy of any event as it reads now, so later zone changes do not move it.
+   *
+   * @param e event, possibly stored
+   * @return {@code e} itself unless it is stored, else a {@link SingleEvent} copy
+   */
+  static Event detach(Event e) {
+    return e instanceof StoredEvent ? new SingleEvent((StoredEvent) e) : e;
+  }
+
+  /**
+   * The same event presented through another view. Given a view that is never switched,
+   * the copy keeps today's local times and equality while still carrying its instants.
+   *
+   * @param at view to present the copy in
+   * @return a new event sharing this one's template and instants
+   */
+  StoredEvent pin(ZoneView at) {
+    return new StoredEvent(template, at, start, startNano, end, endNano);
+  }
+
+  long start() {
+    return start;
+  }
+
+  int startNano() {
+    return startNano;
+  }
+
+  long end() {
+    return end;
+  }
+
+  int endNano() {
+    return endNano;
+  }
+
+  @Override
+  public String getSubject() {
+    return template.subject;
+  }
+
+  @Override
+  public LocalDateTime getStartDateTime() {
+    return zone.toLocal(start, startNano);
+  }
+
+  @Override
+  public LocalDateTime getEndDateTime() {
+    return zone.toLocal(end, endNano);
+  }
+
+  @Override
+  public boolean isPublic() {
+    return template.isPublic;
+  }
+
+  @Override
+  String description() {
+    return template.description;
+  }
+
+  @Override
+  String location() {
+    return template.location;
+  }
+
+  @Override
+  int seriesKey() {
+    return template.seriesKey;
+  }
+
+  @Override
+  String foreignSeries() {
+    return template.foreignSeries;
+  }
+}
@@ -0,0 +1,461 @@
+package calendar;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Start-ordered index of events for range, point and exact-start lookups.
+ * Events are bucketed by start instant (epoch second); buckets keep insertion order. The
+ * longest indexed duration bounds how far before a query window an overlapping event can
+ * start, so overlap queries only visit buckets in {@code [from - maxDuration, to]}.
+ * Query bounds are local times in the index's zone view, which for a calendar's index is the
+ * calendar's own, so the index stays valid when that zone changes. A standalone index reads
+ * local times as UTC. This index is rebuildable from the authoritative event list.
+ *
+ * <p>Once the index holds as many events as the {@value #PARALLEL_PROPERTY} system property
+ * says (default {@value #DEFAULT_PARALLEL_THRESHOLD}), wide range scans split the candidate
+ * buckets into contiguous start-time segments and scan them as fork-join tasks, in the pool
+ * of the calling worker or else the common pool. Segment results are concatenated left to
+ * right, so the output keeps start order. Concurrent readers are safe; writers must be
+ * excluded as usual.</p>
+ */
+public final class TimeIndex {
+
+  /**
+   * System property overriding the index size at which range scans go parallel.
+   */
+  public static final String PARALLEL_PROPERTY = "calendar.parallel.threshold";
+
+  /**
+   * Default index size at which range scans go parallel.
+   */
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 18;
+
+  // Expected events per leaf segment; smaller segments cost more in task overhead than
+  // they gain.
+  private static final int SEGMENT_EVENTS = 1 << 14;
+
+  private final ZoneView zone;
+  private final int parallelThreshold;
+  private final NavigableMap<Long, List<Event>> byStart = new TreeMap<>();
+  private final NavigableMap<Long, Integer> durations = new TreeMap<>();
+  private int size;
+
+  /**
+   * Creates an empty index that reads local times as UTC.
+   */
+  public TimeIndex() {
+    this(new ZoneView(ZoneOffset.UTC));
+  }
+
+  /**
+   * Creates an empty index that reads local times as UTC and scans ranges in parallel once
+   * it holds {@code parallelThreshold} events.
+   *
+   * @param parallelThreshold index size for the parallel path; at least 1
+   * @throws IllegalArgumentException if the threshold is not positive
+   */
+  public TimeIndex(int parallelThreshold) {
+    this(new ZoneView(ZoneOffset.UTC), parallelThreshold);
+  }
+
+  TimeIndex(ZoneView zone) {
+    this(zone, Integer.getInteger(PARALLEL_PROPERTY, DEFAULT_PARALLEL_THRESHOLD));
+  }
+
+  private TimeIndex(ZoneView zone, int parallelThreshold) {
+    if (parallelThreshold < 1) {
+      throw new IllegalArgumentException("Parallel threshold must be positive");
+    }
+    this.zone = zone;
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  /**
+   * Clears and rebuilds the index from a list of events.
+   *
+   * @param events source of truth
+   */
+  public void rebuild(Collection<Event> events) {
+    byStart.clear();
+    durations.clear();
+    size = 0;
+    for (Event e : events) {
+      add(e);
+    }
+  }
+
+  /**
+   * Indexes an event.
+   *
+   * @param e event to add
+   */
+  public void add(Event e) {
+    long start = startEpoch(e);
+    byStart.computeIfAbsent(start, k -> new ArrayList<>(1)).add(e);
+    durations.merge(durationSeconds(e, start), 1, Integer::sum);
+    size++;
+  }
+
+  /**
+   * Removes a previously indexed event, matched by equality.
+   *
+   * @param e event to remove
+   * @return true if the event was indexed
+   */
+  public boolean remove(Event e) {
+    long start = startEpoch(e);
+    List<Event> bucket = byStart.get(start);
+    if (bucket == null || !bucket.remove(e)) {
+      return false;
+    }
+    if (bucket.isEmpty()) {
+      byStart.remove(start);
+    }
+    durations.computeIfPresent(durationSeconds(e, start), (k, n) -> n == 1 ? null : n - 1);
+    size--;
+    return true;
+  }
+
+  /**
+   * Events starting exactly at {@code start}, in insertion order.
+   *
+   * @param start exact start
+   * @return matching events (possibly empty)
+   */
+  public List<Event> startingAt(LocalDateTime start) {
+    return startingAt(zone.toEpochSecond(start), start.getNano());
+  }
+
+  /**
+   * Events starting exactly at an instant, in insertion order.
+   *
+   * @param epochSecond start second
+   * @param nano        start nanosecond
+   * @return matching events (possibly empty)
+   */
+  List<Event> startingAt(long epochSecond, int nano) {
+    List<Event> out = new ArrayList<>();
+    List<Event> bucket = byStart.get(epochSecond);
+    if (bucket != null) {
+      for (Event e : bucket) {
+        if (startNano(e) == nano) {
+          out.add(e);
+        }
+      }
+    }
+    QueryTrace.record(QueryTrace.TIME_EXACT, size, out.size(), out.size());
+    return out;
+  }
+
+  /**
+   * Events overlapping the closed range {@code [from, to]}, ordered by start.
+   *
+   * @param from range start
+   * @param to   range end
+   * @return overlapping events
+   */
+  public List<Event> overlapping(LocalDateTime from, LocalDateTime to) {
+    return collect(from, to, true);
+  }
+
+  /**
+   * Streams the events overlapping the closed range {@code [from, to]} to {@code sink} in
+   * start order, without collecting them. Always runs on the calling thread.
+   *
+   * @param from range start
+   * @param to   range end
+   * @param sink receiver of matching events
+   */
+  public void overlapping(LocalDateTime from, LocalDateTime to, Consumer<Event> sink) {
+    Range r = new Range(zone.toEpochSecond(from), from.getNano(),
+        zone.toEpochSecond(to), to.getNano(), true, false);
+    int scanned = 0;
+    int matched = 0;
+    for (List<Event> bucket : candidates(r.fromSec, r.toSec).values()) {
+      scanned += bucket.size();
+      for (Event e : bucket) {
+        if (r.matches(e)) {
+          matched++;
+          sink.accept(e);
+        }
+      }
+    }
+    QueryTrace.record(QueryTrace.TIME_RANGE, size, scanned, matched);
+  }
+
+  /**
+   * Number of events overlapping the closed range {@code [from, to]}, without collecting
+   * them.
+   *
+   * @param from range start
+   * @param to   range end
+   * @return overlapping event count
+   */
+  public int countOverlapping(LocalDateTime from, LocalDateTime to) {
+    return scan(from, to, true, false).count;
+  }
+
+  /**
+   * Events overlapping the half-open range {@code [from, to)} where an event ending exactly
+   * at {@code from} still counts, matching day-listing semantics. Ordered by start.
+   *
+   * @param from range start (inclusive)
+   * @param to   range end (exclusive)
+   * @return overlapping events
+   */
+  public List<Event> overlappingHalfOpen(LocalDateTime from, LocalDateTime to) {
+    return collect(from, to, false);
+  }
+
+  /**
+   * Whether any event satisfies {@code start <= t < end}.
+   *
+   * @param t moment to test
+   * @return true if some event covers {@code t}
+   */
+  public boolean covers(LocalDateTime t) {
+    long sec = zone.toEpochSecond(t);
+    int nano = t.getNano();
+    int scanned = 0;
+    for (List<Event> bucket : candidates(sec, sec).values()) {
+      for (Event e : bucket) {
+        scanned++;
+        if (startsAtOrBefore(e, sec, nano) && !endsAtOrBefore(e, sec, nano)) {
+          QueryTrace.record(QueryTrace.TIME_POINT, size, scanned, 1);
+          return true;
+        }
+      }
+    }
+    QueryTrace.record(QueryTrace.TIME_POINT, size, scanned, 0);
+    return false;
+  }
+
+  /**
+   * Events ending at or before an instant, ordered by start. Only buckets starting before it
+   * are visited.
+   *
+   * @param epochSecond cutoff second
+   * @return matching events (possibly empty)
+   */
+  List<Event> endingBy(long epochSecond) {
+    List<Event> out = new ArrayList<>();
+    for (List<Event> bucket : byStart.headMap(epochSecond, false).values()) {
+      for (Event e : bucket) {
+        if (endsAtOrBefore(e, epochSecond, 0)) {
+          out.add(e);
+        }
+      }
+    }
+    return out;
+  }
+
+  /**
+   * Number of indexed events.
+   *
+   * @return size
+   */
+  public int size() {
+    return size;
+  }
+
+  private List<Event> collect(LocalDateTime from, LocalDateTime to, boolean toInclusive) {
+    return scan(from, to, toInclusive, true).events;
+  }
+
+  private Segment scan(LocalDateTime from, LocalDateTime to, boolean toInclusive,
+                       boolean collect) {
+    Range r = new Range(zone.toEpochSecond(from), from.getNano(),
+        zone.toEpochSecond(to), to.getNano(), toInclusive, collect);
+    Segment result;
+    if (size >= parallelThreshold && !byStart.isEmpty()) {
+      long lower = Math.max(r.fromSec - durations.lastKey(), byStart.firstKey());
+      long upper = Math.min(r.toSec, byStart.lastKey());
+      result = new SegmentScan(r, lower, upper).invoke();
+    } else {
+      result = r.scan(candidates(r.fromSec, r.toSec));
+    }
+    QueryTrace.record(QueryTrace.TIME_RANGE, size, result.scanned, result.count);
+    return result;
+  }
+
+  private Map<Long, List<Event>> candidates(long from, long to) {
+    if (byStart.isEmpty()) {
+      return byStart;
+    }
+    long lower = from - durations.lastKey();
+    if (lower > to) {
+      return new TreeMap<>();
+    }
+    return byStart.subMap(lower, true, to, true);
+  }
+
+  private boolean startsAtOrBefore(Event e, long sec, int nano) {
+    return compare(startEpoch(e), startNano(e), sec, nano) <= 0;
+  }
+
+  private boolean startsAtOrAfter(Event e, long sec, int nano) {
+    return compare(startEpoch(e), startNano(e), sec, nano) >= 0;
+  }
+
+  private boolean endsBefore(Event e, long sec, int nano) {
+    return compare(endEpoch(e), endNano(e), sec, nano) < 0;
+  }
+
+  private boolean endsAtOrBefore(Event e, long sec, int nano) {
+    return compare(endEpoch(e), endNano(e), sec, nano) <= 0;
+  }
+
+  private long durationSeconds(Event e, long start) {
+    // Round up so sub-second remainders never shrink the search window.
+    return endEpoch(e) + (endNano(e) > 0 ? 1 : 0) - start;
+  }
+
+  private long startEpoch(Event e) {
+    return StoredEvent.startEpoch(e, zone.converter());
+  }
+
+  private long endEpoch(Event e) {
+    return e instanceof StoredEvent
+        ? ((StoredEvent) e).end()
+        : zone.toEpochSecond(e.getEndDateTime());
+  }
+
+  private static int startNano(Event e) {
+    return e instanceof StoredEvent
+        ? ((StoredEvent) e).startNano()
+        : e.getStartDateTime().getNano();
+  }
+
+  private static int endNano(Event e) {
+    return e instanceof StoredEvent
+        ? ((StoredEvent) e).endNano()
+        : e.getEndDateTime().getNano();
+  }
+
+  private static int compare(long sec1, int nano1, long sec2, int nano2) {
+    return sec1 != sec2 ? Long.compare(sec1, sec2) : Integer.compare(nano1, nano2);
+  }
+
+  /**
+   * Expected number of events starting in {@code [lower, upper]}, assuming starts are spread
+   * evenly between the first and last bucket.
+   */
+  private double expectedEvents(long lower, long upper) {
+    double span = byStart.lastKey() - byStart.firstKey() + 1.0;
+    return size * ((upper - lower + 1.0) / span);
+  }
+
+  /**
+   * One overlap query in instant space, applied bucket by bucket.
+   */
+  private final class Range {
+    private final long fromSec;
+    private final int fromNano;
+    private final long toSec;
+    private final int toNano;
+    private final boolean toInclusive;
+    private final boolean collect;
+
+    Range(long fromSec, int fromNano, long toSec, int toNano, boolean toInclusive,
+          boolean collect) {
+      this.fromSec = fromSec;
+      this.fromNano = fromNano;
+      this.toSec = toSec;
+      this.toNano = toNano;
+      this.toInclusive = toInclusive;
+      this.collect = collect;
+    }
+
+    Segment scan(Map<Long, List<Event>> buckets) {
+      Segment out = new Segment(collect);
+      for (List<Event> bucket : buckets.values()) {
+        out.scanned += bucket.size();
+        for (Event e : bucket) {
+          if (matches(e)) {
+            out.add(e);
+          }
+        }
+      }
+      return out;
+    }
+
+    boolean matches(Event e) {
+      boolean beforeTo = toInclusive
+          ? startsAtOrBefore(e, toSec, toNano)
+          : !startsAtOrAfter(e, toSec, toNano);
+      return beforeTo && !endsBefore(e, fromSec, fromNano);
+    }
+  }
+
+  /**
+   * Matches from one stretch of buckets.
+   */
+  private static final class Segment {
+    private final List<Event> events;
+    private int count;
+    private int scanned;
+
+    Segment(boolean collect) {
+      events = collect ? new ArrayList<>() : null;
+    }
+
+    void add(Event e) {
+      if (events != null) {
+        events.add(e);
+      }
+      count++;
+    }
+
+    Segment append(Segment right) {
+      if (events != null) {
+        events.addAll(right.events);
+      }
+      count += right.count;
+      scanned += right.scanned;
+      return this;
+    }
+  }
+
+  /**
+   * Scans the buckets starting in {@code [lower, upper]}, halving the start range until a
+   * piece is expected to hold about {@link #SEGMENT_EVENTS} events.
+   */
+  private final class SegmentScan extends RecursiveTask<Segment> {
+    private static final long serialVersionUID = 1L;
+
+    private final Range range;
+    private final long lower;
+    private final long upper;
+
+    SegmentScan(Range range, long lower, long upper) {
+      this.range = range;
+      this.lower = lower;
+      this.upper = upper;
+    }
+
+    @Override
+    protected Segment compute() {
+      if (lower > upper) {
+        return new Segment(range.collect);
+      }
+      if (upper == lower || expectedEvents(lower, upper) <= SEGMENT_EVENTS) {
+        return range.scan(byStart.subMap(lower, true, upper, true));
+      }
+      long mid = lower + (upper - lower) / 2;
+      SegmentScan left = new SegmentScan(range, lower, mid);
+      SegmentScan right = new SegmentScan(range, mid + 1, upper);
+      left.fork();
+      Segment r = right.compute();
+      return left.join().append(r);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package calendar;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * Immutable half-open interval {@code [start, end)} on the instant timeline.
+ * Used for zone-independent results that span calendars, such as free/busy.
+ */
+public final class TimeInterval {
+
+  private final Instant start;
+  private final Instant end;
+
+  /**
+   * Creates an interval.
+   *
+   * @param start inclusive start
+   * @param end   exclusive end
+   * @throws IllegalArgumentException if either bound is null or end is before start
+   */
+  public TimeInterval(Instant start, Instant end) {
+    if (start == null || end == null) {
+      throw new IllegalArgumentException("Interval bounds are required");
+    }
+    if (end.isBefore(start)) {
+      throw new IllegalArgumentException("Interval end before start");
+    }
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Inclusive start.
+   *
+   * @return start instant
+   */
+  public Instant getStart() {
+    return start;
+  }
+
+  /**
+   * Exclusive end.
+   *
+   * @return end instant
+   */
+  public Instant getEnd() {
+    return end;
+  }
+
+  /**
+   * Length of the interval.
+   *
+   * @return duration
+   */
+  public Duration getDuration() {
+    return Duration.between(start, end);
+  }
+
+  /**
+   * Start expressed in the given zone.
+   *
+   * @param zone zone to render in
+   * @return zoned start
+   */
+  public ZonedDateTime startIn(ZoneId zone) {
+    return start.atZone(zone);
+  }
+
+  /**
+   * End expressed in the given zone.
+   *
+   * @param zone zone to render in
+   * @return zoned end
+   */
+  public ZonedDateTime endIn(ZoneId zone) {
+    return end.atZone(zone);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TimeInterval)) {
+      return false;
+    }
+    TimeInterval that = (TimeInterval) o;
+    return start.equals(that.start) && end.equals(that.end);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(start, end);
+  }
+
+  @Override
+  public String toString() {
+    return "[" + start + ", " + end + ")";
+  }
+}
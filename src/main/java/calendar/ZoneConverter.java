@@ -0,0 +1,159 @@
+package calendar;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts local date-times from one zone to another with the same results as
+ * {@code local.atZone(from).withZoneSameInstant(to)}, but without resolving zone rules or
+ * allocating a {@link java.time.ZonedDateTime} per value. Each zone's offset transitions
+ * between 1900 and 2200 are flattened once into sorted epoch-second tables, so a conversion
+ * is two binary searches and integer arithmetic. Values outside that span fall back to the
+ * zone's {@link ZoneRules}.
+ */
+public final class ZoneConverter {
+
+  private static final long SPAN_START =
+      LocalDateTime.of(1900, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+  private static final long SPAN_END =
+      LocalDateTime.of(2200, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+  // Local and instant timelines differ by at most a day, so stay clear of the span edges.
+  private static final long MARGIN = 86_400L;
+
+  private static final Map<ZoneId, Table> TABLES = new ConcurrentHashMap<>();
+
+  private final Table from;
+  private final Table to;
+
+  private ZoneConverter(Table from, Table to) {
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * Converter from local times in {@code from} to local times in {@code to}.
+   *
+   * @param from source zone
+   * @param to   target zone
+   * @return converter; cheap to create, tables are shared per zone
+   */
+  public static ZoneConverter of(ZoneId from, ZoneId to) {
+    if (from == null || to == null) {
+      throw new IllegalArgumentException("Zones cannot be null");
+    }
+    return new ZoneConverter(table(from), table(to));
+  }
+
+  /**
+   * Converts a local date-time in the source zone to the same instant in the target zone.
+   *
+   * @param local local date-time in the source zone
+   * @return local date-time in the target zone
+   */
+  public LocalDateTime convert(LocalDateTime local) {
+    long wall = local.toEpochSecond(ZoneOffset.UTC);
+    long epoch = from.toEpochSecond(local, wall);
+    long shift = epoch + to.offsetAtInstant(epoch) - wall;
+    // Shifting keeps the date part when the result stays on the same day.
+    return shift == 0 ? local : local.plusSeconds(shift);
+  }
+
+  /**
+   * The instant of a local date-time in the source zone, as {@code local.atZone(from)} would
+   * resolve it: in a gap or overlap the offset before the transition applies.
+   *
+   * @param local local date-time in the source zone
+   * @return epoch second (nanoseconds are dropped)
+   */
+  public long toEpochSecond(LocalDateTime local) {
+    return from.toEpochSecond(local);
+  }
+
+  /**
+   * The local date-time of an instant in the target zone.
+   *
+   * @param epochSecond instant
+   * @param nano        nanosecond of second
+   * @return local date-time in the target zone
+   */
+  public LocalDateTime toLocal(long epochSecond, int nano) {
+    return LocalDateTime.ofEpochSecond(epochSecond + to.offsetAtInstant(epochSecond), nano,
+        ZoneOffset.UTC);
+  }
+
+  private static Table table(ZoneId zone) {
+    return TABLES.computeIfAbsent(zone, Table::new);
+  }
+
+  /**
+   * One zone's offsets as step functions over the instant and local timelines. Offset
+   * {@code i} applies below threshold {@code i}; the last offset applies above all of them.
+   */
+  private static final class Table {
+    private final ZoneRules rules;
+    private final long[] instants;
+    private final long[] locals;
+    private final int[] offsets;
+
+    Table(ZoneId zone) {
+      rules = zone.getRules();
+      List<ZoneOffsetTransition> ts = new ArrayList<>();
+      if (!rules.isFixedOffset()) {
+        ZoneOffsetTransition t = rules.nextTransition(Instant.ofEpochSecond(SPAN_START));
+        while (t != null && t.toEpochSecond() < SPAN_END) {
+          ts.add(t);
+          t = rules.nextTransition(t.getInstant());
+        }
+      }
+      instants = new long[ts.size()];
+      locals = new long[ts.size()];
+      offsets = new int[ts.size() + 1];
+      offsets[0] = rules.getOffset(Instant.ofEpochSecond(SPAN_START)).getTotalSeconds();
+      for (int i = 0; i < ts.size(); i++) {
+        ZoneOffsetTransition t = ts.get(i);
+        int before = t.getOffsetBefore().getTotalSeconds();
+        int after = t.getOffsetAfter().getTotalSeconds();
+        instants[i] = t.toEpochSecond();
+        // Gap or overlap, local times below the later of the two wall clocks keep the old
+        // offset, which is how atZone resolves them.
+        locals[i] = instants[i] + Math.max(before, after);
+        offsets[i + 1] = after;
+      }
+    }
+
+    long toEpochSecond(LocalDateTime local) {
+      return toEpochSecond(local, local.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    long toEpochSecond(LocalDateTime local, long wall) {
+      if (wall < SPAN_START + MARGIN || wall >= SPAN_END - MARGIN) {
+        return local.toEpochSecond(rules.getOffset(local));
+      }
+      return wall - offsets[step(locals, wall)];
+    }
+
+    int offsetAtInstant(long epochSecond) {
+      if (epochSecond < SPAN_START || epochSecond >= SPAN_END) {
+        return rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+      }
+      return offsets[step(instants, epochSecond)];
+    }
+
+    private static int step(long[] thresholds, long x) {
+      if (thresholds.length == 0) {
+        return 0;
+      }
+      int r = Arrays.binarySearch(thresholds, x);
+      return r >= 0 ? r + 1 : -r - 1;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package calendar;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * The zone a calendar presents its stored instants in. One view is shared by the calendar,
+ * its time index and every event it stores, so changing the zone re-presents all of them at
+ * once without touching any event.
+ */
+final class ZoneView {
+
+  private ZoneId zone;
+  private ZoneConverter local;
+
+  ZoneView(ZoneId zone) {
+    set(zone);
+  }
+
+  /**
+   * Current zone.
+   *
+   * @return zone id
+   */
+  ZoneId get() {
+    return zone;
+  }
+
+  /**
+   * Switches the zone local times are presented in.
+   *
+   * @param zone new zone
+   */
+  void set(ZoneId zone) {
+    this.local = ZoneConverter.of(zone, zone);
+    this.zone = zone;
+  }
+
+  /**
+   * Converter for local times in the current zone.
+   *
+   * @return converter whose source and target are the current zone
+   */
+  ZoneConverter converter() {
+    return local;
+  }
+
+  long toEpochSecond(LocalDateTime t) {
+    return local.toEpochSecond(t);
+  }
+
+  LocalDateTime toLocal(long epochSecond, int nano) {
+    return local.toLocal(epochSecond, nano);
+  }
+}
@@ -3,8 +3,14 @@ package calendar.controller;
 import calendar.Calendar;
 import calendar.CalendarBook;
 import calendar.CalendarProperty;
+import calendar.Conflict;
+import calendar.CopyResult;
 import calendar.Event;
+import calendar.EventDelta;
 import calendar.EventProperty;
+import calendar.QueryTrace;
+import calendar.TimeInterval;
+import calendar.ZoneConverter;
 import calendar.util.ExportUtil;
 import calendar.view.CalendarView;
 import java.io.BufferedReader;
@@ -13,9 +19,10 @@ import java.io.Reader;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Base controller with shared execution logic for the calendar app.
@@ -27,11 +34,14 @@ public abstract class AbstractCalendarController implements CalendarController {
   protected final CalendarView view;
   protected final BufferedReader reader;
   protected final CommandParser parser;
+  protected final CommandMetrics metrics;
+  protected final SlowOpLog slowOps;
 
   /**
    * Constructs a controller wired to a {@link calendar.CalendarBook} model,
    * a {@link calendar.view.CalendarView}, and a character {@link java.io.Reader}.
    * Initializes the {@link CalendarContext}, buffered input, and command parser.
+   * Command metrics and the slow-operation log follow their system properties.
    *
    * @param book  calendar-book model; must not be {@code null}
    * @param view  view used for user-facing output; must not be {@code null}
@@ -40,7 +50,38 @@ public abstract class AbstractCalendarController implements CalendarController {
    */
 
   protected AbstractCalendarController(CalendarBook book, CalendarView view, Reader input) {
-    if (book == null || view == null || input == null) {
+    this(book, view, input, CommandMetrics.fromSystemProperty());
+  }
+
+  /**
+   * Constructs a controller that records command latencies into the given metrics; the
+   * slow-operation log follows its system properties.
+   *
+   * @param book    calendar-book model; must not be {@code null}
+   * @param view    view used for user-facing output; must not be {@code null}
+   * @param input   character stream to read commands from; must not be {@code null}
+   * @param metrics per-command metrics recorder; must not be {@code null}
+   * @throws IllegalArgumentException if any argument is {@code null}
+   */
+  protected AbstractCalendarController(CalendarBook book, CalendarView view, Reader input,
+                                       CommandMetrics metrics) {
+    this(book, view, input, metrics, SlowOpLog.fromSystemProperties());
+  }
+
+  /**
+   * Constructs a controller with explicit metrics and slow-operation log.
+   *
+   * @param book    calendar-book model; must not be {@code null}
+   * @param view    view used for user-facing output; must not be {@code null}
+   * @param input   character stream to read commands from; must not be {@code null}
+   * @param metrics per-command metrics recorder; must not be {@code null}
+   * @param slowOps log for commands over a latency threshold; must not be {@code null}
+   * @throws IllegalArgumentException if any argument is {@code null}
+   */
+  protected AbstractCalendarController(CalendarBook book, CalendarView view, Reader input,
+                                       CommandMetrics metrics, SlowOpLog slowOps) {
+    if (book == null || view == null || input == null || metrics == null
+        || slowOps == null) {
       throw new IllegalArgumentException("Arguments cannot be null");
     }
     this.book = book;
@@ -48,6 +89,8 @@ public abstract class AbstractCalendarController implements CalendarController {
     this.view = view;
     this.reader = new BufferedReader(input);
     this.parser = new CommandParser();
+    this.metrics = metrics;
+    this.slowOps = slowOps;
   }
 
   @Override
@@ -74,7 +117,12 @@ public abstract class AbstractCalendarController implements CalendarController {
             foundExit = true;
             break;
           }
-          executeCommand(cmd);
+          if (slowOps.isEnabled()) {
+            executeTraced(cmd, trimmed);
+          } else {
+            executeCommand(cmd);
+          }
+          book.trimResidency();
         } catch (Exception e) {
           handleError(e.getMessage(), lineNumber);
         }
@@ -85,6 +133,15 @@ public abstract class AbstractCalendarController implements CalendarController {
     } catch (IOException e) {
       view.displayError("IO error: " + e.getMessage());
     }
+    slowOps.flush();
+  }
+
+  private void executeTraced(CommandParser.Command cmd, String line) {
+    try (QueryTrace trace = QueryTrace.start()) {
+      long started = System.nanoTime();
+      executeCommand(cmd);
+      slowOps.record(line, context.currentName(), System.nanoTime() - started, trace);
+    }
   }
 
   /**
@@ -97,11 +154,15 @@ public abstract class AbstractCalendarController implements CalendarController {
    * {@link #handleCopyOnDate(CommandParser.Command)}, and
    * {@link #handleCopyBetween(CommandParser.Command)}.
    * Any runtime errors are caught and surfaced through the {@link calendar.view.CalendarView}.
+   * When metrics are enabled, the wall time and outcome are recorded under the command type.
    *
    * @param cmd the parsed command to execute (must not be {@code null})
    */
 
   protected void executeCommand(CommandParser.Command cmd) {
+    boolean timed = metrics.isEnabled();
+    long started = timed ? System.nanoTime() : 0L;
+    boolean failed = false;
     try {
       switch (cmd.getTypeEnum()) {
         case CREATE_CALENDAR:
@@ -121,6 +182,11 @@ public abstract class AbstractCalendarController implements CalendarController {
           view.displayMessage("Using calendar: " + cmd.getCalendarName());
           break;
           }
+        case SET_RETENTION:
+          {
+          handleSetRetention(cmd);
+          break;
+          }
         case CREATE_SINGLE:
           {
           Calendar cal = context.current();
@@ -171,9 +237,12 @@ public abstract class AbstractCalendarController implements CalendarController {
           }
         case EXPORT:
           {
-          Calendar cal = context.current();
-          String path = ExportUtil.export(cal, cmd.getFileName());
-          view.displayMessage("Exported to: " + path);
+          handleExport(cmd);
+          break;
+          }
+        case DELETE:
+          {
+          handleDelete(cmd);
           break;
           }
         case COPY_EVENT:
@@ -191,12 +260,91 @@ public abstract class AbstractCalendarController implements CalendarController {
           handleCopyBetween(cmd);
           break;
           }
+        case FIND_SLOT:
+          {
+          handleFindSlot(cmd);
+          break;
+          }
+        case PRINT_CONFLICTS:
+          {
+          handlePrintConflicts(cmd);
+          break;
+          }
+        case SEARCH_EVENTS:
+          {
+          Calendar cal = context.current();
+          view.displayEvents(cal.searchEvents(cmd.getQuery(), cmd.getLimit()));
+          break;
+          }
+        case SHOW_METRICS:
+          {
+          displayMetrics();
+          break;
+          }
+        case REPORT:
+          {
+          Calendar cal = context.current();
+          view.displayReport(cal.report(cmd.getStartDateTime(), cmd.getEndDateTime(),
+              cmd.getReportPeriod()));
+          break;
+          }
         default:
+          failed = true;
           view.displayError("Unknown command type: " + cmd.getType());
       }
     } catch (Exception e) {
+      failed = true;
       view.displayError(e.getMessage());
     }
+    if (timed) {
+      metrics.record(cmd.getTypeEnum(), System.nanoTime() - started, failed);
+    }
+  }
+
+  /**
+   * Prints the per-command metrics table, or how to enable it.
+   */
+  protected void displayMetrics() {
+    if (!metrics.isEnabled()) {
+      view.displayMessage("Metrics are disabled; run with -D" + CommandMetrics.PROPERTY + "=true");
+      return;
+    }
+    for (String line : metrics.report()) {
+      view.displayMessage(line);
+    }
+    view.displayMessage(book.getResidencyStats().toString());
+    if (context.currentName() != null) {
+      view.displayMessage(context.current().getQueryCacheStats().toString());
+    }
+  }
+
+  /**
+   * Exports the active calendar, or with {@code --since} only what changed after a change
+   * sequence or a local date-time in the calendar's zone. A delta export reports the sequence
+   * it runs through, to be passed to the next one.
+   *
+   * @param cmd parsed export command (not {@code null})
+   * @throws IOException if writing fails
+   */
+  protected void handleExport(CommandParser.Command cmd) throws IOException {
+    Calendar cal = context.current();
+    if (cmd.getSinceSequence() == null && cmd.getSinceTime() == null) {
+      String path = ExportUtil.export(cal, cmd.getFileName());
+      view.displayMessage("Exported to: " + path);
+      return;
+    }
+    EventDelta delta = cmd.getSinceSequence() != null
+        ? cal.getChangesSince(cmd.getSinceSequence())
+        : cal.getChangesSince(cmd.getSinceTime().atZone(cal.getZoneId()).toInstant());
+    String path = ExportUtil.exportChanges(cal, delta, cmd.getFileName());
+    if (delta.isFull()) {
+      view.displayMessage(String.format("Exported all %d event(s) through sequence %d to: %s",
+          delta.getChanged().size(), delta.getToSequence(), path));
+    } else {
+      view.displayMessage(String.format(
+          "Exported %d change(s) and %d removal(s) through sequence %d to: %s",
+          delta.getChanged().size(), delta.getRemoved().size(), delta.getToSequence(), path));
+    }
   }
 
   /**
@@ -249,6 +397,29 @@ public abstract class AbstractCalendarController implements CalendarController {
     }
   }
 
+  /**
+   * Deletes from the active calendar in the command's scope: the one event, the event and
+   * later occurrences of its series, or the whole series.
+   *
+   * @param cmd parsed delete command (not {@code null})
+   * @throws IllegalArgumentException if no event matches, or several do for a single delete
+   */
+  protected void handleDelete(CommandParser.Command cmd) {
+    Calendar cal = context.current();
+    int deleted;
+    switch (cmd.getEditScopeEnum()) {
+      case EVENT:
+        deleted = cal.deleteEvent(cmd.getSubject(), cmd.getStartDateTime());
+        break;
+      case EVENTS:
+        deleted = cal.deleteEventsFromDate(cmd.getSubject(), cmd.getStartDateTime());
+        break;
+      default:
+        deleted = cal.deleteSeries(cmd.getSubject(), cmd.getStartDateTime());
+    }
+    view.displayMessage("Deleted " + deleted + " event(s)");
+  }
+
   /**
    * Handles an "edit calendar" command.
    *
@@ -315,11 +486,12 @@ public abstract class AbstractCalendarController implements CalendarController {
     Calendar dst = book.getCalendar(cmd.getTargetCalendar());
     LocalDate srcDay = cmd.getDay();
     List<Event> todays = src.getEventsOnDate(srcDay);
+    ZoneConverter zones = ZoneConverter.of(src.getZoneId(), dst.getZoneId());
     int copied = 0;
     for (Event e : todays) {
       Duration dur = Duration.between(e.getStartDateTime(), e.getEndDateTime());
       LocalDateTime newStart = cmd.getTargetDateTime()
-          .toLocalDate().atTime(convertStartToTargetLocalTime(e, src, dst));
+          .toLocalDate().atTime(zones.convert(e.getStartDateTime()).toLocalTime());
       LocalDateTime newEnd = newStart.plus(dur);
 
       if (existsExact(dst, e.getSubject(), newStart, newEnd)
@@ -333,47 +505,61 @@ public abstract class AbstractCalendarController implements CalendarController {
     view.displayMessage("Copied " + copied + " event(s) to " + cmd.getTargetCalendar());
   }
 
+  /**
+   * Sets or clears a calendar's retention period, then archives whatever now falls outside
+   * it rather than waiting for the next pass.
+   */
+  protected void handleSetRetention(CommandParser.Command cmd) {
+    book.setRetention(cmd.getCalendarName(), cmd.getRetention());
+    if (cmd.getRetention() == null) {
+      view.displayMessage("Cleared retention for " + cmd.getCalendarName());
+      return;
+    }
+    int moved = book.applyRetention();
+    view.displayMessage("Retention for " + cmd.getCalendarName() + " set to "
+        + cmd.getRetention() + "; archived " + moved + " event(s)");
+  }
+
   /**
    * Copies all events in a range; skips if subject already exists on that day in the target.
+   * With {@code --new-series-ids} each copied series gets a fresh id instead of sharing the
+   * source's. The copy runs as one bulk operation; with metrics enabled its throughput is
+   * reported.
    */
   protected void handleCopyBetween(CommandParser.Command cmd) {
     Calendar src = context.current();
-    Calendar dst = book.getCalendar(cmd.getTargetCalendar());
-
-    LocalDate startDay = cmd.getRangeStart();
-    LocalDate endDay = cmd.getRangeEnd();
-    LocalDateTime srcStart = startDay.atStartOfDay();
-    LocalDateTime srcEnd = endDay.plusDays(1).atStartOfDay();
-
-    List<Event> inRange = src.getEventsInRange(srcStart, srcEnd.minusSeconds(1));
-    int copied = 0;
-
-    for (Event e : inRange) {
-      LocalDate d = e.getStartDateTime().toLocalDate();
-      long dayOffset = java.time.temporal.ChronoUnit.DAYS.between(startDay, d);
-      Duration dur = Duration.between(e.getStartDateTime(), e.getEndDateTime());
-
-      LocalDate targetDay = cmd.getTargetDateTime().toLocalDate().plusDays(dayOffset);
-      LocalDateTime newStart = targetDay.atTime(convertStartToTargetLocalTime(e, src, dst));
-      LocalDateTime newEnd = newStart.plus(dur);
-
-      if (existsExact(dst, e.getSubject(), newStart, newEnd)
-          || existsSameDaySubject(dst, e.getSubject(), newStart)) {
-        continue;
-      }
-
-      dst.copyFrom(e, newStart, newEnd);
-      copied++;
+    CopyResult result = book.copyEventsBulk(src.getName(), cmd.getTargetCalendar(),
+        cmd.getRangeStart(), cmd.getRangeEnd(), cmd.getTargetDateTime().toLocalDate(), true,
+        cmd.getSeriesCopyMode());
+    String message = "Copied " + result.getCopied() + " event(s) to " + cmd.getTargetCalendar();
+    if (metrics.isEnabled()) {
+      message += String.format(" (%d skipped, %.0f events/s)",
+          result.getSkipped(), result.eventsPerSecond());
     }
-
-    view.displayMessage("Copied " + copied + " event(s) to " + cmd.getTargetCalendar());
+    view.displayMessage(message);
   }
 
-  private LocalTime convertStartToTargetLocalTime(Event event, Calendar src, Calendar dst) {
-    return event.getStartDateTime()
-        .atZone(src.getZoneId())
-        .withZoneSameInstant(dst.getZoneId())
-        .toLocalTime();
+  /**
+   * Finds the earliest slot in which all requested calendars are free. The window and the
+   * reported slot are expressed in the active calendar's zone; without {@code --calendars}
+   * only the active calendar is considered.
+   */
+  protected void handleFindSlot(CommandParser.Command cmd) {
+    Calendar cal = context.current();
+    ZoneId zone = cal.getZoneId();
+    List<String> names = cmd.getCalendarNames() == null || cmd.getCalendarNames().isEmpty()
+        ? List.of(cal.getName())
+        : cmd.getCalendarNames();
+    Optional<TimeInterval> slot = book.findFreeSlot(names, cmd.getDuration(),
+        cmd.getStartDateTime().atZone(zone), cmd.getEndDateTime().atZone(zone),
+        cmd.isWorkingHoursOnly());
+    if (slot.isEmpty()) {
+      view.displayMessage("No free slot found");
+      return;
+    }
+    view.displayMessage("Earliest free slot: "
+        + slot.get().startIn(zone).toLocalDateTime() + " to "
+        + slot.get().endIn(zone).toLocalDateTime());
   }
 
   private boolean existsExact(Calendar cal, String subject, LocalDateTime start,
@@ -426,4 +612,29 @@ public abstract class AbstractCalendarController implements CalendarController {
    */
   protected abstract void handleMissingExit();
 
+
+  /**
+   * Prints each overlapping cluster as the sweep produces it. Without {@code --calendars}
+   * only the active calendar is audited; otherwise the named calendars are checked against
+   * each other with the window read in the active calendar's zone.
+   */
+  protected void handlePrintConflicts(CommandParser.Command cmd) {
+    Calendar cal = context.current();
+    ZoneId zone = cal.getZoneId();
+    int[] count = new int[1];
+    Consumer<Conflict> printer = c -> {
+      count[0]++;
+      view.displayMessage("Conflict (" + String.join(", ", c.getCalendarNames()) + "): "
+          + c.getSpan().startIn(zone).toLocalDateTime() + " to "
+          + c.getSpan().endIn(zone).toLocalDateTime());
+      view.displayEvents(c.getEvents());
+    };
+    if (cmd.getCalendarNames() == null || cmd.getCalendarNames().isEmpty()) {
+      cal.findConflicts(cmd.getStartDateTime(), cmd.getEndDateTime(), printer);
+    } else {
+      book.findConflicts(cmd.getCalendarNames(), cmd.getStartDateTime().atZone(zone),
+          cmd.getEndDateTime().atZone(zone), printer);
+    }
+    view.displayMessage(count[0] == 0 ? "No conflicts found" : count[0] + " conflict(s) found");
+  }
 }
@@ -29,9 +29,8 @@ public final class CalendarContext {
    */
   public void use(String name) {
     Objects.requireNonNull(name, "name");
-    if (!book.hasCalendar(name)) {
-      throw new IllegalArgumentException("No such calendar: " + name);
-    }
+    // Looking it up marks it recently used, so the book keeps it in memory.
+    book.getCalendar(name);
     this.currentName = name;
   }
 
@@ -0,0 +1,134 @@
+package calendar.controller;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-{@link CommandType} execution counts, error counts and latency histograms.
+ *
+ * <p>Metrics are off unless the JVM is started with {@code -Dcalendar.metrics=true}; a
+ * disabled instance records nothing and the controller skips reading the clock, so the
+ * cost is a single field check per command. Not thread-safe: each controller owns one.</p>
+ */
+public final class CommandMetrics {
+
+  /**
+   * System property that enables metrics for new controllers.
+   */
+  public static final String PROPERTY = "calendar.metrics";
+
+  private static final double[] PERCENTILES = {50, 99, 99.9};
+
+  private final boolean enabled;
+  private final Map<CommandType, Stats> stats = new EnumMap<>(CommandType.class);
+
+  /**
+   * Creates a recorder.
+   *
+   * @param enabled whether {@link #record} keeps anything
+   */
+  public CommandMetrics(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * A recorder enabled according to the {@value #PROPERTY} system property.
+   *
+   * @return recorder
+   */
+  public static CommandMetrics fromSystemProperty() {
+    return new CommandMetrics(Boolean.getBoolean(PROPERTY));
+  }
+
+  /**
+   * Whether this recorder keeps measurements.
+   *
+   * @return true if enabled
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Records one executed command.
+   *
+   * @param type   command type
+   * @param nanos  elapsed wall time
+   * @param failed whether the command reported an error
+   */
+  public void record(CommandType type, long nanos, boolean failed) {
+    if (!enabled) {
+      return;
+    }
+    Stats s = stats.computeIfAbsent(type, t -> new Stats());
+    s.latency.record(nanos);
+    if (failed) {
+      s.errors++;
+    }
+  }
+
+  /**
+   * Number of executions recorded for a type.
+   *
+   * @param type command type
+   * @return count
+   */
+  public long count(CommandType type) {
+    Stats s = stats.get(type);
+    return s == null ? 0 : s.latency.count();
+  }
+
+  /**
+   * Number of failed executions recorded for a type.
+   *
+   * @param type command type
+   * @return error count
+   */
+  public long errors(CommandType type) {
+    Stats s = stats.get(type);
+    return s == null ? 0 : s.errors;
+  }
+
+  /**
+   * Latency percentile for a type.
+   *
+   * @param type       command type
+   * @param percentile in {@code [0, 100]}
+   * @return nanoseconds, 0 if nothing was recorded
+   */
+  public long percentile(CommandType type, double percentile) {
+    Stats s = stats.get(type);
+    return s == null ? 0 : s.latency.valueAt(percentile);
+  }
+
+  /**
+   * A table with one row per command type seen: count, errors, p50/p99/p999 and max
+   * latency in milliseconds.
+   *
+   * @return report lines, header first
+   */
+  public List<String> report() {
+    List<String> lines = new ArrayList<>();
+    lines.add(String.format(Locale.ROOT, "%-20s %8s %7s %10s %10s %10s %10s",
+        "command", "count", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+    for (Map.Entry<CommandType, Stats> e : stats.entrySet()) {
+      LatencyHistogram h = e.getValue().latency;
+      StringBuilder row = new StringBuilder(String.format(Locale.ROOT, "%-20s %8d %7d",
+          e.getKey().name().toLowerCase(Locale.ROOT), h.count(), e.getValue().errors));
+      for (double p : PERCENTILES) {
+        row.append(String.format(Locale.ROOT, " %10.3f", h.valueAt(p) / 1e6));
+      }
+      row.append(String.format(Locale.ROOT, " %10.3f", h.max() / 1e6));
+      lines.add(row.toString());
+    }
+    return lines;
+  }
+
+  private static final class Stats {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private long errors;
+  }
+}
@@ -2,14 +2,20 @@ package calendar.controller;
 
 import calendar.CalendarProperty;
 import calendar.EventProperty;
+import calendar.ReportPeriod;
+import calendar.SeriesCopyMode;
 import calendar.WorkingHours;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.Period;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -33,6 +39,24 @@ public class CommandParser {
       "--timezone\\s+(\\S+)", Pattern.CASE_INSENSITIVE);
   private static final Pattern FLAG_PROP = Pattern.compile(
       "--property\\s+(\\S+)\\s+(\"[^\"]+\"|\\S+)", Pattern.CASE_INSENSITIVE);
+  private static final Pattern FLAG_CALENDARS = Pattern.compile(
+      "--calendars\\s+(\"[^\"]+\"|\\S+)", Pattern.CASE_INSENSITIVE);
+  private static final Pattern FLAG_DURATION = Pattern.compile(
+      "--duration\\s+(\\S+)", Pattern.CASE_INSENSITIVE);
+  private static final Pattern FLAG_ANYTIME = Pattern.compile(
+      "--anytime(\\s|$)", Pattern.CASE_INSENSITIVE);
+  private static final Pattern FLAG_LIMIT = Pattern.compile(
+      "\\s--limit\\s+(\\S+)", Pattern.CASE_INSENSITIVE);
+  private static final Pattern FLAG_BY = Pattern.compile(
+      "\\s--by\\s+(\\S+)", Pattern.CASE_INSENSITIVE);
+  private static final Pattern FLAG_SINCE = Pattern.compile(
+      "\\s--since\\s+(\\S+)", Pattern.CASE_INSENSITIVE);
+  private static final Pattern FLAG_KEEP = Pattern.compile(
+      "--keep\\s+(\\S+)", Pattern.CASE_INSENSITIVE);
+  private static final Pattern FLAG_NEW_SERIES_IDS = Pattern.compile(
+      "\\s+--new-series-ids$", Pattern.CASE_INSENSITIVE);
+  private static final Pattern WINDOW = Pattern.compile(
+      "\\bfrom\\s+(\\S+)\\s+to\\s+(\\S+)", Pattern.CASE_INSENSITIVE);
 
   /**
    * Immutable value for a parsed command. Legacy string fields remain for compatibility.
@@ -56,6 +80,16 @@ public class CommandParser {
     private final LocalDate day;
     private final LocalDate rangeStart;
     private final LocalDate rangeEnd;
+    private final List<String> calendarNames;
+    private final Duration duration;
+    private final boolean workingHoursOnly;
+    private final String query;
+    private final int limit;
+    private final ReportPeriod reportPeriod;
+    private final Long sinceSequence;
+    private final LocalDateTime sinceTime;
+    private final Period retention;
+    private final SeriesCopyMode seriesCopyMode;
 
     private final CommandType typeEnum;
     private final EditScope editScopeEnum;
@@ -89,6 +123,16 @@ public class CommandParser {
       this.day = builder.day;
       this.rangeStart = builder.rangeStart;
       this.rangeEnd = builder.rangeEnd;
+      this.calendarNames = builder.calendarNames;
+      this.duration = builder.duration;
+      this.workingHoursOnly = builder.workingHoursOnly;
+      this.query = builder.query;
+      this.limit = builder.limit;
+      this.reportPeriod = builder.reportPeriod;
+      this.sinceSequence = builder.sinceSequence;
+      this.sinceTime = builder.sinceTime;
+      this.retention = builder.retention;
+      this.seriesCopyMode = builder.seriesCopyMode;
       this.typeEnum = builder.typeEnum;
       this.editScopeEnum = builder.editScopeEnum;
       this.eventPropertyEnum = builder.eventPropertyEnum;
@@ -140,6 +184,16 @@ public class CommandParser {
       private LocalDate day;
       private LocalDate rangeStart;
       private LocalDate rangeEnd;
+      private List<String> calendarNames;
+      private Duration duration;
+      private boolean workingHoursOnly = true;
+      private String query;
+      private int limit;
+      private ReportPeriod reportPeriod;
+      private Long sinceSequence;
+      private LocalDateTime sinceTime;
+      private Period retention;
+      private SeriesCopyMode seriesCopyMode = SeriesCopyMode.SHARE_ID;
       private EditScope editScopeEnum;
       private EventProperty eventPropertyEnum;
       private CalendarProperty calendarPropertyEnum;
@@ -336,6 +390,116 @@ public class CommandParser {
         return this;
       }
 
+      /**
+       * Sets the calendars a multi-calendar query applies to.
+       *
+       * @param calendarNames calendar names
+       * @return builder instance
+       */
+      public Builder calendarNames(List<String> calendarNames) {
+        this.calendarNames = calendarNames;
+        return this;
+      }
+
+      /**
+       * Sets the requested length for slot searches.
+       *
+       * @param duration required duration
+       * @return builder instance
+       */
+      public Builder duration(Duration duration) {
+        this.duration = duration;
+        return this;
+      }
+
+      /**
+       * Sets whether slot searches are limited to working hours.
+       *
+       * @param workingHoursOnly true to honor working hours
+       * @return builder instance
+       */
+      public Builder workingHoursOnly(boolean workingHoursOnly) {
+        this.workingHoursOnly = workingHoursOnly;
+        return this;
+      }
+
+      /**
+       * Sets the text of a search query.
+       *
+       * @param query search terms
+       * @return builder instance
+       */
+      public Builder query(String query) {
+        this.query = query;
+        return this;
+      }
+
+      /**
+       * Sets the maximum number of results; non-positive means unlimited.
+       *
+       * @param limit result limit
+       * @return builder instance
+       */
+      public Builder limit(int limit) {
+        this.limit = limit;
+        return this;
+      }
+
+      /**
+       * Sets the bucket size of a report.
+       *
+       * @param reportPeriod day or week
+       * @return builder instance
+       */
+      public Builder reportPeriod(ReportPeriod reportPeriod) {
+        this.reportPeriod = reportPeriod;
+        return this;
+      }
+
+      /**
+       * Sets the change sequence a delta export starts after.
+       *
+       * @param sinceSequence last sequence already exported
+       * @return builder instance
+       */
+      public Builder sinceSequence(Long sinceSequence) {
+        this.sinceSequence = sinceSequence;
+        return this;
+      }
+
+      /**
+       * Sets the time a delta export starts after.
+       *
+       * @param sinceTime local date-time of the last export
+       * @return builder instance
+       */
+      public Builder sinceTime(LocalDateTime sinceTime) {
+        this.sinceTime = sinceTime;
+        return this;
+      }
+
+      /**
+       * Sets how long a calendar keeps past events in memory.
+       *
+       * @param retention retention period, or {@code null} to clear it
+       * @return builder instance
+       */
+      public Builder retention(Period retention) {
+        this.retention = retention;
+        return this;
+      }
+
+      /**
+       * Sets whether copied series keep their ids or get fresh ones.
+       *
+       * @param seriesCopyMode series treatment for range copies
+       * @return builder instance
+       */
+      public Builder seriesCopyMode(SeriesCopyMode seriesCopyMode) {
+        this.seriesCopyMode = seriesCopyMode;
+        return this;
+      }
+
       /**
        * Sets the parsed edit scope enum.
        *
@@ -451,6 +615,46 @@ public class CommandParser {
       return rangeEnd;
     }
 
+    public List<String> getCalendarNames() {
+      return calendarNames;
+    }
+
+    public Duration getDuration() {
+      return duration;
+    }
+
+    public boolean isWorkingHoursOnly() {
+      return workingHoursOnly;
+    }
+
+    public String getQuery() {
+      return query;
+    }
+
+    public int getLimit() {
+      return limit;
+    }
+
+    public ReportPeriod getReportPeriod() {
+      return reportPeriod;
+    }
+
+    public Long getSinceSequence() {
+      return sinceSequence;
+    }
+
+    public LocalDateTime getSinceTime() {
+      return sinceTime;
+    }
+
+    public Period getRetention() {
+      return retention;
+    }
+
+    public SeriesCopyMode getSeriesCopyMode() {
+      return seriesCopyMode;
+    }
+
     public CommandType getTypeEnum() {
       return typeEnum;
     }
@@ -482,15 +686,21 @@ public class CommandParser {
    * {@code create calendar ...},
    * {@code edit calendar ...},
    * {@code use calendar ...},
+   * {@code set retention ...},
    * {@code export cal ...},
    * {@code show status on ...},
+   * {@code show metrics},
    * {@code print events on ...},
    * {@code print events from ...},
+   * {@code print conflicts from ...},
    * {@code copy event ...},
    * {@code copy events on ...},
    * {@code copy events between ...},
+   * {@code find slot ...},
+   * {@code search events ...},
    * {@code create event ...},
-   * and {@code edit event|events|series ...}.
+   * {@code edit event|events|series ...},
+   * and {@code delete event|events|series ...}.
    * </p>
    *
    * @param line raw user input; leading/trailing whitespace ignored
@@ -526,6 +736,18 @@ public class CommandParser {
       return copyCommand;
     }
 
+    if (lower.startsWith("find slot ")) {
+      return parseFindSlot(trimmed);
+    }
+
+    if (lower.startsWith("report ")) {
+      return parseReport(trimmed);
+    }
+
+    if (lower.startsWith("search events ")) {
+      return parseSearchEvents(trimmed.substring("search events ".length()));
+    }
+
     if (lower.startsWith("create event ")) {
       return parseCreateEvent(trimmed.substring("create event ".length()));
     }
@@ -534,6 +756,11 @@ public class CommandParser {
         || lower.startsWith("edit series ")) {
       return parseEditCommand(trimmed);
     }
+    if (lower.startsWith("delete event ")
+        || lower.startsWith("delete events ")
+        || lower.startsWith("delete series ")) {
+      return parseDeleteCommand(trimmed);
+    }
     throw new IllegalArgumentException("Unknown command: " + trimmed);
   }
 
@@ -542,10 +769,10 @@ public class CommandParser {
       return Command.builder("exit", CommandType.EXIT).build();
     }
     if (lower.startsWith("export cal ")) {
-      String fileName = trimmed.substring("export cal ".length()).trim();
-      return Command.builder("export", CommandType.EXPORT)
-          .fileName(fileName)
-          .build();
+      return parseExport(trimmed.substring("export cal ".length()));
+    }
+    if (lower.equals("show metrics")) {
+      return Command.builder("show_metrics", CommandType.SHOW_METRICS).build();
     }
     if (lower.startsWith("show status on ")) {
       String dateTimeStr = trimmed.substring("show status on ".length()).trim();
@@ -567,6 +794,9 @@ public class CommandParser {
     if (lower.startsWith("use calendar ")) {
       return parseUseCalendar(trimmed);
     }
+    if (lower.startsWith("set retention ")) {
+      return parseSetRetention(trimmed);
+    }
     return null;
   }
 
@@ -581,6 +811,9 @@ public class CommandParser {
     if (lower.startsWith("print events from ")) {
       return parsePrintRange(trimmed);
     }
+    if (lower.startsWith("print conflicts ")) {
+      return parsePrintConflicts(trimmed);
+    }
     return null;
   }
 
@@ -654,6 +887,29 @@ public class CommandParser {
         .build();
   }
 
+  private Command parseSetRetention(String line) {
+    Matcher nameM = FLAG_NAME.matcher(line);
+    Matcher keepM = FLAG_KEEP.matcher(line);
+    if (!nameM.find() || !keepM.find()) {
+      throw new IllegalArgumentException(
+          "Invalid syntax. Expected: set retention --name <name> --keep <period|none>");
+    }
+    String keep = keepM.group(1);
+    Period period = null;
+    if (!"none".equalsIgnoreCase(keep)) {
+      try {
+        period = Period.parse(keep);
+      } catch (DateTimeParseException e) {
+        throw new IllegalArgumentException("Invalid retention period: " + keep
+            + ". Expected an ISO-8601 period such as P30D, or none");
+      }
+    }
+    return Command.builder("set_retention", CommandType.SET_RETENTION)
+        .calendarName(unquote(nameM.group(1)))
+        .retention(period)
+        .build();
+  }
+
   private Command parsePrintRange(String trimmed) {
     Pattern pattern = Pattern.compile(
         "print events from (\\S+) to (\\S+)", Pattern.CASE_INSENSITIVE);
@@ -858,6 +1114,43 @@ public class CommandParser {
         .build();
   }
 
+  private Command parseDeleteCommand(String line) {
+    String[] parts = line.split("\\s+", 3);
+    String scope = parts[1].toLowerCase();
+    String rest = parts[2].trim();
+    String subject;
+    String afterSubject;
+    if (rest.startsWith("\"")) {
+      int endQuote = rest.indexOf("\"", 1);
+      if (endQuote == -1) {
+        throw new IllegalArgumentException("Unclosed quote");
+      }
+      subject = rest.substring(1, endQuote);
+      afterSubject = rest.substring(endQuote + 1).trim();
+    } else {
+      int fromIdx = rest.toLowerCase().indexOf(" from ");
+      if (fromIdx == -1) {
+        throw new IllegalArgumentException("Missing 'from'");
+      }
+      subject = rest.substring(0, fromIdx).trim();
+      afterSubject = rest.substring(fromIdx).trim();
+    }
+
+    Matcher matcher = Pattern.compile("from\\s+(\\S+)", Pattern.CASE_INSENSITIVE)
+        .matcher(afterSubject);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(
+          "Invalid delete syntax. Expected: delete event|events|series <subject> "
+              + "from <dateTime>");
+    }
+    return Command.builder("delete", CommandType.DELETE)
+        .subject(subject)
+        .startDateTime(parseDateTime(matcher.group(1)))
+        .editScope(scope)
+        .editScopeEnum(EditScope.fromToken(scope))
+        .build();
+  }
+
   private Command parseCopyEvent(String line) {
     String body = line.substring("copy event ".length()).trim();
 
@@ -920,12 +1213,14 @@ public class CommandParser {
   }
 
   private Command parseCopyBetween(String line) {
+    Matcher newIdsM = FLAG_NEW_SERIES_IDS.matcher(line);
+    boolean newIds = newIdsM.find();
     Pattern p = Pattern.compile(
         "copy\\s+events\\s+between\\s+(\\S+)\\s+and\\s+(\\S+)\\s"
             +
             "+--target\\s+(\"[^\"]+\"|\\S+)\\s+to\\s+(\\S+)",
         Pattern.CASE_INSENSITIVE);
-    Matcher m = p.matcher(line);
+    Matcher m = p.matcher(newIds ? line.substring(0, newIdsM.start()) : line);
     if (!m.matches()) {
       throw new IllegalArgumentException("Invalid copy events between syntax");
     }
@@ -940,9 +1235,139 @@ public class CommandParser {
         .targetDateTime(targetStart.atStartOfDay())
         .rangeStart(start)
         .rangeEnd(end)
+        .seriesCopyMode(newIds ? SeriesCopyMode.NEW_ID : SeriesCopyMode.SHARE_ID)
+        .build();
+  }
+
+  private Command parseFindSlot(String line) {
+    Matcher durM = FLAG_DURATION.matcher(line);
+    Matcher winM = WINDOW.matcher(line);
+    if (!durM.find() || !winM.find()) {
+      throw new IllegalArgumentException(
+          "Invalid syntax. Expected: find slot --duration <minutes> [--calendars <a,b,...>]"
+              + " from <dateTime> to <dateTime> [--anytime]");
+    }
+    long minutes;
+    try {
+      minutes = Long.parseLong(durM.group(1));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid duration: " + durM.group(1)
+          + ". Expected whole minutes");
+    }
+    if (minutes <= 0) {
+      throw new IllegalArgumentException("Duration must be positive");
+    }
+    return Command.builder("find_slot", CommandType.FIND_SLOT)
+        .calendarNames(parseCalendarNames(line))
+        .duration(Duration.ofMinutes(minutes))
+        .startDateTime(parseDateTime(winM.group(1)))
+        .endDateTime(parseDateTime(winM.group(2)))
+        .workingHoursOnly(!FLAG_ANYTIME.matcher(line).find())
+        .build();
+  }
+
+  private Command parsePrintConflicts(String line) {
+    Matcher winM = WINDOW.matcher(line);
+    if (!winM.find()) {
+      throw new IllegalArgumentException(
+          "Invalid syntax. Expected: print conflicts from <dateTime> to <dateTime>"
+              + " [--calendars <a,b,...>]");
+    }
+    return Command.builder("print_conflicts", CommandType.PRINT_CONFLICTS)
+        .calendarNames(parseCalendarNames(line))
+        .startDateTime(parseDateTime(winM.group(1)))
+        .endDateTime(parseDateTime(winM.group(2)))
         .build();
   }
 
+  private Command parseReport(String line) {
+    Matcher winM = WINDOW.matcher(line);
+    if (!winM.find()) {
+      throw new IllegalArgumentException(
+          "Invalid syntax. Expected: report from <dateTime> to <dateTime> [--by day|week]");
+    }
+    ReportPeriod period = ReportPeriod.DAY;
+    Matcher byM = FLAG_BY.matcher(line);
+    if (byM.find()) {
+      try {
+        period = ReportPeriod.valueOf(byM.group(1).toUpperCase());
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Invalid report period: " + byM.group(1)
+            + ". Expected day or week");
+      }
+    }
+    return Command.builder("report", CommandType.REPORT)
+        .startDateTime(parseDateTime(winM.group(1)))
+        .endDateTime(parseDateTime(winM.group(2)))
+        .reportPeriod(period)
+        .build();
+  }
+
+  private Command parseExport(String rest) {
+    Command.Builder b = Command.builder("export", CommandType.EXPORT);
+    Matcher sinceM = FLAG_SINCE.matcher(" " + rest);
+    if (!sinceM.find()) {
+      return b.fileName(rest.trim()).build();
+    }
+    String since = sinceM.group(1);
+    if (since.contains("T")) {
+      b.sinceTime(parseDateTime(since));
+    } else {
+      try {
+        b.sinceSequence(Long.parseLong(since));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid change sequence: " + since
+            + ". Expected a number or YYYY-MM-DDTHH:mm");
+      }
+    }
+    String fileName = (" " + rest).substring(0, sinceM.start()).trim();
+    if (fileName.isEmpty()) {
+      throw new IllegalArgumentException(
+          "Invalid syntax. Expected: export cal <file> [--since <sequence|dateTime>]");
+    }
+    return b.fileName(fileName).build();
+  }
+
+  private Command parseSearchEvents(String rest) {
+    String text = rest;
+    int limit = 0;
+    Matcher limM = FLAG_LIMIT.matcher(text);
+    if (limM.find()) {
+      try {
+        limit = Integer.parseInt(limM.group(1));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid limit: " + limM.group(1));
+      }
+      if (limit <= 0) {
+        throw new IllegalArgumentException("Limit must be positive");
+      }
+      text = text.substring(0, limM.start()) + text.substring(limM.end());
+    }
+    String query = unquote(text);
+    if (query.isEmpty()) {
+      throw new IllegalArgumentException(
+          "Invalid syntax. Expected: search events <terms> [--limit <n>]");
+    }
+    return Command.builder("search_events", CommandType.SEARCH_EVENTS)
+        .query(query)
+        .limit(limit)
+        .build();
+  }
+
+  private List<String> parseCalendarNames(String line) {
+    Matcher calM = FLAG_CALENDARS.matcher(line);
+    if (!calM.find()) {
+      return null;
+    }
+    List<String> names = new ArrayList<>();
+    for (String n : unquote(calM.group(1)).split(",")) {
+      if (!n.isBlank()) {
+        names.add(n.trim());
+      }
+    }
+    return names;
+  }
+
   private LocalDate parseDate(String dateStr) {
     try {
       return LocalDate.parse(dateStr, DATE_FMT);
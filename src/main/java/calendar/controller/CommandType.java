@@ -16,7 +16,14 @@ public enum CommandType {
   CREATE_SERIES,
   CREATE_SERIES_UNTIL,
   EDIT,
+  DELETE,
   COPY_EVENT,
   COPY_ON_DATE,
-  COPY_BETWEEN
+  COPY_BETWEEN,
+  FIND_SLOT,
+  PRINT_CONFLICTS,
+  SEARCH_EVENTS,
+  SHOW_METRICS,
+  REPORT,
+  SET_RETENTION
 }
@@ -20,6 +20,34 @@ public class HeadlessController extends AbstractCalendarController implements Ca
     super(book, view, input);
   }
 
+  /**
+   * Creates a headless controller that records into the given metrics and prints them
+   * when the script ends.
+   *
+   * @param book    calendar book
+   * @param view    view
+   * @param input   script reader
+   * @param metrics per-command metrics recorder
+   */
+  public HeadlessController(CalendarBook book, CalendarView view, Reader input,
+                            CommandMetrics metrics) {
+    super(book, view, input, metrics);
+  }
+
+  /**
+   * Creates a headless controller with explicit metrics and slow-operation log.
+   *
+   * @param book    calendar book
+   * @param view    view
+   * @param input   script reader
+   * @param metrics per-command metrics recorder
+   * @param slowOps log for commands over a latency threshold
+   */
+  public HeadlessController(CalendarBook book, CalendarView view, Reader input,
+                            CommandMetrics metrics, SlowOpLog slowOps) {
+    super(book, view, input, metrics, slowOps);
+  }
+
   @Override
   protected void displayWelcome() {
     // no-op for headless
@@ -32,7 +60,7 @@ public class HeadlessController extends AbstractCalendarController implements Ca
 
   @Override
   protected void handleExit() {
-    // no-op for headless
+    dumpMetrics();
   }
 
   @Override
@@ -43,5 +71,12 @@ public class HeadlessController extends AbstractCalendarController implements Ca
   @Override
   protected void handleMissingExit() {
     view.displayError("Script ended without 'exit'.");
+    dumpMetrics();
+  }
+
+  private void dumpMetrics() {
+    if (metrics.isEnabled()) {
+      displayMetrics();
+    }
   }
 }
@@ -0,0 +1,84 @@
+package calendar.controller;
+
+/**
+ * Fixed-memory latency histogram with log-linear buckets, in the style of HdrHistogram.
+ * Values below 128 ns get exact buckets; above that, each power-of-two range is split into
+ * 64 equal buckets, so any reported percentile is within about 1.6% of the recorded value.
+ * Values beyond about an hour share the last bucket; the exact maximum is tracked
+ * separately. Not thread-safe.
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BITS = 7;
+  private static final int SUB_COUNT = 1 << SUB_BITS;
+  private static final int HALF_COUNT = SUB_COUNT / 2;
+  private static final int MAX_BITS = 42;
+  private static final int BUCKETS = (MAX_BITS - SUB_BITS + 1) * HALF_COUNT + HALF_COUNT;
+
+  private final long[] counts = new long[BUCKETS];
+  private long total;
+  private long max;
+
+  /**
+   * Records one value.
+   *
+   * @param nanos latency in nanoseconds; negative values count as zero
+   */
+  void record(long nanos) {
+    long v = Math.max(0, nanos);
+    counts[Math.min(index(v), BUCKETS - 1)]++;
+    total++;
+    max = Math.max(max, v);
+  }
+
+  /**
+   * Number of recorded values.
+   *
+   * @return count
+   */
+  long count() {
+    return total;
+  }
+
+  /**
+   * Largest recorded value.
+   *
+   * @return maximum in nanoseconds, 0 if empty
+   */
+  long max() {
+    return max;
+  }
+
+  /**
+   * Value at or below which the given fraction of recordings fall, reported as the upper
+   * edge of its bucket and capped at the recorded maximum.
+   *
+   * @param percentile in {@code [0, 100]}
+   * @return latency in nanoseconds, 0 if empty
+   */
+  long valueAt(double percentile) {
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return i == BUCKETS - 1 ? max : Math.min(upperBound(i), max);
+      }
+    }
+    return max;
+  }
+
+  static int index(long v) {
+    int bucket = Math.max(0, 63 - Long.numberOfLeadingZeros(v) - (SUB_BITS - 1));
+    return bucket * HALF_COUNT + (int) (v >>> bucket);
+  }
+
+  static long upperBound(int index) {
+    int bucket = index < SUB_COUNT ? 0 : (index - SUB_COUNT) / HALF_COUNT + 1;
+    long sub = index - (long) bucket * HALF_COUNT;
+    return ((sub + 1) << bucket) - 1;
+  }
+}
@@ -0,0 +1,265 @@
+package calendar.controller;
+
+import calendar.QueryTrace;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Log of commands slower than a threshold, with the plan details gathered by a
+ * {@link QueryTrace}: calendar size, events scanned versus returned, and the access paths
+ * that served the command.
+ *
+ * <p>Entries are handed to a background writer through a bounded queue, so a command never
+ * waits on disk; if the writer falls behind, entries are dropped and counted. The file
+ * rotates by size: {@code slow-ops.log} becomes {@code slow-ops.log.1}, and so on up to the
+ * configured number of files.</p>
+ *
+ * <p>Configured with system properties: {@value #THRESHOLD_PROPERTY} (milliseconds; the log
+ * is off when unset) and {@value #FILE_PROPERTY} (default {@code slow-ops.log}).</p>
+ */
+public final class SlowOpLog implements Closeable {
+
+  /**
+   * System property holding the threshold in milliseconds.
+   */
+  public static final String THRESHOLD_PROPERTY = "calendar.slowop.ms";
+  /**
+   * System property holding the log file path.
+   */
+  public static final String FILE_PROPERTY = "calendar.slowop.file";
+
+  private static final int QUEUE_CAPACITY = 1024;
+  private static final long MAX_BYTES = 10L * 1024 * 1024;
+  private static final int MAX_FILES = 5;
+  private static final int NEWLINE_BYTES = System.lineSeparator().length();
+  // Compared by identity, so no logged line can be mistaken for it.
+  private static final String STOP = new String("stop");
+
+  private final long thresholdNanos;
+  private final Path file;
+  private final long maxBytes;
+  private final int maxFiles;
+  private final BlockingQueue<String> queue;
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicLong pending = new AtomicLong();
+  private final Thread writer;
+  private long written;
+
+  /**
+   * Creates a log that writes entries for commands at or above the threshold.
+   *
+   * @param thresholdMillis threshold in milliseconds; negative disables the log
+   * @param file            log file
+   * @param maxBytes        size at which the file rotates
+   * @param maxFiles        number of rotated files kept besides the current one
+   * @throws IllegalArgumentException if an enabled log has no file or non-positive limits
+   */
+  public SlowOpLog(long thresholdMillis, Path file, long maxBytes, int maxFiles) {
+    this.thresholdNanos = thresholdMillis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    this.file = file;
+    this.maxBytes = maxBytes;
+    this.maxFiles = maxFiles;
+    if (!isEnabled()) {
+      this.queue = null;
+      this.writer = null;
+      return;
+    }
+    if (file == null || maxBytes <= 0 || maxFiles < 0) {
+      throw new IllegalArgumentException("Slow-op log needs a file and positive limits");
+    }
+    this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    this.writer = new Thread(this::drain, "slow-op-log");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * A log configured from {@value #THRESHOLD_PROPERTY} and {@value #FILE_PROPERTY}.
+   *
+   * @return log, disabled when no threshold is set
+   */
+  public static SlowOpLog fromSystemProperties() {
+    String ms = System.getProperty(THRESHOLD_PROPERTY);
+    if (ms == null || ms.isBlank()) {
+      return disabled();
+    }
+    long threshold;
+    try {
+      threshold = Long.parseLong(ms.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + THRESHOLD_PROPERTY + ": " + ms);
+    }
+    return new SlowOpLog(threshold,
+        Paths.get(System.getProperty(FILE_PROPERTY, "slow-ops.log")), MAX_BYTES, MAX_FILES);
+  }
+
+  /**
+   * A log that records nothing.
+   *
+   * @return disabled log
+   */
+  public static SlowOpLog disabled() {
+    return new SlowOpLog(-1, null, 0, 0);
+  }
+
+  /**
+   * Whether commands are being timed against a threshold.
+   *
+   * @return true if enabled
+   */
+  public boolean isEnabled() {
+    return thresholdNanos >= 0;
+  }
+
+  /**
+   * Queues an entry if the command took at least the threshold. Never blocks.
+   *
+   * @param line     command line as entered
+   * @param calendar active calendar name, or null
+   * @param nanos    elapsed time
+   * @param trace    lookups made by the command
+   */
+  public void record(String line, String calendar, long nanos, QueryTrace trace) {
+    if (!isEnabled() || nanos < thresholdNanos) {
+      return;
+    }
+    String entry = String.format(Locale.ROOT,
+        "%s %.3fms calendar=%s size=%d scanned=%d returned=%d plan=[%s] cmd=%s",
+        Instant.now(), nanos / 1e6, calendar == null ? "-" : calendar,
+        trace.getCalendarSize(), trace.getScanned(), trace.getReturned(), trace.describe(),
+        line);
+    pending.incrementAndGet();
+    if (!queue.offer(entry)) {
+      pending.decrementAndGet();
+      dropped.incrementAndGet();
+    }
+  }
+
+  /**
+   * Number of entries discarded because the writer was behind.
+   *
+   * @return dropped count
+   */
+  public long dropped() {
+    return dropped.get();
+  }
+
+  /**
+   * Waits briefly until every queued entry has been written.
+   */
+  public void flush() {
+    if (!isEnabled()) {
+      return;
+    }
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (pending.get() > 0 && writer.isAlive() && System.nanoTime() < deadline) {
+      try {
+        Thread.sleep(1);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Writes any queued entries and stops the writer thread.
+   */
+  @Override
+  public void close() {
+    if (!isEnabled()) {
+      return;
+    }
+    try {
+      queue.put(STOP);
+      writer.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void drain() {
+    BufferedWriter out = null;
+    try {
+      while (true) {
+        String entry = queue.take();
+        if (entry == STOP) {
+          break;
+        }
+        if (out == null || written >= maxBytes) {
+          out = reopen(out);
+        }
+        out.write(entry);
+        out.newLine();
+        // Compared with the file's size in bytes when reopened.
+        written += entry.getBytes(StandardCharsets.UTF_8).length + NEWLINE_BYTES;
+        if (queue.isEmpty()) {
+          out.flush();
+        }
+        pending.decrementAndGet();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      System.err.println("Slow-op log disabled: " + e.getMessage());
+    } finally {
+      if (out != null) {
+        try {
+          out.close();
+        } catch (IOException ignored) {
+          // nothing left to report to
+        }
+      }
+    }
+  }
+
+  private BufferedWriter reopen(BufferedWriter current) throws IOException {
+    if (current != null) {
+      current.close();
+      rotate();
+    }
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    written = Files.exists(file) ? Files.size(file) : 0;
+    if (written >= maxBytes) {
+      rotate();
+      written = 0;
+    }
+    return Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+
+  private void rotate() throws IOException {
+    if (maxFiles == 0) {
+      Files.deleteIfExists(file);
+      return;
+    }
+    Files.deleteIfExists(rotated(maxFiles));
+    for (int i = maxFiles - 1; i >= 1; i--) {
+      if (Files.exists(rotated(i))) {
+        Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+    if (Files.exists(file)) {
+      Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private Path rotated(int n) {
+    return file.resolveSibling(file.getFileName() + "." + n);
+  }
+}
@@ -0,0 +1,672 @@
+package calendar.controller.http;
+
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.DaySummary;
+import calendar.Event;
+import calendar.EventProperty;
+import calendar.SeriesCopyMode;
+import calendar.TimeInterval;
+import calendar.WorkingHours;
+import calendar.controller.CalendarController;
+import calendar.controller.EditScope;
+import calendar.view.CalendarView;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Server-mode controller exposing {@link CalendarBook} operations over HTTP/JSON using the
+ * JDK's built-in {@link HttpServer}. Each request runs on its own virtual thread when the
+ * runtime supports them, and on a cached platform-thread pool otherwise.
+ *
+ * <p>Routes (all bodies and responses are JSON; date-times are ISO-8601 local values
+ * in the addressed calendar's zone):
+ * <ul>
+ *   <li>{@code GET /calendars} — list calendars</li>
+ *   <li>{@code POST /calendars} — create; body {@code {name, timezone}}</li>
+ *   <li>{@code GET /calendars/{name}} — calendar details</li>
+ *   <li>{@code PUT /calendars/{name}} — rename and/or change timezone</li>
+ *   <li>{@code GET /calendars/{name}/events} — all events, or {@code ?on=date},
+ *       or {@code ?from=dateTime&to=dateTime}</li>
+ *   <li>{@code POST /calendars/{name}/events} — create a single event or a series</li>
+ *   <li>{@code PUT /calendars/{name}/events} — edit with an event/events/series scope</li>
+ *   <li>{@code GET /calendars/{name}/status?at=dateTime} — busy status</li>
+ *   <li>{@code GET /calendars/{name}/days?from=date&to=date} — per-day summaries</li>
+ *   <li>{@code POST /calendars/{name}/copy} — copy an event, a day, or a date range; a range
+ *       copy takes {@code "seriesIds": "new"} to give copied series fresh ids</li>
+ *   <li>{@code PUT /calendars/{name}/retention} — set how long past events stay in memory;
+ *       body {@code {keep}} with an ISO-8601 period, or {@code null} to clear it</li>
+ *   <li>{@code GET /freebusy?calendars=a,b&from=dateTime&to=dateTime&zone=id} — merged
+ *       busy intervals across calendars, optionally with {@code &granularity=PT15M}</li>
+ * </ul>
+ * Queries run concurrently under a shared read lock; mutations take the write lock, since
+ * the in-memory model is not itself thread-safe. While running, the server applies the
+ * book's retention policies and trims it to its heap budget every ten seconds under the
+ * write lock.</p>
+ */
+public class CalendarHttpServer implements CalendarController {
+
+  private static final int BACKLOG = 4096;
+  private static final String JSON_TYPE = "application/json; charset=utf-8";
+  private static final long HOUSEKEEPING_PERIOD_SECONDS = 10;
+
+  private final CalendarBook book;
+  private final CalendarView view;
+  private final InetSocketAddress address;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final CountDownLatch stopped = new CountDownLatch(1);
+
+  private HttpServer server;
+  private ExecutorService executor;
+  private ScheduledExecutorService housekeeping;
+
+  /**
+   * Creates a server bound to the loopback interface on the given port.
+   *
+   * @param book calendar-book model
+   * @param view view used for startup/shutdown messages
+   * @param port TCP port, or 0 for an ephemeral port
+   */
+  public CalendarHttpServer(CalendarBook book, CalendarView view, int port) {
+    this(book, view, new InetSocketAddress("127.0.0.1", port));
+  }
+
+  /**
+   * Creates a server bound to the given address.
+   *
+   * @param book    calendar-book model
+   * @param view    view used for startup/shutdown messages
+   * @param address socket address to bind
+   * @throws IllegalArgumentException if any argument is {@code null}
+   */
+  public CalendarHttpServer(CalendarBook book, CalendarView view, InetSocketAddress address) {
+    if (book == null || view == null || address == null) {
+      throw new IllegalArgumentException("Arguments cannot be null");
+    }
+    this.book = book;
+    this.view = view;
+    this.address = address;
+  }
+
+  /**
+   * Starts the server and blocks until {@link #stop()} is called or the JVM shuts down.
+   */
+  @Override
+  public void run() {
+    start();
+    Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
+    view.displayMessage("Calendar server listening on http://"
+        + address.getHostString() + ":" + getPort());
+    try {
+      stopped.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      stop();
+    }
+  }
+
+  /**
+   * Binds the socket and begins accepting requests without blocking the caller.
+   *
+   * @throws UncheckedIOException if the address cannot be bound
+   */
+  public synchronized void start() {
+    if (server != null) {
+      return;
+    }
+    // Headers and body are written separately; without TCP_NODELAY small JSON replies
+    // stall ~40ms on delayed ACKs. Read once when the JDK server first loads its config.
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+    try {
+      server = HttpServer.create(address, BACKLOG);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot bind " + address, e);
+    }
+    executor = newRequestExecutor();
+    server.setExecutor(executor);
+    server.createContext("/", this::handle);
+    server.start();
+    housekeeping = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "calendar-housekeeping");
+      t.setDaemon(true);
+      return t;
+    });
+    housekeeping.scheduleWithFixedDelay(this::housekeep, HOUSEKEEPING_PERIOD_SECONDS,
+        HOUSEKEEPING_PERIOD_SECONDS, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Stops accepting requests, drains in-flight ones briefly, and releases {@link #run()}.
+   */
+  public synchronized void stop() {
+    if (server != null) {
+      server.stop(0);
+      housekeeping.shutdownNow();
+      executor.shutdown();
+      try {
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      server = null;
+    }
+    stopped.countDown();
+  }
+
+  /**
+   * Port the server is bound to; useful when constructed with port 0.
+   *
+   * @return bound port
+   * @throws IllegalStateException if the server has not been started
+   */
+  public synchronized int getPort() {
+    if (server == null) {
+      throw new IllegalStateException("Server not started");
+    }
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Executor with one virtual thread per request on runtimes that provide
+   * {@code Executors.newVirtualThreadPerTaskExecutor()}; a cached pool otherwise.
+   */
+  static ExecutorService newRequestExecutor() {
+    try {
+      return (ExecutorService) Executors.class
+          .getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "calendar-http");
+        t.setDaemon(true);
+        return t;
+      });
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    int status;
+    String body;
+    try {
+      Response r = route(exchange);
+      status = r.status;
+      body = r.body;
+    } catch (NoSuchCalendarException e) {
+      status = 404;
+      body = error(e.getMessage());
+    } catch (IllegalArgumentException | DateTimeException e) {
+      status = 400;
+      body = error(e.getMessage());
+    } catch (IllegalStateException e) {
+      status = 409;
+      body = error(e.getMessage());
+    } catch (RuntimeException e) {
+      status = 500;
+      body = error("Internal error: " + e.getMessage());
+    }
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private Response route(HttpExchange ex) throws IOException {
+    List<String> path = segments(ex.getRequestURI().getRawPath());
+    String method = ex.getRequestMethod().toUpperCase();
+    if (path.size() == 1 && "freebusy".equals(path.get(0)) && "GET".equals(method)) {
+      Map<String, String> query = queryParams(ex.getRequestURI().getRawQuery());
+      return ok(read(() -> freeBusy(query)));
+    }
+    if (path.isEmpty() || !"calendars".equals(path.get(0)) || path.size() > 3) {
+      return new Response(404, error("No such resource"));
+    }
+    if (path.size() == 1) {
+      switch (method) {
+        case "GET":
+          return ok(read(this::listCalendars));
+        case "POST":
+          return createCalendar(Json.parseObject(readBody(ex)));
+        default:
+          return notAllowed();
+      }
+    }
+    String name = path.get(1);
+    if (path.size() == 2) {
+      switch (method) {
+        case "GET":
+          return ok(read(() -> calendarJson(calendar(name))));
+        case "PUT":
+          return ok(editCalendar(name, Json.parseObject(readBody(ex))));
+        default:
+          return notAllowed();
+      }
+    }
+    Map<String, String> query = queryParams(ex.getRequestURI().getRawQuery());
+    switch (path.get(2) + " " + method) {
+      case "events GET":
+        return ok(read(() -> queryEvents(name, query)));
+      case "events POST":
+        return new Response(201, createEvents(name, Json.parseObject(readBody(ex))));
+      case "events PUT":
+        return ok(editEvents(name, Json.parseObject(readBody(ex))));
+      case "status GET":
+        return ok(read(() -> status(name, query)));
+      case "days GET":
+        return ok(read(() -> daySummaries(name, query)));
+      case "copy POST":
+        return ok(copy(name, Json.parseObject(readBody(ex))));
+      case "retention PUT":
+        return ok(setRetention(name, Json.parseObject(readBody(ex))));
+      default:
+        return new Response(404, error("No such resource"));
+    }
+  }
+
+  private String listCalendars() {
+    List<String> items = new ArrayList<>();
+    for (String n : book.listCalendarNames()) {
+      items.add(calendarJson(book.getCalendar(n)));
+    }
+    return new Json.ObjectWriter().raw("calendars", Json.array(items)).toString();
+  }
+
+  private Response createCalendar(Map<String, Object> body) {
+    String name = required(body, "name");
+    ZoneId zone = ZoneId.of(required(body, "timezone"));
+    String json = write(() -> calendarJson(book.createCalendar(name, zone)));
+    return new Response(201, json);
+  }
+
+  private String editCalendar(String name, Map<String, Object> body) {
+    return write(() -> {
+      calendar(name);
+      String current = name;
+      String tz = optional(body, "timezone");
+      if (tz != null) {
+        book.changeTimezone(current, ZoneId.of(tz));
+      }
+      String newName = optional(body, "name");
+      if (newName != null && !newName.equals(current)) {
+        book.renameCalendar(current, newName);
+        current = newName;
+      }
+      return calendarJson(book.getCalendar(current));
+    });
+  }
+
+  private String queryEvents(String name, Map<String, String> query) {
+    Calendar cal = calendar(name);
+    List<Event> events;
+    if (query.containsKey("on")) {
+      events = cal.getEventsOnDate(LocalDate.parse(query.get("on")));
+    } else if (query.containsKey("from") || query.containsKey("to")) {
+      events = cal.getEventsInRange(dateTimeParam(query, "from"), dateTimeParam(query, "to"));
+    } else {
+      events = cal.getAllEvents();
+    }
+    return eventsJson(events);
+  }
+
+  private String createEvents(String name, Map<String, Object> body) {
+    String subject = required(body, "subject");
+    LocalDateTime start;
+    LocalDateTime end;
+    String date = optional(body, "date");
+    if (date != null) {
+      LocalDate d = LocalDate.parse(date);
+      start = d.atTime(WorkingHours.START);
+      end = d.atTime(WorkingHours.END);
+    } else {
+      start = LocalDateTime.parse(required(body, "start"));
+      end = LocalDateTime.parse(required(body, "end"));
+    }
+    Object weekdays = body.get("weekdays");
+    return write(() -> {
+      Calendar cal = calendar(name);
+      if (weekdays == null) {
+        return eventsJson(List.of(cal.createEvent(subject, start, end)));
+      }
+      Set<DayOfWeek> days = weekdays(weekdays);
+      String until = optional(body, "until");
+      if (until != null) {
+        return eventsJson(cal.createEventSeriesUntil(subject, start, end, days,
+            LocalDate.parse(until)));
+      }
+      Object count = body.get("occurrences");
+      if (!(count instanceof Long)) {
+        throw new IllegalArgumentException("Series requires 'occurrences' or 'until'");
+      }
+      long occurrences = (Long) count;
+      if (occurrences != (int) occurrences) {
+        throw new IllegalArgumentException("'occurrences' is out of range: " + occurrences);
+      }
+      return eventsJson(cal.createEventSeries(subject, start, end, days, (int) occurrences));
+    });
+  }
+
+  private String editEvents(String name, Map<String, Object> body) {
+    String subject = required(body, "subject");
+    LocalDateTime start = LocalDateTime.parse(required(body, "start"));
+    EventProperty prop = EventProperty.fromToken(required(body, "property"));
+    String value = required(body, "value");
+    String scopeToken = optional(body, "scope");
+    EditScope scope = EditScope.fromToken(scopeToken == null ? "event" : scopeToken);
+    LocalDateTime dt = null;
+    String text = null;
+    if (prop == EventProperty.START || prop == EventProperty.END) {
+      dt = LocalDateTime.parse(value);
+    } else {
+      text = value;
+    }
+    final LocalDateTime newDateTime = dt;
+    final String newText = text;
+    return write(() -> {
+      Calendar cal = calendar(name);
+      switch (scope) {
+        case EVENT:
+          cal.editEvent(subject, start, prop, newDateTime, newText);
+          break;
+        case EVENTS:
+          cal.editEventsFromDate(subject, start, prop, newDateTime, newText);
+          break;
+        default:
+          cal.editSeries(subject, start, prop, newDateTime, newText);
+      }
+      return new Json.ObjectWriter().field("edited", scope.name().toLowerCase()).toString();
+    });
+  }
+
+  private String status(String name, Map<String, String> query) {
+    LocalDateTime at = dateTimeParam(query, "at");
+    boolean busy = calendar(name).isBusyAt(at);
+    return new Json.ObjectWriter().field("busy", busy).toString();
+  }
+
+  private String daySummaries(String name, Map<String, String> query) {
+    List<DaySummary> days = calendar(name).getDaySummaries(
+        LocalDate.parse(param(query, "from")), LocalDate.parse(param(query, "to")));
+    List<String> items = new ArrayList<>(days.size());
+    for (DaySummary d : days) {
+      items.add(new Json.ObjectWriter()
+          .field("date", d.getDate().toString())
+          .field("events", d.getEventCount())
+          .field("busyMinutes", d.getBusyMinutes())
+          .field("earliestStart", d.getEarliestStart().toString())
+          .field("latestEnd", d.getLatestEnd().toString())
+          .toString());
+    }
+    return new Json.ObjectWriter().raw("days", Json.array(items)).toString();
+  }
+
+  private String freeBusy(Map<String, String> query) {
+    String names = query.get("calendars");
+    if (names == null || names.isBlank()) {
+      throw new IllegalArgumentException("Missing query parameter 'calendars'");
+    }
+    ZoneId zone = ZoneId.of(query.getOrDefault("zone", "UTC"));
+    String g = query.get("granularity");
+    List<TimeInterval> busy = book.getFreeBusy(Arrays.asList(names.split(",")),
+        dateTimeParam(query, "from").atZone(zone), dateTimeParam(query, "to").atZone(zone),
+        g == null ? null : Duration.parse(g));
+    List<String> items = new ArrayList<>(busy.size());
+    for (TimeInterval i : busy) {
+      items.add(new Json.ObjectWriter()
+          .field("start", i.startIn(zone).toLocalDateTime().toString())
+          .field("end", i.endIn(zone).toLocalDateTime().toString())
+          .toString());
+    }
+    return new Json.ObjectWriter()
+        .field("zone", zone.getId())
+        .raw("busy", Json.array(items))
+        .toString();
+  }
+
+  private String copy(String source, Map<String, Object> body) {
+    String target = required(body, "target");
+    return write(() -> {
+      calendar(source);
+      if (body.containsKey("subject")) {
+        book.copyEvent(source, target, LocalDateTime.parse(required(body, "start")),
+            required(body, "subject"), LocalDateTime.parse(required(body, "targetStart")));
+      } else if (body.containsKey("on")) {
+        book.copyEventsOnDate(source, target, LocalDate.parse(required(body, "on")),
+            LocalDate.parse(required(body, "targetDate")));
+      } else {
+        book.copyEventsBetween(source, target, LocalDate.parse(required(body, "from")),
+            LocalDate.parse(required(body, "to")),
+            LocalDate.parse(required(body, "targetDate")), seriesCopyMode(body));
+      }
+      return calendarJson(book.getCalendar(target));
+    });
+  }
+
+  private static SeriesCopyMode seriesCopyMode(Map<String, Object> body) {
+    String ids = optional(body, "seriesIds");
+    if (ids == null || ids.equals("share")) {
+      return SeriesCopyMode.SHARE_ID;
+    }
+    if (ids.equals("new")) {
+      return SeriesCopyMode.NEW_ID;
+    }
+    throw new IllegalArgumentException("Invalid seriesIds: " + ids + ". Expected share or new");
+  }
+
+  private String setRetention(String name, Map<String, Object> body) {
+    if (!body.containsKey("keep")) {
+      throw new IllegalArgumentException("Missing field 'keep'");
+    }
+    String keep = optional(body, "keep");
+    Period period = keep == null ? null : Period.parse(keep);
+    return write(() -> {
+      calendar(name);
+      book.setRetention(name, period);
+      int moved = period == null ? 0 : book.applyRetention();
+      return new Json.ObjectWriter()
+          .field("name", name)
+          .field("keep", period == null ? null : period.toString())
+          .field("archived", moved)
+          .toString();
+    });
+  }
+
+  private void housekeep() {
+    try {
+      write(() -> book.applyRetention() + " " + book.trimResidency());
+    } catch (RuntimeException e) {
+      // A file that cannot be written leaves events in memory; retry on the next run.
+    }
+  }
+
+  /**
+   * The named calendar; call under the lock so it cannot be removed or renamed between the
+   * check and its use.
+   */
+  private Calendar calendar(String name) {
+    if (!book.hasCalendar(name)) {
+      throw new NoSuchCalendarException(name);
+    }
+    return book.getCalendar(name);
+  }
+
+  private String read(Supplier<String> action) {
+    lock.readLock().lock();
+    try {
+      return action.get();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private String write(Supplier<String> action) {
+    lock.writeLock().lock();
+    try {
+      return action.get();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static String calendarJson(Calendar cal) {
+    return new Json.ObjectWriter()
+        .field("name", cal.getName())
+        .field("timezone", cal.getZoneId().getId())
+        .toString();
+  }
+
+  private static String eventsJson(List<Event> events) {
+    List<String> items = new ArrayList<>(events.size());
+    for (Event e : events) {
+      items.add(eventJson(e));
+    }
+    return new Json.ObjectWriter()
+        .field("count", events.size())
+        .raw("events", Json.array(items))
+        .toString();
+  }
+
+  private static String eventJson(Event e) {
+    return new Json.ObjectWriter()
+        .field("subject", e.getSubject())
+        .field("start", e.getStartDateTime().toString())
+        .field("end", e.getEndDateTime().toString())
+        .field("description", e.getDescription().orElse(null))
+        .field("location", e.getLocation().orElse(null))
+        .field("public", e.isPublic())
+        .field("allDay", e.isAllDayEvent())
+        .field("seriesId", e.getSeriesId().orElse(null))
+        .toString();
+  }
+
+  private static Set<DayOfWeek> weekdays(Object value) {
+    if (!(value instanceof List) || ((List<?>) value).isEmpty()) {
+      throw new IllegalArgumentException("'weekdays' must be a non-empty array of day names");
+    }
+    Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+    for (Object o : (List<?>) value) {
+      days.add(DayOfWeek.valueOf(String.valueOf(o).trim().toUpperCase()));
+    }
+    return days;
+  }
+
+  private static String required(Map<String, Object> body, String key) {
+    String v = optional(body, key);
+    if (v == null) {
+      throw new IllegalArgumentException("Missing field '" + key + "'");
+    }
+    return v;
+  }
+
+  private static String optional(Map<String, Object> body, String key) {
+    Object v = body.get(key);
+    return v == null ? null : String.valueOf(v);
+  }
+
+  private static LocalDateTime dateTimeParam(Map<String, String> query, String key) {
+    return LocalDateTime.parse(param(query, key));
+  }
+
+  private static String param(Map<String, String> query, String key) {
+    String v = query.get(key);
+    if (v == null) {
+      throw new IllegalArgumentException("Missing query parameter '" + key + "'");
+    }
+    return v;
+  }
+
+  private static List<String> segments(String rawPath) {
+    List<String> parts = new ArrayList<>();
+    for (String p : rawPath.split("/")) {
+      if (!p.isEmpty()) {
+        parts.add(URLDecoder.decode(p, StandardCharsets.UTF_8));
+      }
+    }
+    return parts;
+  }
+
+  private static Map<String, String> queryParams(String rawQuery) {
+    Map<String, String> params = new HashMap<>();
+    if (rawQuery == null || rawQuery.isEmpty()) {
+      return params;
+    }
+    for (String pair : rawQuery.split("&")) {
+      int eq = pair.indexOf('=');
+      String k = eq < 0 ? pair : pair.substring(0, eq);
+      String v = eq < 0 ? "" : pair.substring(eq + 1);
+      params.put(URLDecoder.decode(k, StandardCharsets.UTF_8),
+          URLDecoder.decode(v, StandardCharsets.UTF_8));
+    }
+    return params;
+  }
+
+  private static String readBody(HttpExchange ex) throws IOException {
+    try (InputStream in = ex.getRequestBody()) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private static Response ok(String body) {
+    return new Response(200, body);
+  }
+
+  private static Response notAllowed() {
+    return new Response(405, error("Method not allowed"));
+  }
+
+  private static String error(String message) {
+    return new Json.ObjectWriter().field("error", message).toString();
+  }
+
+  /**
+   * A request addressed a calendar that does not exist; answered with 404.
+   */
+  private static final class NoSuchCalendarException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    NoSuchCalendarException(String name) {
+      super("No such calendar: " + name);
+    }
+  }
+
+  private static final class Response {
+    private final int status;
+    private final String body;
+
+    Response(int status, String body) {
+      this.status = status;
+      this.body = body;
+    }
+  }
+}
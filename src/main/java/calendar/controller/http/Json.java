@@ -0,0 +1,301 @@
+package calendar.controller.http;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON support for the HTTP API: an append-only object/array writer and a
+ * recursive-descent parser for request bodies. Parsed values are {@link String},
+ * {@link Long}, {@link Double}, {@link Boolean}, {@code null}, {@link List} or {@link Map}.
+ */
+final class Json {
+
+  private Json() {}
+
+  /**
+   * Quotes and escapes a string as a JSON literal; {@code null} becomes {@code null}.
+   *
+   * @param s raw string
+   * @return JSON literal
+   */
+  static String quote(String s) {
+    if (s == null) {
+      return "null";
+    }
+    StringBuilder b = new StringBuilder(s.length() + 2);
+    b.append('"');
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+        case '"':
+          b.append("\\\"");
+          break;
+        case '\\':
+          b.append("\\\\");
+          break;
+        case '\n':
+          b.append("\\n");
+          break;
+        case '\r':
+          b.append("\\r");
+          break;
+        case '\t':
+          b.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            b.append(String.format("\\u%04x", (int) c));
+          } else {
+            b.append(c);
+          }
+      }
+    }
+    return b.append('"').toString();
+  }
+
+  /**
+   * Parses a JSON object body.
+   *
+   * @param text request body
+   * @return parsed members in document order
+   * @throws IllegalArgumentException if the body is not a JSON object
+   */
+  static Map<String, Object> parseObject(String text) {
+    if (text == null || text.isBlank()) {
+      throw new IllegalArgumentException("Request body must be a JSON object");
+    }
+    Parser p = new Parser(text);
+    Object value = p.value();
+    p.skipWhitespace();
+    if (!p.atEnd() || !(value instanceof Map)) {
+      throw new IllegalArgumentException("Request body must be a JSON object");
+    }
+    @SuppressWarnings("unchecked")
+    Map<String, Object> map = (Map<String, Object>) value;
+    return map;
+  }
+
+  /**
+   * Builder for a JSON object rendered in insertion order.
+   */
+  static final class ObjectWriter {
+    private final StringBuilder out = new StringBuilder("{");
+    private boolean first = true;
+
+    ObjectWriter field(String name, String value) {
+      return raw(name, quote(value));
+    }
+
+    ObjectWriter field(String name, long value) {
+      return raw(name, Long.toString(value));
+    }
+
+    ObjectWriter field(String name, boolean value) {
+      return raw(name, Boolean.toString(value));
+    }
+
+    ObjectWriter raw(String name, String json) {
+      if (!first) {
+        out.append(',');
+      }
+      first = false;
+      out.append(quote(name)).append(':').append(json);
+      return this;
+    }
+
+    @Override
+    public String toString() {
+      return out.toString() + "}";
+    }
+  }
+
+  /**
+   * Joins already-rendered JSON values into an array literal.
+   *
+   * @param values rendered JSON values
+   * @return JSON array
+   */
+  static String array(List<String> values) {
+    return "[" + String.join(",", values) + "]";
+  }
+
+  private static final class Parser {
+    private final String text;
+    private int pos;
+
+    Parser(String text) {
+      this.text = text;
+    }
+
+    boolean atEnd() {
+      return pos >= text.length();
+    }
+
+    void skipWhitespace() {
+      while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+        pos++;
+      }
+    }
+
+    Object value() {
+      skipWhitespace();
+      if (atEnd()) {
+        throw error("Unexpected end of JSON");
+      }
+      char c = text.charAt(pos);
+      switch (c) {
+        case '{':
+          return object();
+        case '[':
+          return list();
+        case '"':
+          return string();
+        case 't':
+          return literal("true", Boolean.TRUE);
+        case 'f':
+          return literal("false", Boolean.FALSE);
+        case 'n':
+          return literal("null", null);
+        default:
+          return number();
+      }
+    }
+
+    private Map<String, Object> object() {
+      Map<String, Object> map = new LinkedHashMap<>();
+      pos++;
+      skipWhitespace();
+      if (peek('}')) {
+        pos++;
+        return map;
+      }
+      while (true) {
+        skipWhitespace();
+        if (!peek('"')) {
+          throw error("Expected member name");
+        }
+        String key = string();
+        skipWhitespace();
+        expect(':');
+        map.put(key, value());
+        skipWhitespace();
+        if (peek(',')) {
+          pos++;
+          continue;
+        }
+        expect('}');
+        return map;
+      }
+    }
+
+    private List<Object> list() {
+      List<Object> list = new ArrayList<>();
+      pos++;
+      skipWhitespace();
+      if (peek(']')) {
+        pos++;
+        return list;
+      }
+      while (true) {
+        list.add(value());
+        skipWhitespace();
+        if (peek(',')) {
+          pos++;
+          continue;
+        }
+        expect(']');
+        return list;
+      }
+    }
+
+    private String string() {
+      pos++;
+      StringBuilder b = new StringBuilder();
+      while (!atEnd()) {
+        char c = text.charAt(pos++);
+        if (c == '"') {
+          return b.toString();
+        }
+        if (c != '\\') {
+          b.append(c);
+          continue;
+        }
+        if (atEnd()) {
+          break;
+        }
+        char e = text.charAt(pos++);
+        switch (e) {
+          case 'n':
+            b.append('\n');
+            break;
+          case 'r':
+            b.append('\r');
+            break;
+          case 't':
+            b.append('\t');
+            break;
+          case 'b':
+            b.append('\b');
+            break;
+          case 'f':
+            b.append('\f');
+            break;
+          case 'u':
+            if (pos + 4 > text.length()) {
+              throw error("Bad unicode escape");
+            }
+            b.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+            pos += 4;
+            break;
+          default:
+            b.append(e);
+        }
+      }
+      throw error("Unterminated string");
+    }
+
+    private Object literal(String word, Object value) {
+      if (!text.startsWith(word, pos)) {
+        throw error("Unexpected token");
+      }
+      pos += word.length();
+      return value;
+    }
+
+    private Object number() {
+      int start = pos;
+      while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+        pos++;
+      }
+      String token = text.substring(start, pos);
+      if (token.isEmpty()) {
+        throw error("Unexpected character '" + text.charAt(start) + "'");
+      }
+      try {
+        if (token.contains(".") || token.contains("e") || token.contains("E")) {
+          return Double.parseDouble(token);
+        }
+        return Long.parseLong(token);
+      } catch (NumberFormatException e) {
+        throw error("Bad number: " + token);
+      }
+    }
+
+    private boolean peek(char c) {
+      return pos < text.length() && text.charAt(pos) == c;
+    }
+
+    private void expect(char c) {
+      if (!peek(c)) {
+        throw error("Expected '" + c + "'");
+      }
+      pos++;
+    }
+
+    private IllegalArgumentException error(String msg) {
+      return new IllegalArgumentException("Malformed JSON at " + pos + ": " + msg);
+    }
+  }
+}
@@ -2,6 +2,7 @@ package calendar.util;
 
 import calendar.Calendar;
 import calendar.Event;
+import calendar.EventDelta;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.file.Files;
@@ -40,6 +41,9 @@ public class CsvExport {
       Files.createDirectories(path.getParent());
     }
 
+    ExportJfrEvent jfr = new ExportJfrEvent();
+    jfr.begin();
+    int written;
     try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
       writer.println("Subject,Start Date,Start Time,End Date,End Time,"
           + "All Day Event,Description,Location,Private");
@@ -48,13 +52,54 @@ public class CsvExport {
       for (Event event : events) {
         writeEventRow(writer, event);
       }
+      written = events.size();
     }
+    ExportUtil.commit(jfr, calendar, "csv", path, written);
+
+    return path.toAbsolutePath().toString();
+  }
+
+  /**
+   * Exports only the events in a delta, with a trailing Deleted column that is True for
+   * tombstones. A full delta lists every event and no tombstones.
+   *
+   * @param calendar the calendar the delta came from
+   * @param delta    changes to write
+   * @param filePath the file path
+   * @return absolute path of created file
+   * @throws IOException if file cannot be created
+   */
+  public static String exportChangesToCsv(Calendar calendar, EventDelta delta, String filePath)
+      throws IOException {
+    Path path = Paths.get(filePath);
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+
+    ExportJfrEvent jfr = new ExportJfrEvent();
+    jfr.begin();
+    try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+      writer.println("Subject,Start Date,Start Time,End Date,End Time,"
+          + "All Day Event,Description,Location,Private,Deleted");
+      for (Event event : delta.getChanged()) {
+        writeEventRow(writer, event, ",False");
+      }
+      for (Event event : delta.getRemoved()) {
+        writeEventRow(writer, event, ",True");
+      }
+    }
+    ExportUtil.commit(jfr, calendar, "csv", path,
+        delta.getChanged().size() + delta.getRemoved().size());
 
     return path.toAbsolutePath().toString();
   }
 
   private static void writeEventRow(PrintWriter writer, Event event) {
-    writer.printf("%s,%s,%s,%s,%s,%s,%s,%s,%s%n",
+    writeEventRow(writer, event, "");
+  }
+
+  private static void writeEventRow(PrintWriter writer, Event event, String suffix) {
+    writer.printf("%s,%s,%s,%s,%s,%s,%s,%s,%s%s%n",
         escapeCsv(event.getSubject()),
         event.getStartDateTime().format(DATE_FMT),
         event.isAllDayEvent() ? "" : event.getStartDateTime().format(TIME_FMT),
@@ -63,7 +108,8 @@ public class CsvExport {
         event.isAllDayEvent() ? "True" : "False",
         escapeCsv(event.getDescription().orElse("")),
         escapeCsv(event.getLocation().orElse("")),
-        event.isPublic() ? "False" : "True");
+        event.isPublic() ? "False" : "True",
+        suffix);
   }
 
   private static String escapeCsv(String value) {
@@ -0,0 +1,33 @@
+package calendar.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for one calendar export, timed from opening the file to
+ * closing it.
+ */
+@Name("calendar.Export")
+@Label("Export Calendar")
+@Category({"Calendar", "Export"})
+@StackTrace(false)
+final class ExportJfrEvent extends jdk.jfr.Event {
+  @Label("Calendar")
+  String calendar;
+
+  @Label("Format")
+  String format;
+
+  @Label("Path")
+  String path;
+
+  @Label("Events Written")
+  int eventsWritten;
+
+  @Label("Bytes Written")
+  @DataAmount
+  long bytesWritten;
+}
@@ -1,7 +1,10 @@
 package calendar.util;
 
 import calendar.Calendar;
+import calendar.EventDelta;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * Dispatches calendar exports based on file extension.
@@ -29,4 +32,42 @@ public final class ExportUtil {
     }
     throw new IllegalArgumentException("Unsupported export extension. Use .csv, .ics, or .ical");
   }
+
+  /**
+   * Exports only the events in a delta, in the format inferred by extension.
+   *
+   * @param calendar the calendar the delta came from
+   * @param delta    changes to write
+   * @param filePath output path; extension determines format
+   * @return absolute path of the created file
+   * @throws IOException if writing fails
+   */
+  public static String exportChanges(Calendar calendar, EventDelta delta, String filePath)
+      throws IOException {
+    String lower = filePath.toLowerCase();
+    if (lower.endsWith(".csv")) {
+      return CsvExport.exportChangesToCsv(calendar, delta, filePath);
+    }
+    if (lower.endsWith(".ics") || lower.endsWith(".ical")) {
+      return IcalExport.exportChangesToIcs(calendar, delta, filePath);
+    }
+    throw new IllegalArgumentException("Unsupported export extension. Use .csv, .ics, or .ical");
+  }
+
+  /**
+   * Completes an export's flight-recorder event once the file is closed. The file size is
+   * only read when a recording wants the event.
+   */
+  static void commit(ExportJfrEvent jfr, Calendar calendar, String format, Path path,
+                     int written) throws IOException {
+    jfr.end();
+    if (jfr.shouldCommit()) {
+      jfr.calendar = calendar.getName();
+      jfr.format = format;
+      jfr.path = path.toString();
+      jfr.eventsWritten = written;
+      jfr.bytesWritten = Files.size(path);
+      jfr.commit();
+    }
+  }
 }
@@ -2,13 +2,14 @@ package calendar.util;
 
 import calendar.Calendar;
 import calendar.Event;
+import calendar.EventDelta;
+import calendar.ZoneConverter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -41,6 +42,9 @@ public final class IcalExport {
       Files.createDirectories(path.getParent());
     }
 
+    ExportJfrEvent jfr = new ExportJfrEvent();
+    jfr.begin();
+    int written;
     try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path))) {
       out.println("BEGIN:VCALENDAR");
       out.println("PRODID:-//PDP Calendar//EN");
@@ -49,41 +53,92 @@ public final class IcalExport {
       out.println("METHOD:PUBLISH");
 
       List<Event> events = calendar.getAllEvents();
-      ZoneId zone = calendar.getZoneId();
+      ZoneConverter utc = ZoneConverter.of(calendar.getZoneId(), ZoneOffset.UTC);
       ZonedDateTime nowUtc = ZonedDateTime.now(ZoneOffset.UTC);
 
       for (Event e : events) {
-        out.println("BEGIN:VEVENT");
-        out.println("UID:" + uidFor(e, calendar));
-        out.println("DTSTAMP:" + UTC_TS.format(nowUtc));
-
-        if (e.isAllDayEvent()) {
-          LocalDate startDate = e.getStartDateTime().toLocalDate();
-          LocalDate endDateExclusive = e.getEndDateTime().toLocalDate().plusDays(1);
-          out.println("DTSTART;VALUE=DATE:" + DATE_ONLY.format(startDate));
-          out.println("DTEND;VALUE=DATE:" + DATE_ONLY.format(endDateExclusive));
-        } else {
-          ZonedDateTime startUtc =
-              e.getStartDateTime().atZone(zone).withZoneSameInstant(ZoneOffset.UTC);
-          ZonedDateTime endUtc =
-              e.getEndDateTime().atZone(zone).withZoneSameInstant(ZoneOffset.UTC);
-          out.println("DTSTART:" + UTC_TS.format(startUtc));
-          out.println("DTEND:" + UTC_TS.format(endUtc));
-        }
-
-        out.println("SUMMARY:" + escape(e.getSubject()));
-        out.println("CLASS:" + (e.isPublic() ? "PUBLIC" : "PRIVATE"));
-        e.getDescription().ifPresent(d -> out.println("DESCRIPTION:" + escape(d)));
-        e.getLocation().ifPresent(l -> out.println("LOCATION:" + escape(l)));
-        out.println("END:VEVENT");
+        writeEvent(out, e, calendar, utc, nowUtc, false);
       }
 
       out.println("END:VCALENDAR");
+      written = events.size();
     }
+    ExportUtil.commit(jfr, calendar, "ical", path, written);
 
     return path.toAbsolutePath().toString();
   }
 
+  /**
+   * Writes only the events in a delta. Tombstones are written as cancelled events with the
+   * same UID as the original, and the calendar carries the delta's last sequence in an
+   * {@code X-PDP-SEQUENCE} property so the next sync can start from it.
+   *
+   * @param calendar calendar the delta came from
+   * @param delta    changes to write
+   * @param filePath destination path (ends with .ics or .ical)
+   * @return absolute path written
+   * @throws IOException on write failure
+   */
+  public static String exportChangesToIcs(Calendar calendar, EventDelta delta, String filePath)
+      throws IOException {
+    Path path = Paths.get(filePath);
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+
+    ExportJfrEvent jfr = new ExportJfrEvent();
+    jfr.begin();
+    try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path))) {
+      out.println("BEGIN:VCALENDAR");
+      out.println("PRODID:-//PDP Calendar//EN");
+      out.println("VERSION:2.0");
+      out.println("CALSCALE:GREGORIAN");
+      out.println("METHOD:PUBLISH");
+      out.println("X-PDP-SEQUENCE:" + delta.getToSequence());
+
+      ZoneConverter utc = ZoneConverter.of(calendar.getZoneId(), ZoneOffset.UTC);
+      ZonedDateTime nowUtc = ZonedDateTime.now(ZoneOffset.UTC);
+      for (Event e : delta.getChanged()) {
+        writeEvent(out, e, calendar, utc, nowUtc, false);
+      }
+      for (Event e : delta.getRemoved()) {
+        writeEvent(out, e, calendar, utc, nowUtc, true);
+      }
+
+      out.println("END:VCALENDAR");
+    }
+    ExportUtil.commit(jfr, calendar, "ical", path,
+        delta.getChanged().size() + delta.getRemoved().size());
+
+    return path.toAbsolutePath().toString();
+  }
+
+  private static void writeEvent(PrintWriter out, Event e, Calendar calendar,
+                                 ZoneConverter utc, ZonedDateTime nowUtc, boolean cancelled) {
+    out.println("BEGIN:VEVENT");
+    out.println("UID:" + uidFor(e, calendar));
+    out.println("DTSTAMP:" + UTC_TS.format(nowUtc));
+
+    if (e.isAllDayEvent()) {
+      LocalDate startDate = e.getStartDateTime().toLocalDate();
+      LocalDate endDateExclusive = e.getEndDateTime().toLocalDate().plusDays(1);
+      out.println("DTSTART;VALUE=DATE:" + DATE_ONLY.format(startDate));
+      out.println("DTEND;VALUE=DATE:" + DATE_ONLY.format(endDateExclusive));
+    } else {
+      out.println("DTSTART:" + UTC_TS.format(utc.convert(e.getStartDateTime())));
+      out.println("DTEND:" + UTC_TS.format(utc.convert(e.getEndDateTime())));
+    }
+
+    out.println("SUMMARY:" + escape(e.getSubject()));
+    out.println("CLASS:" + (e.isPublic() ? "PUBLIC" : "PRIVATE"));
+    e.getDescription().ifPresent(d -> out.println("DESCRIPTION:" + escape(d)));
+    e.getLocation().ifPresent(l -> out.println("LOCATION:" + escape(l)));
+    if (cancelled) {
+      out.println("STATUS:CANCELLED");
+    }
+    out.println("END:VEVENT");
+  }
+
   private static String uidFor(Event e, Calendar cal) {
     String seed =
         cal.getName() + "|" + e.getSubject() + "|" + e.getStartDateTime() + "|"
@@ -1,6 +1,7 @@
 package calendar.view;
 
 import calendar.Event;
+import calendar.EventReport;
 import java.util.List;
 
 /**
@@ -36,6 +37,13 @@ public interface CalendarView {
    */
   void displayStatus(boolean isBusy);
 
+  /**
+   * Displays an aggregation report.
+   *
+   * @param report the report to display
+   */
+  void displayReport(EventReport report);
+
   /**
    * Displays an input prompt to the user.
    */
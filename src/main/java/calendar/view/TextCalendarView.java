@@ -1,9 +1,14 @@
 package calendar.view;
 
 import calendar.Event;
+import calendar.EventReport;
 import java.io.PrintStream;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Text-based implementation of the CalendarView interface.
@@ -54,11 +59,39 @@ public class TextCalendarView implements CalendarView {
     out.println(isBusy ? "busy" : "available");
   }
 
+  @Override
+  public void displayReport(EventReport report) {
+    out.println("Report " + report.getFrom() + " to " + report.getTo()
+        + " by " + report.getPeriod().name().toLowerCase(Locale.ROOT));
+    out.println("Events: " + report.getEventCount() + " (public " + report.getPublicCount()
+        + ", private " + report.getPrivateCount() + ")");
+    out.println("Busy hours: " + hours(report.getTotalBusy()));
+    for (Map.Entry<LocalDate, Duration> e : report.getBusy().entrySet()) {
+      out.println("  " + e.getKey().format(DATE_FORMATTER) + "  " + hours(e.getValue()));
+    }
+    printCounts("By subject:", report.getCountsBySubject());
+    printCounts("By location:", report.getCountsByLocation());
+  }
+
   @Override
   public void displayPrompt() {
     out.print("> ");
   }
 
+  private void printCounts(String title, Map<String, Integer> counts) {
+    if (counts.isEmpty()) {
+      return;
+    }
+    out.println(title);
+    for (Map.Entry<String, Integer> e : counts.entrySet()) {
+      out.println("  " + e.getKey() + "  " + e.getValue());
+    }
+  }
+
+  private static String hours(Duration d) {
+    return String.format(Locale.ROOT, "%.2f", d.getSeconds() / 3600.0);
+  }
+
   private String formatEvent(Event event) {
     StringBuilder sb = new StringBuilder();
     sb.append(event.getSubject());
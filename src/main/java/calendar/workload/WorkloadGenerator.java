@@ -0,0 +1,734 @@
+package calendar.workload;
+
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.WorkingHours;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic calendar data for benchmarks and load tests.
+ *
+ * <p>A {@link Spec} and its seed fully determine the output. Subjects follow a Zipf
+ * distribution over a fixed vocabulary, events are spread over calendars with a Zipf skew so
+ * a few calendars are much busier than the rest, calendars get zones from a configurable
+ * list, and each operation is a timed single event, a weekday series, or an all-day event
+ * spanning {@link WorkingHours}. Start times favour working hours.</p>
+ *
+ * <p>Operations are produced one at a time, so the same stream can populate a
+ * {@link CalendarBook} directly or be rendered as a headless command script of any length
+ * without being held in memory. Both paths see identical data: a rare single event that
+ * duplicates an earlier one is rejected by the calendar in either case.</p>
+ */
+public final class WorkloadGenerator {
+
+  private static final String[] TOPICS = {
+      "Team", "Design", "Budget", "Client", "Product", "Hiring", "Security", "Platform",
+      "Roadmap", "Sales", "Support", "Research", "Release", "Infra", "Marketing", "Data",
+      "Mobile", "Finance", "Legal", "Ops"};
+  private static final String[] KINDS = {
+      "Standup", "Sync", "Review", "Planning", "1:1", "Retro", "Demo", "Interview",
+      "Workshop", "Check-in", "Kickoff", "Training", "Lunch", "Office Hours", "Deep Dive",
+      "Triage", "All Hands", "Brainstorm", "Readout", "Onboarding"};
+  private static final String[] ALL_DAY_SUBJECTS = {
+      "Holiday", "Offsite", "Conference", "PTO", "Company Retreat", "Hackathon",
+      "Training Day", "Release Day"};
+  private static final String[] PATTERNS = {"MTWRF", "MWF", "TR", "M", "W", "F"};
+  private static final int[] DURATIONS = {15, 30, 30, 30, 45, 60, 60, 60, 90, 120};
+  private static final LocalTime[] SLOTS = startSlots();
+
+  private final Spec spec;
+
+  /**
+   * Creates a generator for the given specification.
+   *
+   * @param spec dataset shape and seed
+   */
+  public WorkloadGenerator(Spec spec) {
+    if (spec == null) {
+      throw new IllegalArgumentException("Spec is required");
+    }
+    this.spec = spec;
+  }
+
+  /**
+   * The specification this generator follows.
+   *
+   * @return spec
+   */
+  public Spec getSpec() {
+    return spec;
+  }
+
+  /**
+   * Builds a new book holding the generated calendars and events.
+   *
+   * @return populated book
+   */
+  public CalendarBook buildBook() {
+    CalendarBook book = new CalendarBookImpl();
+    populate(book);
+    return book;
+  }
+
+  /**
+   * Creates the generated calendars and events in an existing book. Query operations are
+   * skipped.
+   *
+   * @param book book without calendars of the generated names
+   * @return number of single events rejected as duplicates
+   */
+  public int populate(CalendarBook book) {
+    OpStream ops = new OpStream();
+    Calendar current = null;
+    int rejected = 0;
+    for (Op op = ops.next(); op != null; op = ops.next()) {
+      switch (op.kind) {
+        case CREATE_CALENDAR:
+          book.createCalendar(op.calendar, op.zone);
+          break;
+        case USE_CALENDAR:
+          current = book.getCalendar(op.calendar);
+          break;
+        case EVENT:
+          if (op.pattern == null) {
+            try {
+              current.createEvent(op.subject, op.start, op.end);
+            } catch (IllegalArgumentException e) {
+              rejected++;
+            }
+          } else {
+            current.createEventSeries(op.subject, op.start, op.end, weekdays(op.pattern),
+                op.occurrences);
+          }
+          break;
+        default:
+          break;
+      }
+    }
+    return rejected;
+  }
+
+  /**
+   * Writes the workload as a headless command script ending with {@code exit}.
+   *
+   * @param out destination; not closed
+   * @throws IOException if writing fails
+   */
+  public void writeScript(Writer out) throws IOException {
+    OpStream ops = new OpStream();
+    for (Op op = ops.next(); op != null; op = ops.next()) {
+      out.write(op.toCommand());
+      out.write('\n');
+    }
+    out.write("exit\n");
+    out.flush();
+  }
+
+  /**
+   * A reader that renders the script lazily as it is consumed, for feeding a
+   * {@link calendar.controller.HeadlessController} directly.
+   *
+   * @return script reader
+   */
+  public Reader scriptReader() {
+    return new ScriptReader(new OpStream());
+  }
+
+  /**
+   * Writes a generated script to a file or standard output.
+   *
+   * <p>Options: {@code --seed}, {@code --events}, {@code --calendars}, {@code --subjects},
+   * {@code --queries <fraction>}, {@code --out <file>}.</p>
+   *
+   * @param args command-line options
+   * @throws IOException if writing fails
+   */
+  public static void main(String[] args) throws IOException {
+    Spec.Builder b = Spec.builder();
+    String out = null;
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      String value = args[i + 1];
+      switch (args[i]) {
+        case "--seed":
+          b.seed(Long.parseLong(value));
+          break;
+        case "--events":
+          b.events(Long.parseLong(value));
+          break;
+        case "--calendars":
+          b.calendars(Integer.parseInt(value));
+          break;
+        case "--subjects":
+          b.subjects(Integer.parseInt(value));
+          break;
+        case "--queries":
+          b.queryFraction(Double.parseDouble(value));
+          break;
+        case "--out":
+          out = value;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option: " + args[i]);
+      }
+    }
+    WorkloadGenerator gen = new WorkloadGenerator(b.build());
+    try (Writer w = out == null
+        ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+        : Files.newBufferedWriter(Paths.get(out), StandardCharsets.UTF_8)) {
+      gen.writeScript(w);
+    }
+  }
+
+  /**
+   * Subject of the given popularity rank.
+   *
+   * @param rank zero-based rank; lower is more frequent
+   * @return subject text
+   */
+  static String subject(int rank) {
+    int combos = TOPICS.length * KINDS.length;
+    String base = TOPICS[rank % TOPICS.length] + " " + KINDS[(rank / TOPICS.length)
+        % KINDS.length];
+    return rank < combos ? base : base + " " + (rank / combos + 1);
+  }
+
+  private static Set<DayOfWeek> weekdays(String pattern) {
+    Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+    for (char c : pattern.toCharArray()) {
+      switch (c) {
+        case 'M':
+          days.add(DayOfWeek.MONDAY);
+          break;
+        case 'T':
+          days.add(DayOfWeek.TUESDAY);
+          break;
+        case 'W':
+          days.add(DayOfWeek.WEDNESDAY);
+          break;
+        case 'R':
+          days.add(DayOfWeek.THURSDAY);
+          break;
+        default:
+          days.add(DayOfWeek.FRIDAY);
+          break;
+      }
+    }
+    return days;
+  }
+
+  /**
+   * Candidate start times: every quarter hour of the working day plus a few early and late
+   * half-hours, so most meetings fall inside {@link WorkingHours}.
+   */
+  private static LocalTime[] startSlots() {
+    List<LocalTime> slots = new ArrayList<>();
+    slots.add(WorkingHours.START.minusMinutes(60));
+    slots.add(WorkingHours.START.minusMinutes(30));
+    for (LocalTime t = WorkingHours.START; t.isBefore(WorkingHours.END); t = t.plusMinutes(15)) {
+      slots.add(t);
+    }
+    slots.add(WorkingHours.END);
+    slots.add(WorkingHours.END.plusMinutes(30));
+    slots.add(WorkingHours.END.plusMinutes(60));
+    return slots.toArray(new LocalTime[0]);
+  }
+
+  private enum Kind {
+    CREATE_CALENDAR, USE_CALENDAR, EVENT, PRINT_DAY, STATUS
+  }
+
+  /**
+   * One generated operation.
+   */
+  private static final class Op {
+    private final Kind kind;
+    private final String calendar;
+    private ZoneId zone;
+    private String subject;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private boolean allDay;
+    private String pattern;
+    private int occurrences;
+
+    Op(Kind kind, String calendar) {
+      this.kind = kind;
+      this.calendar = calendar;
+    }
+
+    String toCommand() {
+      switch (kind) {
+        case CREATE_CALENDAR:
+          return "create calendar --name " + calendar + " --timezone " + zone.getId();
+        case USE_CALENDAR:
+          return "use calendar --name " + calendar;
+        case PRINT_DAY:
+          return "print events on " + start.toLocalDate();
+        case STATUS:
+          return "show status on " + start;
+        default:
+          String when = allDay
+              ? " on " + start.toLocalDate()
+              : " from " + start + " to " + end;
+          String repeat = pattern == null
+              ? ""
+              : " repeats " + pattern + " for " + occurrences + " times";
+          return "create event \"" + subject + "\"" + when + repeat;
+      }
+    }
+  }
+
+  /**
+   * Pull-based operation source. Calendars are created first; then each calendar's events
+   * are emitted in one run, walking a cursor forward over (day, start slot) cells by a random
+   * gap so that no two operations in a calendar share a start.
+   */
+  private final class OpStream {
+    private final SplittableRandom random = new SplittableRandom(spec.seed);
+    private final Zipf subjects = new Zipf(spec.subjects, spec.subjectSkew);
+    private final long[] quota = quotas();
+    private final int maxGap;
+    private int created;
+    private int calendar = -1;
+    private long remaining;
+    private long cell;
+    private boolean needUse;
+
+    OpStream() {
+      double meanSeries = (2 + spec.maxSeriesLength) / 2.0;
+      double eventsPerOp = 1 + spec.seriesFraction * (meanSeries - 1);
+      double meanGap = SLOTS.length * eventsPerOp / spec.eventsPerDay;
+      maxGap = Math.max(1, (int) Math.round(2 * meanGap) - 1);
+    }
+
+    Op next() {
+      if (created < spec.calendars) {
+        Op op = new Op(Kind.CREATE_CALENDAR, calendarName(created++));
+        op.zone = spec.zones.get(random.nextInt(spec.zones.size()));
+        return op;
+      }
+      while (remaining == 0) {
+        if (++calendar >= spec.calendars) {
+          return null;
+        }
+        remaining = quota[calendar];
+        cell = 0;
+        needUse = true;
+      }
+      if (needUse) {
+        needUse = false;
+        return new Op(Kind.USE_CALENDAR, calendarName(calendar));
+      }
+      if (cell > 0 && random.nextDouble() < spec.queryFraction) {
+        return query();
+      }
+      return event();
+    }
+
+    private Op event() {
+      cell += 1 + random.nextInt(maxGap);
+      LocalDate day = spec.startDate.plusDays(cell / SLOTS.length);
+      Op op = new Op(Kind.EVENT, calendarName(calendar));
+      double r = random.nextDouble();
+      if (r < spec.allDayFraction) {
+        op.allDay = true;
+        op.subject = ALL_DAY_SUBJECTS[random.nextInt(ALL_DAY_SUBJECTS.length)];
+        op.start = day.atTime(WorkingHours.START);
+        op.end = day.atTime(WorkingHours.END);
+      } else {
+        op.subject = subject(subjects.sample(random));
+        op.start = day.atTime(SLOTS[(int) (cell % SLOTS.length)]);
+        LocalDateTime end = op.start.plusMinutes(DURATIONS[random.nextInt(DURATIONS.length)]);
+        LocalDateTime lastMinute = day.atTime(LocalTime.of(23, 59));
+        op.end = end.isAfter(lastMinute) ? lastMinute : end;
+      }
+      long count = 1;
+      if (remaining > 1 && random.nextDouble() < spec.seriesFraction) {
+        op.pattern = PATTERNS[random.nextInt(PATTERNS.length)];
+        count = Math.min(remaining, 2 + random.nextInt(spec.maxSeriesLength - 1));
+        op.occurrences = (int) count;
+      }
+      remaining -= count;
+      return op;
+    }
+
+    private Op query() {
+      long seen = cell / SLOTS.length + 1;
+      LocalDate day = spec.startDate.plusDays(random.nextLong(seen));
+      boolean print = random.nextBoolean();
+      Op op = new Op(print ? Kind.PRINT_DAY : Kind.STATUS, calendarName(calendar));
+      op.start = print ? day.atStartOfDay() : day.atTime(SLOTS[random.nextInt(SLOTS.length)]);
+      return op;
+    }
+
+    private long[] quotas() {
+      Zipf weights = new Zipf(spec.calendars, spec.calendarSkew);
+      long[] q = new long[spec.calendars];
+      long assigned = 0;
+      for (int c = 0; c < q.length; c++) {
+        q[c] = (long) Math.floor(spec.events * weights.probability(c));
+        assigned += q[c];
+      }
+      q[0] += spec.events - assigned;
+      return q;
+    }
+  }
+
+  private static String calendarName(int index) {
+    return String.format("cal%03d", index);
+  }
+
+  /**
+   * Reader over the rendered script that pulls one operation at a time.
+   */
+  private static final class ScriptReader extends Reader {
+    private final OpStream ops;
+    private String line = "";
+    private int pos;
+    private boolean done;
+
+    ScriptReader(OpStream ops) {
+      this.ops = ops;
+    }
+
+    @Override
+    public int read(char[] buf, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      int n = 0;
+      while (n < len) {
+        if (pos == line.length()) {
+          if (done) {
+            break;
+          }
+          Op op = ops.next();
+          if (op == null) {
+            line = "exit\n";
+            done = true;
+          } else {
+            line = op.toCommand() + "\n";
+          }
+          pos = 0;
+        }
+        int k = Math.min(len - n, line.length() - pos);
+        line.getChars(pos, pos + k, buf, off + n);
+        pos += k;
+        n += k;
+      }
+      return n == 0 ? -1 : n;
+    }
+
+    @Override
+    public void close() {
+      done = true;
+      line = "";
+      pos = 0;
+    }
+  }
+
+  /**
+   * Shape and seed of a generated dataset.
+   */
+  public static final class Spec {
+    private final long seed;
+    private final int calendars;
+    private final long events;
+    private final int subjects;
+    private final double subjectSkew;
+    private final double calendarSkew;
+    private final double seriesFraction;
+    private final int maxSeriesLength;
+    private final double allDayFraction;
+    private final double eventsPerDay;
+    private final double queryFraction;
+    private final LocalDate startDate;
+    private final List<ZoneId> zones;
+
+    private Spec(Builder b) {
+      this.seed = b.seed;
+      this.calendars = b.calendars;
+      this.events = b.events;
+      this.subjects = b.subjects;
+      this.subjectSkew = b.subjectSkew;
+      this.calendarSkew = b.calendarSkew;
+      this.seriesFraction = b.seriesFraction;
+      this.maxSeriesLength = b.maxSeriesLength;
+      this.allDayFraction = b.allDayFraction;
+      this.eventsPerDay = b.eventsPerDay;
+      this.queryFraction = b.queryFraction;
+      this.startDate = b.startDate;
+      this.zones = List.copyOf(b.zones);
+    }
+
+    /**
+     * Creates a builder with realistic defaults: 10 calendars, 10,000 events, 500 subjects.
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+      return new Builder();
+    }
+
+    /**
+     * Random seed.
+     *
+     * @return seed
+     */
+    public long getSeed() {
+      return seed;
+    }
+
+    /**
+     * Number of calendars.
+     *
+     * @return calendars
+     */
+    public int getCalendars() {
+      return calendars;
+    }
+
+    /**
+     * Total events across calendars, counting each series occurrence.
+     *
+     * @return events
+     */
+    public long getEvents() {
+      return events;
+    }
+
+    /**
+     * First day events may fall on.
+     *
+     * @return start date
+     */
+    public LocalDate getStartDate() {
+      return startDate;
+    }
+
+    /**
+     * Name of the calendar at the given index.
+     *
+     * @param index zero-based calendar index
+     * @return calendar name
+     */
+    public String calendarName(int index) {
+      return WorkloadGenerator.calendarName(index);
+    }
+
+    /**
+     * Builder for {@link Spec}.
+     */
+    public static final class Builder {
+      private long seed = 42;
+      private int calendars = 10;
+      private long events = 10_000;
+      private int subjects = 500;
+      private double subjectSkew = 1.0;
+      private double calendarSkew = 0.8;
+      private double seriesFraction = 0.3;
+      private int maxSeriesLength = 20;
+      private double allDayFraction = 0.05;
+      private double eventsPerDay = 8;
+      private double queryFraction;
+      private LocalDate startDate = LocalDate.of(2025, 1, 6);
+      private List<ZoneId> zones = List.of(
+          ZoneId.of("America/New_York"), ZoneId.of("America/Los_Angeles"),
+          ZoneId.of("Europe/London"), ZoneId.of("Europe/Berlin"), ZoneId.of("Asia/Kolkata"),
+          ZoneId.of("Asia/Tokyo"), ZoneId.of("Australia/Sydney"), ZoneId.of("UTC"));
+
+      private Builder() {
+      }
+
+      /**
+       * Sets the random seed.
+       *
+       * @param seed seed
+       * @return builder instance
+       */
+      public Builder seed(long seed) {
+        this.seed = seed;
+        return this;
+      }
+
+      /**
+       * Sets the number of calendars.
+       *
+       * @param calendars calendar count
+       * @return builder instance
+       */
+      public Builder calendars(int calendars) {
+        this.calendars = calendars;
+        return this;
+      }
+
+      /**
+       * Sets the total number of events, counting series occurrences individually.
+       *
+       * @param events event count
+       * @return builder instance
+       */
+      public Builder events(long events) {
+        this.events = events;
+        return this;
+      }
+
+      /**
+       * Sets the size of the subject vocabulary.
+       *
+       * @param subjects distinct subjects
+       * @return builder instance
+       */
+      public Builder subjects(int subjects) {
+        this.subjects = subjects;
+        return this;
+      }
+
+      /**
+       * Sets the Zipf exponent of subject popularity.
+       *
+       * @param subjectSkew exponent; 0 is uniform
+       * @return builder instance
+       */
+      public Builder subjectSkew(double subjectSkew) {
+        this.subjectSkew = subjectSkew;
+        return this;
+      }
+
+      /**
+       * Sets the Zipf exponent of how events are spread over calendars.
+       *
+       * @param calendarSkew exponent; 0 is uniform
+       * @return builder instance
+       */
+      public Builder calendarSkew(double calendarSkew) {
+        this.calendarSkew = calendarSkew;
+        return this;
+      }
+
+      /**
+       * Sets the fraction of operations that create a series.
+       *
+       * @param seriesFraction probability in {@code [0, 1]}
+       * @return builder instance
+       */
+      public Builder seriesFraction(double seriesFraction) {
+        this.seriesFraction = seriesFraction;
+        return this;
+      }
+
+      /**
+       * Sets the longest series; lengths are uniform from 2 to this value.
+       *
+       * @param maxSeriesLength maximum occurrences, at least 2
+       * @return builder instance
+       */
+      public Builder maxSeriesLength(int maxSeriesLength) {
+        this.maxSeriesLength = maxSeriesLength;
+        return this;
+      }
+
+      /**
+       * Sets the fraction of operations that create all-day events.
+       *
+       * @param allDayFraction probability in {@code [0, 1]}
+       * @return builder instance
+       */
+      public Builder allDayFraction(double allDayFraction) {
+        this.allDayFraction = allDayFraction;
+        return this;
+      }
+
+      /**
+       * Sets the average number of events per day in each calendar.
+       *
+       * @param eventsPerDay density
+       * @return builder instance
+       */
+      public Builder eventsPerDay(double eventsPerDay) {
+        this.eventsPerDay = eventsPerDay;
+        return this;
+      }
+
+      /**
+       * Sets the fraction of script lines that are read queries rather than writes.
+       *
+       * @param queryFraction probability in {@code [0, 1)}
+       * @return builder instance
+       */
+      public Builder queryFraction(double queryFraction) {
+        this.queryFraction = queryFraction;
+        return this;
+      }
+
+      /**
+       * Sets the first day events may fall on.
+       *
+       * @param startDate start date
+       * @return builder instance
+       */
+      public Builder startDate(LocalDate startDate) {
+        this.startDate = startDate;
+        return this;
+      }
+
+      /**
+       * Sets the zones calendars are drawn from.
+       *
+       * @param zones candidate zones
+       * @return builder instance
+       */
+      public Builder zones(List<ZoneId> zones) {
+        this.zones = zones;
+        return this;
+      }
+
+      /**
+       * Validates and builds the spec.
+       *
+       * @return spec
+       * @throws IllegalArgumentException if a value is out of range
+       */
+      public Spec build() {
+        if (calendars <= 0 || events < 0 || subjects <= 0) {
+          throw new IllegalArgumentException(
+              "Calendars and subjects must be positive and events non-negative");
+        }
+        if (maxSeriesLength < 2 || eventsPerDay <= 0) {
+          throw new IllegalArgumentException(
+              "Series length must be at least 2 and density positive");
+        }
+        if (!isFraction(seriesFraction) || !isFraction(allDayFraction)
+            || !isFraction(queryFraction) || queryFraction >= 1) {
+          throw new IllegalArgumentException("Fractions must be within [0, 1)");
+        }
+        if (zones == null || zones.isEmpty() || startDate == null) {
+          throw new IllegalArgumentException("Zones and start date are required");
+        }
+        return new Spec(this);
+      }
+
+      private static boolean isFraction(double v) {
+        return v >= 0 && v <= 1;
+      }
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package calendar.workload;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf distribution over ranks {@code 0..n-1}: rank {@code k} is drawn with probability
+ * proportional to {@code 1 / (k + 1)^exponent}. The cumulative table is built once, so
+ * each draw is a binary search.
+ */
+final class Zipf {
+
+  private final double[] cdf;
+
+  /**
+   * Builds the distribution.
+   *
+   * @param n        number of ranks
+   * @param exponent skew; 0 is uniform, around 1 matches natural-language frequencies
+   * @throws IllegalArgumentException if {@code n} is not positive or the exponent is negative
+   */
+  Zipf(int n, double exponent) {
+    if (n <= 0) {
+      throw new IllegalArgumentException("Zipf needs at least one rank");
+    }
+    if (exponent < 0) {
+      throw new IllegalArgumentException("Zipf exponent cannot be negative");
+    }
+    cdf = new double[n];
+    double sum = 0;
+    for (int k = 0; k < n; k++) {
+      sum += 1.0 / Math.pow(k + 1, exponent);
+      cdf[k] = sum;
+    }
+    for (int k = 0; k < n; k++) {
+      cdf[k] /= sum;
+    }
+  }
+
+  /**
+   * Probability of rank {@code k}.
+   *
+   * @param k rank
+   * @return probability
+   */
+  double probability(int k) {
+    return k == 0 ? cdf[0] : cdf[k] - cdf[k - 1];
+  }
+
+  /**
+   * Draws a rank.
+   *
+   * @param random source of randomness
+   * @return rank in {@code [0, n)}
+   */
+  int sample(SplittableRandom random) {
+    int i = Arrays.binarySearch(cdf, random.nextDouble());
+    int k = i >= 0 ? i : -i - 1;
+    return Math.min(k, cdf.length - 1);
+  }
+}
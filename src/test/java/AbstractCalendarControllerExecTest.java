@@ -18,9 +18,11 @@ import java.io.PrintStream;
 import java.io.StringReader;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.EnumSet;
 import java.util.List;
 import org.junit.Test;
 
@@ -441,6 +443,43 @@ public class AbstractCalendarControllerExecTest {
     assertTrue(buf.toString().contains("Copied 2 event(s) to target"));
   }
 
+  /**
+   * Test handleCopyBetween keeps series ids by default and gives copied series one fresh id
+   * with --new-series-ids.
+   */
+  @Test
+  public void testHandleCopyBetween_seriesIds() throws Exception {
+    CalendarBook book = new CalendarBookImpl();
+    Calendar source = book.createCalendar("source", ZoneId.of("America/New_York"));
+    source.createEventSeries("Standup",
+        LocalDateTime.of(2025, 11, 10, 9, 0),
+        LocalDateTime.of(2025, 11, 10, 9, 15),
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY), 2);
+    final String sourceId = source.getAllEvents().get(0).getSeriesId().get();
+    final Calendar shared = book.createCalendar("shared", ZoneId.of("America/New_York"));
+    final Calendar fresh = book.createCalendar("fresh", ZoneId.of("America/New_York"));
+
+    ExposedController controller = new ExposedController(book,
+        new TextCalendarView(new PrintStream(new ByteArrayOutputStream())),
+        new StringReader(""));
+    CommandParser parser = new CommandParser();
+    controller.runCommand(parser.parse("use calendar --name source"));
+    controller.runCommand(parser.parse(
+        "copy events between 2025-11-10 and 2025-11-11 --target shared to 2025-11-17"));
+    controller.runCommand(parser.parse(
+        "copy events between 2025-11-10 and 2025-11-11 --target fresh to 2025-11-17"
+            + " --new-series-ids"));
+
+    for (Event e : shared.getAllEvents()) {
+      assertEquals(sourceId, e.getSeriesId().get());
+    }
+    List<Event> copies = fresh.getAllEvents();
+    assertEquals(2, copies.size());
+    String freshId = copies.get(0).getSeriesId().get();
+    assertFalse(freshId.equals(sourceId));
+    assertEquals(freshId, copies.get(1).getSeriesId().get());
+  }
+
   /**
    * Test handleCopyOnDate copies all events from one day to another.
    */
@@ -6,7 +6,9 @@ import static org.junit.Assert.assertTrue;
 import calendar.Calendar;
 import calendar.CalendarBook;
 import calendar.CalendarBookImpl;
+import calendar.CopyResult;
 import calendar.Event;
+import calendar.SeriesCopyMode;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -491,4 +493,112 @@ public class CalendarBookImplTest {
 
     assertEquals(0, target.getAllEvents().size());
   }
+
+  /**
+   * Bulk copy skips exact duplicates and same-day subjects, counting both.
+   */
+  @Test
+  public void testCopyEventsBulk_skipsDuplicatesAndSameDaySubjects() {
+    Calendar source = book.createCalendar("source", ZoneId.of("America/New_York"));
+    source.createEvent("Exact",
+        LocalDateTime.of(2025, 11, 10, 9, 0), LocalDateTime.of(2025, 11, 10, 10, 0));
+    source.createEvent("SameDay",
+        LocalDateTime.of(2025, 11, 10, 11, 0), LocalDateTime.of(2025, 11, 10, 12, 0));
+    source.createEvent("Fresh",
+        LocalDateTime.of(2025, 11, 11, 11, 0), LocalDateTime.of(2025, 11, 11, 12, 0));
+    Calendar target = book.createCalendar("target", ZoneId.of("America/New_York"));
+    target.createEvent("Exact",
+        LocalDateTime.of(2025, 11, 20, 9, 0), LocalDateTime.of(2025, 11, 20, 10, 0));
+    target.createEvent("SameDay",
+        LocalDateTime.of(2025, 11, 20, 15, 0), LocalDateTime.of(2025, 11, 20, 16, 0));
+
+    CopyResult result = book.copyEventsBulk("source", "target",
+        LocalDate.of(2025, 11, 10), LocalDate.of(2025, 11, 11), LocalDate.of(2025, 11, 20),
+        true);
+
+    assertEquals(1, result.getCopied());
+    assertEquals(2, result.getSkipped());
+    assertEquals(1, target.findEvents("Fresh", LocalDateTime.of(2025, 11, 21, 11, 0)).size());
+    assertEquals(3, target.getAllEvents().size());
+  }
+
+  /**
+   * Without the same-day rule only exact duplicates are skipped, and series ids survive.
+   */
+  @Test
+  public void testCopyEventsBulk_exactOnly_keepsSeries() {
+    Calendar source = book.createCalendar("source", ZoneId.of("America/New_York"));
+    Calendar target = book.createCalendar("target", ZoneId.of("Europe/London"));
+    final List<Event> series = source.createEventSeries("Class",
+        LocalDateTime.of(2025, 11, 10, 9, 0), LocalDateTime.of(2025, 11, 10, 10, 0),
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), 4);
+    target.createEvent("Class",
+        LocalDateTime.of(2025, 11, 20, 8, 0), LocalDateTime.of(2025, 11, 20, 9, 0));
+
+    CopyResult result = book.copyEventsBulk("source", "target",
+        LocalDate.of(2025, 11, 10), LocalDate.of(2025, 11, 19), LocalDate.of(2025, 11, 20),
+        false);
+
+    assertEquals(4, result.getCopied());
+    assertEquals(0, result.getSkipped());
+    assertTrue(result.eventsPerSecond() > 0);
+    List<Event> copied = target.findEvents("Class", LocalDateTime.of(2025, 11, 20, 14, 0));
+    assertEquals(1, copied.size());
+    assertEquals(series.get(0).getSeriesId(), copied.get(0).getSeriesId());
+  }
+
+  /**
+   * A second bulk copy of the same range adds nothing.
+   */
+  @Test
+  public void testCopyEventsBulk_repeatedCopy_isIdempotent() {
+    Calendar source = book.createCalendar("source", ZoneId.of("America/New_York"));
+    book.createCalendar("target", ZoneId.of("America/New_York"));
+    source.createEvent("Standup",
+        LocalDateTime.of(2025, 11, 10, 9, 0), LocalDateTime.of(2025, 11, 10, 9, 15));
+
+    book.copyEventsBulk("source", "target",
+        LocalDate.of(2025, 11, 10), LocalDate.of(2025, 11, 10), LocalDate.of(2025, 11, 20),
+        false);
+    CopyResult again = book.copyEventsBulk("source", "target",
+        LocalDate.of(2025, 11, 10), LocalDate.of(2025, 11, 10), LocalDate.of(2025, 11, 20),
+        false);
+
+    assertEquals(0, again.getCopied());
+    assertEquals(1, again.getSkipped());
+    assertEquals(1, book.getCalendar("target").getAllEvents().size());
+    assertFalse(again.toString().isEmpty());
+  }
+
+  /**
+   * Copying with fresh series ids gives each source series one new id in the target, so
+   * series edits there leave the source alone.
+   */
+  @Test
+  public void testCopyEventsBetween_newSeriesIds() {
+    Calendar source = book.createCalendar("source", ZoneId.of("America/New_York"));
+    Calendar target = book.createCalendar("target", ZoneId.of("America/New_York"));
+    final List<Event> series = source.createEventSeries("Lab",
+        LocalDateTime.of(2025, 11, 10, 9, 0), LocalDateTime.of(2025, 11, 10, 10, 0),
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), 4);
+    source.createEvent("Solo",
+        LocalDateTime.of(2025, 11, 11, 9, 0), LocalDateTime.of(2025, 11, 11, 10, 0));
+
+    book.copyEventsBetween("source", "target", LocalDate.of(2025, 11, 10),
+        LocalDate.of(2025, 11, 20), LocalDate.of(2025, 12, 1), SeriesCopyMode.NEW_ID);
+
+    List<Event> copies = target.getAllEvents();
+    assertEquals(5, copies.size());
+    String fresh = target.findEvents("Lab", LocalDateTime.of(2025, 12, 1, 9, 0))
+        .get(0).getSeriesId().get();
+    assertFalse(fresh.equals(series.get(0).getSeriesId().get()));
+    for (Event e : copies) {
+      assertEquals(e.getSubject().equals("Lab"), fresh.equals(e.getSeriesId().orElse(null)));
+    }
+
+    target.editSeries("Lab", LocalDateTime.of(2025, 12, 1, 9, 0), "location", "Room 2");
+    for (Event e : source.getAllEvents()) {
+      assertFalse(e.getLocation().isPresent());
+    }
+  }
 }
\ No newline at end of file
@@ -0,0 +1,192 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.controller.http.CalendarHttpServer;
+import calendar.view.TextCalendarView;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the HTTP/JSON server controller.
+ */
+public class CalendarHttpServerTest {
+
+  private CalendarBook book;
+  private CalendarHttpServer server;
+  private HttpClient client;
+  private String base;
+
+  /**
+   * Starts a server on an ephemeral loopback port.
+   */
+  @Before
+  public void setUp() {
+    book = new CalendarBookImpl();
+    book.createCalendar("work", ZoneId.of("America/New_York"));
+    server = new CalendarHttpServer(book,
+        new TextCalendarView(new PrintStream(new ByteArrayOutputStream())), 0);
+    server.start();
+    client = HttpClient.newHttpClient();
+    base = "http://127.0.0.1:" + server.getPort();
+  }
+
+  /**
+   * Stops the server.
+   */
+  @After
+  public void tearDown() {
+    server.stop();
+  }
+
+  private HttpResponse<String> send(String method, String path, String body) throws Exception {
+    HttpRequest.BodyPublisher pub = body == null
+        ? HttpRequest.BodyPublishers.noBody()
+        : HttpRequest.BodyPublishers.ofString(body);
+    HttpRequest req = HttpRequest.newBuilder(URI.create(base + path))
+        .method(method, pub)
+        .build();
+    return client.send(req, HttpResponse.BodyHandlers.ofString());
+  }
+
+  /**
+   * Test listing calendars returns names and zones.
+   */
+  @Test
+  public void testListCalendars() throws Exception {
+    HttpResponse<String> r = send("GET", "/calendars", null);
+    assertEquals(200, r.statusCode());
+    assertTrue(r.body().contains("\"name\":\"work\""));
+    assertTrue(r.body().contains("\"timezone\":\"America/New_York\""));
+  }
+
+  /**
+   * Test creating a calendar and an event, then querying them back.
+   */
+  @Test
+  public void testCreateAndQueryEvents() throws Exception {
+    HttpResponse<String> created = send("POST", "/calendars",
+        "{\"name\":\"home\",\"timezone\":\"Europe/London\"}");
+    assertEquals(201, created.statusCode());
+    assertTrue(book.hasCalendar("home"));
+
+    HttpResponse<String> ev = send("POST", "/calendars/home/events",
+        "{\"subject\":\"Dentist\",\"start\":\"2025-11-03T09:00\",\"end\":\"2025-11-03T10:00\"}");
+    assertEquals(201, ev.statusCode());
+
+    HttpResponse<String> on = send("GET", "/calendars/home/events?on=2025-11-03", null);
+    assertEquals(200, on.statusCode());
+    assertTrue(on.body().contains("\"count\":1"));
+    assertTrue(on.body().contains("\"subject\":\"Dentist\""));
+
+    HttpResponse<String> busy = send("GET", "/calendars/home/status?at=2025-11-03T09:30", null);
+    assertEquals("{\"busy\":true}", busy.body());
+
+    HttpResponse<String> days = send("GET",
+        "/calendars/home/days?from=2025-11-01&to=2025-11-30", null);
+    assertTrue(days.body().contains("\"date\":\"2025-11-03\",\"events\":1,\"busyMinutes\":60"));
+  }
+
+  /**
+   * Test creating a series and editing it through the API.
+   */
+  @Test
+  public void testCreateSeriesAndEdit() throws Exception {
+    HttpResponse<String> r = send("POST", "/calendars/work/events",
+        "{\"subject\":\"Standup\",\"start\":\"2025-11-03T09:00\",\"end\":\"2025-11-03T09:15\","
+            + "\"weekdays\":[\"MONDAY\",\"WEDNESDAY\"],\"occurrences\":4}");
+    assertEquals(201, r.statusCode());
+    assertEquals(4, book.getCalendar("work").getAllEvents().size());
+
+    HttpResponse<String> edit = send("PUT", "/calendars/work/events",
+        "{\"subject\":\"Standup\",\"start\":\"2025-11-03T09:00\",\"property\":\"location\","
+            + "\"value\":\"Room 1\",\"scope\":\"series\"}");
+    assertEquals(200, edit.statusCode());
+    assertEquals("Room 1", book.getCalendar("work")
+        .findEvents("Standup", LocalDateTime.of(2025, 11, 5, 9, 0)).get(0)
+        .getLocation().get());
+  }
+
+  /**
+   * Test error responses for unknown calendars, bad input and bad methods.
+   */
+  @Test
+  public void testErrors() throws Exception {
+    assertEquals(404, send("GET", "/calendars/nope/events", null).statusCode());
+    assertEquals(404, send("GET", "/other", null).statusCode());
+    assertEquals(405, send("DELETE", "/calendars", null).statusCode());
+
+    HttpResponse<String> bad = send("POST", "/calendars/work/events", "{\"subject\":\"X\"}");
+    assertEquals(400, bad.statusCode());
+    assertTrue(bad.body().contains("Missing field 'start'"));
+
+    HttpResponse<String> malformed = send("POST", "/calendars", "{\"name\":");
+    assertEquals(400, malformed.statusCode());
+
+    assertEquals(404, send("PUT", "/calendars/nope", "{\"name\":\"x\"}").statusCode());
+    assertEquals(404, send("POST", "/calendars/nope/copy",
+        "{\"target\":\"work\",\"on\":\"2025-11-04\",\"targetDate\":\"2025-11-10\"}")
+        .statusCode());
+    HttpResponse<String> huge = send("POST", "/calendars/work/events",
+        "{\"subject\":\"X\",\"start\":\"2025-11-04T09:00\",\"end\":\"2025-11-04T10:00\","
+            + "\"weekdays\":[\"monday\"],\"occurrences\":4294967296}");
+    assertEquals(400, huge.statusCode());
+    assertTrue(huge.body().contains("out of range"));
+  }
+
+  /**
+   * Test renaming and copying between calendars.
+   */
+  @Test
+  public void testRenameAndCopy() throws Exception {
+    book.createCalendar("other", ZoneId.of("America/New_York"));
+    send("POST", "/calendars/work/events",
+        "{\"subject\":\"Review\",\"date\":\"2025-11-04\"}");
+
+    HttpResponse<String> copy = send("POST", "/calendars/work/copy",
+        "{\"target\":\"other\",\"on\":\"2025-11-04\",\"targetDate\":\"2025-11-10\"}");
+    assertEquals(200, copy.statusCode());
+    assertEquals(1, book.getCalendar("other").getAllEvents().size());
+    assertEquals(400, send("POST", "/calendars/work/copy",
+        "{\"target\":\"other\",\"from\":\"2025-11-04\",\"to\":\"2025-11-04\","
+            + "\"targetDate\":\"2025-11-11\",\"seriesIds\":\"bogus\"}").statusCode());
+    assertEquals(200, send("POST", "/calendars/work/copy",
+        "{\"target\":\"other\",\"from\":\"2025-11-04\",\"to\":\"2025-11-04\","
+            + "\"targetDate\":\"2025-11-11\",\"seriesIds\":\"new\"}").statusCode());
+    assertEquals(2, book.getCalendar("other").getAllEvents().size());
+
+    HttpResponse<String> rename = send("PUT", "/calendars/other",
+        "{\"name\":\"archive\"}");
+    assertEquals(200, rename.statusCode());
+    assertTrue(book.hasCalendar("archive"));
+  }
+
+  /**
+   * Test setting and clearing a retention policy, and rejecting a bad period.
+   */
+  @Test
+  public void testRetention() throws Exception {
+    HttpResponse<String> set = send("PUT", "/calendars/work/retention", "{\"keep\":\"P30D\"}");
+    assertEquals(200, set.statusCode());
+    assertTrue(set.body().contains("\"keep\":\"P30D\""));
+    assertTrue(set.body().contains("\"archived\":0"));
+
+    HttpResponse<String> cleared = send("PUT", "/calendars/work/retention", "{\"keep\":null}");
+    assertEquals(200, cleared.statusCode());
+    assertTrue(cleared.body().contains("\"keep\":null"));
+
+    assertEquals(400, send("PUT", "/calendars/work/retention", "{\"keep\":\"soon\"}")
+        .statusCode());
+    assertEquals(400, send("PUT", "/calendars/work/retention", "{}").statusCode());
+  }
+}
@@ -55,6 +55,16 @@ public class CalendarQueryTest {
     assertEquals(2, inRange.size());
   }
 
+  /**
+   * Counting a range agrees with listing it.
+   */
+  @Test
+  public void testCountEventsInRange() {
+    assertEquals(2, calendar.countEventsInRange(
+        LocalDateTime.of(2025, 11, 3, 8, 0),
+        LocalDateTime.of(2025, 11, 3, 16, 0)));
+  }
+
   /**
    * Checks busy logic at boundaries.
    */
@@ -0,0 +1,177 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.CalendarImpl;
+import calendar.Event;
+import calendar.EventDelta;
+import calendar.ResidencyStats;
+import calendar.controller.CalendarController;
+import calendar.controller.HeadlessController;
+import calendar.view.TextCalendarView;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for spilling idle calendars to disk and paging them back in.
+ */
+public class CalendarResidencyTest {
+
+  private static final List<String> RELEASED = List.of("events", "seriesIndex", "timeIndex",
+      "searchIndex", "daySummaries", "strings", "queryCache");
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  private static LocalDateTime at(int day, int hour) {
+    return LocalDateTime.of(2025, 6, day, hour, 0);
+  }
+
+  /**
+   * Trimming spills the least recently used calendar, which reads itself back in through
+   * any reference with its events, series and search intact.
+   */
+  @Test
+  public void testSpillAndPageIn() {
+    CalendarBook book = new CalendarBookImpl(tmp.getRoot().toPath(), 8 * 1024);
+    Calendar idle = book.createCalendar("idle", ZoneId.of("UTC"));
+    idle.createEventSeries("Standup", at(2, 9), at(2, 10), EnumSet.allOf(DayOfWeek.class), 20);
+    idle.editEvent("Standup", at(3, 9), "location", "Room 4");
+    final List<Event> before = idle.getAllEvents();
+    Calendar busy = book.createCalendar("busy", ZoneId.of("UTC"));
+    busy.createEvent("Focus", at(2, 13), at(2, 15));
+
+    assertEquals(1, book.trimResidency());
+    ResidencyStats stats = book.getResidencyStats();
+    assertEquals(1, stats.getSpills());
+    assertEquals(1, stats.getResidentCalendars());
+    assertEquals(1, stats.getSpilledCalendars());
+    assertEquals(2048 + 512, stats.getResidentBytes());
+
+    assertEquals(before, idle.getAllEvents());
+    assertEquals("Room 4", idle.getEventsOnDate(LocalDate.of(2025, 6, 3)).get(0)
+        .getLocation().get());
+    assertEquals(20, idle.searchEvents("standup", 0).size());
+    idle.editSeries("Standup", at(10, 9), "subject", "Daily");
+    assertEquals(20, idle.searchEvents("daily", 0).size());
+    assertEquals(1, book.getResidencyStats().getMisses());
+    assertEquals(0, book.getResidencyStats().getSpilledCalendars());
+  }
+
+  /**
+   * The calendar used last stays in memory even alone over budget, and deltas across a
+   * spill still list only what changed, tombstones included.
+   */
+  @Test
+  public void testNewestStaysAndDeltasSurvive() {
+    CalendarBook book = new CalendarBookImpl(tmp.getRoot().toPath(), 0);
+    Calendar a = book.createCalendar("a", ZoneId.of("UTC"));
+    a.createEvent("One", at(2, 9), at(2, 10));
+    a.createEvent("Gone", at(4, 9), at(4, 10));
+    final long seen = a.getChangeSequence();
+    a.createEvent("Two", at(3, 9), at(3, 10));
+    a.deleteEvent("Gone", at(4, 9));
+
+    assertEquals(0, book.trimResidency());
+    book.createCalendar("b", ZoneId.of("UTC"));
+    assertEquals(1, book.trimResidency());
+    assertEquals(0, book.trimResidency());
+
+    EventDelta delta = a.getChangesSince(seen);
+    assertFalse(delta.isFull());
+    assertEquals(List.of("Two"), subjects(delta.getChanged()));
+    assertEquals(List.of("Gone"), subjects(delta.getRemoved()));
+    a.createEvent("Three", at(5, 9), at(5, 10));
+    assertEquals(List.of("Two", "Three"), subjects(a.getChangesSince(seen).getChanged()));
+
+    book.getCalendar("b");
+    assertEquals(1, book.trimResidency());
+    book.renameCalendar("a", "c");
+    assertTrue(a.getChangesSince(seen).isFull());
+    a.setZoneId(ZoneId.of("Asia/Tokyo"));
+    assertEquals(at(2, 18), a.getAllEvents().get(0).getStartDateTime());
+  }
+
+  /**
+   * Switching calendars in a script pages them in and out, empty ones included since each
+   * resident calendar costs its indexes, and the counters record it.
+   */
+  @Test
+  public void testCommandsAcrossSpilledCalendars() {
+    CalendarBook book = new CalendarBookImpl(tmp.getRoot().toPath(), 0);
+    String script = "create calendar --name a --timezone UTC\n"
+        + "create calendar --name b --timezone UTC\n"
+        + "use calendar --name a\n"
+        + "create event Alpha from 2025-06-02T09:00 to 2025-06-02T10:00\n"
+        + "use calendar --name b\n"
+        + "create event Beta from 2025-06-02T09:00 to 2025-06-02T10:00\n"
+        + "use calendar --name a\n"
+        + "print events on 2025-06-02\n"
+        + "exit\n";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CalendarController c = new HeadlessController(book,
+        new TextCalendarView(new PrintStream(out)), new StringReader(script));
+    c.run();
+
+    assertTrue(out.toString().contains("Alpha"));
+    ResidencyStats stats = book.getResidencyStats();
+    assertTrue(stats.getSpills() >= 2);
+    assertEquals(3, stats.getMisses());
+    assertEquals(List.of("Beta"), book.getCalendar("b").getAllEvents().stream()
+        .map(Event::getSubject).collect(Collectors.toList()));
+    assertTrue(stats.toString().startsWith("residency: hits="));
+  }
+
+  /**
+   * A spilled calendar releases its events, indexes, interner and query cache rather than
+   * holding empty ones, and keeps its cache counters across the spill.
+   */
+  @Test
+  public void testSpillReleasesStructures() throws ReflectiveOperationException {
+    CalendarBook book = new CalendarBookImpl(tmp.getRoot().toPath(), 0);
+    Calendar a = book.createCalendar("a", ZoneId.of("UTC"));
+    a.createEvent("One", at(2, 9), at(2, 10));
+    a.getEventsOnDate(LocalDate.of(2025, 6, 2));
+    a.getEventsOnDate(LocalDate.of(2025, 6, 2));
+    book.createCalendar("b", ZoneId.of("UTC"));
+    assertEquals(1, book.trimResidency());
+
+    for (String field : RELEASED) {
+      assertNull(field, held(a, field));
+    }
+    assertEquals(1, a.getQueryCacheStats().getHits());
+    assertEquals(0, a.getQueryCacheStats().getEntries());
+    assertEquals(1, a.getEventsOnDate(LocalDate.of(2025, 6, 2)).size());
+    for (String field : RELEASED) {
+      assertNotNull(field, held(a, field));
+    }
+    assertEquals(2, a.getQueryCacheStats().getMisses());
+  }
+
+  private static Object held(Calendar cal, String field) throws ReflectiveOperationException {
+    Field f = CalendarImpl.class.getDeclaredField(field);
+    f.setAccessible(true);
+    return f.get(cal);
+  }
+
+  private static List<String> subjects(List<Event> events) {
+    return events.stream().map(Event::getSubject).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,141 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarImpl;
+import calendar.Event;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * Tests for instant-based event storage across calendar time zone changes.
+ */
+public class CalendarZoneTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+
+  /**
+   * Stored events and all lookups follow the calendar into its new zone, while events
+   * already handed out keep the times they were read with.
+   */
+  @Test
+  public void testEventsAndQueriesFollowZone() {
+    Calendar cal = new CalendarImpl("c", NEW_YORK);
+    LocalDateTime nine = LocalDateTime.of(2025, 11, 10, 9, 0);
+    Event held = cal.createEvent("Review", nine, nine.plusHours(1));
+    cal.createEventSeries("Standup", nine.plusHours(2), nine.plusHours(3),
+        EnumSet.of(DayOfWeek.MONDAY), 3);
+    final int hash = held.hashCode();
+
+    cal.setZoneId(TOKYO);
+
+    LocalDateTime tokyo = LocalDateTime.of(2025, 11, 10, 23, 0);
+    assertEquals(nine, held.getStartDateTime());
+    assertEquals(hash, held.hashCode());
+    assertEquals(1, cal.findEvents("Review", tokyo).size());
+    assertEquals(tokyo, cal.findEvents("Review", tokyo).get(0).getStartDateTime());
+    assertTrue(cal.isBusyAt(tokyo.plusMinutes(30)));
+    assertEquals(2, cal.getEventsOnDate(LocalDate.of(2025, 11, 11)).size());
+
+    cal.editSeries("Standup", LocalDateTime.of(2025, 11, 11, 1, 0), "location", "Room 7");
+    for (Event e : cal.getAllEvents()) {
+      if (e.isSeriesPart()) {
+        assertEquals("Room 7", e.getLocation().get());
+      }
+    }
+  }
+
+  /**
+   * Lists and deltas read before a zone change, cached ones included, keep their times and
+   * hashes; the same lookups afterwards present the new zone.
+   */
+  @Test
+  public void testHandedOutEventsAreSnapshots() {
+    Calendar cal = new CalendarImpl("c", NEW_YORK);
+    LocalDateTime nine = LocalDateTime.of(2025, 11, 10, 9, 0);
+    final long seen = cal.getChangeSequence();
+    cal.createEvent("Review", nine, nine.plusHours(1));
+    final List<Event> all = cal.getAllEvents();
+    final List<Event> day = cal.getEventsOnDate(nine.toLocalDate());
+    final List<Event> changed = cal.getChangesSince(seen).getChanged();
+    final Set<Event> set = new HashSet<>(all);
+
+    cal.setZoneId(TOKYO);
+
+    for (List<Event> held : List.of(all, day, changed)) {
+      assertEquals(nine, held.get(0).getStartDateTime());
+      assertTrue(set.contains(held.get(0)));
+    }
+    LocalDateTime tokyo = LocalDateTime.of(2025, 11, 10, 23, 0);
+    assertEquals(tokyo, cal.getAllEvents().get(0).getStartDateTime());
+    assertEquals(tokyo, cal.getEventsOnDate(nine.toLocalDate()).get(0).getStartDateTime());
+  }
+
+  /**
+   * Moving through a zone with a repeated hour and back keeps the exact instants.
+   */
+  @Test
+  public void testRoundTripThroughRepeatedHour() {
+    Calendar cal = new CalendarImpl("c", ZoneId.of("UTC"));
+    LocalDateTime secondOneThirty = LocalDateTime.of(2025, 11, 2, 6, 30);
+    cal.createEvent("Late", secondOneThirty, secondOneThirty.plusMinutes(20));
+
+    cal.setZoneId(NEW_YORK);
+    assertEquals(LocalDateTime.of(2025, 11, 2, 1, 30),
+        cal.getAllEvents().get(0).getStartDateTime());
+    cal.setZoneId(ZoneId.of("UTC"));
+
+    List<Event> all = cal.getAllEvents();
+    assertEquals(secondOneThirty, all.get(0).getStartDateTime());
+    assertEquals(secondOneThirty.plusMinutes(20), all.get(0).getEndDateTime());
+  }
+
+  /**
+   * Wall-clock times inside a spring-forward gap resolve like {@code atZone}, and the end
+   * moves with the start so the event keeps its entered length.
+   */
+  @Test
+  public void testGapTimesResolveForward() {
+    Calendar cal = new CalendarImpl("c", NEW_YORK);
+    Event e = cal.createEvent("Gap", LocalDateTime.of(2025, 3, 9, 2, 30),
+        LocalDateTime.of(2025, 3, 9, 4, 0));
+    assertEquals(LocalDateTime.of(2025, 3, 9, 3, 30), e.getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 3, 9, 5, 0), e.getEndDateTime());
+  }
+
+  /**
+   * An event starting in a spring-forward gap and ending just after it keeps its length
+   * rather than collapsing to zero.
+   */
+  @Test
+  public void testStartInGapEndingAfterGap() {
+    Calendar cal = new CalendarImpl("c", NEW_YORK);
+    LocalDateTime inGap = LocalDateTime.of(2025, 3, 9, 2, 30);
+    Event e = cal.createEvent("Gap", inGap, LocalDateTime.of(2025, 3, 9, 3, 0));
+
+    assertEquals(LocalDateTime.of(2025, 3, 9, 3, 30), e.getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 3, 9, 4, 0), e.getEndDateTime());
+    assertEquals(1, cal.getEventsOnDate(LocalDate.of(2025, 3, 9)).size());
+  }
+
+  /**
+   * An event spanning a spring-forward gap from outside it keeps its instants, so it is an
+   * hour shorter in real time than its wall-clock times suggest.
+   */
+  @Test
+  public void testEventAcrossGapKeepsItsTimes() {
+    Calendar cal = new CalendarImpl("c", NEW_YORK);
+    Event e = cal.createEvent("Night", LocalDateTime.of(2025, 3, 9, 1, 0),
+        LocalDateTime.of(2025, 3, 9, 4, 0));
+    assertEquals(LocalDateTime.of(2025, 3, 9, 1, 0), e.getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 3, 9, 4, 0), e.getEndDateTime());
+  }
+}
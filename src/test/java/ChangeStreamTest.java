@@ -0,0 +1,159 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.CalendarImpl;
+import calendar.ChangeEvent;
+import calendar.ChangeStream;
+import calendar.ChangeType;
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Tests for the model change stream.
+ */
+public class ChangeStreamTest {
+
+  private static LocalDateTime at(int day, int hour) {
+    return LocalDateTime.of(2025, 6, day, hour, 0);
+  }
+
+  /**
+   * A calendar publishes creations and edits in the order they happened.
+   */
+  @Test
+  public void testCalendarChangesInOrder() throws InterruptedException {
+    Calendar cal = new CalendarImpl();
+    cal.createEvent("Before", at(1, 9), at(1, 10));
+    try (ChangeStream.Subscription sub = cal.changes().subscribe()) {
+      cal.createEvent("Standup", at(2, 9), at(2, 10));
+      cal.editEvent("Standup", at(2, 9), "location", "Room 1");
+
+      ChangeEvent created = sub.poll(1, TimeUnit.SECONDS);
+      assertEquals(ChangeType.CREATED, created.getType());
+      assertEquals("Standup", created.getAfter().get().getSubject());
+      assertFalse(created.getBefore().isPresent());
+
+      ChangeEvent replaced = sub.poll(1, TimeUnit.SECONDS);
+      assertEquals(ChangeType.REPLACED, replaced.getType());
+      assertFalse(replaced.getBefore().get().getLocation().isPresent());
+      assertEquals("Room 1", replaced.getAfter().get().getLocation().get());
+      assertNull(sub.poll());
+      assertEquals(0, sub.lag());
+    }
+    assertFalse(cal.changes().hasSubscribers());
+  }
+
+  /**
+   * The book stream sees changes of every calendar, including renames and zone changes.
+   */
+  @Test
+  public void testBookStreamCoversCalendars() throws InterruptedException {
+    CalendarBook book = new CalendarBookImpl();
+    try (ChangeStream.Subscription sub = book.changes().subscribe()) {
+      Calendar cal = book.createCalendar("work", ZoneId.of("UTC"));
+      cal.createEvent("Review", at(3, 14), at(3, 15));
+      book.changeTimezone("work", ZoneId.of("Europe/Paris"));
+      book.renameCalendar("work", "office");
+
+      ChangeEvent created = sub.poll(1, TimeUnit.SECONDS);
+      assertEquals(ChangeType.CREATED, created.getType());
+      assertEquals("work", created.getCalendarName());
+
+      ChangeEvent zone = sub.poll(1, TimeUnit.SECONDS);
+      assertEquals(ChangeType.ZONE_CHANGED, zone.getType());
+      assertEquals("UTC", zone.getOldValue().get());
+      assertEquals("Europe/Paris", zone.getNewValue().get());
+
+      ChangeEvent renamed = sub.poll(1, TimeUnit.SECONDS);
+      assertEquals(ChangeType.RENAMED, renamed.getType());
+      assertEquals("work", renamed.getOldValue().get());
+      assertEquals("office", renamed.getCalendarName());
+      assertNull(sub.poll());
+    }
+  }
+
+  /**
+   * A change polled after the calendar's zone changed still carries the times it was made
+   * with.
+   */
+  @Test
+  public void testRecordsSurviveZoneChange() throws InterruptedException {
+    Calendar cal = new CalendarImpl("work", ZoneId.of("America/New_York"));
+    try (ChangeStream.Subscription sub = cal.changes().subscribe()) {
+      cal.createEvent("Standup", at(2, 9), at(2, 10));
+      cal.editEvent("Standup", at(2, 9), "location", "Room 1");
+      cal.setZoneId(ZoneId.of("Europe/London"));
+
+      ChangeEvent created = sub.poll(1, TimeUnit.SECONDS);
+      assertEquals(at(2, 9), created.getAfter().get().getStartDateTime());
+      assertEquals(at(2, 10), created.getAfter().get().getEndDateTime());
+      ChangeEvent replaced = sub.poll(1, TimeUnit.SECONDS);
+      assertEquals(at(2, 9), replaced.getBefore().get().getStartDateTime());
+      assertEquals("Room 1", replaced.getAfter().get().getLocation().get());
+      assertEquals(at(2, 9), replaced.getAfter().get().getStartDateTime());
+      assertEquals(ChangeType.ZONE_CHANGED, sub.poll(1, TimeUnit.SECONDS).getType());
+    }
+    assertEquals(at(2, 14), cal.getAllEvents().get(0).getStartDateTime());
+  }
+
+  /**
+   * A producer a full buffer ahead waits for the subscriber instead of dropping changes.
+   */
+  @Test
+  public void testSlowSubscriberHoldsProducerBack() throws InterruptedException {
+    Calendar cal = new CalendarImpl();
+    final ChangeStream.Subscription sub = cal.changes().subscribe();
+    int total = ChangeStream.DEFAULT_CAPACITY + 100;
+    Thread producer = new Thread(() -> {
+      for (int i = 0; i < total; i++) {
+        cal.createEvent("E" + i, at(1, 9).plusMinutes(i), at(1, 9).plusMinutes(i + 1));
+      }
+    });
+    producer.start();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (sub.lag() <= ChangeStream.DEFAULT_CAPACITY && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    producer.join(100);
+    assertTrue(producer.isAlive());
+    assertEquals(ChangeStream.DEFAULT_CAPACITY + 1, sub.lag());
+
+    for (int i = 0; i < total; i++) {
+      ChangeEvent c = sub.poll(5, TimeUnit.SECONDS);
+      assertEquals("E" + i, c.getAfter().get().getSubject());
+    }
+    producer.join(5000);
+    assertFalse(producer.isAlive());
+    sub.close();
+  }
+
+  /**
+   * Without subscribers nothing is buffered and no ring is allocated, and a new subscriber
+   * starts at the present.
+   */
+  @Test
+  public void testNoSubscribers() throws ReflectiveOperationException {
+    Calendar cal = new CalendarImpl();
+    assertFalse(cal.changes().hasSubscribers());
+    cal.createEvent("Unseen", at(4, 9), at(4, 10));
+    Field ring = ChangeStream.class.getDeclaredField("ring");
+    ring.setAccessible(true);
+    assertNull(ring.get(cal.changes()));
+    try (ChangeStream.Subscription sub = cal.changes().subscribe()) {
+      assertNotNull(ring.get(cal.changes()));
+      assertTrue(cal.changes().hasSubscribers());
+      assertNull(sub.poll());
+    }
+    assertThrows(IllegalArgumentException.class, () -> new ChangeStream(100));
+  }
+}
@@ -0,0 +1,106 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.controller.CommandMetrics;
+import calendar.controller.CommandType;
+import calendar.controller.HeadlessController;
+import calendar.view.TextCalendarView;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests for CommandMetrics and its controller wiring.
+ */
+public class CommandMetricsTest {
+
+  private static String runHeadless(CommandMetrics metrics, String script) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CalendarBook book = new CalendarBookImpl();
+    new HeadlessController(book, new TextCalendarView(new PrintStream(out)),
+        new StringReader(script), metrics).run();
+    return out.toString();
+  }
+
+  /**
+   * Percentiles land within the histogram's relative precision.
+   */
+  @Test
+  public void testPercentilesWithinPrecision() {
+    CommandMetrics m = new CommandMetrics(true);
+    for (long v = 1; v <= 100_000; v++) {
+      m.record(CommandType.STATUS, v * 1000, false);
+    }
+    assertEquals(100_000, m.count(CommandType.STATUS));
+    assertEquals(50_000_000, m.percentile(CommandType.STATUS, 50), 50_000_000 * 0.02);
+    assertEquals(99_000_000, m.percentile(CommandType.STATUS, 99), 99_000_000 * 0.02);
+    assertEquals(99_900_000, m.percentile(CommandType.STATUS, 99.9), 99_900_000 * 0.02);
+    assertEquals(100_000_000, m.percentile(CommandType.STATUS, 100));
+  }
+
+  /**
+   * Small values are exact and huge values are capped by the recorded maximum.
+   */
+  @Test
+  public void testExtremes() {
+    CommandMetrics m = new CommandMetrics(true);
+    m.record(CommandType.EXPORT, 7, false);
+    assertEquals(7, m.percentile(CommandType.EXPORT, 50));
+    m.record(CommandType.EXPORT, Long.MAX_VALUE / 2, true);
+    assertEquals(Long.MAX_VALUE / 2, m.percentile(CommandType.EXPORT, 100));
+    assertEquals(1, m.errors(CommandType.EXPORT));
+    assertEquals(0, m.count(CommandType.PRINT_ON));
+  }
+
+  /**
+   * A disabled recorder keeps nothing.
+   */
+  @Test
+  public void testDisabledRecordsNothing() {
+    CommandMetrics m = new CommandMetrics(false);
+    m.record(CommandType.STATUS, 1000, true);
+    assertEquals(0, m.count(CommandType.STATUS));
+    assertEquals(1, m.report().size());
+  }
+
+  /**
+   * Headless runs count commands and errors per type, and print the table on exit.
+   */
+  @Test
+  public void testHeadlessRecordsAndDumpsOnExit() {
+    CommandMetrics m = new CommandMetrics(true);
+    final String out = runHeadless(m,
+        "create calendar --name c --timezone UTC\n"
+            + "use calendar --name c\n"
+            + "create event \"A\" from 2025-01-06T09:00 to 2025-01-06T10:00\n"
+            + "create event \"A\" from 2025-01-06T09:00 to 2025-01-06T10:00\n"
+            + "show status on 2025-01-06T09:30\n"
+            + "show metrics\n"
+            + "exit\n");
+
+    assertEquals(2, m.count(CommandType.CREATE_SINGLE));
+    assertEquals(1, m.errors(CommandType.CREATE_SINGLE));
+    assertEquals(1, m.count(CommandType.STATUS));
+    assertEquals(1, m.count(CommandType.SHOW_METRICS));
+    List<String> report = m.report();
+    assertTrue(report.get(0).contains("p50 ms"));
+    assertTrue(report.get(0).contains("p999 ms"));
+    assertTrue(out.contains("create_single"));
+    assertEquals(2, out.split("p99 ms", -1).length - 1);
+  }
+
+  /**
+   * Without metrics, {@code show metrics} explains how to enable them and exit prints nothing.
+   */
+  @Test
+  public void testShowMetricsWhenDisabled() {
+    String out = runHeadless(new CommandMetrics(false), "show metrics\nexit\n");
+    assertTrue(out.contains("Metrics are disabled"));
+    assertFalse(out.contains("p50"));
+  }
+}
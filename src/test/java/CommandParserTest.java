@@ -4,9 +4,12 @@ import static org.junit.Assert.assertTrue;
 
 import calendar.controller.CommandParser;
 import calendar.controller.CommandParser.Command;
+import calendar.controller.CommandType;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import org.junit.Test;
 
 /**
@@ -819,4 +822,59 @@ public class CommandParserTest {
     assertEquals("Holiday", cmd.getSubject());
 
   }
+
+  /**
+   * Find slot should parse duration, calendars, window and the anytime flag.
+   */
+  @Test
+  public void testParseFindSlot() {
+    Command cmd = parser.parse("find slot --duration 60 --calendars a,b "
+        + "from 2025-11-10T00:00 to 2025-11-12T00:00 --anytime");
+    assertEquals("find_slot", cmd.getType());
+    assertEquals(Duration.ofMinutes(60), cmd.getDuration());
+    assertEquals(List.of("a", "b"), cmd.getCalendarNames());
+    assertEquals(LocalDateTime.of(2025, 11, 10, 0, 0), cmd.getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 11, 12, 0, 0), cmd.getEndDateTime());
+    assertEquals(false, cmd.isWorkingHoursOnly());
+  }
+
+  /**
+   * Find slot without a duration is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseFindSlotMissingDuration() {
+    parser.parse("find slot from 2025-11-10T00:00 to 2025-11-12T00:00");
+  }
+
+  /**
+   * Print conflicts should parse the window and optional calendars.
+   */
+  @Test
+  public void testParsePrintConflicts() {
+    Command cmd = parser.parse(
+        "print conflicts from 2025-11-10T00:00 to 2025-11-11T00:00 --calendars a,b");
+    assertEquals("print_conflicts", cmd.getType());
+    assertEquals(List.of("a", "b"), cmd.getCalendarNames());
+    assertEquals(LocalDateTime.of(2025, 11, 11, 0, 0), cmd.getEndDateTime());
+  }
+
+  /**
+   * Search events should parse a quoted query and an optional limit.
+   */
+  @Test
+  public void testParseSearchEvents() {
+    Command cmd = parser.parse("search events \"budget rev*\" --limit 5");
+    assertEquals("search_events", cmd.getType());
+    assertEquals("budget rev*", cmd.getQuery());
+    assertEquals(5, cmd.getLimit());
+    assertEquals(0, parser.parse("search events standup").getLimit());
+  }
+
+  /**
+   * Show metrics takes no arguments.
+   */
+  @Test
+  public void testParseShowMetrics() {
+    assertEquals(CommandType.SHOW_METRICS, parser.parse("Show Metrics").getTypeEnum());
+  }
 }
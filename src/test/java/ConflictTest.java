@@ -0,0 +1,158 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.Conflict;
+import calendar.controller.CalendarController;
+import calendar.controller.HeadlessController;
+import calendar.view.TextCalendarView;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for sweep-line conflict detection.
+ */
+public class ConflictTest {
+
+  private static final ZoneId NY = ZoneId.of("America/New_York");
+  private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+  private CalendarBook book;
+  private Calendar ny;
+  private Calendar london;
+
+  /**
+   * Creates two calendars in different zones.
+   */
+  @Before
+  public void setUp() {
+    book = new CalendarBookImpl();
+    ny = book.createCalendar("ny", NY);
+    london = book.createCalendar("london", LONDON);
+  }
+
+  private static LocalDateTime at(int hour, int minute) {
+    return LocalDateTime.of(2025, 11, 10, hour, minute);
+  }
+
+  /**
+   * Test chained overlaps form one cluster and touching events do not conflict.
+   */
+  @Test
+  public void testClustersAndTouching() {
+    ny.createEvent("A", at(9, 0), at(10, 0));
+    ny.createEvent("B", at(9, 30), at(10, 30));
+    ny.createEvent("C", at(10, 15), at(11, 0));
+    ny.createEvent("D", at(11, 0), at(12, 0));
+    ny.createEvent("E", at(13, 0), at(14, 0));
+    ny.createEvent("F", at(13, 0), at(13, 30));
+
+    List<Conflict> conflicts = ny.findConflicts(at(0, 0), at(23, 59));
+
+    assertEquals(2, conflicts.size());
+    assertEquals(3, conflicts.get(0).getEvents().size());
+    assertEquals("A", conflicts.get(0).getEvents().get(0).getSubject());
+    assertEquals(at(11, 0).atZone(NY).toInstant(), conflicts.get(0).getSpan().getEnd());
+    assertEquals(2, conflicts.get(1).getEvents().size());
+  }
+
+  /**
+   * Test results are streamed to the sink in start order.
+   */
+  @Test
+  public void testStreamsInStartOrder() {
+    for (int h = 8; h < 16; h += 2) {
+      ny.createEvent("X" + h, at(h, 0), at(h + 1, 0));
+      ny.createEvent("Y" + h, at(h, 30), at(h + 1, 30));
+    }
+    List<Conflict> seen = new ArrayList<>();
+    ny.findConflicts(at(0, 0), at(23, 59), seen::add);
+
+    assertEquals(4, seen.size());
+    for (int i = 1; i < seen.size(); i++) {
+      assertTrue(seen.get(i - 1).getSpan().getEnd()
+          .isBefore(seen.get(i).getSpan().getStart()));
+    }
+  }
+
+  /**
+   * Test calendars in different zones are compared on the instant timeline.
+   */
+  @Test
+  public void testCrossCalendarUsesInstants() {
+    // 14:30 London == 09:30 New York.
+    london.createEvent("Sync", at(14, 30), at(15, 30));
+    ny.createEvent("Review", at(9, 0), at(10, 0));
+    // 09:00 London is 04:00 in New York and must not clash with Review.
+    london.createEvent("Standup", at(9, 0), at(9, 15));
+
+    List<Conflict> conflicts = book.findConflicts(List.of("ny", "london"),
+        ZonedDateTime.of(at(0, 0), NY), ZonedDateTime.of(at(23, 0), NY));
+
+    assertEquals(1, conflicts.size());
+    assertEquals(Set.of("ny", "london"), conflicts.get(0).getCalendarNames());
+    assertEquals("Review", conflicts.get(0).getEntries().get(0).getEvent().getSubject());
+    assertEquals("ny", conflicts.get(0).getEntries().get(0).getCalendarName());
+  }
+
+  /**
+   * Test a large calendar is audited in one pass.
+   */
+  @Test
+  public void testLargeCalendar() {
+    Calendar rooms = book.createCalendar("rooms", ZoneId.of("UTC"));
+    LocalDateTime base = at(0, 0);
+    for (int i = 0; i < 20_000; i++) {
+      LocalDateTime s = base.plusMinutes(30L * i);
+      rooms.createEvent("E" + i, s, s.plusMinutes(i % 10 == 0 ? 45 : 30));
+    }
+    List<Conflict> conflicts = rooms.findConflicts(base, base.plusDays(500));
+    assertEquals(2_000, conflicts.size());
+  }
+
+  /**
+   * Test invalid ranges and unknown calendars are rejected.
+   */
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> ny.findConflicts(at(10, 0), at(9, 0)));
+    assertThrows(IllegalArgumentException.class, () -> book.findConflicts(List.of("nope"),
+        ZonedDateTime.of(at(0, 0), NY), ZonedDateTime.of(at(1, 0), NY)));
+  }
+
+  /**
+   * Test the print conflicts command for the active calendar and across calendars.
+   */
+  @Test
+  public void testPrintConflictsCommand() {
+    ny.createEvent("A", at(9, 0), at(10, 0));
+    ny.createEvent("B", at(9, 30), at(10, 30));
+    london.createEvent("C", at(15, 0), at(16, 0));
+    String script = "use calendar --name ny\n"
+        + "print conflicts from 2025-11-10T00:00 to 2025-11-10T23:59\n"
+        + "print conflicts from 2025-11-10T00:00 to 2025-11-10T23:59 --calendars ny,london\n"
+        + "print conflicts from 2025-11-11T00:00 to 2025-11-11T23:59\n"
+        + "exit\n";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CalendarController c = new HeadlessController(book,
+        new TextCalendarView(new PrintStream(out)), new StringReader(script));
+    c.run();
+
+    String text = out.toString();
+    assertTrue(text.contains("Conflict (ny): 2025-11-10T09:00 to 2025-11-10T10:30"));
+    assertTrue(text.contains("Conflict (ny, london): 2025-11-10T09:00 to 2025-11-10T11:00"));
+    assertTrue(text.contains("No conflicts found"));
+  }
+}
@@ -0,0 +1,116 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import calendar.Calendar;
+import calendar.CalendarImpl;
+import calendar.DaySummary;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for incrementally maintained per-day summaries.
+ */
+public class DaySummaryTest {
+
+  private static final LocalDate FIRST = LocalDate.of(2025, 11, 1);
+  private static final LocalDate LAST = LocalDate.of(2025, 11, 30);
+
+  private Calendar cal;
+
+  /**
+   * Creates a calendar with a series, a single event and an overnight event.
+   */
+  @Before
+  public void setUp() {
+    cal = new CalendarImpl("c", ZoneId.of("America/New_York"));
+    cal.createEventSeries("Standup", LocalDateTime.of(2025, 11, 3, 9, 0),
+        LocalDateTime.of(2025, 11, 3, 9, 15), EnumSet.of(DayOfWeek.MONDAY), 4);
+    cal.createEvent("Review", LocalDateTime.of(2025, 11, 3, 13, 0),
+        LocalDateTime.of(2025, 11, 3, 14, 30));
+    cal.createEvent("Deploy", LocalDateTime.of(2025, 11, 5, 22, 0),
+        LocalDateTime.of(2025, 11, 6, 2, 0));
+  }
+
+  private void assertMatchesDayListings() {
+    List<DaySummary> summaries = cal.getDaySummaries(FIRST, LAST);
+    int withEvents = 0;
+    for (LocalDate d = FIRST; !d.isAfter(LAST); d = d.plusDays(1)) {
+      if (!cal.getEventsOnDate(d).isEmpty()) {
+        DaySummary s = summaries.get(withEvents++);
+        assertEquals(d, s.getDate());
+        assertEquals(cal.getEventsOnDate(d).size(), s.getEventCount());
+      }
+    }
+    assertEquals(withEvents, summaries.size());
+  }
+
+  /**
+   * Totals are per day, and overnight events are clipped at midnight.
+   */
+  @Test
+  public void testTotals() {
+    List<DaySummary> s = cal.getDaySummaries(LocalDate.of(2025, 11, 3),
+        LocalDate.of(2025, 11, 6));
+    assertEquals(3, s.size());
+    assertEquals(2, s.get(0).getEventCount());
+    assertEquals(105, s.get(0).getBusyMinutes());
+    assertEquals(LocalDateTime.of(2025, 11, 3, 9, 0), s.get(0).getEarliestStart());
+    assertEquals(LocalDateTime.of(2025, 11, 3, 14, 30), s.get(0).getLatestEnd());
+    assertEquals(120, s.get(1).getBusyMinutes());
+    assertEquals(LocalDateTime.of(2025, 11, 6, 0, 0), s.get(1).getLatestEnd());
+    assertEquals(LocalDateTime.of(2025, 11, 6, 0, 0), s.get(2).getEarliestStart());
+    assertMatchesDayListings();
+  }
+
+  /**
+   * Edits that move events update the days they left and the days they reach.
+   */
+  @Test
+  public void testFollowsEditsAndZoneChanges() {
+    cal.getDaySummaries(FIRST, LAST);
+    cal.editEvent("Review", LocalDateTime.of(2025, 11, 3, 13, 0), "start",
+        "2025-11-03T14:00");
+    cal.editEvent("Deploy", LocalDateTime.of(2025, 11, 5, 22, 0), "end",
+        "2025-11-05T23:00");
+    cal.editSeries("Standup", LocalDateTime.of(2025, 11, 10, 9, 0), "subject", "Sync");
+    assertMatchesDayListings();
+    assertEquals(45, cal.getDaySummaries(LocalDate.of(2025, 11, 3),
+        LocalDate.of(2025, 11, 3)).get(0).getBusyMinutes());
+    assertEquals(0, cal.getDaySummaries(LocalDate.of(2025, 11, 6),
+        LocalDate.of(2025, 11, 6)).size());
+
+    cal.setZoneId(ZoneId.of("Asia/Tokyo"));
+    assertMatchesDayListings();
+    assertThrows(IllegalArgumentException.class, () -> cal.getDaySummaries(LAST, FIRST));
+  }
+
+  /**
+   * Overlapping events count their shared time once, in the order they arrive and after one
+   * of them is removed.
+   */
+  @Test
+  public void testOverlapsCountOnce() {
+    LocalDate day = LocalDate.of(2025, 11, 12);
+    cal.getDaySummaries(day, day);
+    cal.createEvent("Design", LocalDateTime.of(2025, 11, 12, 9, 30),
+        LocalDateTime.of(2025, 11, 12, 10, 30));
+    cal.createEvent("Sync", LocalDateTime.of(2025, 11, 12, 9, 0),
+        LocalDateTime.of(2025, 11, 12, 10, 0));
+    cal.createEvent("Pairing", LocalDateTime.of(2025, 11, 12, 11, 0),
+        LocalDateTime.of(2025, 11, 12, 12, 0));
+    cal.createEvent("Offsite", LocalDateTime.of(2025, 11, 12, 8, 0),
+        LocalDateTime.of(2025, 11, 12, 13, 0));
+    assertEquals(300, cal.getDaySummaries(day, day).get(0).getBusyMinutes());
+
+    cal.deleteEvent("Offsite", LocalDateTime.of(2025, 11, 12, 8, 0));
+    DaySummary s = cal.getDaySummaries(day, day).get(0);
+    assertEquals(3, s.getEventCount());
+    assertEquals(150, s.getBusyMinutes());
+  }
+}
@@ -0,0 +1,161 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.CalendarImpl;
+import calendar.ChangeEvent;
+import calendar.ChangeStream;
+import calendar.ChangeType;
+import calendar.Event;
+import calendar.EventDelta;
+import calendar.controller.CalendarController;
+import calendar.controller.HeadlessController;
+import calendar.view.TextCalendarView;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+/**
+ * Tests for deleting events in the three scopes.
+ */
+public class EventDeletionTest {
+
+  private static final EnumSet<DayOfWeek> ALL_DAYS = EnumSet.allOf(DayOfWeek.class);
+
+  private static LocalDateTime at(int day, int hour) {
+    return LocalDateTime.of(2025, 3, day, hour, 0);
+  }
+
+  /**
+   * A single delete leaves no trace in lookups, search or day summaries.
+   */
+  @Test
+  public void testDeleteEvent() {
+    Calendar cal = new CalendarImpl();
+    cal.createEvent("Dentist", at(3, 9), at(3, 10));
+    cal.createEvent("Gym", at(3, 18), at(3, 19));
+
+    assertEquals(1, cal.deleteEvent("Dentist", at(3, 9)));
+
+    assertEquals(List.of("Gym"), subjects(cal.getEventsOnDate(LocalDate.of(2025, 3, 3))));
+    assertTrue(cal.searchEvents("dentist", 0).isEmpty());
+    assertEquals(1, cal.getDaySummaries(LocalDate.of(2025, 3, 3),
+        LocalDate.of(2025, 3, 3)).get(0).getEventCount());
+    assertThrows(IllegalArgumentException.class, () -> cal.deleteEvent("Dentist", at(3, 9)));
+    cal.createEvent("Dentist", at(3, 9), at(3, 10));
+    assertEquals(2, cal.getAllEvents().size());
+  }
+
+  /**
+   * Deleting from a date keeps earlier occurrences; deleting a series removes the rest.
+   */
+  @Test
+  public void testDeleteSeriesScopes() {
+    Calendar cal = new CalendarImpl();
+    cal.createEventSeries("Standup", at(3, 9), at(3, 10), ALL_DAYS, 10);
+    cal.createEvent("Standup", at(20, 9), at(20, 10));
+
+    assertEquals(6, cal.deleteEventsFromDate("Standup", at(7, 9)));
+    assertEquals(5, cal.getEventsInRange(at(1, 0), at(31, 0)).size());
+    assertEquals(4, cal.deleteSeries("Standup", at(4, 9)));
+    assertEquals(List.of(at(20, 9)), starts(cal.getAllEvents()));
+    assertEquals(1, cal.deleteEventsFromDate("Standup", at(20, 9)));
+    assertTrue(cal.getAllEvents().isEmpty());
+  }
+
+  /**
+   * Deletions take a change sequence, leave tombstones and are published.
+   */
+  @Test
+  public void testDeletionIsRecorded() throws InterruptedException {
+    CalendarImpl cal = new CalendarImpl();
+    cal.createEvent("Keep", at(5, 9), at(5, 10));
+    cal.createEvent("Drop", at(6, 9), at(6, 10));
+    long seen = cal.getChangeSequence();
+    try (ChangeStream.Subscription sub = cal.changes().subscribe()) {
+      cal.deleteEvent("Drop", at(6, 9));
+      ChangeEvent change = sub.poll(1, TimeUnit.SECONDS);
+      assertEquals(ChangeType.REMOVED, change.getType());
+      assertEquals("Drop", change.getBefore().get().getSubject());
+      assertEquals(seen + 1, change.getSequence());
+    }
+    EventDelta delta = cal.getChangesSince(seen);
+    assertTrue(delta.getChanged().isEmpty());
+    assertEquals(List.of("Drop"), subjects(delta.getRemoved()));
+  }
+
+  /**
+   * A bulk deletion large enough to compact storage in the background keeps the calendar
+   * consistent for edits and deletes that race with the compaction.
+   */
+  @Test
+  public void testBulkDeletionThenEdits() {
+    Calendar cal = new CalendarImpl();
+    cal.createEventSeries("Shift", at(1, 8), at(1, 9), ALL_DAYS, 3000);
+    for (int d = 1; d <= 28; d++) {
+      cal.createEvent("Visit", at(d, 12), at(d, 13));
+    }
+
+    assertEquals(3000, cal.deleteSeries("Shift", at(1, 8)));
+    for (int d = 1; d <= 28; d += 2) {
+      cal.editEvent("Visit", at(d, 12), "location", "Room " + d);
+      cal.deleteEvent("Visit", at(d + 1, 12));
+    }
+
+    List<Event> left = cal.getAllEvents();
+    assertEquals(14, left.size());
+    for (int i = 0; i < left.size(); i++) {
+      assertEquals(at(2 * i + 1, 12), left.get(i).getStartDateTime());
+      assertEquals("Room " + (2 * i + 1), left.get(i).getLocation().get());
+    }
+  }
+
+  /**
+   * The delete commands mirror the edit scopes.
+   */
+  @Test
+  public void testDeleteCommands() {
+    CalendarBook book = new CalendarBookImpl();
+    book.createCalendar("home", ZoneId.of("UTC"));
+    String script = "use calendar --name home\n"
+        + "create event \"Piano lesson\" from 2025-03-03T17:00 to 2025-03-03T18:00 "
+        + "repeats M for 4 times\n"
+        + "create event Chores from 2025-03-04T10:00 to 2025-03-04T11:00\n"
+        + "delete events \"Piano lesson\" from 2025-03-17T17:00\n"
+        + "delete event Chores from 2025-03-04T10:00\n"
+        + "delete series \"Piano lesson\" from 2025-03-03T17:00\n"
+        + "delete event Chores from 2025-03-04T10:00\n"
+        + "exit\n";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CalendarController c = new HeadlessController(book,
+        new TextCalendarView(new PrintStream(out)), new StringReader(script));
+    c.run();
+
+    String text = out.toString();
+    assertTrue(text.contains("Deleted 2 event(s)"));
+    assertTrue(text.contains("Deleted 1 event(s)"));
+    assertTrue(text.contains("No event found with given criteria"));
+    assertTrue(book.getCalendar("home").getAllEvents().isEmpty());
+  }
+
+  private static List<String> subjects(List<Event> events) {
+    return events.stream().map(Event::getSubject).collect(Collectors.toList());
+  }
+
+  private static List<LocalDateTime> starts(List<Event> events) {
+    return events.stream().map(Event::getStartDateTime)
+        .collect(Collectors.toList());
+  }
+}
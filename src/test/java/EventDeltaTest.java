@@ -0,0 +1,162 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.CalendarImpl;
+import calendar.Event;
+import calendar.EventDelta;
+import calendar.controller.CalendarController;
+import calendar.controller.HeadlessController;
+import calendar.util.ExportUtil;
+import calendar.view.TextCalendarView;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.junit.Test;
+
+/**
+ * Tests for change sequences and delta exports.
+ */
+public class EventDeltaTest {
+
+  private static LocalDateTime at(int day, int hour) {
+    return LocalDateTime.of(2025, 9, day, hour, 0);
+  }
+
+  /**
+   * A delta lists only later changes, and an edit that moves an event leaves a tombstone.
+   */
+  @Test
+  public void testDeltaSinceSequence() {
+    CalendarImpl cal = new CalendarImpl();
+    cal.createEvent("Old", at(1, 9), at(1, 10));
+    cal.createEvent("Moved", at(2, 9), at(2, 10));
+    long seen = cal.getChangeSequence();
+    assertEquals(2, seen);
+
+    cal.createEvent("New", at(3, 9), at(3, 10));
+    cal.editEvent("Moved", at(2, 9), "start", "2025-09-02T08:00");
+    cal.editEvent("New", at(3, 9), "location", "Lab");
+
+    EventDelta delta = cal.getChangesSince(seen);
+    assertFalse(delta.isFull());
+    assertEquals(seen, delta.getFromSequence());
+    assertEquals(cal.getChangeSequence(), delta.getToSequence());
+    assertEquals(2, delta.getChanged().size());
+    assertEquals(at(2, 8), delta.getChanged().get(0).getStartDateTime());
+    assertEquals("Lab", delta.getChanged().get(1).getLocation().get());
+    assertEquals(1, delta.getRemoved().size());
+    assertEquals(at(2, 9), delta.getRemoved().get(0).getStartDateTime());
+
+    assertTrue(cal.getChangesSince(cal.getChangeSequence()).getChanged().isEmpty());
+    assertThrows(IllegalArgumentException.class,
+        () -> cal.getChangesSince(cal.getChangeSequence() + 1));
+  }
+
+  /**
+   * A zone change moves every event, so older sequences get the whole calendar.
+   */
+  @Test
+  public void testZoneChangeMakesOlderDeltasFull() {
+    CalendarImpl cal = new CalendarImpl("c", ZoneId.of("UTC"));
+    cal.createEvent("A", at(1, 9), at(1, 10));
+    cal.createEvent("B", at(2, 9), at(2, 10));
+    final long before = cal.getChangeSequence();
+    cal.setZoneId(ZoneId.of("Asia/Tokyo"));
+    final long after = cal.getChangeSequence();
+    cal.createEvent("C", at(3, 9), at(3, 10));
+
+    EventDelta full = cal.getChangesSince(before);
+    assertTrue(full.isFull());
+    assertEquals(3, full.getChanged().size());
+
+    EventDelta tail = cal.getChangesSince(after);
+    assertFalse(tail.isFull());
+    assertEquals(1, tail.getChanged().size());
+    assertEquals("C", tail.getChanged().get(0).getSubject());
+  }
+
+  /**
+   * A wall-clock time maps to the changes made after it.
+   */
+  @Test
+  public void testDeltaSinceTime() throws InterruptedException {
+    CalendarImpl cal = new CalendarImpl();
+    cal.createEvent("Before", at(1, 9), at(1, 10));
+    Thread.sleep(5);
+    Instant sync = Instant.now();
+    Thread.sleep(5);
+    cal.createEvent("After", at(2, 9), at(2, 10));
+
+    EventDelta delta = cal.getChangesSince(sync);
+    assertEquals(1, delta.getChanged().size());
+    assertEquals("After", delta.getChanged().get(0).getSubject());
+    assertEquals(2, cal.getChangesSince(Instant.EPOCH).getChanged().size());
+  }
+
+  /**
+   * CSV deltas mark tombstones in a Deleted column; ICS deltas cancel them.
+   *
+   * @throws IOException if writing fails
+   */
+  @Test
+  public void testDeltaFiles() throws IOException {
+    CalendarImpl cal = new CalendarImpl();
+    cal.createEvent("Keep", at(1, 9), at(1, 10));
+    cal.createEvent("Rename", at(2, 9), at(2, 10));
+    long seen = cal.getChangeSequence();
+    cal.editEvent("Rename", at(2, 9), "subject", "Renamed");
+    EventDelta delta = cal.getChangesSince(seen);
+
+    String csv = Files.readString(Paths.get(
+        ExportUtil.exportChanges(cal, delta, "build/test-delta.csv")));
+    assertTrue(csv.startsWith("Subject,Start Date,Start Time,End Date,End Time,"
+        + "All Day Event,Description,Location,Private,Deleted"));
+    assertTrue(csv.contains("Renamed,09/02/2025,09:00 AM,09/02/2025,10:00 AM,False,,,False,False"));
+    assertTrue(csv.contains("Rename,09/02/2025,09:00 AM,09/02/2025,10:00 AM,False,,,False,True"));
+    assertFalse(csv.contains("Keep"));
+
+    String ics = Files.readString(Paths.get(
+        ExportUtil.exportChanges(cal, delta, "build/test-delta.ics")));
+    assertTrue(ics.contains("X-PDP-SEQUENCE:" + delta.getToSequence()));
+    assertEquals(2, ics.split("BEGIN:VEVENT", -1).length - 1);
+    assertTrue(ics.contains(String.join(System.lineSeparator(),
+        "SUMMARY:Rename", "CLASS:PUBLIC", "STATUS:CANCELLED")));
+  }
+
+  /**
+   * The export command takes a sequence or a date-time after --since.
+   */
+  @Test
+  public void testExportSinceCommand() {
+    CalendarBook book = new CalendarBookImpl();
+    book.createCalendar("work", ZoneId.of("UTC"));
+    String script = "use calendar --name work\n"
+        + "create event A from 2025-09-01T09:00 to 2025-09-01T10:00\n"
+        + "create event B from 2025-09-02T09:00 to 2025-09-02T10:00\n"
+        + "export cal build/test-since.csv --since 1\n"
+        + "export cal build/test-since.ics --since 2000-01-01T00:00\n"
+        + "export cal build/test-since.csv --since soon\n"
+        + "exit\n";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CalendarController c = new HeadlessController(book,
+        new TextCalendarView(new PrintStream(out)), new StringReader(script));
+    c.run();
+
+    String text = out.toString();
+    assertTrue(text.contains("Exported 1 change(s) and 0 removal(s) through sequence 2 to: "));
+    assertTrue(text.contains("Exported 2 change(s) and 0 removal(s) through sequence 2 to: "));
+    assertTrue(text.contains("Invalid change sequence: soon"));
+    Event b = book.getCalendar("work").getChangesSince(1).getChanged().get(0);
+    assertEquals("B", b.getSubject());
+  }
+}
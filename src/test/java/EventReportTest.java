@@ -0,0 +1,100 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.EventReport;
+import calendar.ReportPeriod;
+import calendar.controller.CalendarController;
+import calendar.controller.HeadlessController;
+import calendar.view.TextCalendarView;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for calendar aggregation reports.
+ */
+public class EventReportTest {
+
+  private CalendarBook book;
+  private Calendar cal;
+
+  /**
+   * Creates a calendar with a few overlapping and private events.
+   */
+  @Before
+  public void setUp() {
+    book = new CalendarBookImpl();
+    cal = book.createCalendar("work", ZoneId.of("America/New_York"));
+    cal.createEvent("Review", at(10, 9, 0), at(10, 11, 0));
+    cal.createEvent("Lunch", at(10, 10, 30), at(10, 12, 0));
+    cal.createEvent("Review", at(11, 23, 0), at(12, 1, 0));
+    cal.editEvent("Lunch", at(10, 10, 30), "location", "Cafe");
+    cal.editEvent("Review", at(10, 9, 0), "status", "private");
+  }
+
+  private static LocalDateTime at(int day, int hour, int minute) {
+    return LocalDateTime.of(2025, 11, day, hour, minute);
+  }
+
+  /**
+   * Overlapping events count once toward busy time, which is split at midnight.
+   */
+  @Test
+  public void testDailyBusyAndCounts() {
+    EventReport r = cal.report(at(10, 0, 0), at(13, 0, 0), ReportPeriod.DAY);
+
+    assertEquals(Duration.ofHours(3), r.getBusy().get(LocalDate.of(2025, 11, 10)));
+    assertEquals(Duration.ofHours(1), r.getBusy().get(LocalDate.of(2025, 11, 11)));
+    assertEquals(Duration.ofHours(1), r.getBusy().get(LocalDate.of(2025, 11, 12)));
+    assertEquals(Duration.ofHours(5), r.getTotalBusy());
+    assertEquals(2, (int) r.getCountsBySubject().get("Review"));
+    assertEquals(1, (int) r.getCountsByLocation().get("Cafe"));
+    assertEquals(2, r.getPublicCount());
+    assertEquals(1, r.getPrivateCount());
+  }
+
+  /**
+   * Weekly buckets start on Monday, and busy time is clipped to the window.
+   */
+  @Test
+  public void testWeeklyBucketsClipToWindow() {
+    EventReport r = cal.report(at(10, 10, 0), at(12, 0, 30), ReportPeriod.WEEK);
+
+    assertEquals(1, r.getBusy().size());
+    assertEquals(Duration.ofMinutes(120 + 90), r.getBusy().get(LocalDate.of(2025, 11, 10)));
+    assertThrows(IllegalArgumentException.class,
+        () -> cal.report(at(12, 0, 0), at(10, 0, 0), ReportPeriod.DAY));
+  }
+
+  /**
+   * The report command renders through the view.
+   */
+  @Test
+  public void testReportCommand() {
+    String script = "use calendar --name work\n"
+        + "report from 2025-11-10T00:00 to 2025-11-13T00:00 --by week\n"
+        + "report from 2025-11-10T00:00 to 2025-11-13T00:00 --by month\n"
+        + "exit\n";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CalendarController c = new HeadlessController(book,
+        new TextCalendarView(new PrintStream(out)), new StringReader(script));
+    c.run();
+
+    String text = out.toString();
+    assertTrue(text.contains("Events: 3 (public 2, private 1)"));
+    assertTrue(text.contains("Busy hours: 5.00"));
+    assertTrue(text.contains("  2025-11-10  5.00"));
+    assertTrue(text.contains("  Cafe  1"));
+    assertTrue(text.contains("Invalid report period: month"));
+  }
+}
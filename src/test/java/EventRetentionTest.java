@@ -0,0 +1,183 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.Event;
+import calendar.EventDelta;
+import calendar.controller.HeadlessController;
+import calendar.view.TextCalendarView;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for retention policies and the archive behind them.
+ */
+public class EventRetentionTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  private static LocalDateTime old(int day, int hour) {
+    return LocalDateTime.of(2020, 5, day, hour, 0);
+  }
+
+  private static LocalDateTime hot(int day, int hour) {
+    return LocalDateTime.of(2040, 5, day, hour, 0);
+  }
+
+  private CalendarBook bookWithEvents() {
+    CalendarBook book = new CalendarBookImpl(tmp.getRoot().toPath());
+    Calendar cal = book.createCalendar("work", ZoneId.of("UTC"));
+    cal.createEventSeries("Standup", old(4, 9), old(4, 10),
+        EnumSet.allOf(DayOfWeek.class), 5);
+    cal.createEvent("Review", old(8, 15), old(8, 16));
+    cal.createEvent("Launch", hot(8, 9), hot(8, 17));
+    return book;
+  }
+
+  /**
+   * Archived events leave memory but time lookups and the full list still find them.
+   */
+  @Test
+  public void testLookupsSpanTheArchive() {
+    CalendarBook book = bookWithEvents();
+    final Calendar cal = book.getCalendar("work");
+    book.setRetention("work", Period.ofYears(1));
+
+    assertEquals(6, book.applyRetention());
+    assertEquals(0, book.applyRetention());
+
+    assertTrue(cal.searchEvents("standup", 0).isEmpty());
+    assertEquals(List.of("Standup", "Review"),
+        subjects(cal.getEventsOnDate(LocalDate.of(2020, 5, 8))));
+    assertEquals(List.of("Standup", "Standup", "Review", "Launch"),
+        subjects(cal.getEventsInRange(old(7, 0), hot(30, 0))));
+    assertEquals(7, cal.countEventsInRange(old(1, 0), hot(30, 0)));
+    assertTrue(cal.isBusyAt(old(8, 15)));
+    assertFalse(cal.isBusyAt(old(8, 14)));
+    assertEquals(7, cal.getAllEvents().size());
+    assertEquals("Launch", cal.getAllEvents().get(6).getSubject());
+  }
+
+  /**
+   * Archived events are read back from the file once written, in the calendar's current
+   * zone, and deltas from before archiving come back full.
+   *
+   * @throws Exception if the archive cannot be read
+   */
+  @Test
+  public void testArchiveFileAndZoneChange() throws Exception {
+    CalendarBook book = bookWithEvents();
+    final Calendar cal = book.getCalendar("work");
+    book.setRetention("work", Period.ofDays(30));
+    book.applyRetention();
+
+    Path file = waitForArchive(tmp.getRoot().toPath());
+    assertTrue(Files.size(file) > 0);
+    book.changeTimezone("work", ZoneId.of("Asia/Tokyo"));
+    List<Event> day = cal.getEventsOnDate(LocalDate.of(2020, 5, 8));
+    assertEquals(List.of("Standup"), subjects(day));
+    assertEquals(LocalDateTime.of(2020, 5, 8, 18, 0), day.get(0).getStartDateTime());
+
+    EventDelta delta = cal.getChangesSince(0);
+    assertTrue(delta.isFull());
+    assertEquals(7, delta.getChanged().size());
+  }
+
+  /**
+   * A policy needs an existing calendar and a non-negative period, and can be cleared.
+   */
+  @Test
+  public void testPolicyValidation() {
+    CalendarBook book = bookWithEvents();
+    assertThrows(IllegalArgumentException.class,
+        () -> book.setRetention("missing", Period.ofDays(1)));
+    assertThrows(IllegalArgumentException.class,
+        () -> book.setRetention("work", Period.ofDays(-1)));
+    book.setRetention("work", Period.ofDays(1));
+    book.setRetention("work", null);
+    assertEquals(0, book.applyRetention());
+    assertEquals(7, book.getCalendar("work").getAllEvents().size());
+  }
+
+  /**
+   * An event moved to the archive still blocks creating or copying in an identical one.
+   */
+  @Test
+  public void testArchivedEventsStayUnique() {
+    CalendarBook book = bookWithEvents();
+    final Calendar cal = book.getCalendar("work");
+    book.setRetention("work", Period.ofYears(1));
+    book.applyRetention();
+
+    assertThrows(IllegalArgumentException.class,
+        () -> cal.createEvent("Review", old(8, 15), old(8, 16)));
+    assertThrows(IllegalArgumentException.class,
+        () -> cal.copyFrom(cal.getAllEvents().get(0), old(4, 9), old(4, 10)));
+    cal.createEvent("Review", old(8, 16), old(8, 17));
+    assertEquals(8, cal.getAllEvents().size());
+  }
+
+  /**
+   * The set retention command sets a policy and archives at once, and none clears it.
+   */
+  @Test
+  public void testSetRetentionCommand() {
+    CalendarBook book = new CalendarBookImpl(tmp.getRoot().toPath());
+    String script = "create calendar --name work --timezone UTC\n"
+        + "use calendar --name work\n"
+        + "create event Review from 2020-05-08T15:00 to 2020-05-08T16:00\n"
+        + "set retention --name work --keep P30D\n"
+        + "set retention --name work --keep none\n"
+        + "set retention --name work --keep soon\n"
+        + "exit\n";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new HeadlessController(book, new TextCalendarView(new PrintStream(out)),
+        new StringReader(script)).run();
+
+    String printed = out.toString();
+    assertTrue(printed.contains("Retention for work set to P30D; archived 1 event(s)"));
+    assertTrue(printed.contains("Cleared retention for work"));
+    assertTrue(printed.contains("Invalid retention period: soon"));
+    assertEquals(1, book.getCalendar("work").getAllEvents().size());
+    assertTrue(book.getCalendar("work").searchEvents("review", 0).isEmpty());
+  }
+
+  private static Path waitForArchive(Path dir) throws IOException, InterruptedException {
+    for (int i = 0; i < 500; i++) {
+      try (Stream<Path> files = Files.list(dir)) {
+        List<Path> written = files.filter(p -> p.toFile().length() > 0)
+            .collect(Collectors.toList());
+        if (!written.isEmpty()) {
+          return written.get(0);
+        }
+      }
+      Thread.sleep(10);
+    }
+    throw new AssertionError("Archive was never written");
+  }
+
+  private static List<String> subjects(List<Event> events) {
+    return events.stream().map(Event::getSubject).collect(Collectors.toList());
+  }
+}
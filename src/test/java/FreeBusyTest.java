@@ -0,0 +1,115 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.TimeInterval;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for CalendarBook free/busy aggregation.
+ */
+public class FreeBusyTest {
+
+  private static final ZoneId NY = ZoneId.of("America/New_York");
+  private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+  private CalendarBook book;
+  private Calendar ny;
+  private Calendar london;
+
+  /**
+   * Creates two calendars in different zones.
+   */
+  @Before
+  public void setUp() {
+    book = new CalendarBookImpl();
+    ny = book.createCalendar("ny", NY);
+    london = book.createCalendar("london", LONDON);
+  }
+
+  private static ZonedDateTime at(int day, int hour, int minute, ZoneId zone) {
+    return ZonedDateTime.of(2025, 11, day, hour, minute, 0, 0, zone);
+  }
+
+  /**
+   * Test intervals from different zones are normalized and merged.
+   */
+  @Test
+  public void testMergesAcrossZones() {
+    // 14:00-15:00 London == 09:00-10:00 New York (both on standard time).
+    london.createEvent("Sync", LocalDateTime.of(2025, 11, 10, 14, 0),
+        LocalDateTime.of(2025, 11, 10, 15, 0));
+    ny.createEvent("Review", LocalDateTime.of(2025, 11, 10, 9, 30),
+        LocalDateTime.of(2025, 11, 10, 11, 0));
+
+    List<TimeInterval> busy = book.getFreeBusy(List.of("ny", "london"),
+        at(10, 0, 0, NY), at(11, 0, 0, NY), null);
+
+    assertEquals(1, busy.size());
+    assertEquals(at(10, 9, 0, NY).toInstant(), busy.get(0).getStart());
+    assertEquals(at(10, 11, 0, NY).toInstant(), busy.get(0).getEnd());
+  }
+
+  /**
+   * Test disjoint intervals stay separate and sorted.
+   */
+  @Test
+  public void testDisjointIntervalsSorted() {
+    ny.createEvent("Late", LocalDateTime.of(2025, 11, 10, 15, 0),
+        LocalDateTime.of(2025, 11, 10, 16, 0));
+    london.createEvent("Early", LocalDateTime.of(2025, 11, 10, 9, 0),
+        LocalDateTime.of(2025, 11, 10, 10, 0));
+
+    List<TimeInterval> busy = book.getFreeBusy(List.of("ny", "london"),
+        at(10, 0, 0, NY), at(11, 0, 0, NY), Duration.ZERO);
+
+    assertEquals(2, busy.size());
+    assertEquals(at(10, 9, 0, LONDON).toInstant(), busy.get(0).getStart());
+    assertEquals(at(10, 15, 0, NY).toInstant(), busy.get(1).getStart());
+  }
+
+  /**
+   * Test granularity widens intervals to aligned slots and clips to the window.
+   */
+  @Test
+  public void testGranularityAndClipping() {
+    ny.createEvent("Odd", LocalDateTime.of(2025, 11, 10, 9, 10),
+        LocalDateTime.of(2025, 11, 10, 9, 20));
+    ny.createEvent("Overnight", LocalDateTime.of(2025, 11, 10, 23, 0),
+        LocalDateTime.of(2025, 11, 11, 2, 0));
+
+    List<TimeInterval> busy = book.getFreeBusy(List.of("ny"),
+        at(10, 0, 0, NY), at(11, 0, 0, NY), Duration.ofMinutes(15));
+
+    assertEquals(2, busy.size());
+    assertEquals(at(10, 9, 0, NY).toInstant(), busy.get(0).getStart());
+    assertEquals(at(10, 9, 30, NY).toInstant(), busy.get(0).getEnd());
+    assertEquals(at(11, 0, 0, NY).toInstant(), busy.get(1).getEnd());
+  }
+
+  /**
+   * Test invalid arguments, including a granularity finer than whole seconds.
+   */
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> book.getFreeBusy(List.of("missing"),
+        at(10, 0, 0, NY), at(11, 0, 0, NY), null));
+    assertThrows(IllegalArgumentException.class, () -> book.getFreeBusy(List.of("ny"),
+        at(11, 0, 0, NY), at(10, 0, 0, NY), null));
+    assertThrows(IllegalArgumentException.class, () -> book.getFreeBusy(List.of("ny"),
+        at(10, 0, 0, NY), at(11, 0, 0, NY), Duration.ofMillis(500)));
+    assertThrows(IllegalArgumentException.class, () -> book.getFreeBusy(List.of("ny"),
+        at(10, 0, 0, NY), at(11, 0, 0, NY), Duration.ofMillis(1500)));
+    assertTrue(book.getFreeBusy(List.of("ny"), at(10, 0, 0, NY), at(11, 0, 0, NY), null)
+        .isEmpty());
+  }
+}
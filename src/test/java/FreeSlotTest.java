@@ -0,0 +1,130 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.TimeInterval;
+import calendar.controller.CalendarController;
+import calendar.controller.HeadlessController;
+import calendar.view.TextCalendarView;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the earliest common free slot finder.
+ */
+public class FreeSlotTest {
+
+  private static final ZoneId NY = ZoneId.of("America/New_York");
+  private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+  private CalendarBook book;
+  private Calendar ny;
+  private Calendar london;
+
+  /**
+   * Creates two calendars in different zones.
+   */
+  @Before
+  public void setUp() {
+    book = new CalendarBookImpl();
+    ny = book.createCalendar("ny", NY);
+    london = book.createCalendar("london", LONDON);
+  }
+
+  private static ZonedDateTime at(int day, int hour, int minute, ZoneId zone) {
+    return ZonedDateTime.of(2025, 11, day, hour, minute, 0, 0, zone);
+  }
+
+  /**
+   * Test the first gap long enough after merged busy time is returned.
+   */
+  @Test
+  public void testFindsFirstSufficientGap() {
+    ny.createEvent("A", LocalDateTime.of(2025, 11, 10, 8, 0),
+        LocalDateTime.of(2025, 11, 10, 9, 0));
+    ny.createEvent("B", LocalDateTime.of(2025, 11, 10, 9, 30),
+        LocalDateTime.of(2025, 11, 10, 10, 0));
+
+    Optional<TimeInterval> slot = book.findFreeSlot(List.of("ny"), Duration.ofMinutes(45),
+        at(10, 8, 0, NY), at(10, 17, 0, NY), true);
+
+    assertTrue(slot.isPresent());
+    assertEquals(at(10, 10, 0, NY).toInstant(), slot.get().getStart());
+    assertEquals(at(10, 10, 45, NY).toInstant(), slot.get().getEnd());
+  }
+
+  /**
+   * Test working hours apply in each attendee's own zone.
+   */
+  @Test
+  public void testWorkingHoursIntersectAcrossZones() {
+    // London works 08:00-17:00 GMT == 03:00-12:00 New York; New York works 08:00-17:00.
+    Optional<TimeInterval> slot = book.findFreeSlot(List.of("ny", "london"),
+        Duration.ofHours(1), at(10, 0, 0, NY), at(11, 0, 0, NY), true);
+
+    assertTrue(slot.isPresent());
+    assertEquals(at(10, 8, 0, NY).toInstant(), slot.get().getStart());
+  }
+
+  /**
+   * Test disabling working hours allows the window start.
+   */
+  @Test
+  public void testAnytimeIgnoresWorkingHours() {
+    Optional<TimeInterval> slot = book.findFreeSlot(List.of("ny", "london"),
+        Duration.ofHours(1), at(10, 0, 0, NY), at(11, 0, 0, NY), false);
+
+    assertEquals(at(10, 0, 0, NY).toInstant(), slot.get().getStart());
+  }
+
+  /**
+   * Test an empty result when nothing fits, and argument validation.
+   */
+  @Test
+  public void testNoSlotAndValidation() {
+    london.createEvent("Offsite", LocalDateTime.of(2025, 11, 10, 8, 0),
+        LocalDateTime.of(2025, 11, 10, 17, 0));
+    assertFalse(book.findFreeSlot(List.of("ny", "london"), Duration.ofMinutes(30),
+        at(10, 0, 0, NY), at(11, 0, 0, NY), true).isPresent());
+
+    assertThrows(IllegalArgumentException.class, () -> book.findFreeSlot(List.of("ny"),
+        Duration.ZERO, at(10, 0, 0, NY), at(11, 0, 0, NY), true));
+    assertThrows(IllegalArgumentException.class, () -> book.findFreeSlot(List.of("nope"),
+        Duration.ofMinutes(30), at(10, 0, 0, NY), at(11, 0, 0, NY), true));
+  }
+
+  /**
+   * Test the find slot command reports the slot in the active calendar's zone.
+   */
+  @Test
+  public void testFindSlotCommand() {
+    ny.createEvent("Busy", LocalDateTime.of(2025, 11, 10, 8, 0),
+        LocalDateTime.of(2025, 11, 10, 12, 0));
+    String script = "use calendar --name ny\n"
+        + "find slot --duration 60 --calendars ny from 2025-11-10T00:00"
+        + " to 2025-11-11T00:00\n"
+        + "find slot --duration 600 from 2025-11-10T00:00 to 2025-11-11T00:00\n"
+        + "exit\n";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CalendarController c = new HeadlessController(book,
+        new TextCalendarView(new PrintStream(out)), new StringReader(script));
+    c.run();
+
+    String text = out.toString();
+    assertTrue(text.contains("Earliest free slot: 2025-11-10T12:00 to 2025-11-10T13:00"));
+    assertTrue(text.contains("No free slot found"));
+  }
+}
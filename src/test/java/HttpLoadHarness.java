@@ -0,0 +1,193 @@
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.controller.http.CalendarHttpServer;
+import calendar.view.TextCalendarView;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load-test harness for server mode. Starts an in-process server on localhost (or targets
+ * {@code --url}), seeds calendars, then runs many concurrent query clients for a fixed
+ * duration and reports throughput and latency percentiles.
+ *
+ * <p>Run with {@code ./gradlew loadTest}, passing options through
+ * {@code --args="--clients 2000 --seconds 30"}. Options: {@code --url}, {@code --clients},
+ * {@code --seconds}, {@code --calendars}, {@code --events}.</p>
+ */
+public final class HttpLoadHarness {
+
+  private static final LocalDate BASE_DAY = LocalDate.of(2025, 1, 6);
+
+  private HttpLoadHarness() {}
+
+  /**
+   * Entry point.
+   *
+   * @param args harness options
+   * @throws Exception on setup failure
+   */
+  public static void main(String[] args) throws Exception {
+    String url = option(args, "--url", null);
+    final int clients = Integer.parseInt(option(args, "--clients", "1000"));
+    final int seconds = Integer.parseInt(option(args, "--seconds", "15"));
+    final int calendars = Integer.parseInt(option(args, "--calendars", "8"));
+    final int events = Integer.parseInt(option(args, "--events", "2000"));
+
+    CalendarHttpServer server = null;
+    if (url == null) {
+      CalendarBook book = seed(calendars, events);
+      server = new CalendarHttpServer(book, new TextCalendarView(System.out), 0);
+      server.start();
+      url = "http://127.0.0.1:" + server.getPort();
+      System.out.printf("Seeded %d calendars x %d events; serving on %s%n",
+          calendars, events, url);
+    }
+
+    HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    final long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+    final long[][] samples = new long[clients][];
+    final int[] counts = new int[clients];
+    final AtomicLong errors = new AtomicLong();
+    final CountDownLatch done = new CountDownLatch(clients);
+    final String target = url;
+
+    ExecutorService pool = newClientExecutor();
+    long started = System.nanoTime();
+    for (int c = 0; c < clients; c++) {
+      final int id = c;
+      pool.execute(() -> {
+        SplittableRandom rnd = new SplittableRandom(id);
+        long[] lat = new long[1024];
+        int n = 0;
+        try {
+          while (System.nanoTime() < deadline) {
+            HttpRequest req = HttpRequest.newBuilder(
+                URI.create(target + randomQuery(rnd, calendars))).GET().build();
+            long t0 = System.nanoTime();
+            try {
+              HttpResponse<String> r = client.send(req, HttpResponse.BodyHandlers.ofString());
+              if (r.statusCode() != 200) {
+                errors.incrementAndGet();
+              }
+            } catch (Exception e) {
+              errors.incrementAndGet();
+            }
+            if (n == lat.length) {
+              lat = Arrays.copyOf(lat, n * 2);
+            }
+            lat[n++] = System.nanoTime() - t0;
+          }
+        } finally {
+          samples[id] = lat;
+          counts[id] = n;
+          done.countDown();
+        }
+      });
+    }
+    done.await();
+    long elapsed = System.nanoTime() - started;
+    pool.shutdown();
+
+    report(samples, counts, errors.get(), elapsed, clients);
+    if (server != null) {
+      server.stop();
+    }
+  }
+
+  private static CalendarBook seed(int calendars, int events) {
+    CalendarBook book = new CalendarBookImpl();
+    String[] zones = {"America/New_York", "Europe/London", "Asia/Kolkata", "America/Chicago"};
+    for (int c = 0; c < calendars; c++) {
+      Calendar cal = book.createCalendar("cal" + c, ZoneId.of(zones[c % zones.length]));
+      int series = events / 10;
+      for (int i = 0; i < events - series; i++) {
+        LocalDateTime s = BASE_DAY.plusDays(i / 8).atTime(8 + i % 8, 0);
+        cal.createEvent("Meeting " + i, s, s.plusMinutes(45));
+      }
+      cal.createEventSeries("Standup", BASE_DAY.atTime(7, 30), BASE_DAY.atTime(7, 45),
+          EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY), series);
+    }
+    return book;
+  }
+
+  private static String randomQuery(SplittableRandom rnd, int calendars) {
+    String cal = "/calendars/cal" + rnd.nextInt(calendars);
+    LocalDate day = BASE_DAY.plusDays(rnd.nextInt(250));
+    switch (rnd.nextInt(4)) {
+      case 0:
+        return cal + "/events?on=" + day;
+      case 1:
+        return cal + "/events?from=" + day.atTime(9, 0) + "&to=" + day.plusDays(7).atTime(17, 0);
+      case 2:
+        return cal + "/status?at=" + day.atTime(8 + rnd.nextInt(9), 30);
+      default:
+        return "/calendars";
+    }
+  }
+
+  private static void report(long[][] samples, int[] counts, long errors, long elapsedNanos,
+                             int clients) {
+    int total = 0;
+    for (int n : counts) {
+      total += n;
+    }
+    long[] all = new long[total];
+    int pos = 0;
+    for (int i = 0; i < samples.length; i++) {
+      System.arraycopy(samples[i], 0, all, pos, counts[i]);
+      pos += counts[i];
+    }
+    Arrays.sort(all);
+    double secs = elapsedNanos / 1e9;
+    System.out.printf("clients=%d requests=%d errors=%d elapsed=%.1fs throughput=%.0f req/s%n",
+        clients, total, errors, secs, total / secs);
+    System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f p999=%.2f max=%.2f%n",
+        pct(all, 0.50), pct(all, 0.90), pct(all, 0.99), pct(all, 0.999),
+        all.length == 0 ? 0.0 : all[all.length - 1] / 1e6);
+  }
+
+  private static double pct(long[] sorted, double q) {
+    if (sorted.length == 0) {
+      return 0.0;
+    }
+    int idx = (int) Math.min(sorted.length - 1, Math.ceil(q * sorted.length) - 1);
+    return sorted[Math.max(0, idx)] / 1e6;
+  }
+
+  private static ExecutorService newClientExecutor() {
+    try {
+      return (ExecutorService) Executors.class
+          .getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool();
+    }
+  }
+
+  private static String option(String[] args, String name, String fallback) {
+    for (int i = 0; i < args.length - 1; i++) {
+      if (name.equals(args[i])) {
+        return args[i + 1];
+      }
+    }
+    return fallback;
+  }
+}
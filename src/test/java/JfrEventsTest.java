@@ -0,0 +1,91 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.EventProperty;
+import calendar.util.ExportUtil;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+/**
+ * Tests that model operations emit flight-recorder events.
+ */
+public class JfrEventsTest {
+
+  private static List<RecordedEvent> named(List<RecordedEvent> all, String name) {
+    return all.stream().filter(e -> e.getEventType().getName().equals(name))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Each instrumented operation produces one event carrying its counts.
+   */
+  @Test
+  public void testModelOperationsRecorded() throws Exception {
+    Path dump = Files.createTempFile("calendar", ".jfr");
+    File csv = File.createTempFile("calendar", ".csv");
+    List<RecordedEvent> events;
+    try (Recording r = new Recording()) {
+      r.enable("calendar.Create");
+      r.enable("calendar.SeriesExpansion");
+      r.enable("calendar.Edit");
+      r.enable("calendar.RangeQuery");
+      r.enable("calendar.ZoneConversion");
+      r.enable("calendar.Copy");
+      r.enable("calendar.Export");
+      r.start();
+
+      CalendarBook book = new CalendarBookImpl();
+      Calendar work = book.createCalendar("work", ZoneId.of("America/New_York"));
+      book.createCalendar("home", ZoneId.of("Europe/London"));
+      LocalDateTime nine = LocalDateTime.of(2025, 1, 6, 9, 0);
+      work.createEvent("Solo", nine.plusHours(3), nine.plusHours(4));
+      work.createEventSeries("Standup", nine, nine.plusMinutes(15),
+          EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), 4);
+      work.editSeries("Standup", nine, EventProperty.LOCATION, null, "Room 1");
+      work.getEventsInRange(nine, nine.plusDays(30));
+      book.copyEventsOnDate("work", "home", LocalDate.of(2025, 1, 6), LocalDate.of(2025, 2, 3));
+      book.changeTimezone("work", ZoneId.of("Asia/Tokyo"));
+      ExportUtil.export(work, csv.getPath());
+
+      r.stop();
+      r.dump(dump);
+      events = RecordingFile.readAllEvents(dump);
+    } finally {
+      Files.deleteIfExists(dump);
+      csv.delete();
+    }
+
+    assertEquals(1, named(events, "calendar.Create").size());
+    RecordedEvent series = named(events, "calendar.SeriesExpansion").get(0);
+    assertEquals(4, series.getInt("eventsCreated"));
+    RecordedEvent edit = named(events, "calendar.Edit").get(0);
+    assertEquals("series", edit.getString("scope"));
+    assertEquals(4, edit.getInt("eventsTouched"));
+    assertTrue(named(events, "calendar.RangeQuery").stream()
+        .anyMatch(e -> "range".equals(e.getString("kind")) && e.getInt("eventsReturned") == 5));
+    RecordedEvent copy = named(events, "calendar.Copy").get(0);
+    assertEquals("home", copy.getString("target"));
+    assertEquals(2, copy.getInt("eventsCopied"));
+    RecordedEvent zone = named(events, "calendar.ZoneConversion").get(0);
+    assertEquals("Asia/Tokyo", zone.getString("toZone"));
+    assertEquals(5, zone.getInt("eventsConverted"));
+    RecordedEvent export = named(events, "calendar.Export").get(0);
+    assertEquals(5, export.getInt("eventsWritten"));
+    assertTrue(export.getLong("bytesWritten") > 0);
+  }
+}
@@ -0,0 +1,119 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarImpl;
+import calendar.Event;
+import calendar.QueryCacheStats;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+/**
+ * Tests for the per-calendar cache of day and range lookups.
+ */
+public class QueryCacheTest {
+
+  private static final String CAPACITY_PROPERTY = "calendar.query.cache.events";
+
+  private static LocalDateTime at(int day, int hour) {
+    return LocalDateTime.of(2025, 7, day, hour, 0);
+  }
+
+  private static LocalDate day(int day) {
+    return LocalDate.of(2025, 7, day);
+  }
+
+  /**
+   * A repeated lookup is answered from the cache, and callers get their own copy.
+   */
+  @Test
+  public void testRepeatedLookupHits() {
+    Calendar cal = new CalendarImpl("c", ZoneId.of("UTC"));
+    cal.createEvent("Plan", at(1, 9), at(1, 10));
+    cal.createEvent("Build", at(2, 9), at(2, 10));
+
+    List<Event> first = cal.getEventsInRange(at(1, 0), at(3, 0));
+    first.clear();
+    assertEquals(2, cal.getEventsInRange(at(1, 0), at(3, 0)).size());
+    assertEquals(1, cal.getEventsOnDate(day(2)).size());
+
+    QueryCacheStats stats = cal.getQueryCacheStats();
+    assertEquals(1, stats.getHits());
+    assertEquals(2, stats.getMisses());
+    assertEquals(2, stats.getEntries());
+    assertEquals(3, stats.getCachedEvents());
+    assertEquals(1.0 / 3, stats.hitRate(), 1e-9);
+  }
+
+  /**
+   * A change drops only the cached lookups its old and new times overlap.
+   */
+  @Test
+  public void testChangesInvalidateOnlyTheirSpan() {
+    Calendar cal = new CalendarImpl("c", ZoneId.of("UTC"));
+    cal.createEvent("Review", at(2, 9), at(2, 10));
+    cal.getEventsOnDate(day(2));
+    cal.getEventsOnDate(day(10));
+    cal.getEventsOnDate(day(20));
+
+    cal.createEvent("Lunch", at(2, 12), at(2, 13));
+    assertEquals(1, cal.getQueryCacheStats().getInvalidations());
+    assertEquals(List.of("Review", "Lunch"), subjects(cal.getEventsOnDate(day(2))));
+    assertTrue(cal.getEventsOnDate(day(10)).isEmpty());
+
+    cal.editEvent("Review", at(2, 9), "end", "2025-07-20T10:00");
+    assertEquals(4, cal.getQueryCacheStats().getInvalidations());
+    assertEquals(List.of("Review", "Lunch"), subjects(cal.getEventsOnDate(day(2))));
+    assertEquals(List.of("Review"), subjects(cal.getEventsOnDate(day(10))));
+    assertEquals(List.of("Review"), subjects(cal.getEventsOnDate(day(20))));
+
+    cal.deleteEvent("Lunch", at(2, 12));
+    assertEquals(List.of("Review"), subjects(cal.getEventsOnDate(day(2))));
+    assertEquals(List.of("Review"), subjects(cal.getEventsOnDate(day(10))));
+    assertEquals(2, cal.getQueryCacheStats().getHits());
+  }
+
+  /**
+   * The cap on cached events evicts the least recently used entries first, and a cap of
+   * zero turns the cache off.
+   */
+  @Test
+  public void testMemoryCap() {
+    Calendar capped = withCapacity("3");
+    for (int d = 1; d <= 3; d++) {
+      capped.createEvent("Day " + d, at(d, 9), at(d, 10));
+      capped.getEventsOnDate(day(d));
+    }
+    capped.getEventsOnDate(day(4));
+    capped.getEventsInRange(at(1, 0), at(4, 0));
+
+    QueryCacheStats stats = capped.getQueryCacheStats();
+    assertEquals(3, stats.getEvictions());
+    assertEquals(2, stats.getEntries());
+    assertEquals(3, stats.getCachedEvents());
+    assertEquals(3, stats.getCapacity());
+
+    Calendar off = withCapacity("0");
+    off.getEventsOnDate(day(1));
+    off.getEventsOnDate(day(1));
+    assertEquals(0, off.getQueryCacheStats().getHits());
+    assertEquals(0, off.getQueryCacheStats().getEntries());
+  }
+
+  private static Calendar withCapacity(String events) {
+    System.setProperty(CAPACITY_PROPERTY, events);
+    try {
+      return new CalendarImpl("c", ZoneId.of("UTC"));
+    } finally {
+      System.clearProperty(CAPACITY_PROPERTY);
+    }
+  }
+
+  private static List<String> subjects(List<Event> events) {
+    return events.stream().map(Event::getSubject).collect(Collectors.toList());
+  }
+}
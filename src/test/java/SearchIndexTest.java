@@ -0,0 +1,105 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarImpl;
+import calendar.Event;
+import calendar.EventBuilder;
+import calendar.SearchIndex;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for SearchIndex and Calendar.searchEvents.
+ */
+public class SearchIndexTest {
+
+  private SearchIndex index;
+
+  /**
+   * Sets up a fresh SearchIndex instance before each test.
+   */
+  @Before
+  public void setUp() {
+    index = new SearchIndex();
+  }
+
+  private static Event event(String subject, int day, String location, String description) {
+    LocalDateTime start = LocalDateTime.of(2025, 11, day, 9, 0);
+    return new EventBuilder().subject(subject).startDateTime(start)
+        .endDateTime(start.plusHours(1)).location(location == null ? "" : location)
+        .description(description == null ? "" : description).build();
+  }
+
+  /**
+   * Test tokens are matched case-insensitively across all three fields.
+   */
+  @Test
+  public void testTokenSearchAcrossFields() {
+    Event a = event("Budget Review", 1, "Room 4B", null);
+    Event b = event("Standup", 2, "Budget room", null);
+    Event c = event("Lunch", 3, null, "discuss the BUDGET");
+    index.add(a);
+    index.add(b);
+    index.add(c);
+
+    assertEquals(List.of(a, b, c), index.search("budget", 0));
+    assertEquals(List.of(a, b), index.search("room budget", 0));
+    assertTrue(index.search("budget missing", 0).isEmpty());
+  }
+
+  /**
+   * Test prefix terms and result limits.
+   */
+  @Test
+  public void testPrefixAndLimit() {
+    for (int d = 1; d <= 9; d++) {
+      index.add(event("Planning " + d, d, null, null));
+    }
+    index.add(event("Plant care", 10, null, null));
+
+    assertEquals(10, index.search("plan*", 0).size());
+    List<Event> top = index.search("plan*", 3);
+    assertEquals(3, top.size());
+    assertEquals("Planning 1", top.get(0).getSubject());
+    assertEquals(1, index.search("plant", 0).size());
+  }
+
+  /**
+   * Test removal drops postings and empty terms.
+   */
+  @Test
+  public void testRemove() {
+    Event a = event("Retro", 1, "Lab", null);
+    index.add(a);
+    index.remove(a);
+    assertTrue(index.search("retro", 0).isEmpty());
+    assertEquals(0, index.termCount());
+  }
+
+  /**
+   * Test the calendar keeps the index current across create, edit and copy.
+   */
+  @Test
+  public void testCalendarMaintainsIndex() {
+    Calendar cal = new CalendarImpl("work", ZoneId.of("America/New_York"));
+    LocalDateTime start = LocalDateTime.of(2025, 11, 10, 9, 0);
+    cal.createEvent("Design sync", start, start.plusHours(1));
+    cal.editEvent("Design sync", start, "location", "Atrium");
+
+    assertEquals(1, cal.searchEvents("atrium", 0).size());
+    cal.editEvent("Design sync", start, "subject", "Architecture sync");
+    assertTrue(cal.searchEvents("design", 0).isEmpty());
+    assertEquals(1, cal.searchEvents("arch*", 0).size());
+
+    Event original = cal.searchEvents("architecture", 0).get(0);
+    cal.copyFrom(original, start.plusDays(1), start.plusDays(1).plusHours(1));
+    assertEquals(2, cal.searchEvents("atrium sync", 0).size());
+
+    cal.setZoneId(ZoneId.of("Europe/London"));
+    assertEquals(2, cal.searchEvents("atrium", 0).size());
+  }
+}
@@ -0,0 +1,89 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.Event;
+import calendar.EventProperty;
+import calendar.SingleEvent;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for series members that share a common template.
+ */
+public class SeriesOccurrenceTest {
+
+  private static final LocalDateTime NINE = LocalDateTime.of(2025, 1, 6, 9, 0);
+
+  private Calendar cal;
+  private List<Event> series;
+
+  /**
+   * Creates a four-week Monday/Wednesday series.
+   */
+  @Before
+  public void setUp() {
+    CalendarBook book = new CalendarBookImpl();
+    cal = book.createCalendar("c", ZoneId.of("UTC"));
+    series = cal.createEventSeries("Standup", NINE, NINE.plusMinutes(15),
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), 8);
+  }
+
+  /**
+   * Members of one series share their common text.
+   */
+  @Test
+  public void testMembersShareTemplate() {
+    cal.editSeries("Standup", NINE, EventProperty.LOCATION, null, new String("Room 1"));
+    List<Event> all = cal.getAllEvents();
+    assertEquals(8, all.size());
+    for (Event e : all) {
+      assertSame(all.get(0).getSubject(), e.getSubject());
+      assertSame(all.get(0).getLocation().get(), e.getLocation().get());
+      assertTrue(e.isSeriesPart());
+    }
+  }
+
+  /**
+   * Editing one occurrence leaves its siblings untouched.
+   */
+  @Test
+  public void testSingleEditCopiesOnWrite() {
+    LocalDateTime wed = NINE.plusDays(2);
+    cal.editEvent("Standup", wed, EventProperty.DESCRIPTION, null, "moved agenda");
+
+    Event edited = cal.findEvents("Standup", wed).get(0);
+    assertEquals("moved agenda", edited.getDescription().get());
+    assertEquals(series.get(0).getSeriesId(), edited.getSeriesId());
+    for (Event e : cal.getAllEvents()) {
+      if (!e.getStartDateTime().equals(wed)) {
+        assertFalse(e.getDescription().isPresent());
+      }
+    }
+  }
+
+  /**
+   * Occurrences compare, hash and print like standalone events.
+   */
+  @Test
+  public void testValueSemanticsMatchSingleEvent() {
+    Event first = series.get(0);
+    Event plain = new SingleEvent("Standup", NINE, NINE.plusMinutes(15));
+    assertNotSame(plain.getClass(), first.getClass());
+    assertEquals(plain, first);
+    assertEquals(first, plain);
+    assertEquals(plain.hashCode(), first.hashCode());
+    assertEquals(plain.toString(), first.toString());
+    assertFalse(first.isAllDayEvent());
+  }
+}
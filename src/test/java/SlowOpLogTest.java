@@ -0,0 +1,156 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.CalendarImpl;
+import calendar.EventProperty;
+import calendar.QueryTrace;
+import calendar.controller.CommandMetrics;
+import calendar.controller.HeadlessController;
+import calendar.controller.SlowOpLog;
+import calendar.view.TextCalendarView;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for SlowOpLog and QueryTrace.
+ */
+public class SlowOpLogTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  private static final LocalDateTime NINE = LocalDateTime.of(2025, 1, 6, 9, 0);
+
+  /**
+   * A trace names the access path and counts scanned versus returned events.
+   */
+  @Test
+  public void testTraceReportsPlan() {
+    Calendar cal = new CalendarImpl("c", ZoneId.of("UTC"));
+    cal.createEventSeries("Standup", NINE, NINE.plusMinutes(15),
+        EnumSet.of(DayOfWeek.MONDAY), 10);
+    cal.createEvent("Lunch", NINE.plusHours(3), NINE.plusHours(4));
+
+    try (QueryTrace trace = QueryTrace.start()) {
+      assertEquals(2, cal.getEventsInRange(NINE, NINE.plusHours(5)).size());
+      assertEquals("time-index.range x1 scanned=2 returned=2", trace.describe());
+      assertEquals(11, trace.getCalendarSize());
+    }
+    try (QueryTrace trace = QueryTrace.start()) {
+      cal.editEventsFromDate("Standup", NINE.plusWeeks(5), EventProperty.LOCATION, null, "A");
+      assertTrue(trace.describe().contains("series-index x1 scanned=10 returned=10"));
+    }
+    try (QueryTrace trace = QueryTrace.start()) {
+      cal.editSeries("Standup", NINE, EventProperty.LOCATION, null, "B");
+      assertTrue(trace.describe().contains("series-index x1 scanned=10 returned=10"));
+    }
+    try (QueryTrace trace = QueryTrace.start()) {
+      assertEquals("none", trace.describe());
+    }
+  }
+
+  /**
+   * Commands over the threshold are written with their plan; faster ones are not.
+   */
+  @Test
+  public void testHeadlessWritesSlowCommands() throws Exception {
+    Path log = tmp.getRoot().toPath().resolve("slow.log");
+    CalendarBook book = new CalendarBookImpl();
+    String script = "create calendar --name c --timezone UTC\n"
+        + "use calendar --name c\n"
+        + "create event \"A\" from 2025-01-06T09:00 to 2025-01-06T10:00\n"
+        + "print events from 2025-01-06T00:00 to 2025-01-07T00:00\n"
+        + "exit\n";
+    try (SlowOpLog slow = new SlowOpLog(0, log, 1 << 20, 2)) {
+      new HeadlessController(book, new TextCalendarView(new PrintStream(
+          new ByteArrayOutputStream())), new StringReader(script), new CommandMetrics(false),
+          slow).run();
+      List<String> lines = Files.readAllLines(log);
+      assertEquals(4, lines.size());
+      String print = lines.get(3);
+      assertTrue(print, print.contains("calendar=c size=1 scanned=1 returned=1"));
+      assertTrue(print, print.contains("plan=[time-index.range x1"));
+      assertTrue(print,
+          print.endsWith("cmd=print events from 2025-01-06T00:00 to 2025-01-07T00:00"));
+      assertEquals(0, slow.dropped());
+    }
+
+    Path quiet = tmp.getRoot().toPath().resolve("quiet.log");
+    try (SlowOpLog slow = new SlowOpLog(60_000, quiet, 1 << 20, 2)) {
+      new HeadlessController(new CalendarBookImpl(), new TextCalendarView(new PrintStream(
+          new ByteArrayOutputStream())), new StringReader(script), new CommandMetrics(false),
+          slow).run();
+    }
+    assertFalse(Files.exists(quiet));
+  }
+
+  /**
+   * The file rotates once it passes the size limit, keeping the configured number of files.
+   */
+  @Test
+  public void testRotation() throws Exception {
+    Path log = tmp.getRoot().toPath().resolve("slow.log");
+    try (SlowOpLog slow = new SlowOpLog(0, log, 200, 2)) {
+      for (int i = 0; i < 20; i++) {
+        try (QueryTrace trace = QueryTrace.start()) {
+          slow.record("command " + i, null, 1, trace);
+        }
+        slow.flush();
+      }
+    }
+    assertTrue(Files.exists(log));
+    assertTrue(Files.exists(log.resolveSibling("slow.log.1")));
+    assertTrue(Files.exists(log.resolveSibling("slow.log.2")));
+    assertFalse(Files.exists(log.resolveSibling("slow.log.3")));
+    assertTrue(Files.readString(log).contains("cmd=command 19"));
+  }
+
+  /**
+   * The size limit counts bytes, so entries with multi-byte characters rotate the file as
+   * soon as it passes the limit on disk.
+   */
+  @Test
+  public void testRotationCountsBytes() throws Exception {
+    Path log = tmp.getRoot().toPath().resolve("slow.log");
+    try (SlowOpLog slow = new SlowOpLog(0, log, 400, 3)) {
+      for (int i = 0; i < 6; i++) {
+        try (QueryTrace trace = QueryTrace.start()) {
+          slow.record("☕".repeat(40) + " " + i, null, 1, trace);
+        }
+        slow.flush();
+      }
+    }
+    for (String name : List.of("slow.log", "slow.log.1")) {
+      Path f = log.resolveSibling(name);
+      long longest = 0;
+      for (String line : Files.readAllLines(f)) {
+        longest = Math.max(longest, line.getBytes(StandardCharsets.UTF_8).length + 1);
+      }
+      assertTrue(name + " is " + Files.size(f), Files.size(f) < 400 + longest);
+    }
+  }
+
+  /**
+   * Without a threshold property the log is disabled.
+   */
+  @Test
+  public void testDisabledByDefault() {
+    assertFalse(SlowOpLog.fromSystemProperties().isEnabled());
+  }
+}
@@ -0,0 +1,108 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Calendar;
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.Event;
+import calendar.EventProperty;
+import calendar.SingleEvent;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests for string pooling and compact series ids in calendar storage.
+ */
+public class StringPoolTest {
+
+  private static final LocalDateTime NINE = LocalDateTime.of(2025, 1, 6, 9, 0);
+
+  /**
+   * Equal text arriving as distinct instances is stored once per calendar.
+   */
+  @Test
+  public void testEqualTextSharedWithinCalendar() {
+    CalendarBook book = new CalendarBookImpl();
+    Calendar cal = book.createCalendar("c", ZoneId.of("UTC"));
+    String first = new String("Weekly Sync");
+    String second = new String("Weekly Sync");
+    assertNotSame(first, second);
+
+    Event a = cal.createEvent(first, NINE, NINE.plusHours(1));
+    Event b = cal.createEvent(second, NINE.plusDays(1), NINE.plusDays(1).plusHours(1));
+    assertSame(a.getSubject(), b.getSubject());
+
+    cal.editEvent("Weekly Sync", NINE, EventProperty.LOCATION, null, new String("Room 4"));
+    cal.editEvent("Weekly Sync", NINE.plusDays(1), EventProperty.LOCATION, null,
+        new String("Room 4"));
+    List<Event> edited = cal.getEventsInRange(NINE, NINE.plusDays(2));
+    assertSame(edited.get(0).getLocation().get(), edited.get(1).getLocation().get());
+  }
+
+  /**
+   * Series ids are compact, stable across edits and copies, and distinct per series.
+   */
+  @Test
+  public void testCompactSeriesIds() {
+    CalendarBook book = new CalendarBookImpl();
+    Calendar cal = book.createCalendar("c", ZoneId.of("UTC"));
+    book.createCalendar("d", ZoneId.of("UTC"));
+    List<Event> one = cal.createEventSeries("A", NINE, NINE.plusHours(1),
+        EnumSet.of(DayOfWeek.MONDAY), 3);
+    List<Event> two = cal.createEventSeries("B", NINE, NINE.plusHours(1),
+        EnumSet.of(DayOfWeek.MONDAY), 3);
+
+    String id = one.get(0).getSeriesId().get();
+    assertTrue(id, id.matches("SERIES_[1-9][0-9]*"));
+    assertEquals(id, one.get(2).getSeriesId().get());
+    assertNotEquals(id, two.get(0).getSeriesId().get());
+
+    cal.editSeries("A", NINE, EventProperty.DESCRIPTION, null, "notes");
+    assertEquals(id, cal.findEvents("A", NINE).get(0).getSeriesId().get());
+
+    book.copyEventsOnDate("c", "d", LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 7));
+    assertEquals(id, book.getCalendar("d").findEvents("A", NINE.plusDays(1)).get(0)
+        .getSeriesId().get());
+  }
+
+  /**
+   * Ids supplied by callers in any format round-trip unchanged.
+   */
+  @Test
+  public void testExternalIdsRoundTrip() {
+    Event e = new SingleEvent("X", NINE, NINE.plusHours(1), "", "", true, "legacy-uuid-1234");
+    assertEquals("legacy-uuid-1234", e.getSeriesId().get());
+    Event f = new SingleEvent("X", NINE, NINE.plusHours(1), "", "", true, "SERIES_007");
+    assertEquals("SERIES_007", f.getSeriesId().get());
+    assertTrue(new SingleEvent("X", NINE, NINE.plusHours(1)).getSeriesId().isEmpty());
+  }
+
+  /**
+   * An external id is carried by its events through storage and copies, and two such ids
+   * stay distinct.
+   */
+  @Test
+  public void testExternalIdsStayWithTheirEvents() {
+    Calendar cal = new CalendarBookImpl().createCalendar("c", ZoneId.of("UTC"));
+    Event a = cal.copyFrom(new SingleEvent("X", NINE, NINE.plusHours(1), "", "", true,
+        "legacy-a"), NINE, NINE.plusHours(1));
+    cal.copyFrom(new SingleEvent("X", NINE, NINE.plusHours(1), "", "", true, "legacy-b"),
+        NINE.plusDays(1), NINE.plusDays(1).plusHours(1));
+    assertEquals("legacy-a", a.getSeriesId().get());
+
+    cal.editSeries("X", NINE, EventProperty.LOCATION, null, "Room 1");
+    List<Event> all = cal.getAllEvents();
+    assertEquals("legacy-a", all.get(0).getSeriesId().get());
+    assertEquals("Room 1", all.get(0).getLocation().get());
+    assertEquals("legacy-b", all.get(1).getSeriesId().get());
+    assertTrue(all.get(1).getLocation().isEmpty());
+  }
+}
@@ -0,0 +1,139 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.Event;
+import calendar.EventBuilder;
+import calendar.TimeIndex;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for TimeIndex.
+ */
+public class TimeIndexTest {
+
+  private TimeIndex index;
+
+  /**
+   * Sets up a fresh TimeIndex instance before each test.
+   */
+  @Before
+  public void setUp() {
+    index = new TimeIndex();
+  }
+
+  private static Event event(String subject, LocalDateTime start, LocalDateTime end) {
+    return new EventBuilder().subject(subject).startDateTime(start).endDateTime(end).build();
+  }
+
+  /**
+   * Test a long event starting well before the window is still found.
+   */
+  @Test
+  public void testOverlapping_findsLongEventStartingEarly() {
+    Event longOne = event("Conference",
+        LocalDateTime.of(2025, 11, 1, 9, 0), LocalDateTime.of(2025, 11, 5, 17, 0));
+    Event shortOne = event("Lunch",
+        LocalDateTime.of(2025, 11, 4, 12, 0), LocalDateTime.of(2025, 11, 4, 13, 0));
+    index.add(shortOne);
+    index.add(longOne);
+
+    List<Event> hits = index.overlapping(
+        LocalDateTime.of(2025, 11, 4, 0, 0), LocalDateTime.of(2025, 11, 4, 23, 59));
+    assertEquals(2, hits.size());
+    assertEquals("Conference", hits.get(0).getSubject());
+    assertEquals("Lunch", hits.get(1).getSubject());
+  }
+
+  /**
+   * Test range bounds are inclusive for overlapping and end-exclusive for half-open.
+   */
+  @Test
+  public void testBoundSemantics() {
+    Event e = event("A",
+        LocalDateTime.of(2025, 11, 4, 10, 0), LocalDateTime.of(2025, 11, 4, 11, 0));
+    index.add(e);
+
+    assertEquals(1, index.overlapping(
+        LocalDateTime.of(2025, 11, 4, 11, 0), LocalDateTime.of(2025, 11, 4, 12, 0)).size());
+    assertEquals(1, index.overlapping(
+        LocalDateTime.of(2025, 11, 4, 9, 0), LocalDateTime.of(2025, 11, 4, 10, 0)).size());
+    assertEquals(0, index.overlappingHalfOpen(
+        LocalDateTime.of(2025, 11, 4, 9, 0), LocalDateTime.of(2025, 11, 4, 10, 0)).size());
+  }
+
+  /**
+   * Test covers uses a half-open event interval.
+   */
+  @Test
+  public void testCovers() {
+    index.add(event("A",
+        LocalDateTime.of(2025, 11, 4, 10, 0), LocalDateTime.of(2025, 11, 4, 11, 0)));
+    assertTrue(index.covers(LocalDateTime.of(2025, 11, 4, 10, 0)));
+    assertTrue(index.covers(LocalDateTime.of(2025, 11, 4, 10, 59)));
+    assertFalse(index.covers(LocalDateTime.of(2025, 11, 4, 11, 0)));
+    assertFalse(index.covers(LocalDateTime.of(2025, 11, 4, 9, 59)));
+  }
+
+  /**
+   * Test remove shrinks the search window and drops empty buckets.
+   */
+  @Test
+  public void testRemove() {
+    Event longOne = event("Long",
+        LocalDateTime.of(2025, 11, 1, 9, 0), LocalDateTime.of(2025, 11, 5, 17, 0));
+    Event shortOne = event("Short",
+        LocalDateTime.of(2025, 11, 4, 9, 0), LocalDateTime.of(2025, 11, 4, 10, 0));
+    index.add(longOne);
+    index.add(shortOne);
+
+    assertTrue(index.remove(longOne));
+    assertFalse(index.remove(longOne));
+    assertEquals(1, index.size());
+    assertEquals(0, index.startingAt(LocalDateTime.of(2025, 11, 1, 9, 0)).size());
+    assertFalse(index.covers(LocalDateTime.of(2025, 11, 3, 9, 0)));
+  }
+
+  /**
+   * Test rebuild replaces prior contents.
+   */
+  @Test
+  public void testRebuild() {
+    index.add(event("Old",
+        LocalDateTime.of(2025, 11, 4, 9, 0), LocalDateTime.of(2025, 11, 4, 10, 0)));
+    Event fresh = event("New",
+        LocalDateTime.of(2025, 12, 4, 9, 0), LocalDateTime.of(2025, 12, 4, 10, 0));
+    index.rebuild(List.of(fresh));
+
+    assertEquals(1, index.size());
+    assertEquals(fresh, index.startingAt(LocalDateTime.of(2025, 12, 4, 9, 0)).get(0));
+    assertTrue(index.startingAt(LocalDateTime.of(2025, 11, 4, 9, 0)).isEmpty());
+  }
+
+  /**
+   * The parallel path returns the same events in the same order as the serial one, and
+   * counting agrees with both.
+   */
+  @Test
+  public void testParallelScan_matchesSerial() {
+    TimeIndex parallel = new TimeIndex(1);
+    LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+    for (int i = 0; i < 60_000; i++) {
+      LocalDateTime start = base.plusMinutes(17L * i);
+      Event e = event("E" + i, start, start.plusMinutes(i % 7 == 0 ? 600 : 45));
+      index.add(e);
+      parallel.add(e);
+    }
+    LocalDateTime from = base.plusDays(20);
+    LocalDateTime to = base.plusDays(600);
+
+    List<Event> expected = index.overlapping(from, to);
+    assertEquals(expected, parallel.overlapping(from, to));
+    assertEquals(expected.size(), parallel.countOverlapping(from, to));
+    assertEquals(expected.size(), index.countOverlapping(from, to));
+    assertEquals(index.overlappingHalfOpen(from, to), parallel.overlappingHalfOpen(from, to));
+  }
+}
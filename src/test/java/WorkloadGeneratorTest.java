@@ -0,0 +1,137 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.CalendarBook;
+import calendar.CalendarBookImpl;
+import calendar.Event;
+import calendar.WorkingHours;
+import calendar.controller.HeadlessController;
+import calendar.view.TextCalendarView;
+import calendar.workload.WorkloadGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * Tests for WorkloadGenerator.
+ */
+public class WorkloadGeneratorTest {
+
+  private static final LocalDateTime FROM = LocalDateTime.of(2000, 1, 1, 0, 0);
+  private static final LocalDateTime TO = LocalDateTime.of(2200, 1, 1, 0, 0);
+
+  private static WorkloadGenerator gen(long seed, long events) {
+    return new WorkloadGenerator(WorkloadGenerator.Spec.builder()
+        .seed(seed).calendars(4).events(events).build());
+  }
+
+  private static String script(WorkloadGenerator g) throws IOException {
+    StringWriter w = new StringWriter();
+    g.writeScript(w);
+    return w.toString();
+  }
+
+  private static List<Event> all(CalendarBook book, String name) {
+    return book.getCalendar(name).getEventsInRange(FROM, TO);
+  }
+
+  /**
+   * The same seed yields the same script; a different seed does not.
+   */
+  @Test
+  public void testDeterministicFromSeed() throws IOException {
+    assertEquals(script(gen(7, 2000)), script(gen(7, 2000)));
+    assertNotEquals(script(gen(7, 2000)), script(gen(8, 2000)));
+  }
+
+  /**
+   * The lazy reader produces exactly the written script.
+   */
+  @Test
+  public void testScriptReaderMatchesWriter() throws IOException {
+    WorkloadGenerator g = gen(3, 1500);
+    StringBuilder sb = new StringBuilder();
+    char[] buf = new char[37];
+    try (Reader r = g.scriptReader()) {
+      for (int n = r.read(buf); n >= 0; n = r.read(buf)) {
+        sb.append(buf, 0, n);
+      }
+    }
+    assertEquals(script(g), sb.toString());
+    assertTrue(sb.toString().endsWith("exit\n"));
+  }
+
+  /**
+   * Replaying the script headlessly builds the same calendars as populating directly, and
+   * every line parses.
+   */
+  @Test
+  public void testScriptAndBookAgree() {
+    WorkloadGenerator g = new WorkloadGenerator(WorkloadGenerator.Spec.builder()
+        .seed(11).calendars(4).events(3000).queryFraction(0.1).build());
+    CalendarBook direct = g.buildBook();
+    CalendarBook replayed = new CalendarBookImpl();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new HeadlessController(replayed, new TextCalendarView(new PrintStream(out)),
+        g.scriptReader()).run();
+
+    assertFalse(out.toString().contains("Error: Line"));
+    long total = 0;
+    for (int c = 0; c < 4; c++) {
+      String name = g.getSpec().calendarName(c);
+      assertEquals(direct.getCalendar(name).getZoneId(),
+          replayed.getCalendar(name).getZoneId());
+      assertEquals(all(direct, name).size(), all(replayed, name).size());
+      total += all(direct, name).size();
+    }
+    assertTrue(total > 2900 && total <= 3000);
+  }
+
+  /**
+   * Calendars and subjects are skewed, and the mix includes series and all-day events.
+   */
+  @Test
+  public void testDistributions() {
+    WorkloadGenerator g = gen(5, 5000);
+    CalendarBook book = g.buildBook();
+    int busiest = all(book, g.getSpec().calendarName(0)).size();
+    int quietest = all(book, g.getSpec().calendarName(3)).size();
+    assertTrue(busiest > 2 * quietest);
+
+    Map<String, Integer> subjects = new HashMap<>();
+    int series = 0;
+    int allDay = 0;
+    for (Event e : all(book, g.getSpec().calendarName(0))) {
+      subjects.merge(e.getSubject(), 1, Integer::sum);
+      if (e.getSeriesId().isPresent()) {
+        series++;
+      }
+      if (e.getStartDateTime().toLocalTime().equals(WorkingHours.START)
+          && e.getEndDateTime().toLocalTime().equals(WorkingHours.END)) {
+        allDay++;
+      }
+    }
+    int top = subjects.values().stream().max(Integer::compare).orElse(0);
+    assertTrue(top > busiest / 20);
+    assertTrue(subjects.size() > 50);
+    assertTrue(series > busiest / 4);
+    assertTrue(allDay > 0);
+  }
+
+  /**
+   * Out-of-range settings are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSpec() {
+    WorkloadGenerator.Spec.builder().seriesFraction(1.5).build();
+  }
+}
@@ -0,0 +1,77 @@
+import static org.junit.Assert.assertEquals;
+
+import calendar.ZoneConverter;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ZoneConverter} against the {@code java.time} reference conversion.
+ */
+public class ZoneConverterTest {
+
+  private static final List<ZoneId> ZONES = List.of(
+      ZoneId.of("America/New_York"), ZoneId.of("Europe/London"), ZoneId.of("Asia/Kolkata"),
+      ZoneId.of("Australia/Lord_Howe"), ZoneId.of("Pacific/Apia"), ZoneId.of("UTC"),
+      ZoneOffset.ofHours(-7));
+
+  private static LocalDateTime reference(LocalDateTime t, ZoneId from, ZoneId to) {
+    return t.atZone(from).withZoneSameInstant(to).toLocalDateTime();
+  }
+
+  /**
+   * Random times across every zone pair match {@code atZone().withZoneSameInstant()}.
+   */
+  @Test
+  public void testMatchesJavaTime() {
+    SplittableRandom rnd = new SplittableRandom(7);
+    long lo = LocalDateTime.of(1890, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    long hi = LocalDateTime.of(2210, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    for (ZoneId from : ZONES) {
+      for (ZoneId to : ZONES) {
+        ZoneConverter zc = ZoneConverter.of(from, to);
+        for (int i = 0; i < 2000; i++) {
+          LocalDateTime t = LocalDateTime.ofEpochSecond(rnd.nextLong(lo, hi),
+              rnd.nextInt(1_000_000_000), ZoneOffset.UTC);
+          assertEquals(from + "->" + to + " " + t, reference(t, from, to), zc.convert(t));
+          assertEquals(t.atZone(from).toEpochSecond(), zc.toEpochSecond(t));
+        }
+      }
+    }
+  }
+
+  /**
+   * Times inside DST gaps and overlaps resolve the way {@code atZone} resolves them.
+   */
+  @Test
+  public void testGapsAndOverlaps() {
+    ZoneId ny = ZoneId.of("America/New_York");
+    ZoneId london = ZoneId.of("Europe/London");
+    ZoneConverter zc = ZoneConverter.of(ny, london);
+    LocalDateTime gap = LocalDateTime.of(2025, 3, 9, 2, 30);
+    LocalDateTime overlap = LocalDateTime.of(2025, 11, 2, 1, 30);
+    assertEquals(reference(gap, ny, london), zc.convert(gap));
+    assertEquals(reference(overlap, ny, london), zc.convert(overlap));
+    for (int m = -90; m <= 90; m++) {
+      assertEquals(reference(gap.plusMinutes(m), ny, ny),
+          ZoneConverter.of(ny, ny).convert(gap.plusMinutes(m)));
+      assertEquals(reference(overlap.plusMinutes(m), london, ny),
+          ZoneConverter.of(london, ny).convert(overlap.plusMinutes(m)));
+    }
+  }
+
+  /**
+   * Instants map back to local times in the target zone.
+   */
+  @Test
+  public void testToLocal() {
+    ZoneId ny = ZoneId.of("America/New_York");
+    ZoneConverter zc = ZoneConverter.of(ZoneOffset.UTC, ny);
+    LocalDateTime t = LocalDateTime.of(2025, 7, 1, 12, 0);
+    assertEquals(LocalDateTime.of(2025, 7, 1, 8, 0),
+        zc.toLocal(t.toEpochSecond(ZoneOffset.UTC), 0));
+  }
+}